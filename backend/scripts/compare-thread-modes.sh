@@ -0,0 +1,62 @@
+#!/bin/bash
+# プラットフォームスレッド／仮想スレッドのスループット比較
+#
+# 同じjarを spring.threads.virtual.enabled=false / true で順に起動し、それぞれに対して
+# 負荷ドライバ（LoadDriver、クローズドモデル）で固定数のクライアントから空室検索〜予約のセッションを繰り返す。
+# モードごとの結果（エンドポイント別スループット・応答時間）と、仮想スレッドのピン留め・
+# コネクション取得待ちのメトリクスを target/thread-modes に出力する。
+#
+# 前提: mvn package（実行可能jar）、mvn -Pload-test test-compile（負荷ドライバ）済み
+# 実行: scripts/compare-thread-modes.sh [Springの起動引数...]
+#   例: scripts/compare-thread-modes.sh --spring.profiles.active=embedded
+# 環境変数: PORT（既定 8080）、CLIENTS（同時クライアント数、既定 2000）、
+#           WARMUP / DURATION（計測前のウォームアップ秒数・計測秒数、既定 15 / 60）
+
+set -euo pipefail
+source "$(dirname "$0")/fast-startup-common.sh"
+cd "$BACKEND_DIR"
+
+CLIENTS="${CLIENTS:-2000}"
+WARMUP="${WARMUP:-15}"
+DURATION="${DURATION:-60}"
+RESULT_DIR="$BACKEND_DIR/target/thread-modes"
+mkdir -p "$RESULT_DIR"
+
+if [ ! -f "$APP_JAR" ]; then
+    echo "実行可能jarがありません: $APP_JAR（mvn package を実行してください）" >&2
+    exit 1
+fi
+# クライアント側・サーバー側でそれぞれクライアント数分のソケットを使用する
+if [ "$(ulimit -n)" != "unlimited" ] && [ "$(ulimit -n)" -lt $((CLIENTS * 2 + 1000)) ]; then
+    echo "警告: ファイルディスクリプタの上限（ulimit -n = $(ulimit -n)）がクライアント数に対して不足しています" >&2
+fi
+
+for mode in platform virtual; do
+    virtual=false
+    [ "$mode" = "virtual" ] && virtual=true
+    echo "=== $mode（spring.threads.virtual.enabled=$virtual, clients=$CLIENTS）==="
+
+    "$JAVA" -jar "$APP_JAR" --spring.threads.virtual.enabled=$virtual "$@" \
+        > "$RESULT_DIR/$mode-app.log" 2>&1 &
+    APP_PID=$!
+    trap 'stop_app $APP_PID' EXIT
+    wait_ready "$APP_PID" 600
+
+    mvn -B -q -Pload-test exec:exec \
+        -Dload.args="--base-url=$BASE_URL --clients=$CLIENTS --warmup=$WARMUP --duration=$DURATION" \
+        | tee "$RESULT_DIR/$mode.txt"
+
+    # ピン留め（仮想スレッドモードのみ）とコネクション取得待ち
+    curl -s "$BASE_URL/actuator/prometheus" \
+        | grep -E '^(hotel_vthread_pinned_seconds_(count|sum)|hikaricp_connections_(max|timeout_total|acquire_seconds_(count|sum|max)))' \
+        | tee -a "$RESULT_DIR/$mode.txt" || true
+
+    stop_app "$APP_PID"
+    trap - EXIT
+    echo
+done
+
+echo "=== スループット比較（sessions completed / 秒）==="
+for mode in platform virtual; do
+    printf '%-9s %s\n' "$mode" "$(grep -o 'sessions completed=[0-9]* ([0-9.]*/s)' "$RESULT_DIR/$mode.txt")"
+done
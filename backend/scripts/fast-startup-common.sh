@@ -0,0 +1,65 @@
+#!/bin/bash
+# 高速起動スクリプト（fast-startup-*.sh / measure-startup.sh）の共通設定
+#
+# - 実行可能jar（mvn -Pfast-startup package の成果物）を target/fast-startup/app に展開して使用する
+#   （AppCDS・AOTキャッシュはネストしたjarを対象にできないため）
+# - JDK 25以降は AOTキャッシュ（-XX:AOTCacheOutput / -XX:AOTCache）、
+#   それより前は AppCDS 動的アーカイブ（-XX:ArchiveClassesAtExit / -XX:SharedArchiveFile）を使用する
+
+BACKEND_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")/.." && pwd)"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+APP_JAR="$BACKEND_DIR/target/hotel-app-backend-0.0.1-SNAPSHOT.jar"
+WORK_DIR="$BACKEND_DIR/target/fast-startup"
+EXTRACTED_JAR="$WORK_DIR/app/$(basename "$APP_JAR")"
+PORT="${PORT:-8080}"
+BASE_URL="http://localhost:$PORT"
+
+JAVA_MAJOR=$("$JAVA" -XshowSettings:properties -version 2>&1 \
+    | awk -F'= ' '/java.specification.version/ {print $2}')
+if [ "${JAVA_MAJOR%%.*}" -ge 25 ]; then
+    ARCHIVE_FILE="$WORK_DIR/hotel-app.aot"
+    ARCHIVE_RECORD_OPTS="-XX:AOTCacheOutput=$ARCHIVE_FILE"
+    ARCHIVE_USE_OPTS="-XX:AOTCache=$ARCHIVE_FILE"
+else
+    ARCHIVE_FILE="$WORK_DIR/hotel-app.jsa"
+    ARCHIVE_RECORD_OPTS="-XX:ArchiveClassesAtExit=$ARCHIVE_FILE"
+    ARCHIVE_USE_OPTS="-XX:SharedArchiveFile=$ARCHIVE_FILE"
+fi
+
+# 実行可能jarを展開する（jarが更新されていれば展開し直す。アーカイブはjarと対で作り直す必要がある）
+extract_app() {
+    if [ ! -f "$APP_JAR" ]; then
+        echo "実行可能jarがありません: $APP_JAR（mvn -Pfast-startup package を実行してください）" >&2
+        return 1
+    fi
+    if [ ! -f "$EXTRACTED_JAR" ] || [ "$APP_JAR" -nt "$EXTRACTED_JAR" ]; then
+        rm -rf "$WORK_DIR/app" "$ARCHIVE_FILE"
+        "$JAVA" -Djarmode=tools -jar "$APP_JAR" extract --destination "$WORK_DIR/app" >/dev/null
+    fi
+}
+
+# readiness が UP になるまで待機する（引数: プロセスID, タイムアウト秒）
+wait_ready() {
+    local pid=$1
+    local deadline=$((SECONDS + $2))
+    while [ $SECONDS -lt $deadline ]; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "アプリケーションが終了しました" >&2
+            return 1
+        fi
+        if [ "$(curl -s -o /dev/null -w '%{http_code}' "$BASE_URL/actuator/health/readiness")" = "200" ]; then
+            return 0
+        fi
+        sleep 0.05
+    done
+    echo "readiness が UP になりませんでした（${2}秒）" >&2
+    return 1
+}
+
+# バックグラウンドで起動したプロセスを停止して終了を待つ
+# （SIGTERMによる通常終了とすることで、終了時にアーカイブが書き出される）
+stop_app() {
+    local pid=$1
+    kill -TERM "$pid" 2>/dev/null || return 0
+    wait "$pid" 2>/dev/null || true
+}
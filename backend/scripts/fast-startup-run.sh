@@ -0,0 +1,24 @@
+#!/bin/bash
+# 高速起動モードでアプリケーションを起動する
+#
+# Spring AOT の生成コード（-Dspring.aot.enabled=true）と学習実行で作成したアーカイブを使用する。
+# アーカイブがない場合は AOT のみで起動する。
+#
+# 前提: mvn -Pfast-startup package、scripts/fast-startup-train.sh 済み
+# 実行: scripts/fast-startup-run.sh [Springの起動引数...]
+#   （AOT処理時と同じSpringプロファイルを指定すること。例: --spring.profiles.active=embedded）
+# 環境変数: JAVA_OPTS（追加のJVMオプション）
+
+set -euo pipefail
+source "$(dirname "$0")/fast-startup-common.sh"
+cd "$BACKEND_DIR"
+
+extract_app
+ARCHIVE_OPTS=""
+if [ -f "$ARCHIVE_FILE" ]; then
+    ARCHIVE_OPTS="$ARCHIVE_USE_OPTS"
+else
+    echo "アーカイブがないため、AOTのみで起動します（scripts/fast-startup-train.sh で作成できます）" >&2
+fi
+
+exec "$JAVA" $ARCHIVE_OPTS ${JAVA_OPTS:-} -Dspring.aot.enabled=true -jar "$EXTRACTED_JAR" "$@"
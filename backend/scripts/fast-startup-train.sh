@@ -0,0 +1,82 @@
+#!/bin/bash
+# 高速起動用アーカイブ（AppCDS / AOTキャッシュ）の学習実行
+#
+# AOT処理済みのアプリケーションを起動し、readiness が UP になった後に
+# 空室検索・料金計算・仮予約・顧客情報登録・予約照会・キャンセルを一通り実行してから停止する。
+# 起動から停止までに読み込まれたクラスが target/fast-startup のアーカイブに書き出される。
+#
+# 前提: mvn -Pfast-startup package 済み
+# 実行: scripts/fast-startup-train.sh [Springの起動引数...]
+#   例（組み込みDB）: mvn -Pfast-startup,embedded-db -Dfast-startup.spring.profiles=embedded package
+#                     scripts/fast-startup-train.sh --spring.profiles.active=embedded
+#
+# 【注意】学習実行では実際に仮予約を作成する（最後にキャンセルする）。本番DBに対して実行しないこと。
+# 環境変数: PORT（既定 8080）、TRAIN_ROUNDS（シナリオの繰り返し回数、既定 5）
+
+set -euo pipefail
+source "$(dirname "$0")/fast-startup-common.sh"
+cd "$BACKEND_DIR"
+
+TRAIN_ROUNDS="${TRAIN_ROUNDS:-5}"
+CHECK_IN=$(date -d "+1 day" +%Y-%m-%d)
+CHECK_OUT=$(date -d "+2 days" +%Y-%m-%d)
+
+extract_app
+rm -f "$ARCHIVE_FILE"
+
+echo "=== 学習実行: $ARCHIVE_FILE（Java $JAVA_MAJOR）==="
+"$JAVA" $ARCHIVE_RECORD_OPTS -Dspring.aot.enabled=true -jar "$EXTRACTED_JAR" "$@" \
+    > "$WORK_DIR/train.log" 2>&1 &
+APP_PID=$!
+trap 'status=$?; stop_app $APP_PID
+      [ $status -eq 0 ] || echo "学習実行に失敗しました（$WORK_DIR/train.log を確認してください）" >&2' EXIT
+
+wait_ready "$APP_PID" 600
+
+# JSON文字列から指定キーの最初の数値を取り出す（引数: キー, JSON）
+first_int() {
+    { grep -o "\"$1\":[0-9]*" <<< "$2" || true; } | sed -n '1s/.*://p'
+}
+
+# 空室検索〜予約〜キャンセルの一連の操作
+run_scenario() {
+    curl -sf "$BASE_URL/api/initial-data" >/dev/null
+    local search
+    search=$(curl -sf "$BASE_URL/api/search?checkInDate=$CHECK_IN&checkOutDate=$CHECK_OUT&prefectureId=1&guestCount=2")
+    local room_type_id hotel_id
+    room_type_id=$(first_int roomTypeId "$search")
+    hotel_id=$(first_int hotelId "$search")
+    if [ -z "$room_type_id" ]; then
+        echo "検索結果が空のため、予約をスキップします" >&2
+        return 0
+    fi
+
+    curl -sf -X POST "$BASE_URL/api/price/calculate" -H 'Content-Type: application/json' \
+        -d "{\"checkInDate\":\"$CHECK_IN\",\"checkOutDate\":\"$CHECK_OUT\",\"rooms\":[{\"roomTypeId\":$room_type_id,\"hotelId\":$hotel_id}]}" \
+        >/dev/null
+
+    local pending reservation_id
+    pending=$(curl -sf -X POST "$BASE_URL/api/reservations/pending" -H 'Content-Type: application/json' \
+        -d "{\"checkInDate\":\"$CHECK_IN\",\"checkOutDate\":\"$CHECK_OUT\",\"rooms\":[{\"roomTypeId\":$room_type_id,\"roomCount\":1}]}")
+    reservation_id=$(first_int reservationId "$pending")
+
+    curl -sf -X POST "$BASE_URL/api/reservations/$reservation_id/customer-info" \
+        -H 'Content-Type: application/json' \
+        -d '{"reserverFirstName":"太郎","reserverLastName":"学習","phoneNumber":"0312345678","emailAddress":"train@example.com","arriveAt":"15:00:00"}' \
+        >/dev/null
+    curl -sf "$BASE_URL/api/reservations/$reservation_id" >/dev/null
+    curl -sf -X POST "$BASE_URL/api/reservations/$reservation_id/cancel" >/dev/null
+}
+
+for _ in $(seq "$TRAIN_ROUNDS"); do
+    run_scenario
+done
+
+stop_app "$APP_PID"
+trap - EXIT
+
+if [ ! -f "$ARCHIVE_FILE" ]; then
+    echo "アーカイブが作成されませんでした（$WORK_DIR/train.log を確認してください）" >&2
+    exit 1
+fi
+echo "アーカイブを作成しました: $ARCHIVE_FILE ($(du -h "$ARCHIVE_FILE" | cut -f1))"
@@ -0,0 +1,60 @@
+#!/bin/bash
+# 起動時間・最初のリクエストまでの時間の計測（通常起動 と 高速起動 の比較）
+#
+# 各モードで起動・停止を繰り返し、以下を出力する。
+# - started : Spring の起動ログ（Started HotelApplication in N seconds）の値（ミリ秒）
+# - ready   : プロセス起動から readiness が UP になるまで（ミリ秒）
+# - first   : readiness が UP になった後の最初の空室検索の応答時間（ミリ秒）
+# - ttfr    : プロセス起動から最初の空室検索の応答完了まで（ミリ秒、time to first request）
+#
+# 通常起動は同じjarを AOT・アーカイブなしで起動する。
+# readiness は起動時ウォームアップの完了を待つため、起動処理自体を比較する場合は --warmup.enabled=false を指定する。
+#
+# 前提: mvn -Pfast-startup package、scripts/fast-startup-train.sh 済み
+# 実行: scripts/measure-startup.sh [Springの起動引数...]
+#   例: scripts/measure-startup.sh --spring.profiles.active=embedded --warmup.enabled=false
+# 環境変数: PORT（既定 8080）、RUNS（モードごとの計測回数、既定 3）
+
+set -euo pipefail
+source "$(dirname "$0")/fast-startup-common.sh"
+cd "$BACKEND_DIR"
+
+RUNS="${RUNS:-3}"
+CHECK_IN=$(date -d "+1 day" +%Y-%m-%d)
+CHECK_OUT=$(date -d "+2 days" +%Y-%m-%d)
+
+extract_app
+if [ ! -f "$ARCHIVE_FILE" ]; then
+    echo "アーカイブがありません: $ARCHIVE_FILE（scripts/fast-startup-train.sh を先に実行してください）" >&2
+    exit 1
+fi
+
+now_millis() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# 引数: モード名, 起動コマンド...
+measure() {
+    local mode=$1
+    shift
+    local log="$WORK_DIR/measure-$mode.log"
+    local start ready first started
+    start=$(now_millis)
+    "$@" > "$log" 2>&1 &
+    local pid=$!
+    wait_ready "$pid" 600
+    ready=$(( $(now_millis) - start ))
+    first=$(curl -s -o /dev/null -w '%{time_total}' \
+        "$BASE_URL/api/search?checkInDate=$CHECK_IN&checkOutDate=$CHECK_OUT&prefectureId=1&guestCount=2" \
+        | awk '{printf "%d", $1 * 1000}')
+    stop_app "$pid"
+    started=$(grep -o 'Started HotelApplication in [0-9.]* seconds' "$log" \
+        | awk '{printf "%d", $4 * 1000}')
+    printf '%-8s %10s %10s %10s %10s\n' "$mode" "$started" "$ready" "$first" $((ready + first))
+}
+
+printf '%-8s %10s %10s %10s %10s\n' mode started ready first ttfr
+for _ in $(seq "$RUNS"); do
+    measure baseline "$JAVA" -jar "$EXTRACTED_JAR" "$@"
+    measure fast "$JAVA" $ARCHIVE_USE_OPTS -Dspring.aot.enabled=true -jar "$EXTRACTED_JAR" "$@"
+done
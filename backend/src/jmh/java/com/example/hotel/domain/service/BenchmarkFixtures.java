@@ -0,0 +1,91 @@
+package com.example.hotel.domain.service;
+
+import com.example.hotel.config.PriceProperties;
+import com.example.hotel.domain.model.AvailableRoomInfo;
+import com.example.hotel.domain.model.RoomStockInfo;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.support.ResourcePropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * ベンチマーク用の合成データ生成
+ *
+ * 乱数シードを固定し、実行ごとに同一のデータを生成する。
+ * 1ホテルあたり {@link #ROOM_TYPES_PER_HOTEL} 部屋タイプ、約1割の部屋タイプを満室とする。
+ */
+final class BenchmarkFixtures {
+
+  /** ベンチマーク共通のチェックイン日（30泊で年をまたぐ日付） */
+  static final LocalDate CHECK_IN_DATE = LocalDate.of(2026, 12, 20);
+
+  static final int ROOM_TYPES_PER_HOTEL = 4;
+
+  private static final long SEED = 20261220L;
+
+  private BenchmarkFixtures() {
+  }
+
+  /**
+   * アプリケーションと同じ price-calculator.properties から料金設定を読み込む
+   */
+  static PriceProperties priceProperties() {
+    StandardEnvironment environment = new StandardEnvironment();
+    try {
+      environment.getPropertySources()
+          .addFirst(new ResourcePropertySource("classpath:price-calculator.properties"));
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return Binder.get(environment).bind("price", PriceProperties.class)
+        .orElseThrow(() -> new IllegalStateException("price.* properties not found"));
+  }
+
+  static PricingEngine pricingEngine() {
+    return new PricingEngine(priceProperties(), new DefaultResourceLoader());
+  }
+
+  /**
+   * 部屋タイプ別の定員・総在庫情報を生成する（部屋タイプIDは1からの連番）
+   */
+  static List<RoomStockInfo> roomStocks(int roomTypeCount) {
+    SplittableRandom random = new SplittableRandom(SEED);
+    List<RoomStockInfo> stocks = new ArrayList<>(roomTypeCount);
+    for (int i = 0; i < roomTypeCount; i++) {
+      int hotelId = i / ROOM_TYPES_PER_HOTEL + 1;
+      stocks.add(new RoomStockInfo(i + 1, hotelId, "部屋タイプ" + (i + 1),
+          random.nextInt(1, 7), random.nextInt(5, 31), "ホテル" + hotelId));
+    }
+    return stocks;
+  }
+
+  /**
+   * 検索DAOの結果に相当する部屋情報一覧を生成する
+   */
+  static List<AvailableRoomInfo> availableRooms(List<RoomStockInfo> stocks) {
+    SplittableRandom random = new SplittableRandom(SEED + 1);
+    List<AvailableRoomInfo> rooms = new ArrayList<>(stocks.size());
+    for (RoomStockInfo stock : stocks) {
+      AvailableRoomInfo room = new AvailableRoomInfo();
+      room.setHotelId(stock.getHotelId());
+      room.setHotelName("ホテル" + stock.getHotelId());
+      room.setRoomTypeId(stock.getRoomTypeId());
+      room.setRoomTypeName(stock.getRoomTypeName());
+      room.setReservedCount(random.nextInt(10) == 0
+          ? stock.getTotalStock()
+          : random.nextInt(stock.getTotalStock()));
+      room.setAreaId(stock.getHotelId() % 10 + 1);
+      rooms.add(room);
+    }
+    return rooms;
+  }
+}
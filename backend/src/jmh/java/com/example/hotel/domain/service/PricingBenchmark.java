@@ -0,0 +1,119 @@
+package com.example.hotel.domain.service;
+
+import com.example.hotel.config.PriceProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 宿泊総額計算の方式比較ベンチマーク
+ *
+ * 同じ（定員, ホテルID）の組み合わせに対して、以下の3方式で宿泊総額を計算する。
+ * - closedForm: PricingEngine.stayPrice（累積和による定数時間計算）
+ * - engineByNight: PricingEngine.nightPrice を1泊ずつ呼び出して合算
+ * - legacyByNight: 旧 PriceCalculator と同じ計算（PriceProperties のgetterを毎泊参照）
+ * 1回の呼び出しで {@link #QUOTES} 件を計算し、スコアは1件あたりの値とする。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PricingBenchmark {
+
+  private static final int QUOTES = 1024;
+
+  @Param({"1", "7", "30"})
+  private int nights;
+
+  private PricingEngine pricingEngine;
+  private PriceProperties priceProperties;
+  private int[] capacities;
+  private int[] hotelIds;
+  private LocalDate checkInDate;
+  private LocalDate checkOutDate;
+
+  @Setup
+  public void setUp() {
+    priceProperties = BenchmarkFixtures.priceProperties();
+    pricingEngine = BenchmarkFixtures.pricingEngine();
+    SplittableRandom random = new SplittableRandom(QUOTES);
+    capacities = new int[QUOTES];
+    hotelIds = new int[QUOTES];
+    for (int i = 0; i < QUOTES; i++) {
+      capacities[i] = random.nextInt(1, 7);
+      hotelIds[i] = random.nextInt(1, 50_001);
+    }
+    checkInDate = BenchmarkFixtures.CHECK_IN_DATE;
+    checkOutDate = checkInDate.plusDays(nights);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(QUOTES)
+  public long closedForm() {
+    long sum = 0;
+    for (int i = 0; i < QUOTES; i++) {
+      sum += pricingEngine.stayPrice(capacities[i], hotelIds[i], checkInDate, checkOutDate);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(QUOTES)
+  public long engineByNight() {
+    long sum = 0;
+    for (int i = 0; i < QUOTES; i++) {
+      for (LocalDate date = checkInDate; date.isBefore(checkOutDate); date = date.plusDays(1)) {
+        sum += pricingEngine.nightPrice(capacities[i], hotelIds[i], date);
+      }
+    }
+    return sum;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(QUOTES)
+  public long legacyByNight() {
+    long sum = 0;
+    for (int i = 0; i < QUOTES; i++) {
+      Integer total = 0;
+      for (LocalDate date = checkInDate; date.isBefore(checkOutDate); date = date.plusDays(1)) {
+        total += legacyNightPrice(capacities[i], hotelIds[i], date);
+      }
+      sum += total;
+    }
+    return sum;
+  }
+
+  // 旧 PriceCalculator.calculatePrice と同じ計算（比較の基準）
+  private Integer legacyNightPrice(Integer capacity, Integer hotelId, LocalDate date) {
+    PriceProperties properties = priceProperties;
+    double hotelPriceMultiplier = properties.getHotelPriceBaseMultiplier()
+        + ((hotelId % properties.getHotelVariationCount()) * properties.getHotelVariationStep()
+            - properties.getHotelBaseOffset());
+    List<Double> multipliers = properties.getCapacityMultipliers();
+    double capacityMultiplier = capacity <= multipliers.size()
+        ? multipliers.get(capacity - 1)
+        : multipliers.get(multipliers.size() - 1);
+    int basePrice = (int) (properties.getBasePerPerson() * capacityMultiplier * capacity
+        * hotelPriceMultiplier);
+    double demandFactor = properties.getDemandBaseFactor()
+        + ((date.getDayOfYear() % properties.getDemandVariationCycle())
+            * properties.getDemandVariationStep());
+    return Math.max((int) (basePrice * demandFactor), properties.getBasePerPerson());
+  }
+}
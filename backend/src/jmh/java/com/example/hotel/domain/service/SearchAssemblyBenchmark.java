@@ -0,0 +1,60 @@
+package com.example.hotel.domain.service;
+
+import com.example.hotel.domain.model.AvailableRoomInfo;
+import com.example.hotel.presentation.dto.top.HotelResultDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 検索結果の組み立て（SearchService.calculateHotelResultRooms）のベンチマーク
+ *
+ * DAOの結果行数と宿泊日数ごとに、残在庫計算・料金計算・ホテル単位の集約を計測する。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchAssemblyBenchmark {
+
+  @Param({"10", "1000", "100000"})
+  private int rows;
+
+  @Param({"1", "7", "30"})
+  private int nights;
+
+  private SearchService searchService;
+  private RoomStockSnapshot stockSnapshot;
+  private List<AvailableRoomInfo> dbRooms;
+  private LocalDate checkOutDate;
+
+  @Setup
+  public void setUp() {
+    // calculateHotelResultRooms は PricingEngine 以外の依存を使用しない
+    searchService = new SearchService(null, null, null, null, BenchmarkFixtures.pricingEngine(),
+        null, null, null);
+    stockSnapshot = RoomStockSnapshot.of(1L, BenchmarkFixtures.roomStocks(rows));
+    dbRooms = BenchmarkFixtures.availableRooms(BenchmarkFixtures.roomStocks(rows));
+    checkOutDate = BenchmarkFixtures.CHECK_IN_DATE.plusDays(nights);
+  }
+
+  @Benchmark
+  public List<HotelResultDto> calculateHotelResultRooms() {
+    return searchService.calculateHotelResultRooms(dbRooms, stockSnapshot,
+        BenchmarkFixtures.CHECK_IN_DATE, checkOutDate);
+  }
+}
@@ -0,0 +1,93 @@
+package com.example.hotel.domain.service;
+
+import com.example.hotel.config.CacheProperties;
+import com.example.hotel.domain.model.RoomStockInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 在庫キャッシュ参照のベンチマーク
+ *
+ * 1リクエスト分（{@link #LOOKUPS} 部屋タイプ）の定員・総在庫の参照を、以下の方式で比較する。
+ * - mapCopy: 旧 CacheService.getStockCache（ConcurrentHashMap を Map.copyOf してから参照）
+ * - mapView: 現 CacheService.getStockCache（スナップショットからMapを生成してから参照）
+ * - snapshot: CacheService.getStockSnapshot（コピーせずに連番で参照）
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StockSnapshotBenchmark {
+
+  private static final int LOOKUPS = 16;
+
+  @Param({"10", "1000", "100000"})
+  private int roomTypes;
+
+  private CacheService cacheService;
+  private Map<Integer, RoomStockInfo> legacyCache;
+  private int[] roomTypeIds;
+
+  @Setup
+  public void setUp() {
+    List<RoomStockInfo> stocks = BenchmarkFixtures.roomStocks(roomTypes);
+    cacheService = new CacheService(null, new CacheProperties());
+    cacheService.updateCache(stocks);
+    legacyCache = new ConcurrentHashMap<>(stocks.stream()
+        .collect(Collectors.toMap(RoomStockInfo::getRoomTypeId, Function.identity())));
+    SplittableRandom random = new SplittableRandom(roomTypes);
+    roomTypeIds = new int[LOOKUPS];
+    for (int i = 0; i < LOOKUPS; i++) {
+      roomTypeIds[i] = random.nextInt(1, roomTypes + 1);
+    }
+  }
+
+  @Benchmark
+  public long mapCopy() {
+    return sumOf(Map.copyOf(legacyCache));
+  }
+
+  @Benchmark
+  public long mapView() {
+    return sumOf(cacheService.getStockCache());
+  }
+
+  @Benchmark
+  public long snapshot() {
+    RoomStockSnapshot stockSnapshot = cacheService.getStockSnapshot();
+    long sum = 0;
+    for (int roomTypeId : roomTypeIds) {
+      int ordinal = stockSnapshot.ordinalOf(roomTypeId);
+      sum += stockSnapshot.capacityAt(ordinal) + stockSnapshot.totalStockAt(ordinal);
+    }
+    return sum;
+  }
+
+  private long sumOf(Map<Integer, RoomStockInfo> stockCache) {
+    long sum = 0;
+    for (int roomTypeId : roomTypeIds) {
+      RoomStockInfo info = stockCache.get(roomTypeId);
+      sum += info.getRoomCapacity() + info.getTotalStock();
+    }
+    return sum;
+  }
+}
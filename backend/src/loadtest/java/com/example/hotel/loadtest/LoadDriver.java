@@ -0,0 +1,384 @@
+package com.example.hotel.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 空室検索・予約ライフサイクルのHTTP負荷ドライバ（オープンモデル／クローズドモデル）
+ *
+ * 【負荷モデル】
+ * セッションの到着をポアソン過程（指数分布の到着間隔）で発生させ、応答を待たずに次のセッションを開始する。
+ * サーバーが遅くなっても到着率は下がらないため、飽和点での応答時間の悪化をそのまま観測できる。
+ * 同時実行セッション数が上限（--max-in-flight）に達した場合、そのセッションは開始せず破棄数として計上する。
+ *
+ * --clients を指定した場合はクローズドモデルとなり、指定数のクライアントがそれぞれ
+ * 待ち時間なしでセッションを繰り返す（同時接続数を固定したときのスループットを計測する）。
+ *
+ * 【1セッションの流れ】
+ * 1. GET  /api/search（ランダムな都道府県・チェックイン日・泊数）
+ * 2. POST /api/price/calculate（検索結果からランダムに選んだ部屋タイプ）
+ * 3. POST /api/reservations/pending（1室）… 422 は在庫不足として計上して終了
+ * 4. POST /api/reservations/{id}/customer-info
+ * 5. POST /api/reservations/{id}/cancel、または --expire-ratio の割合で /expire
+ *    （期限前の /expire は何も更新しないため、在庫は期限切れまで確保されたままとなる＝放棄された予約を模擬）
+ *
+ * 【出力】
+ * エンドポイントごとの件数・エラー数・503（過負荷による拒否）の件数・スループット・
+ * 応答時間（p50/p99/p99.9/最大、正常応答のみのp99、HdrHistogram）を出力する。
+ * ウォームアップ期間（--warmup）の結果は集計しない。
+ *
+ * 【実行】
+ * バックエンドを起動した状態で:
+ * mvn -Pload-test test-compile exec:exec -Dload.args="--rate=50 --duration=120"
+ * mvn -Pload-test test-compile exec:exec -Dload.args="--clients=2000 --duration=60"
+ */
+public final class LoadDriver {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private final Options options;
+  private final HttpClient httpClient;
+  private final EndpointStats[] stats;
+  private final LongAdder stockShortages = new LongAdder();
+  private final LongAdder noAvailability = new LongAdder();
+  private final LongAdder completedSessions = new LongAdder();
+  private final LongAdder droppedSessions = new LongAdder();
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private volatile long measureStartNanos;
+
+  private LoadDriver(Options options) {
+    this.options = options;
+    this.httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(5)).build();
+    this.stats = new EndpointStats[Endpoint.values().length];
+    for (Endpoint endpoint : Endpoint.values()) {
+      stats[endpoint.ordinal()] = new EndpointStats();
+    }
+  }
+
+  public static void main(String[] args) throws InterruptedException {
+    Options options = Options.parse(args);
+    System.out.printf(Locale.ROOT,
+        "target=%s %s warmup=%ds duration=%ds expire-ratio=%.2f%n", options.baseUrl,
+        options.clients > 0
+            ? "clients=" + options.clients
+            : String.format(Locale.ROOT, "rate=%.1f sessions/s", options.rate),
+        options.warmupSeconds, options.durationSeconds, options.expireRatio);
+    new LoadDriver(options).run();
+  }
+
+  private void run() throws InterruptedException {
+    long startNanos = System.nanoTime();
+    measureStartNanos = startNanos + TimeUnit.SECONDS.toNanos(options.warmupSeconds);
+    long endNanos = measureStartNanos + TimeUnit.SECONDS.toNanos(options.durationSeconds);
+    long nextReportNanos = startNanos + TimeUnit.SECONDS.toNanos(10);
+    if (options.clients > 0) {
+      runClosed(startNanos, endNanos, nextReportNanos);
+      report();
+      return;
+    }
+    long started = 0;
+
+    try (ExecutorService sessions = Executors.newVirtualThreadPerTaskExecutor()) {
+      long nextArrival = startNanos;
+      while (nextArrival < endNanos) {
+        long wait = nextArrival - System.nanoTime();
+        if (wait > 0) {
+          LockSupport.parkNanos(wait);
+        }
+        if (inFlight.get() >= options.maxInFlight) {
+          if (nextArrival >= measureStartNanos) {
+            droppedSessions.increment();
+          }
+        }
+        else {
+          inFlight.incrementAndGet();
+          started++;
+          sessions.submit(this::runSession);
+        }
+        // 指数分布の到着間隔
+        double interval = -Math.log(1.0 - ThreadLocalRandom.current().nextDouble()) / options.rate;
+        nextArrival += (long) (interval * 1_000_000_000L);
+
+        if (System.nanoTime() >= nextReportNanos) {
+          System.out.printf(Locale.ROOT, "[%4ds] started=%d completed=%d in-flight=%d dropped=%d%n",
+              TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startNanos), started,
+              completedSessions.sum(), inFlight.get(), droppedSessions.sum());
+          nextReportNanos += TimeUnit.SECONDS.toNanos(10);
+        }
+      }
+      System.out.println("到着の生成を終了しました。実行中のセッションの完了を待機します...");
+    }
+    report();
+  }
+
+  /**
+   * クローズドモデル: 各クライアントが終了時刻まで待ち時間なしでセッションを繰り返す
+   */
+  private void runClosed(long startNanos, long endNanos, long nextReportNanos) {
+    try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < options.clients; i++) {
+        clients.submit(() -> {
+          while (System.nanoTime() < endNanos) {
+            inFlight.incrementAndGet();
+            runSession();
+          }
+        });
+      }
+      while (System.nanoTime() < endNanos) {
+        LockSupport.parkNanos(Math.min(nextReportNanos, endNanos) - System.nanoTime());
+        if (System.nanoTime() >= nextReportNanos) {
+          System.out.printf(Locale.ROOT, "[%4ds] completed=%d in-flight=%d%n",
+              TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startNanos),
+              completedSessions.sum(), inFlight.get());
+          nextReportNanos += TimeUnit.SECONDS.toNanos(10);
+        }
+      }
+      System.out.println("終了時刻に達しました。実行中のセッションの完了を待機します...");
+    }
+  }
+
+  private void runSession() {
+    try {
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      LocalDate checkIn = LocalDate.now().plusDays(random.nextInt(1, options.maxLeadDays + 1));
+      LocalDate checkOut = checkIn.plusDays(random.nextInt(1, options.maxNights + 1));
+      int prefectureId = random.nextInt(1, 48);
+
+      // 1. 空室検索
+      Response search = send(Endpoint.SEARCH, HttpRequest.newBuilder(uri("/api/search?checkInDate="
+          + checkIn + "&checkOutDate=" + checkOut + "&prefectureId=" + prefectureId
+          + "&guestCount=" + random.nextInt(1, 4))).GET());
+      if (search.status != 200) {
+        return;
+      }
+      List<JsonNode> roomTypes = new ArrayList<>();
+      search.body.path("hotels").forEach(hotel -> hotel.path("roomTypes").forEach(roomTypes::add));
+      if (roomTypes.isEmpty()) {
+        noAvailability.increment();
+        return;
+      }
+      JsonNode room = roomTypes.get(random.nextInt(roomTypes.size()));
+      int roomTypeId = room.path("roomTypeId").asInt();
+      int hotelId = room.path("hotelId").asInt();
+
+      // 2. 価格再計算
+      send(Endpoint.PRICE, post("/api/price/calculate", "{\"checkInDate\":\"" + checkIn
+          + "\",\"checkOutDate\":\"" + checkOut + "\",\"rooms\":[{\"roomTypeId\":" + roomTypeId
+          + ",\"hotelId\":" + hotelId + "}]}"));
+
+      // 3. 仮予約
+      Response pending = send(Endpoint.PENDING, post("/api/reservations/pending",
+          "{\"checkInDate\":\"" + checkIn + "\",\"checkOutDate\":\"" + checkOut
+              + "\",\"rooms\":[{\"roomTypeId\":" + roomTypeId + ",\"roomCount\":1}]}"));
+      if (pending.status == 422) {
+        if (pending.measured) {
+          stockShortages.increment();
+        }
+        return;
+      }
+      if (pending.status != 200) {
+        return;
+      }
+      int reservationId = pending.body.path("reservationId").asInt();
+
+      // 4. 顧客情報登録
+      int guest = random.nextInt(1_000_000);
+      send(Endpoint.CUSTOMER_INFO, post("/api/reservations/" + reservationId + "/customer-info",
+          "{\"reserverFirstName\":\"太郎\",\"reserverLastName\":\"負荷" + guest
+              + "\",\"phoneNumber\":\"090" + String.format("%08d", guest)
+              + "\",\"emailAddress\":\"load" + guest + "@example.com\",\"arriveAt\":\"15:00\"}"));
+
+      // 5. キャンセル または 期限切れ処理
+      if (random.nextDouble() < options.expireRatio) {
+        send(Endpoint.EXPIRE, post("/api/reservations/" + reservationId + "/expire", ""));
+      }
+      else {
+        send(Endpoint.CANCEL, post("/api/reservations/" + reservationId + "/cancel", ""));
+      }
+    }
+    finally {
+      completedSessions.increment();
+      inFlight.decrementAndGet();
+    }
+  }
+
+  private Response send(Endpoint endpoint, HttpRequest.Builder builder) {
+    HttpRequest request = builder.timeout(Duration.ofSeconds(options.timeoutSeconds)).build();
+    long begin = System.nanoTime();
+    boolean measured = begin >= measureStartNanos;
+    EndpointStats endpointStats = stats[endpoint.ordinal()];
+    try {
+      HttpResponse<String> response = httpClient.send(request,
+          HttpResponse.BodyHandlers.ofString());
+      long elapsed = System.nanoTime() - begin;
+      if (measured) {
+        endpointStats.record(elapsed, response.statusCode());
+      }
+      JsonNode body = response.statusCode() == 200 && !response.body().isEmpty()
+          ? MAPPER.readTree(response.body())
+          : MAPPER.nullNode();
+      return new Response(response.statusCode(), body, measured);
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return new Response(-1, MAPPER.nullNode(), measured);
+    }
+    catch (Exception e) {
+      if (measured) {
+        endpointStats.record(System.nanoTime() - begin, -1);
+      }
+      return new Response(-1, MAPPER.nullNode(), measured);
+    }
+  }
+
+  private URI uri(String pathAndQuery) {
+    return URI.create(options.baseUrl + pathAndQuery);
+  }
+
+  private HttpRequest.Builder post(String path, String json) {
+    return HttpRequest.newBuilder(uri(path)).header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString(json));
+  }
+
+  private void report() {
+    double seconds = options.durationSeconds;
+    System.out.println();
+    System.out.printf(Locale.ROOT, "%-14s %9s %8s %8s %8s %10s %9s %9s %9s %9s %10s%n",
+        "endpoint", "count", "errors", "422", "503", "req/s", "p50(ms)", "p99(ms)", "p99.9(ms)",
+        "max(ms)", "ok-p99(ms)");
+    for (Endpoint endpoint : Endpoint.values()) {
+      EndpointStats s = stats[endpoint.ordinal()];
+      long count = s.histogram.getTotalCount();
+      System.out.printf(Locale.ROOT,
+          "%-14s %9d %8d %8d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %10.2f%n", endpoint.label, count,
+          s.errors.sum(), s.unprocessable.sum(), s.unavailable.sum(), count / seconds,
+          s.percentileMillis(50), s.percentileMillis(99), s.percentileMillis(99.9),
+          s.histogram.getMaxValue() / 1000.0, s.okHistogram.getValueAtPercentile(99) / 1000.0);
+    }
+    System.out.println();
+    System.out.printf(Locale.ROOT,
+        "sessions completed=%d (%.1f/s) dropped=%d stock-shortage(pending 422)=%d "
+            + "no-availability=%d%n",
+        completedSessions.sum(), completedSessions.sum() / (seconds + options.warmupSeconds),
+        droppedSessions.sum(), stockShortages.sum(), noAvailability.sum());
+  }
+
+  private record Response(int status, JsonNode body, boolean measured) {
+  }
+
+  private enum Endpoint {
+    SEARCH("search"),
+    PRICE("price"),
+    PENDING("pending"),
+    CUSTOMER_INFO("customer-info"),
+    CANCEL("cancel"),
+    EXPIRE("expire");
+
+    private final String label;
+
+    Endpoint(String label) {
+      this.label = label;
+    }
+  }
+
+  /**
+   * エンドポイント別の応答時間（マイクロ秒）と結果の集計
+   *
+   * 503（バルクヘッド・同時実行数の上限による拒否）はエラー数に含めず別に計上し、
+   * 正常応答（200）のみの応答時間も集計する（拒否による短い応答時間で悪化が隠れないようにするため）。
+   */
+  private static final class EndpointStats {
+    private final ConcurrentHistogram histogram =
+        new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+    private final ConcurrentHistogram okHistogram =
+        new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder unprocessable = new LongAdder();
+    private final LongAdder unavailable = new LongAdder();
+
+    private void record(long elapsedNanos, int status) {
+      long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos),
+          histogram.getHighestTrackableValue());
+      histogram.recordValue(micros);
+      if (status == 200) {
+        okHistogram.recordValue(micros);
+      }
+      else if (status == 422) {
+        unprocessable.increment();
+      }
+      else if (status == 503) {
+        unavailable.increment();
+      }
+      else {
+        errors.increment();
+      }
+    }
+
+    private double percentileMillis(double percentile) {
+      return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+  }
+
+  /**
+   * コマンドライン引数（--name=value 形式）
+   */
+  private static final class Options {
+    private String baseUrl = "http://localhost:8080";
+    private double rate = 20;
+    private int warmupSeconds = 10;
+    private int durationSeconds = 60;
+    private int maxInFlight = 2000;
+    private int clients = 0;
+    private int maxLeadDays = 60;
+    private int maxNights = 3;
+    private double expireRatio = 0.2;
+    private int timeoutSeconds = 30;
+
+    private static Options parse(String[] args) {
+      Options options = new Options();
+      for (String arg : args) {
+        if (!arg.startsWith("--") || !arg.contains("=")) {
+          throw new IllegalArgumentException("Expected --name=value: " + arg);
+        }
+        String name = arg.substring(2, arg.indexOf('='));
+        String value = arg.substring(arg.indexOf('=') + 1);
+        switch (name) {
+          case "base-url" -> options.baseUrl = value.replaceAll("/+$", "");
+          case "rate" -> options.rate = Double.parseDouble(value);
+          case "warmup" -> options.warmupSeconds = Integer.parseInt(value);
+          case "duration" -> options.durationSeconds = Integer.parseInt(value);
+          case "max-in-flight" -> options.maxInFlight = Integer.parseInt(value);
+          case "clients" -> options.clients = Integer.parseInt(value);
+          case "max-lead-days" -> options.maxLeadDays = Integer.parseInt(value);
+          case "max-nights" -> options.maxNights = Integer.parseInt(value);
+          case "expire-ratio" -> options.expireRatio = Double.parseDouble(value);
+          case "timeout" -> options.timeoutSeconds = Integer.parseInt(value);
+          default -> throw new IllegalArgumentException("Unknown option: --" + name);
+        }
+      }
+      if (options.rate <= 0 || options.durationSeconds <= 0) {
+        throw new IllegalArgumentException("--rate and --duration must be positive");
+      }
+      return options;
+    }
+  }
+}
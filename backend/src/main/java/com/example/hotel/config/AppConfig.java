@@ -3,12 +3,16 @@ package com.example.hotel.config;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * アプリケーション全体の設定クラス
+ *
+ * 定期実行（@Scheduled）を有効化する（期限切れ仮予約スイーパー）。
  */
 @Configuration
 @EnableConfigurationProperties(PriceProperties.class)
+@EnableScheduling
 @ComponentScan(basePackages = "com.example.hotel.config")
 public class AppConfig {
 }
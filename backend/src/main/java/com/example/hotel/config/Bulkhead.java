@@ -0,0 +1,32 @@
+package com.example.hotel.config;
+
+/**
+ * バルクヘッド（同時実行数・待ち行列・コネクションプールを分離する業務の区分）
+ *
+ * 宣言順が受付の優先順位となる（同時実行数の合計が上限に達している場合、先に宣言した区分の待機リクエストから受け付ける）。
+ */
+public enum Bulkhead {
+
+  /**
+   * 予約（ReservationController: 仮予約・顧客情報登録・予約照会・キャンセル・期限切れ）
+   */
+  BOOKING("booking"),
+
+  /**
+   * 空室検索（TopPageController: 空室検索・料金計算・詳細地域・初期表示データ）
+   */
+  SEARCH("search");
+
+  private final String tag;
+
+  Bulkhead(String tag) {
+    this.tag = tag;
+  }
+
+  /**
+   * メトリクスのタグ・コネクションプール名に使用する名前
+   */
+  public String getTag() {
+    return tag;
+  }
+}
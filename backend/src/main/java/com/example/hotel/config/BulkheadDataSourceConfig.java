@@ -0,0 +1,99 @@
+package com.example.hotel.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+/**
+ * バルクヘッドごとのコネクションプールの設定
+ *
+ * 空室検索（search）と予約（booking）でコネクションプールを分け、空室検索の集中で
+ * 予約処理が接続を取得できなくなることを防ぐ。接続先（spring.datasource.*）は共通とし、
+ * 接続数・接続取得の待機時間は bulkhead.*.pool.* で設定する（スレッド数からは導かない）。
+ *
+ * 【仮想スレッドモード】
+ * プラットフォームスレッドではTomcatのスレッド数がDBの同時実行数の上限にもなるが、
+ * 仮想スレッドではリクエストごとにスレッドが作られるため、同時実行数はコネクションプールの接続数で決まる。
+ * そのため仮想スレッドモード（spring.threads.virtual.enabled=true）の場合は、
+ * bulkhead.*.virtual-pool.* の接続数・接続取得の待機時間で各プールを作成する。
+ *
+ * 【Bean構成】
+ * - bookingDataSource / searchDataSource: 各プール（HikariCP、プール名 booking / search）
+ * - backgroundDataSource: バルクヘッド外の処理のプール（プール名 background）
+ *   … 空室台帳の再構築・期限切れ処理・在庫行の事前作成・キャッシュの再読み込み・起動時の読み込み・管理API等。
+ *     予約のプールを定期処理が占有し、予約処理が接続を取得できなくなることを防ぐ
+ *   … いずれも Spring Boot により hikaricp.connections.*（タグ pool）のメトリクスが記録される
+ * - dataSource（@Primary）: BulkheadRoutingDataSource（Doma・JdbcTemplate・トランザクション管理が使用する）
+ */
+@Configuration
+@Slf4j
+public class BulkheadDataSourceConfig {
+
+  private static final String BACKGROUND_POOL_NAME = "background";
+
+  @Bean
+  public HikariDataSource bookingDataSource(DataSourceProperties dataSourceProperties,
+      BulkheadProperties bulkheadProperties, Environment environment) {
+    return createPool(dataSourceProperties, Bulkhead.BOOKING, bulkheadProperties, environment);
+  }
+
+  @Bean
+  public HikariDataSource searchDataSource(DataSourceProperties dataSourceProperties,
+      BulkheadProperties bulkheadProperties, Environment environment) {
+    return createPool(dataSourceProperties, Bulkhead.SEARCH, bulkheadProperties, environment);
+  }
+
+  @Bean
+  public HikariDataSource backgroundDataSource(DataSourceProperties dataSourceProperties,
+      BulkheadProperties bulkheadProperties, Environment environment) {
+    return createPool(dataSourceProperties, BACKGROUND_POOL_NAME,
+        bulkheadProperties.getBackground(), environment);
+  }
+
+  @Bean
+  @Primary
+  public BulkheadRoutingDataSource dataSource(
+      @Qualifier("bookingDataSource") DataSource bookingDataSource,
+      @Qualifier("searchDataSource") DataSource searchDataSource,
+      @Qualifier("backgroundDataSource") DataSource backgroundDataSource) {
+    BulkheadRoutingDataSource dataSource = new BulkheadRoutingDataSource();
+    dataSource.setTargetDataSources(Map.of(Bulkhead.BOOKING, bookingDataSource,
+        Bulkhead.SEARCH, searchDataSource));
+    dataSource.setDefaultTargetDataSource(backgroundDataSource);
+    return dataSource;
+  }
+
+  private static HikariDataSource createPool(DataSourceProperties dataSourceProperties,
+      Bulkhead bulkhead, BulkheadProperties bulkheadProperties, Environment environment) {
+    return createPool(dataSourceProperties, bulkhead.getTag(), bulkheadProperties.get(bulkhead),
+        environment);
+  }
+
+  private static HikariDataSource createPool(DataSourceProperties dataSourceProperties,
+      String poolName, BulkheadProperties.Pools pools, Environment environment) {
+    boolean virtualThreads = Threading.VIRTUAL.isActive(environment);
+    BulkheadProperties.Pool pool = pools.pool(virtualThreads);
+    HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+        .type(HikariDataSource.class).build();
+    dataSource.setPoolName(poolName);
+    dataSource.setMaximumPoolSize(pool.getMaximumPoolSize());
+    dataSource.setMinimumIdle(pool.getMinimumIdle());
+    dataSource.setConnectionTimeout(pool.getConnectionTimeoutMillis());
+    if (virtualThreads) {
+      log.info("仮想スレッドモードのコネクションプールを設定しました: pool={}, maximumPoolSize={}, "
+          + "minimumIdle={}, connectionTimeoutMs={}", poolName, pool.getMaximumPoolSize(),
+          pool.getMinimumIdle(), pool.getConnectionTimeoutMillis());
+    }
+    return dataSource;
+  }
+}
@@ -0,0 +1,215 @@
+package com.example.hotel.config;
+
+import com.example.hotel.domain.service.HotelMetrics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * バルクヘッドごとの同時実行数の制限と優先受付
+ *
+ * 空室検索のアクセス集中でスレッドやDB接続を使い切り、売上に直結する予約処理がタイムアウトすることを防ぐため、
+ * バルクヘッド（Bulkhead）ごとに同時実行数と待ち行列を分けて管理する。
+ *
+ * 【受付の判定】
+ * 1. バルクヘッドの同時実行数が上限未満、かつ全体の同時実行数が max-concurrent-total 未満であること
+ * 2. 優先順位が上のバルクヘッドに、受付可能な（そのバルクヘッドの上限に達していない）待機リクエストがないこと
+ * 受け付けられない場合は待ち行列で max-wait-millis まで待機する。
+ * 待ち行列が max-queue に達している場合・待機時間を超過した場合は拒否する。
+ *
+ * 【優先受付】
+ * 処理が終了して空きができた時点で、優先順位の高いバルクヘッド（予約）の待機リクエストから受け付ける。
+ *
+ * 【実行中のバルクヘッド】
+ * 受け付けたリクエストの処理中は current() でバルクヘッドを参照できる
+ * （BulkheadRoutingDataSource がバルクヘッドごとのコネクションプールを選択するために使用する）。
+ *
+ * 【メトリクス】
+ * - hotel.bulkhead.active / hotel.bulkhead.queue / hotel.bulkhead.limit: 同時実行数・待ち行列の長さ・上限（ゲージ）
+ * - hotel.bulkhead.wait / hotel.bulkhead.rejected: HotelMetrics で記録
+ */
+@Component
+public class BulkheadGate implements MeterBinder {
+
+  private static final ThreadLocal<Bulkhead> CURRENT = new ThreadLocal<>();
+  private static final Bulkhead[] BULKHEADS = Bulkhead.values();
+
+  private final BulkheadProperties settings;
+  private final HotelMetrics hotelMetrics;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition[] available = new Condition[BULKHEADS.length];
+  private final int[] active = new int[BULKHEADS.length];
+  private final int[] waiting = new int[BULKHEADS.length];
+  private int totalActive;
+
+  public BulkheadGate(BulkheadProperties settings, HotelMetrics hotelMetrics) {
+    this.settings = settings;
+    this.hotelMetrics = hotelMetrics;
+    for (Bulkhead bulkhead : BULKHEADS) {
+      available[bulkhead.ordinal()] = lock.newCondition();
+    }
+  }
+
+  /**
+   * 現在のスレッドで処理中のリクエストのバルクヘッドを返す
+   *
+   * @return バルクヘッド（バルクヘッド外の処理の場合はnull）
+   */
+  public static Bulkhead current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * リクエストの受付を試みる
+   *
+   * 受け付けた場合は、処理終了後に必ず release を呼び出すこと。
+   *
+   * @param bulkhead バルクヘッド
+   * @return 受付結果
+   * @throws InterruptedException 待機中に割り込まれた場合
+   */
+  public Admission acquire(Bulkhead bulkhead) throws InterruptedException {
+    if (!settings.isEnabled()) {
+      CURRENT.set(bulkhead);
+      return Admission.ADMITTED;
+    }
+    int index = bulkhead.ordinal();
+    long start = System.nanoTime();
+    lock.lock();
+    try {
+      if (waiting[index] == 0 && canAdmit(bulkhead)) {
+        admit(bulkhead);
+        hotelMetrics.recordBulkheadWait(bulkhead.getTag(), 0);
+        return Admission.ADMITTED;
+      }
+      BulkheadProperties.Limit limit = settings.get(bulkhead);
+      if (waiting[index] >= limit.getMaxQueue()) {
+        hotelMetrics.bulkheadRejected(bulkhead.getTag(), "queue_full");
+        return Admission.QUEUE_FULL;
+      }
+      waiting[index]++;
+      boolean admitted = false;
+      try {
+        long remaining = TimeUnit.MILLISECONDS.toNanos(limit.getMaxWaitMillis());
+        while (!canAdmit(bulkhead)) {
+          if (remaining <= 0) {
+            hotelMetrics.bulkheadRejected(bulkhead.getTag(), "timeout");
+            return Admission.TIMEOUT;
+          }
+          remaining = available[index].awaitNanos(remaining);
+        }
+        admitted = true;
+      }
+      finally {
+        waiting[index]--;
+        if (admitted) {
+          admit(bulkhead);
+        }
+        // 通知を受けた後に待機を終了した場合や、まだ空きがある場合に備え、次の待機リクエストへ通知を引き継ぐ
+        signalNext();
+      }
+      hotelMetrics.recordBulkheadWait(bulkhead.getTag(), System.nanoTime() - start);
+      return Admission.ADMITTED;
+    }
+    finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * 受け付けたリクエストの処理終了を通知する
+   *
+   * @param bulkhead acquire で受け付けたバルクヘッド
+   */
+  public void release(Bulkhead bulkhead) {
+    CURRENT.remove();
+    if (!settings.isEnabled()) {
+      return;
+    }
+    lock.lock();
+    try {
+      active[bulkhead.ordinal()]--;
+      totalActive--;
+      signalNext();
+    }
+    finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    for (Bulkhead bulkhead : BULKHEADS) {
+      int index = bulkhead.ordinal();
+      Gauge.builder("hotel.bulkhead.active", this, gate -> gate.read(gate.active, index))
+          .description("Requests being processed in the bulkhead")
+          .tag("bulkhead", bulkhead.getTag()).register(registry);
+      Gauge.builder("hotel.bulkhead.queue", this, gate -> gate.read(gate.waiting, index))
+          .description("Requests waiting for admission to the bulkhead")
+          .tag("bulkhead", bulkhead.getTag()).register(registry);
+      Gauge.builder("hotel.bulkhead.limit", settings,
+          properties -> properties.get(bulkhead).getMaxConcurrent())
+          .description("Maximum concurrent requests in the bulkhead")
+          .tag("bulkhead", bulkhead.getTag()).register(registry);
+    }
+  }
+
+  // 呼び出し元でロックを取得していること
+  private boolean canAdmit(Bulkhead bulkhead) {
+    if (active[bulkhead.ordinal()] >= settings.get(bulkhead).getMaxConcurrent()
+        || totalActive >= settings.getMaxConcurrentTotal()) {
+      return false;
+    }
+    for (int higher = 0; higher < bulkhead.ordinal(); higher++) {
+      if (waiting[higher] > 0
+          && active[higher] < settings.get(BULKHEADS[higher]).getMaxConcurrent()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // 呼び出し元でロックを取得していること
+  private void admit(Bulkhead bulkhead) {
+    active[bulkhead.ordinal()]++;
+    totalActive++;
+    CURRENT.set(bulkhead);
+  }
+
+  // 優先順位の高いバルクヘッドから、受付可能な待機リクエストを1件起こす（呼び出し元でロックを取得していること）
+  private void signalNext() {
+    for (Bulkhead bulkhead : BULKHEADS) {
+      if (waiting[bulkhead.ordinal()] > 0 && canAdmit(bulkhead)) {
+        available[bulkhead.ordinal()].signal();
+        return;
+      }
+    }
+  }
+
+  private int read(int[] counts, int index) {
+    lock.lock();
+    try {
+      return counts[index];
+    }
+    finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * 受付結果
+   */
+  public enum Admission {
+    /** 受け付けた */
+    ADMITTED,
+    /** 待ち行列が上限に達しているため拒否した */
+    QUEUE_FULL,
+    /** 待機時間を超過したため拒否した */
+    TIMEOUT
+  }
+}
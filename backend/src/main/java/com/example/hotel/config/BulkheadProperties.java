@@ -0,0 +1,127 @@
+package com.example.hotel.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * バルクヘッド（空室検索・予約の同時実行数とコネクションプールの分離）の設定プロパティ
+ *
+ * bulkhead.propertiesの設定値をバインド
+ */
+@Component
+@ConfigurationProperties(prefix = "bulkhead")
+@PropertySource("classpath:bulkhead.properties")
+@Getter
+@Setter
+public class BulkheadProperties {
+
+  /**
+   * 同時実行数の制限を行う場合true
+   */
+  private boolean enabled;
+
+  /**
+   * 全バルクヘッド合計の同時実行数の上限
+   */
+  private int maxConcurrentTotal;
+
+  /**
+   * 予約のバルクヘッドの設定
+   */
+  private Limit booking = new Limit();
+
+  /**
+   * 空室検索のバルクヘッドの設定
+   */
+  private Limit search = new Limit();
+
+  /**
+   * バルクヘッド外の処理（定期処理・起動時の読み込み・管理API）のコネクションプールの設定
+   */
+  private Pools background = new Pools();
+
+  /**
+   * バルクヘッドごとの設定を返す
+   *
+   * @param bulkhead バルクヘッド
+   * @return 設定
+   */
+  public Limit get(Bulkhead bulkhead) {
+    return bulkhead == Bulkhead.BOOKING ? booking : search;
+  }
+
+  /**
+   * コネクションプールの設定プロパティ（スレッドモード別）
+   */
+  @Getter
+  @Setter
+  public static class Pools {
+    /**
+     * コネクションプールの設定
+     */
+    private Pool pool = new Pool();
+
+    /**
+     * 仮想スレッドモード（spring.threads.virtual.enabled=true）でのコネクションプールの設定
+     */
+    private Pool virtualPool = new Pool();
+
+    /**
+     * スレッドモードに応じたコネクションプールの設定を返す
+     *
+     * @param virtualThreads 仮想スレッドモードの場合true
+     * @return コネクションプールの設定
+     */
+    public Pool pool(boolean virtualThreads) {
+      return virtualThreads ? virtualPool : pool;
+    }
+  }
+
+  /**
+   * バルクヘッドごとの設定プロパティ
+   */
+  @Getter
+  @Setter
+  public static class Limit extends Pools {
+    /**
+     * 同時実行数の上限
+     */
+    private int maxConcurrent;
+
+    /**
+     * 待ち行列の長さの上限
+     */
+    private int maxQueue;
+
+    /**
+     * 待ち行列での最大待機時間（ミリ秒）
+     */
+    private long maxWaitMillis;
+  }
+
+  /**
+   * コネクションプール（HikariCP）の設定プロパティ
+   */
+  @Getter
+  @Setter
+  public static class Pool {
+    /**
+     * 最大接続数
+     */
+    private int maximumPoolSize;
+
+    /**
+     * 最小アイドル接続数
+     */
+    private int minimumIdle;
+
+    /**
+     * 接続取得の待機時間（ミリ秒）
+     */
+    private long connectionTimeoutMillis;
+  }
+}
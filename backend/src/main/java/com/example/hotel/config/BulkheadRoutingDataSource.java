@@ -0,0 +1,20 @@
+package com.example.hotel.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * バルクヘッドごとのコネクションプールを選択するDataSource
+ *
+ * 処理中のリクエストのバルクヘッド（BulkheadGate#current）に対応するコネクションプールから接続を取得する。
+ * バルクヘッド外の処理（定期処理・起動時の読み込み・管理API等）は既定のプール（background）を使用する。
+ *
+ * トランザクション中はトランザクション開始時に取得した接続を使い続けるため、
+ * 1つのトランザクションが複数のプールにまたがることはない。
+ */
+public class BulkheadRoutingDataSource extends AbstractRoutingDataSource {
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    return BulkheadGate.current();
+  }
+}
@@ -0,0 +1,154 @@
+package com.example.hotel.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * アプリケーション内キャッシュの設定プロパティ
+ *
+ * cache.propertiesの設定値をバインド
+ */
+@Component
+@ConfigurationProperties(prefix = "cache")
+@PropertySource("classpath:cache.properties")
+@Getter
+@Setter
+public class CacheProperties {
+
+  /**
+   * 空室検索結果キャッシュの設定
+   */
+  private SearchResult searchResult = new SearchResult();
+
+  /**
+   * 予約情報キャッシュの設定
+   */
+  private Reservation reservation = new Reservation();
+
+  /**
+   * 部屋タイプ別在庫情報キャッシュの設定
+   */
+  private Stock stock = new Stock();
+
+  /**
+   * 在庫情報・都道府県キャッシュの再読み込みの設定
+   */
+  private Refresh refresh = new Refresh();
+
+  /**
+   * 在庫情報・都道府県キャッシュのスナップショットファイルの設定
+   */
+  private Snapshot snapshot = new Snapshot();
+
+  /**
+   * 空室検索結果キャッシュの設定プロパティ
+   */
+  @Getter
+  @Setter
+  public static class SearchResult {
+    /**
+     * 最大エントリ数
+     */
+    private long maximumSize;
+
+    /**
+     * 有効期間（秒）
+     *
+     * 他ノードでの予約変更は、この時間が経過するまで反映されない。
+     */
+    private long ttlSeconds;
+  }
+
+  /**
+   * 予約情報キャッシュの設定プロパティ
+   */
+  @Getter
+  @Setter
+  public static class Reservation {
+    /**
+     * 推定メモリ使用量の上限（バイト）
+     */
+    private long maximumWeightBytes;
+
+    /**
+     * 最終アクセスからの有効期間（分）
+     *
+     * 仮予約の有効期限より長く設定する。
+     */
+    private long expireAfterAccessMinutes;
+  }
+
+  /**
+   * 部屋タイプ別在庫情報キャッシュ（CacheService）の設定プロパティ
+   */
+  @Getter
+  @Setter
+  public static class Stock {
+    /**
+     * 起動時に全部屋タイプを読み込まず、都道府県ごとに初回参照時に読み込む場合true
+     */
+    private boolean onDemand;
+
+    /**
+     * 都道府県ごとに読み込んだ在庫情報の推定メモリ使用量の上限（バイト、onDemand時のみ）
+     */
+    private long maximumWeightBytes;
+
+    /**
+     * 都道府県ごとに読み込んだ在庫情報の最終アクセスからの有効期間（分、onDemand時のみ）
+     */
+    private long expireAfterAccessMinutes;
+  }
+
+  /**
+   * 在庫情報・都道府県キャッシュの再読み込み（MasterDataRefresher）の設定プロパティ
+   */
+  @Getter
+  @Setter
+  public static class Refresh {
+    /**
+     * 定期的に再読み込みする場合true
+     */
+    private boolean enabled;
+
+    /**
+     * 再読み込みの間隔（ミリ秒、前回の実行終了からの間隔）
+     */
+    private long fixedDelayMillis;
+
+    /**
+     * 管理API（POST /api/admin/cache/refresh）の認証トークン
+     *
+     * 空の場合は管理APIを無効とする。
+     */
+    private String adminToken;
+  }
+
+  /**
+   * 在庫情報・都道府県キャッシュのスナップショットファイル（MasterDataSnapshotStore）の設定プロパティ
+   */
+  @Getter
+  @Setter
+  public static class Snapshot {
+    /**
+     * DBから読み込むたびにスナップショットファイルへ保存し、起動時に利用する場合true
+     */
+    private boolean enabled;
+
+    /**
+     * スナップショットファイルのパス
+     */
+    private String path;
+
+    /**
+     * 起動時に利用するスナップショットの最大経過時間（分）
+     *
+     * 保存からこの時間を超えたスナップショットは使用せず、DBからの読み込み完了まで起動を待つ。
+     */
+    private long maxAgeMinutes;
+  }
+}
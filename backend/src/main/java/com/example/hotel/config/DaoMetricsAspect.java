@@ -0,0 +1,77 @@
+package com.example.hotel.config;
+
+import com.example.hotel.domain.service.WarmupContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.seasar.doma.Dao;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Doma DAOメソッドの実行時間を計測するアスペクト
+ *
+ * com.example.hotel.domain.repository 配下の DAO インターフェースで宣言されたメソッドを対象に、
+ * メトリクス hotel.dao（タグ: dao=DAOインターフェース名, method=メソッド名, outcome=success/error）を記録する。
+ * STREAM検索の場合は、ストリームの処理を含めた時間となる。
+ * 起動時ウォームアップ中（WarmupContext）の呼び出しは記録しない。
+ */
+@Aspect
+@Component
+public class DaoMetricsAspect {
+
+  private static final String METRIC_NAME = "hotel.dao";
+
+  private final MeterRegistry meterRegistry;
+
+  // 実装メソッド → 成功時のタイマー（タグ解決とレジストリ検索を呼び出し毎に行わない）
+  private final Map<Method, Timer> successTimers = new ConcurrentHashMap<>();
+
+  public DaoMetricsAspect(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Around("execution(* com.example.hotel.domain.repository.*Dao.*(..))")
+  public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+    if (WarmupContext.isActive()) {
+      return joinPoint.proceed();
+    }
+    Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+    long start = System.nanoTime();
+    try {
+      Object result = joinPoint.proceed();
+      successTimers.computeIfAbsent(method, m -> timer(m, "success"))
+          .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      return result;
+    }
+    catch (Throwable e) {
+      timer(method, "error").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      throw e;
+    }
+  }
+
+  private Timer timer(Method method, String outcome) {
+    return Timer.builder(METRIC_NAME).description("Doma DAO method execution time")
+        .tag("dao", daoName(method.getDeclaringClass())).tag("method", method.getName())
+        .tag("outcome", outcome).register(meterRegistry);
+  }
+
+  /**
+   * DAOインターフェース名を取得する（生成された実装クラス名ではなく @Dao 付きのインターフェース名）
+   */
+  private static String daoName(Class<?> type) {
+    for (Class<?> candidate : type.getInterfaces()) {
+      if (candidate.isAnnotationPresent(Dao.class)) {
+        return candidate.getSimpleName();
+      }
+    }
+    return type.getSimpleName();
+  }
+}
@@ -0,0 +1,427 @@
+package com.example.hotel.config;
+
+import com.example.hotel.domain.constants.ReservationStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 組み込みDB（Springプロファイル embedded）に合成データを投入する初期化ロジック
+ *
+ * 【生成内容】
+ * 都道府県（47件）、詳細地域、ホテル、部屋タイプ、部屋、予約者、予約、予約明細を生成する。
+ * - ホテルの都道府県配置と予約の集中度はZipf分布で偏らせ、人気の都道府県・ホテルを再現する
+ * - 予約ステータスは 確定70% / キャンセル20% / 期限切れ5% / 仮予約5%（未来のチェックインのみ）
+ * - 予約の宿泊数は1〜7泊で、短期滞在ほど多い
+ * 在庫数を超える予約も生成されうる（検索・集計SQLの負荷計測が目的のため）。
+ *
+ * 【再現性】
+ * 同じシード・データ量であれば、同じデータを生成する（チェックイン日は起動日からの相対日付）。
+ * 生成段階ごとに独立した乱数列を使用するため、ある段階の件数を変えても前の段階の結果は変わらない。
+ *
+ * 【実行順序】
+ * StartupDatabaseLoader（在庫キャッシュ・空室台帳の構築）より先に実行する。
+ * ホテルが1件でも存在する場合は、生成済みとみなして何もしない。
+ */
+@Component
+@Profile("embedded")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class EmbeddedDataGenerator implements CommandLineRunner {
+
+  private static final String[] PREFECTURE_NAMES = {"北海道", "青森県", "岩手県", "宮城県", "秋田県",
+      "山形県", "福島県", "茨城県", "栃木県", "群馬県", "埼玉県", "千葉県", "東京都", "神奈川県", "新潟県", "富山県",
+      "石川県", "福井県", "山梨県", "長野県", "岐阜県", "静岡県", "愛知県", "三重県", "滋賀県", "京都府", "大阪府",
+      "兵庫県", "奈良県", "和歌山県", "鳥取県", "島根県", "岡山県", "広島県", "山口県", "徳島県", "香川県", "愛媛県",
+      "高知県", "福岡県", "佐賀県", "長崎県", "熊本県", "大分県", "宮崎県", "鹿児島県", "沖縄県"};
+
+  private static final String[] ROOM_TYPE_NAMES = {"シングル", "ダブル", "ツイン", "トリプル", "和室",
+      "スイート"};
+
+  // 部屋タイプ名の添字ごとの定員
+  private static final int[] ROOM_TYPE_CAPACITIES = {1, 2, 2, 3, 4, 4};
+
+  private static final int MAX_NIGHTS = 7;
+  private static final int MAX_DETAILS_PER_RESERVATION = 3;
+  private static final int PRICE_PER_PERSON_NIGHT = 8000;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final EmbeddedDataProperties properties;
+
+  public EmbeddedDataGenerator(JdbcTemplate jdbcTemplate, EmbeddedDataProperties properties) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.properties = properties;
+  }
+
+  @Override
+  public void run(String... args) {
+    Integer hotelCount = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM hotels", Integer.class);
+    if (hotelCount != null && hotelCount > 0) {
+      log.info("組み込みDBにデータが存在するため、合成データの生成をスキップします（ホテル{}件）。", hotelCount);
+      return;
+    }
+
+    long started = System.nanoTime();
+    log.info("組み込みDBへ合成データを生成します: ホテル{}件, 予約明細{}件, シード={}", properties.getHotels(),
+        properties.getReservationDetails(), properties.getSeed());
+
+    int areaCount = insertPrefecturesAndAreas();
+    int[] hotelAreas = insertHotels();
+    RoomTypes roomTypes = insertRoomTypes(hotelAreas.length);
+    int roomCount = insertRooms(roomTypes);
+    int[] reservationTotals = insertReservations(roomTypes);
+
+    // 明示的にIDを指定して投入したため、以降の自動採番を生成済みの最大値の次から開始する
+    restartIdentity("reservers", "reserver_id", reservationTotals[2] + 1);
+    restartIdentity("reservations", "reservation_id", reservationTotals[0] + 1);
+    restartIdentity("reservation_details", "reservation_detail_id", reservationTotals[1] + 1);
+    jdbcTemplate.execute("ANALYZE");
+
+    log.info("合成データの生成が完了しました（{}秒）: 詳細地域{}件, ホテル{}件, 部屋タイプ{}件, 部屋{}件, 予約{}件, 予約明細{}件",
+        (System.nanoTime() - started) / 1_000_000_000, areaCount, hotelAreas.length,
+        roomTypes.count(), roomCount, reservationTotals[0], reservationTotals[1]);
+  }
+
+  /**
+   * 都道府県と詳細地域を投入する（詳細地域IDは都道府県順の連番）
+   *
+   * @return 詳細地域数
+   */
+  private int insertPrefecturesAndAreas() {
+    batchInsert("INSERT INTO prefectures (prefecture_id, prefecture_name) VALUES (?, ?)",
+        PREFECTURE_NAMES.length, (ps, i) -> {
+          ps.setInt(1, i + 1);
+          ps.setString(2, PREFECTURE_NAMES[i]);
+        });
+
+    int areasPerPrefecture = properties.getAreasPerPrefecture();
+    int areaCount = PREFECTURE_NAMES.length * areasPerPrefecture;
+    batchInsert("INSERT INTO area_details (area_id, area_name, prefecture_id) VALUES (?, ?, ?)",
+        areaCount, (ps, i) -> {
+          int prefectureIndex = i / areasPerPrefecture;
+          ps.setInt(1, i + 1);
+          ps.setString(2, PREFECTURE_NAMES[prefectureIndex] + "エリア" + (i % areasPerPrefecture + 1));
+          ps.setInt(3, prefectureIndex + 1);
+        });
+    return areaCount;
+  }
+
+  /**
+   * ホテルを投入する（都道府県はZipf分布、詳細地域は都道府県内で一様）
+   *
+   * @return ホテルID - 1 を添字とする詳細地域ID
+   */
+  private int[] insertHotels() {
+    SplittableRandom random = new SplittableRandom(properties.getSeed() + 1);
+    ZipfSampler prefectureSampler = new ZipfSampler(PREFECTURE_NAMES.length,
+        properties.getPrefectureSkew());
+    int areasPerPrefecture = properties.getAreasPerPrefecture();
+    int[] hotelAreas = new int[properties.getHotels()];
+    for (int i = 0; i < hotelAreas.length; i++) {
+      int prefectureIndex = prefectureSampler.sample(random);
+      hotelAreas[i] = prefectureIndex * areasPerPrefecture + random.nextInt(areasPerPrefecture) + 1;
+    }
+    batchInsert("INSERT INTO hotels (hotel_id, hotel_name, area_id) VALUES (?, ?, ?)",
+        hotelAreas.length, (ps, i) -> {
+          ps.setInt(1, i + 1);
+          ps.setString(2, "ホテル" + (i + 1));
+          ps.setInt(3, hotelAreas[i]);
+        });
+    return hotelAreas;
+  }
+
+  /**
+   * 部屋タイプを投入する（部屋タイプIDはホテル順の連番）
+   */
+  private RoomTypes insertRoomTypes(int hotelCount) {
+    SplittableRandom random = new SplittableRandom(properties.getSeed() + 2);
+    int[] firstRoomType = new int[hotelCount + 1];
+    List<Integer> nameIndexes = new ArrayList<>();
+    for (int hotel = 0; hotel < hotelCount; hotel++) {
+      firstRoomType[hotel] = nameIndexes.size();
+      int roomTypeCount = random.nextInt(properties.getMinRoomTypesPerHotel(),
+          properties.getMaxRoomTypesPerHotel() + 1);
+      // 同一ホテル内では部屋タイプ名が重複しないよう、開始位置をずらして連続して割り当てる
+      int start = random.nextInt(ROOM_TYPE_NAMES.length);
+      for (int k = 0; k < roomTypeCount; k++) {
+        nameIndexes.add((start + k) % ROOM_TYPE_NAMES.length);
+      }
+    }
+    firstRoomType[hotelCount] = nameIndexes.size();
+
+    int[] names = nameIndexes.stream().mapToInt(Integer::intValue).toArray();
+    int[] hotelIds = new int[names.length];
+    for (int hotel = 0; hotel < hotelCount; hotel++) {
+      for (int i = firstRoomType[hotel]; i < firstRoomType[hotel + 1]; i++) {
+        hotelIds[i] = hotel + 1;
+      }
+    }
+    batchInsert("INSERT INTO room_types (room_type_id, hotel_id, room_type_name) VALUES (?, ?, ?)",
+        names.length, (ps, i) -> {
+          ps.setInt(1, i + 1);
+          ps.setInt(2, hotelIds[i]);
+          ps.setString(3, ROOM_TYPE_NAMES[names[i]]);
+        });
+    return new RoomTypes(firstRoomType, names);
+  }
+
+  /**
+   * 部屋を投入する
+   *
+   * @return 部屋数
+   */
+  private int insertRooms(RoomTypes roomTypes) {
+    SplittableRandom random = new SplittableRandom(properties.getSeed() + 3);
+    int[] roomsPerType = new int[roomTypes.count()];
+    int total = 0;
+    for (int i = 0; i < roomsPerType.length; i++) {
+      roomsPerType[i] = random.nextInt(properties.getMinRoomsPerRoomType(),
+          properties.getMaxRoomsPerRoomType() + 1);
+      total += roomsPerType[i];
+    }
+
+    int[] cursor = {0, 0}; // 部屋タイプの添字, 部屋タイプ内の部屋番号
+    batchInsert("INSERT INTO rooms (room_id, room_type_id, room_capacity) VALUES (?, ?, ?)", total,
+        (ps, i) -> {
+          while (cursor[1] >= roomsPerType[cursor[0]]) {
+            cursor[0]++;
+            cursor[1] = 0;
+          }
+          ps.setInt(1, i + 1);
+          ps.setInt(2, cursor[0] + 1);
+          ps.setInt(3, roomTypes.capacity(cursor[0]));
+          cursor[1]++;
+        });
+    return total;
+  }
+
+  /**
+   * 予約者・予約・予約明細を投入する
+   *
+   * @return {予約件数, 予約明細件数, 予約者件数}
+   */
+  private int[] insertReservations(RoomTypes roomTypes) {
+    SplittableRandom random = new SplittableRandom(properties.getSeed() + 4);
+    int hotelCount = roomTypes.hotelCount();
+    ZipfSampler hotelSampler = new ZipfSampler(hotelCount, properties.getHotelPopularitySkew());
+    // 人気順位とホテルIDの対応をシャッフルし、人気ホテルが特定の都道府県に偏らないようにする
+    int[] hotelByRank = new int[hotelCount];
+    for (int i = 0; i < hotelCount; i++) {
+      hotelByRank[i] = i;
+    }
+    for (int i = hotelCount - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1);
+      int tmp = hotelByRank[i];
+      hotelByRank[i] = hotelByRank[j];
+      hotelByRank[j] = tmp;
+    }
+
+    LocalDate today = LocalDate.now();
+    LocalDateTime now = LocalDateTime.now();
+    int targetDetails = properties.getReservationDetails();
+    int batchSize = properties.getBatchSize();
+    int reservationId = 0;
+    int detailId = 0;
+    int reserverId = 0;
+    int flushCount = 0;
+
+    List<Object[]> reservers = new ArrayList<>(batchSize);
+    List<Object[]> reservations = new ArrayList<>(batchSize);
+    List<Object[]> details = new ArrayList<>(batchSize * MAX_DETAILS_PER_RESERVATION);
+    while (detailId < targetDetails) {
+      reservationId++;
+      int hotel = hotelByRank[hotelSampler.sample(random)];
+      LocalDate checkIn = today.plusDays(
+          random.nextInt(-properties.getPastDays(), properties.getFutureDays() + 1));
+      int nights = shortStayNights(random);
+      LocalDate checkOut = checkIn.plusDays(nights);
+      LocalDateTime reservedAt = now.minusDays(random.nextInt(1, 90));
+
+      int status;
+      Integer reservationReserverId = null;
+      LocalDateTime pendingLimitAt = reservedAt.plusMinutes(15);
+      int roll = random.nextInt(100);
+      if (roll < 5 && checkIn.isAfter(today)) {
+        status = ReservationStatus.TENTATIVE;
+        reservedAt = now;
+        pendingLimitAt = now.plusMinutes(15);
+      }
+      else if (roll < 75) {
+        status = ReservationStatus.CONFIRMED;
+        reserverId++;
+        reservationReserverId = reserverId;
+        reservers.add(new Object[]{reserverId, "太郎" + reserverId, "予約",
+            String.format("090%08d", reserverId % 100_000_000),
+            "guest" + reserverId + "@example.com"});
+      }
+      else if (roll < 95) {
+        status = ReservationStatus.CANCELLED;
+      }
+      else {
+        status = ReservationStatus.EXPIRED;
+      }
+      reservations.add(new Object[]{reservationId, reservationReserverId,
+          Timestamp.valueOf(reservedAt), Date.valueOf(checkIn), Date.valueOf(checkOut),
+          status == ReservationStatus.CONFIRMED ? Time.valueOf("15:00:00") : null, status,
+          Timestamp.valueOf(pendingLimitAt)});
+
+      int first = roomTypes.firstOf(hotel);
+      int roomTypeCount = roomTypes.countOf(hotel);
+      int detailCount = Math.min(random.nextInt(1, MAX_DETAILS_PER_RESERVATION + 1), roomTypeCount);
+      int start = random.nextInt(roomTypeCount);
+      for (int k = 0; k < detailCount && detailId < targetDetails; k++) {
+        int roomType = first + (start + k) % roomTypeCount;
+        int roomCount = random.nextInt(10) == 0 ? 2 : 1;
+        detailId++;
+        details.add(new Object[]{detailId, reservationId, roomType + 1, roomCount,
+            roomCount * nights * PRICE_PER_PERSON_NIGHT * roomTypes.capacity(roomType)});
+      }
+
+      if (reservations.size() >= batchSize || detailId >= targetDetails) {
+        flushReservations(reservers, reservations, details);
+        if (++flushCount % 20 == 0) {
+          log.info("予約明細を生成中: {}/{}件", detailId, targetDetails);
+        }
+      }
+    }
+    flushReservations(reservers, reservations, details);
+    return new int[]{reservationId, detailId, reserverId};
+  }
+
+  private void flushReservations(List<Object[]> reservers, List<Object[]> reservations,
+      List<Object[]> details) {
+    if (!reservers.isEmpty()) {
+      jdbcTemplate.batchUpdate("INSERT INTO reservers (reserver_id, reserver_first_name, "
+          + "reserver_last_name, phone_number, e_mail_address) VALUES (?, ?, ?, ?, ?)", reservers);
+    }
+    if (!reservations.isEmpty()) {
+      jdbcTemplate.batchUpdate("INSERT INTO reservations (reservation_id, reserver_id, "
+          + "reserved_at, check_in_date, check_out_date, arrive_at, reservation_status, "
+          + "pending_limit_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", reservations);
+    }
+    if (!details.isEmpty()) {
+      jdbcTemplate.batchUpdate("INSERT INTO reservation_details (reservation_detail_id, "
+          + "reservation_id, room_type_id, room_count, how_much) VALUES (?, ?, ?, ?, ?)", details);
+    }
+    reservers.clear();
+    reservations.clear();
+    details.clear();
+  }
+
+  // 1泊が最も多く、泊数が増えるほど少なくなる（おおよそ半減）
+  private static int shortStayNights(SplittableRandom random) {
+    int nights = 1;
+    while (nights < MAX_NIGHTS && random.nextBoolean()) {
+      nights++;
+    }
+    return nights;
+  }
+
+  private void restartIdentity(String table, String column, int next) {
+    jdbcTemplate
+        .execute("ALTER TABLE " + table + " ALTER COLUMN " + column + " RESTART WITH " + next);
+  }
+
+  /**
+   * 指定件数を batchSize 件ずつに分けてバッチINSERTする
+   */
+  private void batchInsert(String sql, int count, RowSetter rowSetter) {
+    int batchSize = properties.getBatchSize();
+    for (int start = 0; start < count; start += batchSize) {
+      int offset = start;
+      int size = Math.min(batchSize, count - start);
+      jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+        @Override
+        public void setValues(PreparedStatement ps, int i) throws SQLException {
+          rowSetter.setValues(ps, offset + i);
+        }
+
+        @Override
+        public int getBatchSize() {
+          return size;
+        }
+      });
+    }
+  }
+
+  @FunctionalInterface
+  private interface RowSetter {
+    void setValues(PreparedStatement ps, int index) throws SQLException;
+  }
+
+  /**
+   * 生成した部屋タイプ（ホテルごとの添字範囲と部屋タイプ名の添字）
+   *
+   * 部屋タイプの添字 + 1 が部屋タイプID、ホテルの添字 + 1 がホテルIDに対応する。
+   */
+  private record RoomTypes(int[] firstRoomType, int[] nameIndexes) {
+
+    int count() {
+      return nameIndexes.length;
+    }
+
+    int hotelCount() {
+      return firstRoomType.length - 1;
+    }
+
+    int firstOf(int hotel) {
+      return firstRoomType[hotel];
+    }
+
+    int countOf(int hotel) {
+      return firstRoomType[hotel + 1] - firstRoomType[hotel];
+    }
+
+    int capacity(int roomType) {
+      return ROOM_TYPE_CAPACITIES[nameIndexes[roomType]];
+    }
+  }
+
+  /**
+   * Zipf分布（順位 k の重みが 1 / k^s）に従って 0..n-1 の順位を返すサンプラー
+   */
+  private static final class ZipfSampler {
+    private final double[] cumulative;
+
+    private ZipfSampler(int n, double exponent) {
+      this.cumulative = new double[n];
+      double sum = 0;
+      for (int k = 0; k < n; k++) {
+        sum += 1.0 / Math.pow(k + 1, exponent);
+        cumulative[k] = sum;
+      }
+    }
+
+    private int sample(SplittableRandom random) {
+      double target = random.nextDouble() * cumulative[cumulative.length - 1];
+      int low = 0;
+      int high = cumulative.length - 1;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (cumulative[mid] < target) {
+          low = mid + 1;
+        }
+        else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+  }
+}
@@ -0,0 +1,76 @@
+package com.example.hotel.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 組み込みDB用の合成データ生成設定プロパティ
+ *
+ * embedded-data.propertiesの設定値をバインド（Springプロファイル embedded の場合のみ有効）
+ */
+@Component
+@Profile("embedded")
+@ConfigurationProperties(prefix = "embedded.data")
+@PropertySource("classpath:embedded-data.properties")
+@Getter
+@Setter
+public class EmbeddedDataProperties {
+
+  /**
+   * 乱数シード（同じシード・データ量であれば同じデータを生成する）
+   */
+  private long seed;
+
+  /**
+   * 都道府県あたりの詳細地域数
+   */
+  private int areasPerPrefecture;
+
+  /**
+   * ホテル数
+   */
+  private int hotels;
+
+  /**
+   * ホテルあたりの部屋タイプ数の最小値・最大値
+   */
+  private int minRoomTypesPerHotel;
+  private int maxRoomTypesPerHotel;
+
+  /**
+   * 部屋タイプあたりの部屋数の最小値・最大値
+   */
+  private int minRoomsPerRoomType;
+  private int maxRoomsPerRoomType;
+
+  /**
+   * 予約明細の件数（1予約あたり1〜3明細のため、予約件数はこの半分程度となる）
+   */
+  private int reservationDetails;
+
+  /**
+   * 予約のチェックイン日の範囲（本日から何日前〜何日後まで）
+   */
+  private int pastDays;
+  private int futureDays;
+
+  /**
+   * ホテル人気度のZipf指数（0で一様。大きいほど一部のホテルに予約が集中する）
+   */
+  private double hotelPopularitySkew;
+
+  /**
+   * 都道府県へのホテル配置のZipf指数（0で一様。大きいほど都道府県IDの小さい順に集中する）
+   */
+  private double prefectureSkew;
+
+  /**
+   * 1回のバッチINSERTの件数
+   */
+  private int batchSize;
+}
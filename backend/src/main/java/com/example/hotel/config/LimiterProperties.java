@@ -0,0 +1,78 @@
+package com.example.hotel.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 適応型同時実行数制限の設定プロパティ
+ *
+ * limiter.propertiesの設定値をバインド
+ */
+@Component
+@ConfigurationProperties(prefix = "limiter")
+@PropertySource("classpath:limiter.properties")
+@Getter
+@Setter
+public class LimiterProperties {
+
+  /**
+   * 空室検索の同時実行数制限の設定
+   */
+  private Gradient search = new Gradient();
+
+  /**
+   * 応答時間の勾配により上限を調整する同時実行数制限の設定プロパティ
+   */
+  @Getter
+  @Setter
+  public static class Gradient {
+    /**
+     * 同時実行数の制限を行う場合true
+     */
+    private boolean enabled;
+
+    /**
+     * 同時実行数の上限の初期値
+     */
+    private int initialLimit;
+
+    /**
+     * 同時実行数の上限の下限値
+     */
+    private int minLimit;
+
+    /**
+     * 同時実行数の上限の上限値
+     */
+    private int maxLimit;
+
+    /**
+     * 上限の計算時に加算する待ち行列の長さ
+     */
+    private double queueSize;
+
+    /**
+     * 許容する遅延の増加率（直近の応答時間 / 長期平均の応答時間）
+     */
+    private double rttTolerance;
+
+    /**
+     * 上限の平滑化係数（0〜1）
+     */
+    private double smoothing;
+
+    /**
+     * 直近の応答時間の指数移動平均のサンプル数
+     */
+    private int shortWindow;
+
+    /**
+     * 長期平均の応答時間の指数移動平均のサンプル数
+     */
+    private int longWindow;
+  }
+}
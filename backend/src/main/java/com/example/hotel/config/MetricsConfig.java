@@ -0,0 +1,24 @@
+package com.example.hotel.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+/**
+ * メトリクス設定クラス
+ *
+ * metrics.propertiesの設定値（Actuatorエンドポイントの公開範囲、パーセンタイルヒストグラム）を読み込む。
+ *
+ * 【計測対象】
+ * - コントローラー: Spring MVC が記録する http.server.requests（エンドポイント別）
+ * - サービス: HotelMetrics（空室検索のDB取得・結果組み立て時間、仮予約・在庫不足・キャンセル・期限切れ件数）
+ * - DAO: DaoMetricsAspect（Doma DAOメソッド別の実行時間）
+ * - 検索結果キャッシュ: SearchResultCache（Caffeineのヒット率・破棄件数）
+ * - 予約情報キャッシュ: ReservationCache（Caffeineのヒット率・破棄件数、推定メモリ使用量）
+ * - 仮想スレッド: VirtualThreadPinningMonitor（キャリアスレッドへのピン留め時間）
+ * - バルクヘッド: BulkheadGate（同時実行数・待ち行列の長さ・待機時間・拒否件数）、
+ *   コネクションプール（Spring Boot が記録する hikaricp.connections.*、タグ pool=booking/search/background）
+ */
+@Configuration
+@PropertySource("classpath:metrics.properties")
+public class MetricsConfig {
+}
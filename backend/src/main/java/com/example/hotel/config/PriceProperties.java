@@ -10,9 +10,10 @@ import lombok.Setter;
 import java.util.List;
 
 /**
- * PriceCalculator用のプロパティ設定クラス
+ * PricingEngine用のプロパティ設定クラス
  *
  * price-calculator.propertiesの「price.*」プレフィックスの設定値をバインド
+ * 設定値は PricingEngine の起動時に料金表へコンパイルされる
  */
 @Component
 @PropertySource("classpath:price-calculator.properties")
@@ -47,4 +48,7 @@ public class PriceProperties {
 
   /** 需要の基本係数 */
   private double demandBaseFactor;
+
+  /** 繁忙期・祝日の需要係数を上書きする料金カレンダー（CSV）の場所 */
+  private String calendarLocation;
 }
@@ -31,6 +31,31 @@ public class ReservationProperties {
    */
   private String defaultArrivalTime;
 
+  /**
+   * 空室台帳関連の設定
+   */
+  private Availability availability = new Availability();
+
+  /**
+   * 在庫行の事前作成の設定
+   */
+  private Inventory inventory = new Inventory();
+
+  /**
+   * 在庫行ロック競合時の再試行設定
+   */
+  private Lock lock = new Lock();
+
+  /**
+   * 期限切れ仮予約スイーパーの設定
+   */
+  private Sweeper sweeper = new Sweeper();
+
+  /**
+   * タイミングホイールによる仮予約の期限切れ処理の設定
+   */
+  private ExpiryWheel expiryWheel = new ExpiryWheel();
+
   /**
    * 仮予約関連の設定プロパティ
    */
@@ -44,4 +69,157 @@ public class ReservationProperties {
      */
     private int expiryMinutes;
   }
+
+  /**
+   * 空室台帳（AvailabilityLedger）関連の設定プロパティ
+   */
+  @Getter
+  @Setter
+  public static class Availability {
+    /**
+     * 台帳で管理する宿泊日数（台帳初期化日から何日先までをメモリで保持するか）
+     *
+     * この範囲外の宿泊日を含む検索はDB集計にフォールバックする。
+     */
+    private int horizonDays;
+
+    /**
+     * 台帳をDBから定期的に再構築する場合true
+     */
+    private boolean rebuildEnabled;
+
+    /**
+     * 再構築の実行間隔（ミリ秒、前回の実行終了からの間隔）
+     */
+    private long rebuildFixedDelayMillis;
+  }
+
+  /**
+   * 在庫行（room_type_daily_inventory）の事前作成（InventoryBackfill）関連の設定プロパティ
+   */
+  @Getter
+  @Setter
+  public static class Inventory {
+    /**
+     * 在庫行を事前作成する場合true
+     */
+    private boolean backfillEnabled;
+
+    /**
+     * 事前作成する宿泊日数（本日から何日先までの在庫行を作成しておくか）
+     */
+    private int horizonDays;
+
+    /**
+     * 1トランザクションで在庫行を作成・再計算する部屋タイプ数
+     *
+     * 総在庫の変更の反映（InventoryReconciler）でも使用する。
+     */
+    private int chunkRoomTypes;
+
+    /**
+     * 起動後、初回の事前作成までの待機時間（ミリ秒）
+     */
+    private long backfillInitialDelayMillis;
+
+    /**
+     * 事前作成の実行間隔（ミリ秒、前回の実行終了からの間隔）
+     */
+    private long backfillFixedDelayMillis;
+  }
+
+  /**
+   * 在庫行ロック競合（デッドロック・ロック待ちタイムアウト）関連の設定プロパティ
+   */
+  @Getter
+  @Setter
+  public static class Lock {
+    /**
+     * 最大試行回数（初回を含む）
+     */
+    private int maxAttempts;
+
+    /**
+     * 再試行待機時間の基準値（ミリ秒）
+     *
+     * n回目の再試行前に 0〜min(基準値×2^(n-1), 上限値) の範囲でランダムに待機する。
+     */
+    private long initialBackoffMillis;
+
+    /**
+     * 再試行待機時間の上限値（ミリ秒）
+     */
+    private long maxBackoffMillis;
+
+    /**
+     * 在庫確保に要した時間がこの値以上の場合、ロック競合として計上・ログ出力する（ミリ秒）
+     */
+    private long slowAcquireMillis;
+
+    /**
+     * 部屋タイプ別の在庫確保時間・競合件数のメトリクスで、部屋タイプIDを振り分けるバケット数
+     */
+    private int metricBuckets;
+  }
+
+  /**
+   * 期限切れ仮予約スイーパー（TentativeReservationSweeper）関連の設定プロパティ
+   */
+  @Getter
+  @Setter
+  public static class Sweeper {
+    /**
+     * スイーパーを実行する場合true
+     */
+    private boolean enabled;
+
+    /**
+     * 実行間隔（ミリ秒、前回の実行終了からの間隔）
+     */
+    private long fixedDelayMillis;
+
+    /**
+     * 1トランザクションで期限切れにする最大件数
+     */
+    private int chunkSize;
+
+    /**
+     * 1回の実行で処理する最大チャンク数
+     */
+    private int maxChunksPerRun;
+  }
+
+  /**
+   * タイミングホイール（HoldExpiryWheel）による仮予約の期限切れ処理関連の設定プロパティ
+   */
+  @Getter
+  @Setter
+  public static class ExpiryWheel {
+    /**
+     * タイミングホイールで期限切れ処理を行う場合true
+     */
+    private boolean enabled;
+
+    /**
+     * 1ティックの長さ（ミリ秒）
+     */
+    private long tickMillis;
+
+    /**
+     * 有効期限からの猶予時間（ミリ秒）
+     *
+     * DBの現在時刻との差で期限切れ条件を満たさないことを防ぐ。
+     */
+    private long graceMillis;
+
+    /**
+     * 1階層のスロット数（2の累乗）
+     */
+    private int slotsPerLevel;
+
+    /**
+     * 階層数
+     */
+    private int levels;
+  }
 }
@@ -1,42 +1,119 @@
 package com.example.hotel.config;
 
+import com.example.hotel.domain.constants.ReservationStatus;
 import com.example.hotel.domain.model.RoomStockInfo;
+import com.example.hotel.domain.repository.ReservationDao;
 import com.example.hotel.domain.repository.RoomStockDao;
+import com.example.hotel.domain.service.AvailabilityLedgerRefresher;
 import com.example.hotel.domain.service.CacheService;
+import com.example.hotel.domain.service.HoldExpiryWheel;
+import com.example.hotel.domain.service.MasterDataSnapshotStore;
 import com.example.hotel.domain.model.Prefecture;
 import com.example.hotel.domain.repository.PrefectureDao;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
 /**
  * 起動時に部屋タイプ在庫をDBから取得しキャッシュへ格納する初期化ロジック
  *
+ * 在庫キャッシュに加え、予約済み明細から空室台帳（AvailabilityLedger）を構築する。
+ * 未処理の仮予約は、有効期限をタイミングホイール（HoldExpiryWheel）へ登録する。
+ *
  * 【リトライ機構】
  * 最大3回リトライし、失敗時は起動を中断する。
+ *
+ * 【スナップショットからの起動】
+ * DBから読み込むたびに在庫情報・都道府県キャッシュをスナップショットファイル（MasterDataSnapshotStore）へ保存する。
+ * 起動時に有効なスナップショット（cache.snapshot.max-age-minutes 以内に保存）があれば、
+ * キャッシュをファイルから復元して即座に起動を完了し、DBからの読み込みはバックグラウンドで行う。
+ * DBからの読み込みが完了した時点でキャッシュを差し替え、空室台帳の構築・タイミングホイールへの登録を行う。
+ * 空室台帳の構築中（受付中）にコミットされた仮予約・キャンセルは台帳が記録し、構築した台帳に再適用してから使用を開始する。
+ * バックグラウンドでの読み込みがリトライ上限に達した場合は起動を中断せず、
+ * スナップショットのまま処理を継続する（在庫情報は定期再読み込み、空室台帳はDB集計へのフォールバック、
+ * 仮予約の期限切れはスイーパーで補う）。
+ *
+ * 【都道府県単位の読み込み（cache.stock.on-demand=true）】
+ * 部屋タイプ別在庫情報は読み込まず、検索・予約時に都道府県ごとに読み込む（CacheService）。
+ *
+ * 【実行順序】
+ * EmbeddedDataGenerator（組み込みDBのデータ生成）の後、StartupWarmupRunner（起動時ウォームアップ）より先に実行する。
  */
 @Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
 @Slf4j
 public class StartupDatabaseLoader implements CommandLineRunner {
   private final PrefectureDao prefectureDao;
   private final RoomStockDao roomStockDao;
+  private final ReservationDao reservationDao;
   private final CacheService cacheService;
+  private final AvailabilityLedgerRefresher availabilityLedgerRefresher;
+  private final HoldExpiryWheel holdExpiryWheel;
+  private final MasterDataSnapshotStore snapshotStore;
 
-  // Doma2 DaoとキャッシュサービスをDI
+  // Doma2 Daoとキャッシュサービス・空室台帳・タイミングホイール・スナップショットをDI
   public StartupDatabaseLoader(PrefectureDao prefectureDao, RoomStockDao roomStockDao,
-      CacheService cacheService) {
+      ReservationDao reservationDao, CacheService cacheService,
+      AvailabilityLedgerRefresher availabilityLedgerRefresher, HoldExpiryWheel holdExpiryWheel,
+      MasterDataSnapshotStore snapshotStore) {
     this.prefectureDao = prefectureDao;
     this.roomStockDao = roomStockDao;
+    this.reservationDao = reservationDao;
     this.cacheService = cacheService;
+    this.availabilityLedgerRefresher = availabilityLedgerRefresher;
+    this.holdExpiryWheel = holdExpiryWheel;
+    this.snapshotStore = snapshotStore;
   }
 
   @Override
   public void run(String... args) throws Exception {
     log.info("サーバー起動プロセス開始：キャッシュの読み込み中...");
 
+    Optional<MasterDataSnapshotStore.Loaded> snapshot = snapshotStore.load();
+    if (snapshot.isPresent() && !cacheService.isOnDemand()
+        && snapshot.get().getStockInfoList().isEmpty()) {
+      // 都道府県単位の読み込み時に保存したスナップショットは部屋タイプ情報を含まない
+      log.info("スナップショットに部屋タイプ情報が含まれないため、DBから読み込みます。");
+      snapshot = Optional.empty();
+    }
+    if (snapshot.isPresent()) {
+      MasterDataSnapshotStore.Loaded loaded = snapshot.get();
+      if (!cacheService.isOnDemand()) {
+        cacheService.updateCache(loaded.getStockInfoList());
+      }
+      cacheService.updatePrefectureCache(loaded.getPrefectures());
+      log.info("スナップショットから{}件の部屋タイプ情報・{}件の都道府県情報をキャッシュしました"
+          + "（保存から{}秒経過）。DBからの読み込みはバックグラウンドで行います。",
+          cacheService.getStockSnapshot().size(), loaded.getPrefectures().size(),
+          Duration.between(loaded.getSavedAt(), Instant.now()).toSeconds());
+      Thread.ofPlatform().name("startup-db-loader").daemon(true).start(() -> {
+        try {
+          loadFromDatabase();
+        }
+        catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        catch (RuntimeException e) {
+          log.error("DBからの読み込みに失敗しました。スナップショットのキャッシュで処理を継続します。", e);
+        }
+      });
+      return;
+    }
+    loadFromDatabase();
+  }
+
+  /**
+   * DBからキャッシュ・空室台帳・タイミングホイールを読み込む（リトライ上限に達した場合は例外をスロー）
+   */
+  private void loadFromDatabase() throws InterruptedException {
     final int MAX_RETRIES = 3;
     final int RETRY_WAIT_SECONDS = 5;
 
@@ -48,9 +125,14 @@ public class StartupDatabaseLoader implements CommandLineRunner {
       log.info("DB検索（{}回目）...", attempt);
 
       try {
-        // DB検索
-        List<RoomStockInfo> stockInfoList = roomStockDao.selectRoomStockInfo();
-        if (stockInfoList.isEmpty()) {
+        // DB検索（都道府県単位の読み込み時は部屋タイプ別在庫情報を読み込まない）
+        List<RoomStockInfo> stockInfoList = cacheService.isOnDemand()
+            ? List.of()
+            : roomStockDao.selectRoomStockInfo();
+        if (cacheService.isOnDemand()) {
+          log.info("部屋タイプ情報は都道府県ごとに初回参照時に読み込みます。");
+        }
+        else if (stockInfoList.isEmpty()) {
           log.warn("DB検索成功。しかし、在庫情報が0件です。");
         }
         else {
@@ -68,6 +150,20 @@ public class StartupDatabaseLoader implements CommandLineRunner {
         // キャッシュサービスにデータを登録
         cacheService.updateCache(stockInfoList);
         cacheService.updatePrefectureCache(prefectures);
+
+        // 予約済み明細から空室台帳を構築（以降は AvailabilityLedgerRefresher が定期的に再構築する）
+        int reservedRooms = availabilityLedgerRefresher.rebuild();
+        log.info("予約済み明細{}件から空室台帳を構築しました。", reservedRooms);
+
+        // 未処理の仮予約の有効期限をタイミングホイールへ登録（期限切れ済みは直後に処理される）
+        if (holdExpiryWheel.isEnabled()) {
+          int holds = reservationDao.selectByStatus(ReservationStatus.TENTATIVE,
+              holdExpiryWheel::scheduleAll);
+          log.info("仮予約{}件の有効期限をタイミングホイールに登録しました。", holds);
+        }
+
+        // 次回起動用にスナップショットを保存
+        snapshotStore.save(cacheService.getStockSnapshot(), cacheService.getPrefectureCache());
         success = true;
         break;
       }
@@ -0,0 +1,242 @@
+package com.example.hotel.config;
+
+import com.example.hotel.domain.model.Prefecture;
+import com.example.hotel.domain.model.ReservationWithRoomInfo;
+import com.example.hotel.domain.repository.ReservationDao;
+import com.example.hotel.domain.service.CacheService;
+import com.example.hotel.domain.service.HotelMetrics;
+import com.example.hotel.domain.service.PriceCalculationService;
+import com.example.hotel.domain.service.SearchService;
+import com.example.hotel.domain.service.WarmupContext;
+import com.example.hotel.presentation.dto.top.HotelResultDto;
+import com.example.hotel.presentation.dto.top.PriceCalculationRequestDto;
+import com.example.hotel.presentation.dto.top.RoomTypeResultDto;
+import com.example.hotel.presentation.dto.top.SearchCriteriaDto;
+import com.example.hotel.presentation.dto.top.SearchResultDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggerConfiguration;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 起動時ウォームアップ
+ *
+ * デプロイ直後の空室検索が遅い原因（Doma SQLテンプレートの初回解析、Jacksonシリアライザの初回構築、
+ * コネクションプールの接続確立、検索結果組み立て処理の未コンパイル）を受付開始前に解消するため、
+ * 合成データによる空室検索・料金計算・予約情報読み込みを実際のBeanに対して繰り返し実行する。
+ *
+ * 【1回の反復】
+ * 1. 空室検索（SearchService）を実行し、結果をJSONにシリアライズ
+ * 2. 検索結果の部屋タイプについて料金計算（料金計算APIと同じ PriceCalculationService）を実行し、
+ *    結果をJSONにシリアライズ
+ * 3. 読み取り専用トランザクション内で予約情報を読み込み、ロールバックする
+ * 検索条件は都道府県・チェックイン日・泊数・人数を反復ごとに変える。
+ *
+ * 【本番の計測値・キャッシュへの影響】
+ * 反復は WarmupContext 内で実行し、空室検索・DAOのメトリクスへの記録、検索結果キャッシュの参照・格納、
+ * 空室検索の同時実行数制限を行わない（合成リクエストが本番の計測値・キャッシュ・上限の計算に混ざらないようにする）。
+ * ウォームアップ自体の所要時間等は hotel.warmup.* に記録する。
+ *
+ * 【終了条件】
+ * 反復をラウンド単位で実行し、1ラウンド中のJITコンパイル時間が settle-compile-millis 以下の
+ * ラウンドが settle-rounds 回連続した時点でJITコンパイルが収束したとみなして終了する。
+ * 制限時間（budget-millis）を超えた場合は収束していなくても終了する。
+ * 例外が発生した場合もウォームアップを打ち切って起動を継続する（ウォームアップは起動の必須条件としない）。
+ *
+ * 【受付開始の制御】
+ * CommandLineRunner の完了後に ReadinessState が ACCEPTING_TRAFFIC となるため、
+ * ウォームアップ中は /actuator/health/readiness が OUT_OF_SERVICE を返す（ロードバランサーは振り分けない）。
+ *
+ * 【都道府県単位の読み込み（cache.stock.on-demand=true）】
+ * 全都道府県を検索すると在庫情報をすべて読み込んでしまうため、先頭の都道府県のみを検索する。
+ *
+ * 【実行順序】
+ * StartupDatabaseLoader（キャッシュの読み込み）の後に実行する。
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@Slf4j
+public class StartupWarmupRunner implements CommandLineRunner {
+
+  // チェックイン日の範囲（翌日から何日先まで）・最大泊数・最大人数
+  private static final int CHECK_IN_DAYS = 60;
+  private static final int MAX_NIGHTS = 3;
+  private static final int MAX_GUESTS = 4;
+  // 1回の料金計算で対象とする部屋タイプ数の上限
+  private static final int MAX_PRICE_ROOMS = 10;
+
+  // ウォームアップ中はリクエスト単位のINFOログ（検索結果件数・DomaのSQLログ）を抑止する
+  private static final List<String> QUIET_LOGGERS = List.of(SearchService.class.getName(),
+      "org.seasar.doma.jdbc.UtilLoggingJdbcLogger");
+
+  private final WarmupProperties settings;
+  private final CacheService cacheService;
+  private final SearchService searchService;
+  private final PriceCalculationService priceCalculationService;
+  private final ReservationDao reservationDao;
+  private final ObjectMapper objectMapper;
+  private final LoggingSystem loggingSystem;
+  private final HotelMetrics hotelMetrics;
+  private final TransactionTemplate readOnlyTransaction;
+
+  public StartupWarmupRunner(WarmupProperties settings, CacheService cacheService,
+      SearchService searchService, PriceCalculationService priceCalculationService,
+      ReservationDao reservationDao,
+      ObjectMapper objectMapper, LoggingSystem loggingSystem, HotelMetrics hotelMetrics,
+      PlatformTransactionManager transactionManager) {
+    this.settings = settings;
+    this.cacheService = cacheService;
+    this.searchService = searchService;
+    this.priceCalculationService = priceCalculationService;
+    this.reservationDao = reservationDao;
+    this.objectMapper = objectMapper;
+    this.loggingSystem = loggingSystem;
+    this.hotelMetrics = hotelMetrics;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+  }
+
+  @Override
+  public void run(String... args) {
+    if (!settings.isEnabled()) {
+      return;
+    }
+    List<Integer> prefectureIds = cacheService.getPrefectureCache().stream()
+        .map(Prefecture::getPrefectureId).limit(cacheService.isOnDemand() ? 1 : Long.MAX_VALUE)
+        .toList();
+    if (prefectureIds.isEmpty()) {
+      log.warn("都道府県情報がないため、ウォームアップをスキップします。");
+      return;
+    }
+    log.info("ウォームアップ開始：制限時間={}ms", settings.getBudgetMillis());
+
+    CompilationMXBean jit = ManagementFactory.getCompilationMXBean();
+    boolean jitMonitored = jit != null && jit.isCompilationTimeMonitoringSupported();
+    long start = System.nanoTime();
+    long deadline = start + TimeUnit.MILLISECONDS.toNanos(settings.getBudgetMillis());
+    long compileStart = jitMonitored ? jit.getTotalCompilationTime() : 0;
+
+    String outcome = "budget";
+    int rounds = 0;
+    int iterations = 0;
+    List<LogLevel> quietedLevels = quietLoggers();
+    WarmupContext.enter();
+    try {
+      List<Integer> reservationIds = readOnlyTransaction.execute(status -> {
+        status.setRollbackOnly();
+        return reservationDao.selectRecentIds(settings.getReservationSampleSize());
+      });
+      int settledRounds = 0;
+      while (System.nanoTime() < deadline) {
+        long roundCompileStart = jitMonitored ? jit.getTotalCompilationTime() : 0;
+        for (int i = 0; i < settings.getIterationsPerRound() && System.nanoTime() < deadline;
+            i++) {
+          runIteration(iterations++, prefectureIds, reservationIds);
+        }
+        rounds++;
+        if (jitMonitored) {
+          long roundCompileMillis = jit.getTotalCompilationTime() - roundCompileStart;
+          settledRounds = roundCompileMillis <= settings.getSettleCompileMillis()
+              ? settledRounds + 1
+              : 0;
+        }
+        boolean settled = !jitMonitored || settledRounds >= settings.getSettleRounds();
+        if (settled && rounds >= settings.getMinRounds()) {
+          outcome = "settled";
+          break;
+        }
+      }
+    }
+    catch (JsonProcessingException | RuntimeException e) {
+      outcome = "failed";
+      log.warn("ウォームアップ中にエラーが発生しました。ウォームアップを中断して受付を開始します。", e);
+    }
+    finally {
+      WarmupContext.exit();
+      restoreLoggers(quietedLevels);
+    }
+
+    long elapsedNanos = System.nanoTime() - start;
+    long compileMillis = jitMonitored ? jit.getTotalCompilationTime() - compileStart : -1;
+    hotelMetrics.recordWarmup(outcome, elapsedNanos, compileMillis, iterations);
+    log.info("ウォームアップ完了：outcome={}, ラウンド数={}, 反復回数={}, 所要時間={}ms, "
+        + "JITコンパイル時間={}ms", outcome, rounds, iterations,
+        TimeUnit.NANOSECONDS.toMillis(elapsedNanos), compileMillis);
+  }
+
+  /**
+   * 空室検索・料金計算・予約情報読み込みを1回ずつ実行する
+   */
+  private void runIteration(int iteration, List<Integer> prefectureIds,
+      List<Integer> reservationIds) throws JsonProcessingException {
+    // 1. 空室検索
+    LocalDate checkInDate = LocalDate.now().plusDays(1 + iteration % CHECK_IN_DAYS);
+    LocalDate checkOutDate = checkInDate.plusDays(1 + iteration % MAX_NIGHTS);
+    SearchCriteriaDto criteria = new SearchCriteriaDto();
+    criteria.setPrefectureId(prefectureIds.get(iteration % prefectureIds.size()));
+    criteria.setCheckInDate(checkInDate);
+    criteria.setCheckOutDate(checkOutDate);
+    criteria.setGuestCount(1 + iteration % MAX_GUESTS);
+    SearchResultDto searchResult = searchService.searchAvailableHotels(criteria);
+    objectMapper.writeValueAsBytes(searchResult);
+
+    // 2. 料金計算（検索結果の部屋タイプを対象に、料金計算APIと同じ処理で計算する）
+    List<PriceCalculationRequestDto.RoomRequest> rooms = new ArrayList<>();
+    if (searchResult.getHotels() != null) {
+      for (HotelResultDto hotel : searchResult.getHotels()) {
+        for (RoomTypeResultDto room : hotel.getRoomTypes()) {
+          if (rooms.size() < MAX_PRICE_ROOMS) {
+            rooms.add(new PriceCalculationRequestDto.RoomRequest(room.getRoomTypeId(),
+                room.getHotelId()));
+          }
+        }
+      }
+    }
+    objectMapper.writeValueAsBytes(priceCalculationService.calculate(
+        new PriceCalculationRequestDto(checkInDate, checkOutDate, rooms)));
+
+    // 3. 予約情報の読み込み（読み取り専用トランザクションをロールバック）
+    if (!reservationIds.isEmpty()) {
+      Integer reservationId = reservationIds.get(iteration % reservationIds.size());
+      List<ReservationWithRoomInfo> reservation = readOnlyTransaction.execute(status -> {
+        status.setRollbackOnly();
+        return reservationDao.selectByIdWithDetails(reservationId);
+      });
+      objectMapper.writeValueAsBytes(reservation);
+    }
+  }
+
+  /**
+   * リクエスト単位のINFOログを出力するロガーのレベルをWARNに変更し、変更前の設定を返す
+   */
+  private List<LogLevel> quietLoggers() {
+    List<LogLevel> previous = new ArrayList<>();
+    for (String name : QUIET_LOGGERS) {
+      LoggerConfiguration configuration = loggingSystem.getLoggerConfiguration(name);
+      previous.add(configuration != null ? configuration.getConfiguredLevel() : null);
+      loggingSystem.setLogLevel(name, LogLevel.WARN);
+    }
+    return previous;
+  }
+
+  private void restoreLoggers(List<LogLevel> previous) {
+    for (int i = 0; i < QUIET_LOGGERS.size(); i++) {
+      loggingSystem.setLogLevel(QUIET_LOGGERS.get(i), previous.get(i));
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package com.example.hotel.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * リクエスト処理スレッドの設定プロパティ
+ *
+ * threading.propertiesの設定値をバインド
+ * （仮想スレッドの有効・無効は Spring Boot の spring.threads.virtual.enabled で切り替える）
+ */
+@Component
+@ConfigurationProperties(prefix = "threading")
+@PropertySource("classpath:threading.properties")
+@Getter
+@Setter
+public class ThreadingProperties {
+
+  /**
+   * 仮想スレッドのピン留め検出の設定
+   */
+  private Pinning pinning = new Pinning();
+
+  /**
+   * 仮想スレッドのピン留め検出の設定プロパティ
+   */
+  @Getter
+  @Setter
+  public static class Pinning {
+    /**
+     * ピン留めを検出する場合true（仮想スレッドモードの場合のみ有効）
+     */
+    private boolean enabled;
+
+    /**
+     * 記録するピン留め時間の下限（ミリ秒）
+     */
+    private long thresholdMillis;
+
+    /**
+     * スタックトレースをログ出力する件数の上限
+     */
+    private int maxLoggedStacks;
+  }
+}
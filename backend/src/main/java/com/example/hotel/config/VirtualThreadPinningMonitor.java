@@ -0,0 +1,145 @@
+package com.example.hotel.config;
+
+import com.example.hotel.domain.service.HotelMetrics;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 仮想スレッドのピン留め検出
+ *
+ * 仮想スレッドが synchronized ブロック内やネイティブメソッド内でブロックすると、
+ * キャリアスレッド（ForkJoinPool のプラットフォームスレッド）を占有したままとなり（ピン留め）、
+ * キャリアスレッド数を超える同時実行ができなくなる。
+ * JFR の jdk.VirtualThreadPinned イベントをアプリケーション内で購読し、発生箇所を特定できるようにする。
+ *
+ * 【記録内容】
+ * - メトリクス hotel.vthread.pinned: ピン留め時間（タグ source=発生箇所の分類）
+ * - ログ: 発生箇所（スタックトレース上位のフレーム）ごとに最初の1回のみ、スタックトレースをWARN出力
+ *
+ * 【発生箇所の分類】
+ * スタックトレースの上位（ブロックした箇所に近い方）から、最初に該当したライブラリで分類する。
+ * mysql: MySQL Connector/J / h2: H2 Database / hikari: HikariCP / doma: Doma /
+ * caffeine: Caffeine（キャッシュ読み込み中のブロック） / application: 本アプリケーション / other: その他
+ *
+ * 仮想スレッドモード（spring.threads.virtual.enabled=true）かつ threading.pinning.enabled=true の場合のみ動作する。
+ */
+@Component
+@Slf4j
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+  private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+  // ログに出力するスタックトレースのフレーム数
+  private static final int LOGGED_FRAMES = 20;
+  // 発生箇所の識別に使用するフレーム数
+  private static final int SIGNATURE_FRAMES = 8;
+  // 発生箇所の分類（パッケージ接頭辞 → source タグ）。先頭から順に判定する
+  private static final List<String[]> SOURCES = List.of(
+      new String[]{"com.mysql.", "mysql"},
+      new String[]{"org.h2.", "h2"},
+      new String[]{"com.zaxxer.hikari.", "hikari"},
+      new String[]{"org.seasar.doma.", "doma"},
+      new String[]{"com.github.benmanes.caffeine.", "caffeine"},
+      new String[]{"com.example.hotel.", "application"});
+
+  private final ThreadingProperties.Pinning settings;
+  private final Environment environment;
+  private final HotelMetrics hotelMetrics;
+  private final Set<String> loggedSignatures = ConcurrentHashMap.newKeySet();
+
+  private volatile RecordingStream recordingStream;
+
+  public VirtualThreadPinningMonitor(ThreadingProperties threadingProperties,
+      Environment environment, HotelMetrics hotelMetrics) {
+    this.settings = threadingProperties.getPinning();
+    this.environment = environment;
+    this.hotelMetrics = hotelMetrics;
+  }
+
+  @Override
+  public synchronized void start() {
+    if (!settings.isEnabled() || !Threading.VIRTUAL.isActive(environment)
+        || recordingStream != null) {
+      return;
+    }
+    try {
+      RecordingStream stream = new RecordingStream();
+      stream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(settings.getThresholdMillis()))
+          .withStackTrace();
+      stream.onEvent(PINNED_EVENT, this::onPinned);
+      stream.startAsync();
+      recordingStream = stream;
+      log.info("仮想スレッドのピン留め検出を開始しました: thresholdMs={}",
+          settings.getThresholdMillis());
+    }
+    catch (RuntimeException e) {
+      // JFRが利用できないJVMでも起動は継続する
+      log.warn("仮想スレッドのピン留め検出を開始できませんでした", e);
+    }
+  }
+
+  @Override
+  public synchronized void stop() {
+    if (recordingStream == null) {
+      return;
+    }
+    recordingStream.close();
+    recordingStream = null;
+  }
+
+  @Override
+  public boolean isRunning() {
+    return recordingStream != null;
+  }
+
+  /**
+   * ピン留め1件を記録する（JFRのイベント処理スレッドで呼び出される）
+   */
+  void onPinned(RecordedEvent event) {
+    RecordedStackTrace stackTrace = event.getStackTrace();
+    List<RecordedFrame> frames = stackTrace != null ? stackTrace.getFrames() : List.of();
+    String source = classify(frames);
+    hotelMetrics.recordVirtualThreadPinned(source, event.getDuration());
+
+    String signature = frames.stream().limit(SIGNATURE_FRAMES).map(
+        VirtualThreadPinningMonitor::describe).collect(Collectors.joining("|"));
+    if (loggedSignatures.size() < settings.getMaxLoggedStacks()
+        && loggedSignatures.add(signature)) {
+      log.warn("仮想スレッドのピン留めを検出しました: source={}, duration={}ms, thread={}\n    at {}",
+          source, event.getDuration().toMillis(), event.getThread() != null
+              ? event.getThread().getJavaName()
+              : null,
+          frames.stream().limit(LOGGED_FRAMES).map(VirtualThreadPinningMonitor::describe)
+              .collect(Collectors.joining("\n    at ")));
+    }
+  }
+
+  private static String classify(List<RecordedFrame> frames) {
+    for (RecordedFrame frame : frames) {
+      String typeName = frame.getMethod().getType().getName();
+      for (String[] source : SOURCES) {
+        if (typeName.startsWith(source[0])) {
+          return source[1];
+        }
+      }
+    }
+    return "other";
+  }
+
+  private static String describe(RecordedFrame frame) {
+    return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":"
+        + frame.getLineNumber();
+  }
+}
@@ -0,0 +1,58 @@
+package com.example.hotel.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 起動時ウォームアップの設定プロパティ
+ *
+ * warmup.propertiesの設定値をバインド
+ */
+@Component
+@ConfigurationProperties(prefix = "warmup")
+@PropertySource("classpath:warmup.properties")
+@Getter
+@Setter
+public class WarmupProperties {
+
+  /**
+   * 起動時にウォームアップを実行する場合true
+   */
+  private boolean enabled;
+
+  /**
+   * ウォームアップの制限時間（ミリ秒）
+   *
+   * JITコンパイルが収束しなくても、この時間を超えた時点で終了して受付を開始する。
+   */
+  private long budgetMillis;
+
+  /**
+   * 1ラウンドあたりの反復回数（1回 = 空室検索・料金計算・予約情報読み込み 各1回）
+   */
+  private int iterationsPerRound;
+
+  /**
+   * 1ラウンド中のJITコンパイル時間（ミリ秒）がこの値以下であれば、そのラウンドを収束とみなす
+   */
+  private long settleCompileMillis;
+
+  /**
+   * 収束とみなすラウンドが連続してこの回数に達した場合に終了する
+   */
+  private int settleRounds;
+
+  /**
+   * 最小ラウンド数（JITコンパイル時間を取得できない場合は、このラウンド数で終了する）
+   */
+  private int minRounds;
+
+  /**
+   * 予約情報の読み込み対象とする予約件数（新しい順）
+   */
+  private int reservationSampleSize;
+}
@@ -0,0 +1,57 @@
+package com.example.hotel.domain.exception;
+
+/**
+ * 行ロック競合例外
+ *
+ * デッドロックまたはロック待ちタイムアウトが発生し、
+ * 再試行しても処理を完了できなかった場合にスローされる。
+ *
+ * 【プレゼンテーション層でのハンドリング】
+ * 入力値の問題ではなく一時的な混雑のため、503 Service Unavailable として再試行を促す。
+ */
+public class LockConflictException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * 最後に発生した競合の種類（deadlock / lock_timeout）
+   */
+  private final String conflict;
+
+  /**
+   * 試行回数
+   */
+  private final int attempts;
+
+  /**
+   * 指定されたメッセージで例外を構築します。
+   *
+   * @param message エラーメッセージ
+   * @param conflict 最後に発生した競合の種類
+   * @param attempts 試行回数
+   * @param cause 最後に発生した例外
+   */
+  public LockConflictException(String message, String conflict, int attempts, Throwable cause) {
+    super(message, cause);
+    this.conflict = conflict;
+    this.attempts = attempts;
+  }
+
+  /**
+   * 最後に発生した競合の種類を取得します。
+   *
+   * @return deadlock または lock_timeout
+   */
+  public String getConflict() {
+    return conflict;
+  }
+
+  /**
+   * 試行回数を取得します。
+   *
+   * @return 試行回数
+   */
+  public int getAttempts() {
+    return attempts;
+  }
+}
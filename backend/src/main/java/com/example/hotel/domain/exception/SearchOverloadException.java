@@ -0,0 +1,24 @@
+package com.example.hotel.domain.exception;
+
+/**
+ * 空室検索の過負荷例外
+ *
+ * DBでの検索の同時実行数が適応型の上限（SearchConcurrencyLimiter）に達している場合に、
+ * 検索を待機させずにスローされる。検索結果キャッシュにヒットした検索ではスローされない。
+ *
+ * 【プレゼンテーション層でのハンドリング】
+ * 一時的な混雑のため、503 Service Unavailable（Retry-After）として再試行を促す。
+ */
+public class SearchOverloadException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * 指定されたメッセージで例外を構築します。
+   *
+   * @param message エラーメッセージ
+   */
+  public SearchOverloadException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,42 @@
+package com.example.hotel.domain.model;
+
+import org.seasar.doma.Entity;
+import org.seasar.doma.Column;
+
+import lombok.Value;
+import lombok.AllArgsConstructor;
+
+/**
+ * 予約の状態（ステータス・有効期限・予約者ID）を保持するドメインクラス
+ *
+ * 顧客情報登録時に、予約行を行ロックした上で登録可否と失敗理由を1回の検索で判定するために使用する。
+ */
+@Value
+@Entity(immutable = true)
+@AllArgsConstructor
+public class ReservationState {
+
+  /**
+   * 予約ID (reservations.reservation_id)
+   */
+  @Column(name = "reservation_id")
+  private final Integer reservationId;
+
+  /**
+   * 予約ステータス (reservations.reservation_status)
+   */
+  @Column(name = "reservation_status")
+  private final Integer reservationStatus;
+
+  /**
+   * 予約者ID (reservations.reserver_id)、顧客情報が未登録の場合はnull
+   */
+  @Column(name = "reserver_id")
+  private final Integer reserverId;
+
+  /**
+   * 仮予約の有効期限（pending_limit_at）を過ぎているか（DBの現在時刻で判定）
+   */
+  @Column(name = "expired")
+  private final Boolean expired;
+}
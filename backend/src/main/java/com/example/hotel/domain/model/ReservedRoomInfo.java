@@ -0,0 +1,51 @@
+package com.example.hotel.domain.model;
+
+import org.seasar.doma.Entity;
+import org.seasar.doma.Column;
+
+import lombok.Value;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 予約済み（仮予約・本予約）の部屋タイプ別室数と宿泊期間を保持するドメインクラス
+ *
+ * reservationsとreservation_detailsを結合した1明細を表す。
+ * 空室台帳（AvailabilityLedger）の初期化、およびキャンセル・期限切れ時の在庫返却に使用する。
+ */
+@Value
+@Entity(immutable = true)
+@AllArgsConstructor
+public class ReservedRoomInfo {
+
+  /**
+   * 予約ID (reservations.reservation_id)
+   */
+  @Column(name = "reservation_id")
+  private final Integer reservationId;
+
+  /**
+   * 部屋タイプID (reservation_details.room_type_id)
+   */
+  @Column(name = "room_type_id")
+  private final Integer roomTypeId;
+
+  /**
+   * チェックイン日 (reservations.check_in_date)
+   */
+  @Column(name = "check_in_date")
+  private final LocalDate checkInDate;
+
+  /**
+   * チェックアウト日 (reservations.check_out_date)、この日は宿泊しない
+   */
+  @Column(name = "check_out_date")
+  private final LocalDate checkOutDate;
+
+  /**
+   * 予約室数 (reservation_details.room_count)
+   */
+  @Column(name = "room_count")
+  private final Integer roomCount;
+}
@@ -0,0 +1,41 @@
+package com.example.hotel.domain.model;
+
+import org.seasar.doma.Entity;
+import org.seasar.doma.Column;
+
+import lombok.Value;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 部屋タイプ・宿泊日ごとの室数を表すドメインクラス
+ *
+ * room_type_daily_inventoryテーブルへのバッチ操作の1行分のパラメータとして使用する。
+ * roomCountの意味は操作によって異なる:
+ * - 在庫行の作成時: 使用しない（総在庫はDBの部屋数から算出する）
+ * - 在庫の確保・返却時: 確保・返却する室数
+ */
+@Value
+@Entity(immutable = true)
+@AllArgsConstructor
+public class RoomNightCount {
+
+  /**
+   * 部屋タイプID (room_types.room_type_id)
+   */
+  @Column(name = "room_type_id")
+  private final Integer roomTypeId;
+
+  /**
+   * 宿泊日
+   */
+  @Column(name = "stay_date")
+  private final LocalDate stayDate;
+
+  /**
+   * 室数
+   */
+  @Column(name = "room_count")
+  private final Integer roomCount;
+}
@@ -46,4 +46,11 @@ public class RoomStockInfo {
    */
   @Column(name = "total_stock")
   private final Integer totalStock;
+
+  /**
+   * ホテル名 (hotels.hotel_name)
+   * 仮予約作成時の予約サマリー返却に使用
+   */
+  @Column(name = "hotel_name")
+  private final String hotelName;
 }
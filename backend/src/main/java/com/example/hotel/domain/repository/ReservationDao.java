@@ -1,11 +1,14 @@
 package com.example.hotel.domain.repository;
 
 import com.example.hotel.domain.model.Reservation;
+import com.example.hotel.domain.model.ReservationState;
 import com.example.hotel.domain.model.ReservationWithRoomInfo;
+import com.example.hotel.domain.model.ReservedRoomInfo;
 
 import org.seasar.doma.Dao;
 import org.seasar.doma.Insert;
 import org.seasar.doma.Select;
+import org.seasar.doma.SelectType;
 import org.seasar.doma.Update;
 import org.seasar.doma.boot.ConfigAutowireable;
 import org.seasar.doma.jdbc.Result;
@@ -14,6 +17,8 @@ import org.seasar.doma.jdbc.SelectOptions;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * reservationsテーブルへのアクセスを提供するDAOインターフェース。
@@ -77,23 +82,25 @@ public interface ReservationDao {
       Integer tentativeStatus);
 
   /**
-   * 指定された予約IDの仮予約が期限切れかどうかを判定します。
+   * 予約の状態（ステータス・有効期限切れ判定・予約者ID）を取得します。
    *
-   * 予約ステータスがTENTATIVEかつpending_limit_atが現在時刻を過ぎている場合にtrueを返します。
+   * 顧客情報登録時に、登録可否と失敗理由（存在しない・期限切れ・ステータス不正）を
+   * 1回の検索で判定するために使用します。
+   *
+   * 【悲観的ロック】
+   * SelectOptions.get().forUpdate() を渡すことで予約行をロックし、
+   * 同一予約への顧客情報の二重登録や、キャンセル・期限切れ処理との競合を防止します。
    *
    * @param reservationId 予約ID
-   * @param tentativeStatus 仮予約ステータス（ReservationStatus.TENTATIVEを指定）
-   * @return 期限切れの場合true、そうでない場合false
+   * @param options SelectOptions（forUpdate()で悲観的ロック指定可）
+   * @return 予約の状態（予約が存在しない場合はnull）
    */
   @Select
-  boolean isExpired(Integer reservationId, Integer tentativeStatus);
+  ReservationState selectState(Integer reservationId, SelectOptions options);
 
   @Select
   List<ReservationWithRoomInfo> selectByIdWithDetails(Integer reservationId);
 
-  @Select
-  Integer selectReserverId(Integer reservationId);
-
   /**
    * 予約ステータスを更新します。
    *
@@ -120,4 +127,109 @@ public interface ReservationDao {
    */
   @Update(sqlFile = true)
   int expireReservation(Integer reservationId, Integer tentativeStatus, Integer expiredStatus);
+
+  /**
+   * 指定日以降に宿泊日が残っている予約済み（仮含む）明細をストリームで取得します。
+   *
+   * 起動時に空室台帳（AvailabilityLedger）を初期化するために使用します。
+   * 予約履歴が大きくても全件をListに保持しないよう、ストリーム検索で1件ずつ処理します。
+   *
+   * @param reservedStatuses 対象とする予約ステータスのリスト（各値はReservationStatusで定義）
+   * @param fromDate この日より後にチェックアウトする予約のみを対象とする
+   * @param mapper 明細ストリームを処理する関数
+   * @param <R> 処理結果の型
+   * @return mapperの処理結果
+   */
+  @Select(strategy = SelectType.STREAM)
+  <R> R selectReservedRooms(List<Integer> reservedStatuses, LocalDate fromDate,
+      Function<Stream<ReservedRoomInfo>, R> mapper);
+
+  /**
+   * 指定したステータスの予約をストリームで取得します。
+   *
+   * 起動時に、未処理の仮予約の有効期限をタイミングホイール（HoldExpiryWheel）へ登録するために使用します。
+   *
+   * @param reservationStatus 予約ステータス（ReservationStatusで定義）
+   * @param mapper 予約ストリームを処理する関数
+   * @param <R> 処理結果の型
+   * @return mapperの処理結果
+   */
+  @Select(strategy = SelectType.STREAM)
+  <R> R selectByStatus(Integer reservationStatus, Function<Stream<Reservation>, R> mapper);
+
+  /**
+   * 予約IDの大きい順（新しい順）に、最大件数分の予約IDを取得します。
+   *
+   * 起動時のウォームアップ（StartupWarmupRunner）で、予約情報の読み込み対象とするために使用します。
+   *
+   * @param limit 最大件数
+   * @return 予約IDのリスト
+   */
+  @Select
+  List<Integer> selectRecentIds(int limit);
+
+  /**
+   * 指定した予約IDの予約済み（仮含む）明細を取得します。
+   *
+   * キャンセル・期限切れ時に返却する部屋タイプ・室数・宿泊期間を特定するために使用します。
+   * 予約ステータスが対象外（既にキャンセル済み等）の場合は空リストを返します。
+   *
+   * 【悲観的ロック】
+   * SelectOptions.get().forUpdate() を渡すことで予約行をロックし、
+   * 同一予約への同時キャンセル等による在庫の二重返却を防止します。
+   *
+   * @param reservationId 予約ID
+   * @param reservedStatuses 対象とする予約ステータスのリスト（各値はReservationStatusで定義）
+   * @param options SelectOptions（forUpdate()で悲観的ロック指定可）
+   * @return 予約済み明細のリスト
+   */
+  @Select
+  List<ReservedRoomInfo> selectReservedRoomsById(Integer reservationId,
+      List<Integer> reservedStatuses, SelectOptions options);
+
+  /**
+   * 有効期限を過ぎた仮予約を期限の古い順に最大件数分取得し、予約行をロックします。
+   *
+   * 期限切れ仮予約スイーパー（TentativeReservationSweeper）が使用します。
+   *
+   * 【悲観的ロック（SKIP LOCKED）】
+   * FOR UPDATE SKIP LOCKED により、他トランザクションが行ロック中の予約は待たずに読み飛ばします。
+   * 複数ノードのスイーパーが同時に実行しても、同じ予約を重複して処理しません。
+   * DomaのSelectOptionsはSKIP LOCKEDに対応していないため、SQLファイルに直接記述しています。
+   *
+   * @param tentativeStatus 仮予約ステータス（ReservationStatus.TENTATIVEを指定）
+   * @param limit 最大取得件数
+   * @return 期限切れの仮予約のリスト（有効期限の昇順）
+   */
+  @Select
+  List<Reservation> selectOverdueTentative(Integer tentativeStatus, int limit);
+
+  /**
+   * 指定した複数予約IDの予約済み（仮含む）明細を取得します。
+   *
+   * 期限切れ仮予約スイーパーが、返却する部屋タイプ・室数・宿泊期間を一括で特定するために使用します。
+   * 予約行は呼び出し元でロック済みであることを前提とします。
+   *
+   * @param reservationIds 予約IDのリスト
+   * @param reservedStatuses 対象とする予約ステータスのリスト（各値はReservationStatusで定義）
+   * @return 予約済み明細のリスト
+   */
+  @Select
+  List<ReservedRoomInfo> selectReservedRoomsByIds(List<Integer> reservationIds,
+      List<Integer> reservedStatuses);
+
+  /**
+   * 複数の仮予約を一括で期限切れ（EXPIRED）ステータスに更新します。
+   *
+   * 期限切れ仮予約スイーパーが、{@link #selectOverdueTentative(Integer, int)} でロックした予約に対して使用します。
+   * TENTATIVEステータスの予約のみを更新します。
+   *
+   * @param reservationIds 予約IDのリスト
+   * @param tentativeStatus 仮予約ステータス（ReservationStatus.TENTATIVEを指定）
+   * @param expiredStatus 期限切れステータス（ReservationStatus.EXPIREDを指定）
+   * @return 更新件数
+   */
+  @Update(sqlFile = true)
+  int expireReservations(List<Integer> reservationIds, Integer tentativeStatus,
+      Integer expiredStatus);
 }
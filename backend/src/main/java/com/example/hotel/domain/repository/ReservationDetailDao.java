@@ -2,9 +2,11 @@ package com.example.hotel.domain.repository;
 
 import com.example.hotel.domain.model.ReservationDetail;
 import org.seasar.doma.Dao;
-import org.seasar.doma.Insert;
+import org.seasar.doma.MultiInsert;
 import org.seasar.doma.boot.ConfigAutowireable;
-import org.seasar.doma.jdbc.Result;
+import org.seasar.doma.jdbc.MultiResult;
+
+import java.util.List;
 
 /**
  * reservation_detailsテーブルへのアクセスを提供するDAOインターフェース。
@@ -15,11 +17,12 @@ import org.seasar.doma.jdbc.Result;
 public interface ReservationDetailDao {
 
   /**
-   * 予約詳細レコードを新規挿入します。
-   * reservation_detailsテーブルに新しい予約詳細情報を登録します。
-   * @param reservationDetail 挿入する予約詳細エンティティ
-   * @return Result<ReservationDetail> 挿入結果（主キーreservationDetailId含む）
+   * 予約詳細レコードをまとめて新規挿入します。
+   * reservation_detailsテーブルに、複数行のVALUES句を持つINSERT文1回で登録します。
+   * 部屋タイプ数に関係なくDBへのラウンドトリップは1回です。
+   * @param reservationDetails 挿入する予約詳細エンティティ（1件以上）
+   * @return MultiResult<ReservationDetail> 挿入結果
    */
-  @Insert
-  Result<ReservationDetail> insert(ReservationDetail reservationDetail);
+  @MultiInsert
+  MultiResult<ReservationDetail> insertAll(List<ReservationDetail> reservationDetails);
 }
@@ -0,0 +1,178 @@
+package com.example.hotel.domain.repository;
+
+import com.example.hotel.domain.model.RoomNightCount;
+import org.seasar.doma.BatchInsert;
+import org.seasar.doma.BatchUpdate;
+import org.seasar.doma.Dao;
+import org.seasar.doma.Insert;
+import org.seasar.doma.Select;
+import org.seasar.doma.Update;
+import org.seasar.doma.boot.ConfigAutowireable;
+import org.seasar.doma.jdbc.BatchResult;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * room_type_daily_inventoryテーブル（部屋タイプ別・宿泊日別の残室数）へのアクセスを提供するDAOインターフェース。
+ *
+ * 仮予約の在庫確保は、宿泊日ごとの条件付きUPDATE（残室数が足りる場合のみ減算）で行う。
+ * 集計クエリによる範囲ロックを取らず、対象の在庫行のみをロックするため、
+ * 同一ホテルへの同時予約でもロック競合が最小限となる。
+ *
+ * 【在庫行の作成】
+ * 本日から reservation.inventory.horizon-days 日分の在庫行は、InventoryBackfill が
+ * {@link #insertMissing(List, LocalDate, LocalDate)} で事前に作成する。
+ * 範囲外の宿泊日や新規の部屋タイプなど、未作成の在庫行が予約対象となった場合のみ
+ * {@link #insertIfAbsent(List)} で作成する。
+ * いずれも作成時点のDBの部屋数・予約済み室数から算出した値で初期化するため、既存の予約データとも整合する。
+ * 在庫行の作成前に、同じトランザクションで {@link #insertStockIfAbsent(List)} により
+ * 算出に使用する総在庫を記録する。
+ *
+ * 【総在庫の変更】
+ * room_type_inventory_stock に記録した総在庫と rooms の部屋数が異なる部屋タイプは、
+ * InventoryReconciler が {@link #lockNights(List, LocalDate)} ・
+ * {@link #reconcileNights(List, LocalDate)} で作成済みの在庫行の残室数を再計算し、
+ * {@link #updateStock(List)} で記録を更新する。
+ */
+@Dao
+@ConfigAutowireable
+public interface RoomInventoryDao {
+
+  /**
+   * 部屋タイプ・宿泊日の在庫行が存在しない場合のみ作成します。
+   *
+   * 残室数は「総在庫（roomsの部屋数）- その夜の予約済み室数」で初期化します。
+   * 既に在庫行が存在する場合は何もしません（INSERT IGNORE）。
+   *
+   * @param roomNights 作成対象の部屋タイプ・宿泊日（roomCountは使用しない）
+   * @return バッチ実行結果
+   */
+  @BatchInsert(sqlFile = true)
+  BatchResult<RoomNightCount> insertIfAbsent(List<RoomNightCount> roomNights);
+
+  /**
+   * 部屋タイプ・宿泊日ごとに、残室数が足りる場合のみ残室数を減算します。
+   *
+   * 各行の更新件数が0の場合、その宿泊日は在庫不足です。
+   * 更新した在庫行はトランザクション終了時まで行ロックされます。
+   *
+   * @param roomNights 確保対象の部屋タイプ・宿泊日（roomCountには確保する室数を指定）
+   * @return バッチ実行結果（getCounts()の各要素が0の場合は在庫不足）
+   */
+  @BatchUpdate(sqlFile = true)
+  BatchResult<RoomNightCount> decrementAvailable(List<RoomNightCount> roomNights);
+
+  /**
+   * 部屋タイプ・宿泊日ごとに残室数を加算（在庫を返却）します。
+   *
+   * キャンセル・期限切れ時に使用します。在庫行が未作成の宿泊日は何もしません
+   * （在庫行の作成時に予約ステータスから残室数が算出されるため）。
+   *
+   * @param roomNights 返却対象の部屋タイプ・宿泊日（roomCountには返却する室数を指定）
+   * @return バッチ実行結果
+   */
+  @BatchUpdate(sqlFile = true)
+  BatchResult<RoomNightCount> incrementAvailable(List<RoomNightCount> roomNights);
+
+  /**
+   * 部屋が登録されている部屋タイプIDを取得します。
+   *
+   * @return 部屋タイプID（昇順）
+   */
+  @Select
+  List<Integer> selectRoomTypeIds();
+
+  /**
+   * 部屋タイプIDの範囲・期間の作成済みの在庫行数を取得します。
+   *
+   * @param firstRoomTypeId 部屋タイプIDの範囲の先頭
+   * @param lastRoomTypeId 部屋タイプIDの範囲の末尾（このIDを含む）
+   * @param fromDate 期間の初日
+   * @param lastDate 期間の最終日（この日を含む）
+   * @return 在庫行数
+   */
+  @Select
+  int countNights(Integer firstRoomTypeId, Integer lastRoomTypeId, LocalDate fromDate,
+      LocalDate lastDate);
+
+  /**
+   * 部屋タイプ・期間の作成済みの在庫行を取得します（ロックは取得しません）。
+   *
+   * @param roomTypeIds 部屋タイプID
+   * @param fromDate 期間の初日
+   * @param lastDate 期間の最終日（この日を含む）
+   * @return 在庫行（roomCountには残室数が入る）
+   */
+  @Select
+  List<RoomNightCount> selectNights(List<Integer> roomTypeIds, LocalDate fromDate,
+      LocalDate lastDate);
+
+  /**
+   * 部屋タイプ・期間の在庫行のうち、未作成の宿泊日の行をまとめて作成します。
+   *
+   * 残室数は「総在庫（roomsの部屋数）- その夜の予約済み室数」で初期化します。
+   * 作成済みの行は変更しません（INSERT IGNORE）。
+   *
+   * @param roomTypeIds 部屋タイプID
+   * @param fromDate 期間の初日
+   * @param lastDate 期間の最終日（この日を含む）
+   * @return 作成件数
+   */
+  @Insert(sqlFile = true)
+  int insertMissing(List<Integer> roomTypeIds, LocalDate fromDate, LocalDate lastDate);
+
+  /**
+   * 在庫行の算出に使用する総在庫（roomsの部屋数）を、未記録の部屋タイプについて記録します。
+   *
+   * 在庫行の作成と同じトランザクションで、在庫行の作成より前に実行します。
+   * 記録済みの部屋タイプは変更しません（INSERT IGNORE）。
+   *
+   * @param roomTypeIds 部屋タイプID
+   * @return 記録件数
+   */
+  @Insert(sqlFile = true)
+  int insertStockIfAbsent(List<Integer> roomTypeIds);
+
+  /**
+   * 記録済みの総在庫を現在のroomsの部屋数に更新します。
+   *
+   * @param roomTypeIds 部屋タイプID
+   * @return 更新件数
+   */
+  @Update(sqlFile = true)
+  int updateStock(List<Integer> roomTypeIds);
+
+  /**
+   * 記録した総在庫とroomsの部屋数が異なる部屋タイプIDを取得します。
+   *
+   * 総在庫が未記録で在庫行がある部屋タイプ、部屋がすべて削除された部屋タイプを含みます。
+   *
+   * @return 部屋タイプID（昇順）
+   */
+  @Select
+  List<Integer> selectStockChangedRoomTypeIds();
+
+  /**
+   * 部屋タイプの指定日以降の在庫行を、値を変更せずに行ロックします。
+   *
+   * @param roomTypeIds 部屋タイプID
+   * @param fromDate この日以降の宿泊日のみを対象とする
+   * @return ロックした在庫行数
+   */
+  @Update(sqlFile = true)
+  int lockNights(List<Integer> roomTypeIds, LocalDate fromDate);
+
+  /**
+   * 部屋タイプの指定日以降の作成済みの在庫行の残室数を、総在庫と予約済み室数から再計算します。
+   *
+   * 差分ではなく算出値で上書きするため、何回実行しても結果は同じです。
+   * {@link #lockNights(List, LocalDate)} と同じトランザクションで、その後に実行します。
+   *
+   * @param roomTypeIds 部屋タイプID
+   * @param fromDate この日以降の宿泊日のみを対象とする
+   * @return 更新件数（JDBCドライバーの返す値のため、再計算した在庫行数とは一致しない）
+   */
+  @Insert(sqlFile = true)
+  int reconcileNights(List<Integer> roomTypeIds, LocalDate fromDate);
+}
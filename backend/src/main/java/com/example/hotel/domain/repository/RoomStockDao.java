@@ -8,7 +8,7 @@ import org.seasar.doma.boot.ConfigAutowireable;
 import java.util.List;
 
 /**
- * 起動時キャッシュ用に部屋タイプごとの総在庫と定員を取得する Doma DAO。
+ * 在庫キャッシュ用に部屋タイプごとの総在庫と定員を取得する Doma DAO（起動時・都道府県単位の読み込み）。
  */
 @Dao
 @ConfigAutowireable
@@ -20,4 +20,22 @@ public interface RoomStockDao {
    */
   @Select
   List<RoomStockInfo> selectRoomStockInfo();
+
+  /**
+   * 指定した都道府県の部屋タイプごとの総在庫と定員を取得する
+   *
+   * @param prefectureId 都道府県ID
+   * @return RoomStockInfoのリスト
+   */
+  @Select
+  List<RoomStockInfo> selectRoomStockInfoByPrefecture(Integer prefectureId);
+
+  /**
+   * 部屋タイプが所属する都道府県IDを取得する
+   *
+   * @param roomTypeIds 部屋タイプIDのリスト
+   * @return 都道府県IDのリスト（重複なし・昇順）
+   */
+  @Select
+  List<Integer> selectPrefectureIdsByRoomTypeIds(List<Integer> roomTypeIds);
 }
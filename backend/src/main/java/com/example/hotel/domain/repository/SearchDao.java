@@ -40,4 +40,17 @@ public interface SearchDao {
   @Select
   List<AvailableRoomInfo> searchAvailableRooms(Integer prefectureId, LocalDate checkInDate,
       LocalDate checkOutDate, List<Integer> reservedStatuses, SelectOptions options);
+
+  /**
+   * 指定された都道府県に属するホテルと部屋タイプのメタデータのみを取得する。
+   *
+   * 予約済み室数の集計は行わず、reserved_countは常に0を返す。
+   * 空室台帳（AvailabilityLedger）が検索期間をカバーしている場合に、
+   * 予約テーブルとのJOINを避けるために使用する。
+   *
+   * @param prefectureId 都道府県ID (prefectures.prefecture_id)
+   * @return ホテル・部屋タイプのリスト（reservedCountは0）
+   */
+  @Select
+  List<AvailableRoomInfo> selectRoomTypesByPrefecture(Integer prefectureId);
 }
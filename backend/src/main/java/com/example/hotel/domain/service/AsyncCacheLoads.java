@@ -0,0 +1,61 @@
+package com.example.hotel.domain.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * キャッシュの更新処理（compute）の外での読み込みと、同一キーの読み込みの待ち合わせ
+ *
+ * Caffeine の Cache#get(key, loader) は読み込み処理をキャッシュの更新処理（compute）の中で実行するため、
+ * 読み込み処理がDBアクセス（JDBCの待機）を行うと、仮想スレッドモードではキャリアスレッドを占有（ピン留め）したまま待機する。
+ * 本クラスでは AsyncCache に未完了の CompletableFuture のみを登録し（compute の中では待機しない）、
+ * 登録したスレッドが compute の外で読み込んで完了させる。同一キーの後続の呼び出しは、
+ * 登録済みの CompletableFuture の完了を待つ（読み込みは1回のみ行う）。
+ *
+ * 読み込みに失敗した場合、その CompletableFuture はキャッシュから破棄される（次回の呼び出しで再度読み込む）。
+ */
+final class AsyncCacheLoads {
+
+  private AsyncCacheLoads() {
+  }
+
+  /**
+   * キャッシュから値を取得する（キャッシュにない場合は呼び出し元のスレッドで読み込んで登録する）
+   *
+   * ヒット・ミスはキャッシュの統計情報に記録される。
+   * 読み込み処理が例外をスローした場合は登録せず、そのままスローする（待ち合わせていた呼び出しにも同じ例外をスローする）。
+   *
+   * @param cache キャッシュ
+   * @param key キー
+   * @param loader キャッシュにない場合の読み込み処理
+   * @return 値
+   */
+  static <K, V> V getOrLoad(AsyncCache<K, V> cache, K key, Function<? super K, V> loader) {
+    CompletableFuture<V> loading = new CompletableFuture<>();
+    CompletableFuture<V> future = cache.get(key, (k, executor) -> loading);
+    if (future == loading) {
+      try {
+        loading.complete(loader.apply(key));
+      }
+      catch (RuntimeException | Error e) {
+        loading.completeExceptionally(e);
+        throw e;
+      }
+    }
+    try {
+      return future.join();
+    }
+    catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (e.getCause() instanceof Error cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+}
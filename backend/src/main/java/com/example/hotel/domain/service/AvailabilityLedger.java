@@ -0,0 +1,345 @@
+package com.example.hotel.domain.service;
+
+import com.example.hotel.config.ReservationProperties;
+import com.example.hotel.domain.model.ReservedRoomInfo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * 部屋タイプ別・宿泊日別の予約済み室数をメモリ上で管理する空室台帳サービス
+ *
+ * 【主要責務】
+ * 起動時にDBの予約済み明細から台帳を構築し、以降は ReservationService による
+ * 仮予約作成・キャンセル・期限切れに合わせて差分更新する。
+ * 空室検索は台帳から「宿泊期間中で最も混雑する夜の予約済み室数」を取得し、
+ * 予約テーブルの集計JOINを行わずに残在庫を算出する。
+ *
+ * 【データ構造】
+ * 部屋タイプごとに、区間加算・区間最大値を O(log N) で処理するセグメント木を保持する。
+ * 複数泊の検索でも宿泊日数分のループを行わずに最大予約数を取得できる。
+ * 予約が1件もない部屋タイプには木を割り当てず、予約済み室数0として扱う。
+ *
+ * 【整合性について】
+ * 台帳はノードごとのメモリ上の値であり、検索結果の表示用途に限定する。
+ * 仮予約作成時の在庫確定はDB上のロックで行うため、台帳の値が一時的にずれても
+ * ダブルブッキングは発生しない。管理範囲（horizon-days）外の日付を含む検索や、
+ * 台帳の初期化前の検索は SearchService がDB集計にフォールバックする。
+ * 差分更新は自ノードでコミットした変更のみのため、他ノードでの変更・基準日の経過は
+ * AvailabilityLedgerRefresher による定期的な再構築で反映する。
+ *
+ * 【再構築中の差分更新】
+ * 再構築（起動時のスナップショット起動モードでの構築を含む）は検索・予約の受付中に行われる。
+ * DBの読み取り開始から差し替えまでにコミットされた変更は読み取り結果に含まれないため、
+ * {@link #beginRebuild()} から差し替えまでの差分更新を記録（ジャーナル）し、
+ * 差し替え時に新しい台帳へ再適用する。再適用と差し替えは差分更新を止めて（書き込みロック）行う。
+ * DBの読み取り開始直前にコミットされ、コミット後処理が {@link #beginRebuild()} より後に
+ * 実行された変更は二重に反映される（コミットとコミット後処理の間の短い区間に限られ、
+ * 次回の再構築で解消する）。
+ */
+@Service
+@Slf4j
+public class AvailabilityLedger {
+
+  private final ReservationProperties reservationProperties;
+
+  // 台帳本体（再構築時は丸ごと差し替える。初期化前はnull）
+  private volatile Ledger ledger;
+
+  // 差分更新（読み取りロック）と、ジャーナルの再適用・台帳の差し替え（書き込みロック）の排他
+  private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+
+  // 再構築中の差分更新の記録（再構築中以外はnull、swapLock で保護）
+  private Queue<Change> journal;
+
+  public AvailabilityLedger(ReservationProperties reservationProperties) {
+    this.reservationProperties = reservationProperties;
+  }
+
+  /**
+   * 再構築を開始し、差し替えまでの差分更新の記録を開始する
+   *
+   * DBから予約済み明細の読み取りを開始する前に呼び出し、読み取り後に
+   * {@link #rebuild(LocalDate, Stream)} で差し替える。失敗した場合も必ず {@link #endRebuild()} を呼び出すこと。
+   */
+  public void beginRebuild() {
+    swapLock.writeLock().lock();
+    try {
+      journal = new ConcurrentLinkedQueue<>();
+    }
+    finally {
+      swapLock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * 予約済み明細から台帳を再構築し、現在の台帳と差し替える
+   *
+   * {@link #beginRebuild()} 以降に記録した差分更新を新しい台帳に再適用してから差し替える。
+   *
+   * @param baseDate 台帳の管理開始日（通常は本日）
+   * @param reservedRooms 予約済み（仮含む）明細のストリーム
+   * @return 台帳に反映した明細件数
+   */
+  public int rebuild(LocalDate baseDate, Stream<ReservedRoomInfo> reservedRooms) {
+    Ledger newLedger = new Ledger(baseDate.toEpochDay(),
+        reservationProperties.getAvailability().getHorizonDays());
+    int[] count = {0};
+    reservedRooms.forEach(room -> {
+      newLedger.add(room.getRoomTypeId(), room.getCheckInDate(), room.getCheckOutDate(),
+          room.getRoomCount());
+      count[0]++;
+    });
+    int replayed = 0;
+    swapLock.writeLock().lock();
+    try {
+      if (journal != null) {
+        for (Change change : journal) {
+          newLedger.add(change.roomTypeId, change.checkInDate, change.checkOutDate, change.delta);
+        }
+        replayed = journal.size();
+        journal = null;
+      }
+      this.ledger = newLedger;
+    }
+    finally {
+      swapLock.writeLock().unlock();
+    }
+    log.debug("空室台帳を構築しました: 基準日={}, 管理日数={}, 明細件数={}, 部屋タイプ数={}, 再適用件数={}",
+        baseDate, newLedger.horizonDays, count[0], newLedger.counters.size(), replayed);
+    return count[0];
+  }
+
+  /**
+   * 差分更新の記録を終了する（差し替え済みの場合は何もしない）
+   */
+  public void endRebuild() {
+    swapLock.writeLock().lock();
+    try {
+      journal = null;
+    }
+    finally {
+      swapLock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * 台帳が初期化済みかどうかを返す
+   */
+  public boolean isReady() {
+    return this.ledger != null;
+  }
+
+  /**
+   * 指定された宿泊期間が台帳の管理範囲に含まれるかどうかを返す
+   *
+   * @param checkInDate チェックイン日
+   * @param checkOutDate チェックアウト日（この日は宿泊しない）
+   * @return 台帳初期化済みかつ全宿泊日が管理範囲内の場合true
+   */
+  public boolean covers(LocalDate checkInDate, LocalDate checkOutDate) {
+    Ledger current = this.ledger;
+    if (current == null || checkInDate == null || checkOutDate == null) {
+      return false;
+    }
+    long from = checkInDate.toEpochDay() - current.baseEpochDay;
+    long to = checkOutDate.toEpochDay() - current.baseEpochDay;
+    return from >= 0 && from < to && to <= current.horizonDays;
+  }
+
+  /**
+   * 宿泊期間中の各夜のうち、最も多い予約済み室数を返す
+   *
+   * 事前に {@link #covers(LocalDate, LocalDate)} で管理範囲内であることを確認すること。
+   *
+   * @param roomTypeId 部屋タイプID
+   * @param checkInDate チェックイン日
+   * @param checkOutDate チェックアウト日（この日は宿泊しない）
+   * @return 宿泊期間中の最大予約済み室数（予約がなければ0）
+   */
+  public int getMaxReservedCount(int roomTypeId, LocalDate checkInDate, LocalDate checkOutDate) {
+    Ledger current = this.ledger;
+    if (current == null) {
+      return 0;
+    }
+    return current.max(roomTypeId, checkInDate, checkOutDate);
+  }
+
+  /**
+   * 仮予約の作成を台帳に反映する
+   */
+  public void reserve(int roomTypeId, LocalDate checkInDate, LocalDate checkOutDate,
+      int roomCount) {
+    apply(roomTypeId, checkInDate, checkOutDate, roomCount);
+  }
+
+  /**
+   * キャンセル・期限切れによる在庫返却を台帳に反映する
+   */
+  public void release(int roomTypeId, LocalDate checkInDate, LocalDate checkOutDate,
+      int roomCount) {
+    apply(roomTypeId, checkInDate, checkOutDate, -roomCount);
+  }
+
+  private void apply(int roomTypeId, LocalDate checkInDate, LocalDate checkOutDate, int delta) {
+    swapLock.readLock().lock();
+    try {
+      Ledger current = this.ledger;
+      if (current != null) {
+        current.add(roomTypeId, checkInDate, checkOutDate, delta);
+      }
+      if (journal != null) {
+        journal.add(new Change(roomTypeId, checkInDate, checkOutDate, delta));
+      }
+    }
+    finally {
+      swapLock.readLock().unlock();
+    }
+  }
+
+  /**
+   * 再構築中に記録した差分更新1件
+   */
+  private record Change(int roomTypeId, LocalDate checkInDate, LocalDate checkOutDate,
+      int delta) {
+  }
+
+  /**
+   * ある時点の台帳（基準日・管理日数・部屋タイプ別カウンタ）
+   */
+  private static final class Ledger {
+    private final long baseEpochDay;
+    private final int horizonDays;
+    private final int treeSize;
+    private final Map<Integer, NightCounter> counters = new ConcurrentHashMap<>();
+
+    private Ledger(long baseEpochDay, int horizonDays) {
+      if (horizonDays <= 0) {
+        throw new IllegalStateException("reservation.availability.horizon-days must be positive");
+      }
+      this.baseEpochDay = baseEpochDay;
+      this.horizonDays = horizonDays;
+      int size = 1;
+      while (size < horizonDays) {
+        size <<= 1;
+      }
+      this.treeSize = size;
+    }
+
+    private void add(int roomTypeId, LocalDate checkInDate, LocalDate checkOutDate, int delta) {
+      // 管理範囲外の宿泊日は切り捨てる（範囲外を含む検索はDB集計にフォールバックするため）
+      long from = Math.max(checkInDate.toEpochDay() - baseEpochDay, 0);
+      long to = Math.min(checkOutDate.toEpochDay() - baseEpochDay, horizonDays);
+      if (from >= to || delta == 0) {
+        return;
+      }
+      counters.computeIfAbsent(roomTypeId, id -> new NightCounter(treeSize)).add((int) from,
+          (int) to, delta);
+    }
+
+    private int max(int roomTypeId, LocalDate checkInDate, LocalDate checkOutDate) {
+      NightCounter counter = counters.get(roomTypeId);
+      if (counter == null) {
+        return 0;
+      }
+      long from = Math.max(checkInDate.toEpochDay() - baseEpochDay, 0);
+      long to = Math.min(checkOutDate.toEpochDay() - baseEpochDay, horizonDays);
+      if (from >= to) {
+        return 0;
+      }
+      return Math.max(counter.max((int) from, (int) to), 0);
+    }
+  }
+
+  /**
+   * 1部屋タイプ分の宿泊日別予約済み室数（区間加算・区間最大値セグメント木）
+   *
+   * 葉が宿泊日（台帳基準日からの日数）に対応する。tree[p] は部分木の最大値に
+   * 未伝播の加算値 pending[p] を含めた値を保持し、更新・検索ともに O(log N) で処理する。
+   */
+  static final class NightCounter {
+    private final int size;
+    private final int height;
+    private final int[] tree;
+    private final int[] pending;
+
+    NightCounter(int size) {
+      this.size = size;
+      this.height = Integer.numberOfTrailingZeros(size);
+      this.tree = new int[size * 2];
+      this.pending = new int[size];
+    }
+
+    /**
+     * 区間 [from, to) の各夜に delta を加算する
+     */
+    synchronized void add(int from, int to, int delta) {
+      int l = from + size;
+      int r = to + size;
+      int l0 = l;
+      int r0 = r;
+      for (; l < r; l >>= 1, r >>= 1) {
+        if ((l & 1) == 1) {
+          apply(l++, delta);
+        }
+        if ((r & 1) == 1) {
+          apply(--r, delta);
+        }
+      }
+      rebuild(l0);
+      rebuild(r0 - 1);
+    }
+
+    /**
+     * 区間 [from, to) の最大値を返す
+     */
+    synchronized int max(int from, int to) {
+      int l = from + size;
+      int r = to + size;
+      push(l);
+      push(r - 1);
+      int result = Integer.MIN_VALUE;
+      for (; l < r; l >>= 1, r >>= 1) {
+        if ((l & 1) == 1) {
+          result = Math.max(result, tree[l++]);
+        }
+        if ((r & 1) == 1) {
+          result = Math.max(result, tree[--r]);
+        }
+      }
+      return result;
+    }
+
+    private void apply(int p, int delta) {
+      tree[p] += delta;
+      if (p < size) {
+        pending[p] += delta;
+      }
+    }
+
+    private void rebuild(int p) {
+      while (p > 1) {
+        p >>= 1;
+        tree[p] = Math.max(tree[p << 1], tree[p << 1 | 1]) + pending[p];
+      }
+    }
+
+    private void push(int p) {
+      for (int s = height; s > 0; s--) {
+        int i = p >> s;
+        if (pending[i] != 0) {
+          apply(i << 1, pending[i]);
+          apply(i << 1 | 1, pending[i]);
+          pending[i] = 0;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package com.example.hotel.domain.service;
+
+import com.example.hotel.config.ReservationProperties;
+import com.example.hotel.domain.constants.ReservationStatus;
+import com.example.hotel.domain.repository.ReservationDao;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 空室台帳（AvailabilityLedger）の定期再構築
+ *
+ * 台帳はノードごとのメモリ上の値であり、差分更新で反映されるのは自ノードでコミットした
+ * 仮予約作成・キャンセル・期限切れのみとなる。以下のずれを解消するため、DBの予約済み明細から
+ * 定期的に台帳全体を再構築する。
+ * - 他ノードで作成・キャンセル・期限切れにした予約（他ノードの仮予約をタイミングホイール・
+ *   スイーパーが期限切れにした場合を含む）
+ * - 台帳の管理開始日（基準日）の経過による管理範囲の縮小（再構築時の本日を基準日とする）
+ *
+ * 起動時の構築（StartupDatabaseLoader）も本クラスの {@link #rebuild()} で行う
+ * （再構築は同時に1件のみ実行する）。
+ * 再構築に失敗した場合は現在の台帳を維持し、次回の実行で再度構築する。
+ */
+@Component
+@Slf4j
+public class AvailabilityLedgerRefresher {
+
+  private final ReservationDao reservationDao;
+  private final AvailabilityLedger availabilityLedger;
+  private final ReservationProperties.Availability settings;
+  private final ReentrantLock rebuildLock = new ReentrantLock();
+
+  public AvailabilityLedgerRefresher(ReservationDao reservationDao,
+      AvailabilityLedger availabilityLedger, ReservationProperties reservationProperties) {
+    this.reservationDao = reservationDao;
+    this.availabilityLedger = availabilityLedger;
+    this.settings = reservationProperties.getAvailability();
+  }
+
+  /**
+   * 台帳を定期的に再構築する
+   *
+   * 前回の実行終了から reservation.availability.rebuild-fixed-delay-millis 経過後に実行される。
+   * 例外が発生した場合はログ出力のみ行い、現在の台帳を維持する。
+   */
+  @Scheduled(initialDelayString = "${reservation.availability.rebuild-fixed-delay-millis}",
+      fixedDelayString = "${reservation.availability.rebuild-fixed-delay-millis}")
+  public void scheduledRebuild() {
+    if (!settings.isRebuildEnabled()) {
+      return;
+    }
+    try {
+      rebuild();
+    }
+    catch (RuntimeException e) {
+      log.error("空室台帳の再構築に失敗しました。現在の台帳を維持します。", e);
+    }
+  }
+
+  /**
+   * 本日を基準日として、DBの予約済み明細から台帳を再構築する
+   *
+   * DBの読み取り開始前から差し替えまでの差分更新は、台帳が記録して差し替え時に再適用する。
+   *
+   * @return 台帳に反映した明細件数
+   */
+  public int rebuild() {
+    rebuildLock.lock();
+    try {
+      LocalDate today = LocalDate.now();
+      availabilityLedger.beginRebuild();
+      try {
+        return reservationDao.selectReservedRooms(ReservationStatus.RESERVED_STATUSES, today,
+            reservedRooms -> availabilityLedger.rebuild(today, reservedRooms));
+      }
+      finally {
+        availabilityLedger.endRebuild();
+      }
+    }
+    finally {
+      rebuildLock.unlock();
+    }
+  }
+}
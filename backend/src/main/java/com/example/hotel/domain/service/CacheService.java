@@ -1,73 +1,342 @@
 package com.example.hotel.domain.service;
 
+import com.example.hotel.config.CacheProperties;
 import com.example.hotel.domain.model.Prefecture;
 import com.example.hotel.domain.model.RoomStockInfo;
+import com.example.hotel.domain.repository.RoomStockDao;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * アプリケーション起動時にロードした部屋タイプ別在庫情報と都道府県リストをキャッシュするサービス
  *
  * 検索処理で高速アクセスが必要な「部屋タイプ別の定員・総在庫」情報をメモリ上に保持。
  * 每回のDBアクセスを防ぐことで性能を向上させる。
+ *
+ * 【在庫情報の保持形式】
+ * 部屋タイプ別の在庫情報は不変の {@link RoomStockSnapshot} として保持し、更新時は
+ * 新しいスナップショットを生成して volatile 参照を差し替える。
+ * 参照側はコピーせずにそのまま読み取れるため、リクエストごとの割り当てが発生しない。
+ *
+ * 【再読み込み時の差し替え】
+ * 在庫スナップショットと都道府県リストは1つの不変オブジェクトにまとめ、単一の volatile 参照で保持する。
+ * 再読み込み（MasterDataRefresher）では両方を1回の参照差し替えで反映するため、
+ * 参照側はロックを取得せず、一方だけが更新された中途半端な状態も観測しない。
+ * 更新側のみ synchronized で直列化する。
+ *
+ * 【都道府県単位の読み込み（cache.stock.on-demand=true）】
+ * 起動時に全部屋タイプを読み込まず、都道府県ごとの在庫スナップショットを初回参照時にDBから読み込む。
+ * - 同じ都道府県の読み込みが同時に要求された場合、1回の読み込みを待ち合わせて結果を共有する
+ *   （DBからの読み込みはキャッシュの更新処理（compute）の外で行う。AsyncCacheLoads を参照）
+ * - 読み込み中の都道府県は、読み込み済みの都道府県の参照（getLoadedStockSnapshot 等）には含まれない
+ * - 推定メモリ使用量の上限を超えた場合は参照頻度の低い都道府県から破棄し、次回参照時に再読み込みする
+ * 起動時間・メモリ使用量が総在庫数ではなく、検索される都道府県の在庫数に比例するようになる。
+ * この場合、起動時に読み込んだ全部屋タイプのスナップショット（{@link #getStockSnapshot()}）は空となるため、
+ * 検索・予約処理は {@link #getStockSnapshot(Integer)} / {@link #getStockSnapshotForRoomTypes(Collection)}
+ * を使用すること（いずれも全件読み込み時は全部屋タイプのスナップショットを返す）。
  */
 @Service
-public class CacheService {
+public class CacheService implements MeterBinder {
+
+  private static final String PREFECTURE_STOCK_CACHE_NAME = "room_stock";
+
+  // 推定メモリ使用量の算出に使用する概算値（64bit JVM・圧縮参照）
+  // スナップショット本体・配列ヘッダー・キャッシュ内部ノード・キーのInteger
+  private static final int PARTITION_OVERHEAD_BYTES = 512;
+  // 部屋タイプ1件あたりのプリミティブ配列・ID変換表・部屋タイプ名（ホテル名は同一ホテルで共有）
+  private static final int ROOM_TYPE_BYTES = 160;
+
+  private final RoomStockDao roomStockDao;
+  private final boolean onDemand;
 
-  // 部屋タイプIDをキー、RoomStockInfoを値とするキャッシュマップ
-  private Map<Integer, RoomStockInfo> stockCache = new ConcurrentHashMap<>();
+  // 部屋タイプ別の定員・総在庫スナップショットと都道府県リスト（更新時は丸ごと差し替える）
+  private volatile MasterData masterData = new MasterData(RoomStockSnapshot.empty(),
+      Collections.emptyList());
 
-  // 都道府県情報キャッシュ
-  private List<Prefecture> prefectureCache = Collections.emptyList();
+  // 都道府県ID → 都道府県内の在庫スナップショット（都道府県単位の読み込み時のみ使用）
+  private final AsyncCache<Integer, RoomStockSnapshot> prefectureStocks;
+
+  // 読み込み済みの都道府県の在庫スナップショット（prefectureStocks のビュー、読み込み中の都道府県は含まない）
+  private final Map<Integer, RoomStockSnapshot> loadedStocks;
+
+  // スナップショットのバージョン採番
+  private final AtomicLong snapshotVersion = new AtomicLong();
+
+  public CacheService(RoomStockDao roomStockDao, CacheProperties cacheProperties) {
+    CacheProperties.Stock settings = cacheProperties.getStock();
+    this.roomStockDao = roomStockDao;
+    this.onDemand = settings.isOnDemand();
+    Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+    if (onDemand) {
+      builder.maximumWeight(settings.getMaximumWeightBytes())
+          .weigher((Integer prefectureId, RoomStockSnapshot snapshot) -> weigh(snapshot))
+          .expireAfterAccess(Duration.ofMinutes(settings.getExpireAfterAccessMinutes()));
+    }
+    this.prefectureStocks = builder.buildAsync();
+    this.loadedStocks = prefectureStocks.synchronous().asMap();
+  }
 
   /**
-   * DBから取得した部屋タイプごとの定員・総在庫情報でキャッシュを更新する
+   * 都道府県ごとに初回参照時に在庫情報を読み込む場合true
    */
-  public void updateCache(List<RoomStockInfo> stockInfoList) {
-    if (stockInfoList == null || stockInfoList.isEmpty()) {
-      this.stockCache.clear();
-      return;
-    }
-    Map<Integer, RoomStockInfo> newCache = stockInfoList.stream()
-        .collect(Collectors.toMap(RoomStockInfo::getRoomTypeId, Function.identity()));
+  public boolean isOnDemand() {
+    return onDemand;
+  }
 
-    this.stockCache = new ConcurrentHashMap<>(newCache);
+  /**
+   * DBから取得した部屋タイプごとの定員・総在庫情報でキャッシュを更新する
+   */
+  public synchronized void updateCache(List<RoomStockInfo> stockInfoList) {
+    this.masterData = new MasterData(createSnapshot(stockInfoList), masterData.prefectures);
   }
 
   /**
    * DBから取得した都道府県情報でキャッシュを更新する
    */
-  public void updatePrefectureCache(List<Prefecture> prefectures) {
+  public synchronized void updatePrefectureCache(List<Prefecture> prefectures) {
     if (prefectures != null) {
-      this.prefectureCache = List.copyOf(prefectures); // Immutable Listとして保持
+      // Immutable Listとして保持
+      this.masterData = new MasterData(masterData.stockSnapshot, List.copyOf(prefectures));
+    }
+  }
+
+  /**
+   * 新しいバージョン番号を採番して在庫スナップショットを生成する（キャッシュは更新しない）
+   *
+   * 再読み込み時に、差し替え前に現在のスナップショットとの差分を確認するために使用する。
+   */
+  public RoomStockSnapshot createSnapshot(List<RoomStockInfo> stockInfoList) {
+    List<RoomStockInfo> source = stockInfoList != null ? stockInfoList : List.of();
+    return RoomStockSnapshot.of(snapshotVersion.incrementAndGet(), source);
+  }
+
+  /**
+   * 在庫スナップショットと都道府県情報を1回の参照差し替えで更新する
+   *
+   * @param stockSnapshot {@link #createSnapshot(List)} で生成した在庫スナップショット
+   * @param prefectures 都道府県情報
+   */
+  public synchronized void replace(RoomStockSnapshot stockSnapshot, List<Prefecture> prefectures) {
+    this.masterData = new MasterData(stockSnapshot, List.copyOf(prefectures));
+  }
+
+  /**
+   * 起動時に読み込んだ全部屋タイプの在庫情報スナップショットを取得する
+   *
+   * 1リクエスト内では取得したスナップショットを使い回すこと（途中で更新されても一貫した値を参照できる）。
+   * 都道府県単位の読み込み時は空となる。
+   */
+  public RoomStockSnapshot getStockSnapshot() {
+    return this.masterData.stockSnapshot;
+  }
+
+  /**
+   * 指定した都道府県の部屋タイプを含む在庫情報スナップショットを取得する
+   *
+   * 全件読み込み時は全部屋タイプのスナップショットを返す。
+   * 都道府県単位の読み込み時は、未読み込みであればDBから読み込む（同時の読み込みは待ち合わせる）。
+   *
+   * @param prefectureId 都道府県ID
+   * @return 在庫情報スナップショット
+   */
+  public RoomStockSnapshot getStockSnapshot(Integer prefectureId) {
+    if (!onDemand) {
+      return getStockSnapshot();
+    }
+    if (WarmupContext.isActive()) {
+      // ウォームアップ中は、読み込み済みの都道府県の参照をヒット数に計上しない
+      RoomStockSnapshot loaded = loadedStocks.get(prefectureId);
+      if (loaded != null) {
+        return loaded;
+      }
+    }
+    return AsyncCacheLoads.getOrLoad(prefectureStocks, prefectureId, this::loadPrefectureStock);
+  }
+
+  /**
+   * 指定した部屋タイプを含む在庫情報スナップショットを取得する（予約・料金計算用）
+   *
+   * 全件読み込み時は全部屋タイプのスナップショットを返す。
+   * 都道府県単位の読み込み時は、部屋タイプが所属する都道府県を読み込み、
+   * すべて1つの都道府県に含まれる場合はそのスナップショットを返す。
+   * 複数の都道府県にまたがる場合は、指定した部屋タイプのみの一時的なスナップショットを返す。
+   * 存在しない部屋タイプは返却するスナップショットに含まれない。
+   *
+   * @param roomTypeIds 部屋タイプID
+   * @return 在庫情報スナップショット
+   */
+  public RoomStockSnapshot getStockSnapshotForRoomTypes(Collection<Integer> roomTypeIds) {
+    if (!onDemand) {
+      return getStockSnapshot();
+    }
+    List<RoomStockSnapshot> partitions = new ArrayList<>(loadedStocks.values());
+    RoomStockSnapshot single = findContainingAll(partitions, roomTypeIds);
+    if (single != null) {
+      return single;
     }
+
+    // 読み込み済みの都道府県に含まれない部屋タイプの都道府県を読み込む
+    Set<Integer> missing = new LinkedHashSet<>();
+    for (Integer roomTypeId : roomTypeIds) {
+      if (findContaining(partitions, roomTypeId) == null) {
+        missing.add(roomTypeId);
+      }
+    }
+    if (!missing.isEmpty()) {
+      for (Integer prefectureId : roomStockDao
+          .selectPrefectureIdsByRoomTypeIds(new ArrayList<>(missing))) {
+        partitions.add(getStockSnapshot(prefectureId));
+      }
+      single = findContainingAll(partitions, roomTypeIds);
+      if (single != null) {
+        return single;
+      }
+    }
+
+    // 複数の都道府県にまたがる（または存在しない部屋タイプを含む）場合
+    Map<Integer, RoomStockInfo> infos = new HashMap<>();
+    for (Integer roomTypeId : roomTypeIds) {
+      RoomStockSnapshot partition = findContaining(partitions, roomTypeId);
+      if (partition != null) {
+        infos.putIfAbsent(roomTypeId,
+            partition.toRoomStockInfo(partition.ordinalOf(roomTypeId)));
+      }
+    }
+    return RoomStockSnapshot.of(0L, new ArrayList<>(infos.values()));
   }
 
   /**
-   * キャッシュされた全在庫情報を取得する
+   * 都道府県単位の読み込み時に、読み込み済みの都道府県IDを取得する
+   */
+  public List<Integer> getLoadedPrefectureIds() {
+    return loadedStocks.keySet().stream().sorted().toList();
+  }
+
+  /**
+   * 都道府県単位の読み込み時に、読み込み済みの都道府県の在庫情報スナップショットを取得する
+   *
+   * @param prefectureId 都道府県ID
+   * @return 在庫情報スナップショット（未読み込み・破棄済みの場合はnull）
+   */
+  public RoomStockSnapshot getLoadedStockSnapshot(Integer prefectureId) {
+    return loadedStocks.get(prefectureId);
+  }
+
+  /**
+   * 都道府県単位の読み込み時に、読み込み済みの都道府県の在庫情報スナップショットを差し替える
+   *
+   * 差し替え前に破棄・再読み込みされていた場合は差し替えない（破棄された都道府県は次回参照時に読み込む）。
+   *
+   * @param prefectureId 都道府県ID
+   * @param current {@link #getLoadedStockSnapshot(Integer)} で取得したスナップショット
+   * @param next {@link #createSnapshot(List)} で生成したスナップショット
+   * @return 差し替えた場合true
+   */
+  public boolean replacePrefectureStock(Integer prefectureId, RoomStockSnapshot current,
+      RoomStockSnapshot next) {
+    return loadedStocks.replace(prefectureId, current, next);
+  }
+
+  /**
+   * キャッシュされた全在庫情報をMap形式で取得する
+   *
+   * 呼び出しごとに全部屋タイプ分のMapを生成するため、初期データ返却など
+   * Map形式が必要な箇所に限定し、検索・予約処理では {@link #getStockSnapshot(Integer)} 等を使用すること。
+   * 都道府県単位の読み込み時は、読み込み済みの都道府県の部屋タイプのみを返す。
    */
   public Map<Integer, RoomStockInfo> getStockCache() {
-    // 読み取り専用のコピーを返す
-    return Map.copyOf(this.stockCache);
+    if (!onDemand) {
+      return this.masterData.stockSnapshot.toMap();
+    }
+    Map<Integer, RoomStockInfo> map = new HashMap<>();
+    loadedStocks.values().forEach(partition -> map.putAll(partition.toMap()));
+    return map;
   }
 
   /**
    * キャッシュされた都道府県情報を取得する
    */
   public List<Prefecture> getPrefectureCache() {
-    return this.prefectureCache;
+    return this.masterData.prefectures;
   }
 
   /**
    * キャッシュが空かどうかを返す
    */
   public boolean isEmpty() {
-    return this.stockCache.isEmpty() && this.prefectureCache.isEmpty();
+    MasterData current = this.masterData;
+    return current.stockSnapshot.isEmpty() && current.prefectures.isEmpty();
+  }
+
+  /**
+   * 都道府県ごとの在庫情報の推定メモリ使用量（バイト）を取得する
+   */
+  public long prefectureStockWeightedSize() {
+    return prefectureStocks.synchronous().policy().eviction()
+        .map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L);
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    if (!onDemand) {
+      return;
+    }
+    CaffeineCacheMetrics.monitor(registry, prefectureStocks, PREFECTURE_STOCK_CACHE_NAME);
+    Gauge.builder("cache.weight", this, CacheService::prefectureStockWeightedSize)
+        .description("Estimated memory used by room stock loaded per prefecture")
+        .baseUnit("bytes").tag("cache", PREFECTURE_STOCK_CACHE_NAME).register(registry);
+  }
+
+  private RoomStockSnapshot loadPrefectureStock(Integer prefectureId) {
+    return createSnapshot(roomStockDao.selectRoomStockInfoByPrefecture(prefectureId));
+  }
+
+  private static RoomStockSnapshot findContainingAll(List<RoomStockSnapshot> partitions,
+      Collection<Integer> roomTypeIds) {
+    for (RoomStockSnapshot partition : partitions) {
+      if (roomTypeIds.stream().allMatch(partition::contains)) {
+        return partition;
+      }
+    }
+    return null;
+  }
+
+  private static RoomStockSnapshot findContaining(List<RoomStockSnapshot> partitions,
+      int roomTypeId) {
+    for (RoomStockSnapshot partition : partitions) {
+      if (partition.contains(roomTypeId)) {
+        return partition;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * 都道府県ごとの在庫情報の推定メモリ使用量（バイト）を算出する
+   */
+  static int weigh(RoomStockSnapshot snapshot) {
+    return PARTITION_OVERHEAD_BYTES + snapshot.size() * ROOM_TYPE_BYTES;
+  }
+
+  /**
+   * 在庫スナップショットと都道府県リストの組（不変）
+   */
+  private record MasterData(RoomStockSnapshot stockSnapshot, List<Prefecture> prefectures) {
   }
 }
@@ -0,0 +1,112 @@
+package com.example.hotel.domain.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * タイミングホイールによる仮予約の期限切れ処理
+ *
+ * 専用スレッドで1ティックごとに HoldExpiryWheel を進め、期限を迎えた仮予約を
+ * ReservationService#expireReservation で期限切れにして在庫を返却する。
+ * DBをポーリングせずに、有効期限の直後（ティック＋猶予時間以内）に在庫を解放する。
+ *
+ * 【取りこぼしへの対策】
+ * 他ノードで作成された仮予約は、このノードの起動時に読み込んだもの以外は登録されない。
+ * また、期限切れ処理に失敗した仮予約は再登録しない。
+ * いずれも期限切れ仮予約スイーパー（TentativeReservationSweeper）が後から処理する。
+ *
+ * 【複数ノード】
+ * 同じ仮予約を複数ノードが期限切れにしようとしても、予約行のロックとステータス条件により
+ * 在庫が返却されるのは1回のみ（2回目以降は更新件数0）。
+ */
+@Component
+@Slf4j
+public class HoldExpiryDriver implements SmartLifecycle {
+
+  private final HoldExpiryWheel holdExpiryWheel;
+  private final ReservationService reservationService;
+  private final HotelMetrics hotelMetrics;
+
+  private volatile ScheduledExecutorService executor;
+
+  public HoldExpiryDriver(HoldExpiryWheel holdExpiryWheel, ReservationService reservationService,
+      HotelMetrics hotelMetrics) {
+    this.holdExpiryWheel = holdExpiryWheel;
+    this.reservationService = reservationService;
+    this.hotelMetrics = hotelMetrics;
+  }
+
+  @Override
+  public synchronized void start() {
+    if (!holdExpiryWheel.isEnabled() || executor != null) {
+      return;
+    }
+    executor = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+        .name("hold-expiry").daemon(true).factory());
+    long tickMillis = holdExpiryWheel.getTickMillis();
+    executor.scheduleAtFixedRate(this::expireDueHolds, tickMillis, tickMillis,
+        TimeUnit.MILLISECONDS);
+    log.info("仮予約の期限切れ処理（タイミングホイール）を開始しました: tickMs={}", tickMillis);
+  }
+
+  @Override
+  public synchronized void stop() {
+    if (executor == null) {
+      return;
+    }
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+        executor.shutdownNow();
+      }
+    }
+    catch (InterruptedException e) {
+      executor.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+    executor = null;
+  }
+
+  @Override
+  public boolean isRunning() {
+    return executor != null;
+  }
+
+  /**
+   * 期限を迎えた仮予約を期限切れにする（ティックごとに実行）
+   *
+   * 例外をスローすると以降のティックが実行されなくなるため、仮予約ごとに捕捉してログ出力する。
+   */
+  void expireDueHolds() {
+    List<HoldExpiryWheel.DueHold> dueHolds;
+    try {
+      dueHolds = holdExpiryWheel.advance(System.currentTimeMillis());
+    }
+    catch (RuntimeException e) {
+      log.error("タイミングホイールの処理に失敗しました", e);
+      return;
+    }
+    for (HoldExpiryWheel.DueHold hold : dueHolds) {
+      String outcome;
+      try {
+        // 更新件数0: キャンセル済み・他ノードやスイーパーで処理済みなど、既に期限切れ対象でない
+        outcome = reservationService.expireReservation(hold.getReservationId()) > 0
+            ? "expired"
+            : "skipped";
+      }
+      catch (RuntimeException e) {
+        outcome = "failed";
+        log.warn("仮予約の期限切れ処理に失敗しました。スイーパーで再処理します: reservationId={}",
+            hold.getReservationId(), e);
+      }
+      hotelMetrics.recordHoldExpiry(outcome,
+          System.currentTimeMillis() - hold.getDeadlineMillis());
+    }
+  }
+}
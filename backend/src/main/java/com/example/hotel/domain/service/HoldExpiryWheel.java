@@ -0,0 +1,317 @@
+package com.example.hotel.domain.service;
+
+import com.example.hotel.config.ReservationProperties;
+import com.example.hotel.domain.model.Reservation;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * 仮予約の有効期限を管理する階層型タイミングホイール
+ *
+ * ノード内で作成・起動時に読み込んだ仮予約を有効期限ごとに保持し、
+ * 期限を迎えた仮予約を {@link #advance(long)} で取り出す。
+ * 取り出した仮予約の期限切れ処理は HoldExpiryDriver が行う。
+ *
+ * 【構造】
+ * 1ティック（tick-millis）単位のスロットを持つホイールを階層化し、
+ * 上位の階層ほど1スロットが表す時間を「下位階層のスロット数」倍に広げる。
+ * 64スロット×4階層・100ミリ秒の場合、約19日先までの期限を保持できる（それ以降は最上位に留めて再配置する）。
+ * 下位階層が1周するたびに、上位階層の次のスロットの仮予約を下位階層へ再配置する（カスケード）。
+ *
+ * 【計算量】
+ * - 登録・取消: O(1)（スロットは双方向リスト、予約IDからエントリへのマップを保持）
+ * - ティック処理: 期限を迎えたエントリ数と、カスケードで再配置するエントリ数に比例
+ *
+ * 【スレッドセーフ】
+ * 登録・取消・ティック処理は単一のロックで直列化する（いずれも短時間で終わるため）。
+ */
+@Component
+public class HoldExpiryWheel implements MeterBinder {
+
+  private final boolean enabled;
+  private final long tickMillis;
+  private final long graceMillis;
+  private final int slotBits;
+  private final long slotMask;
+  private final Slot[][] levels;
+
+  private final Object lock = new Object();
+  // 予約ID → エントリ（同一予約の再登録・取消用）
+  private final Map<Integer, Entry> entries = new HashMap<>();
+  // 次に処理するティック（エポックからのティック数）
+  private long nextTick;
+
+  public HoldExpiryWheel(ReservationProperties reservationProperties) {
+    ReservationProperties.ExpiryWheel settings = reservationProperties.getExpiryWheel();
+    int slotsPerLevel = settings.getSlotsPerLevel();
+    if (slotsPerLevel < 2 || Integer.bitCount(slotsPerLevel) != 1) {
+      throw new IllegalArgumentException(
+          "reservation.expiry-wheel.slots-per-level は2以上の2の累乗で指定してください: "
+              + slotsPerLevel);
+    }
+    this.enabled = settings.isEnabled();
+    this.tickMillis = Math.max(1, settings.getTickMillis());
+    this.graceMillis = Math.max(0, settings.getGraceMillis());
+    this.slotBits = Integer.numberOfTrailingZeros(slotsPerLevel);
+    this.slotMask = slotsPerLevel - 1;
+    this.levels = new Slot[Math.max(1, settings.getLevels())][slotsPerLevel];
+    for (Slot[] level : levels) {
+      for (int i = 0; i < level.length; i++) {
+        level[i] = new Slot();
+      }
+    }
+    this.nextTick = System.currentTimeMillis() / tickMillis;
+  }
+
+  /**
+   * ホイールによる期限切れ処理が有効な場合true
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * 1ティックの長さ（ミリ秒）
+   */
+  public long getTickMillis() {
+    return tickMillis;
+  }
+
+  /**
+   * 仮予約の有効期限を登録する（登録済みの予約IDは期限を置き換える）
+   *
+   * DBの現在時刻とのずれを考慮し、有効期限の猶予時間（grace-millis）後に取り出す。
+   *
+   * @param reservationId 予約ID
+   * @param pendingLimitAt 有効期限
+   */
+  public void schedule(Integer reservationId, LocalDateTime pendingLimitAt) {
+    if (!enabled || reservationId == null || pendingLimitAt == null) {
+      return;
+    }
+    long deadlineMillis = pendingLimitAt.atZone(ZoneId.systemDefault()).toInstant()
+        .toEpochMilli();
+    // 期限 + 猶予時間 以降に開始するティックで取り出す（切り上げ）
+    long expiresTick = Math.floorDiv(deadlineMillis + graceMillis + tickMillis - 1, tickMillis);
+    synchronized (lock) {
+      Entry previous = entries.remove(reservationId);
+      if (previous != null) {
+        previous.unlink();
+      }
+      Entry entry = new Entry(reservationId, deadlineMillis, expiresTick);
+      entries.put(reservationId, entry);
+      place(entry);
+    }
+  }
+
+  /**
+   * 仮予約の有効期限をまとめて登録する（起動時の初期化用）
+   *
+   * 予約の作成・取消と同時に実行されてもよいよう、登録済みのエントリは消去しない。
+   *
+   * @param tentatives 仮予約のストリーム
+   * @return 登録件数
+   */
+  public int scheduleAll(Stream<Reservation> tentatives) {
+    int count = 0;
+    for (Reservation reservation : (Iterable<Reservation>) tentatives::iterator) {
+      schedule(reservation.getReservationId(), reservation.getPendingLimitAt());
+      count++;
+    }
+    return count;
+  }
+
+  /**
+   * 仮予約の登録を取り消す（キャンセル・期限切れ処理済みの場合）
+   *
+   * @param reservationId 予約ID
+   */
+  public void cancel(Integer reservationId) {
+    if (!enabled || reservationId == null) {
+      return;
+    }
+    synchronized (lock) {
+      Entry entry = entries.remove(reservationId);
+      if (entry != null) {
+        entry.unlink();
+      }
+    }
+  }
+
+  /**
+   * 指定時刻までのティックを処理し、期限を迎えた仮予約を取り出す
+   *
+   * 取り出した仮予約はホイールから削除される。
+   *
+   * @param nowMillis 現在時刻（エポックミリ秒）
+   * @return 期限を迎えた仮予約（期限の早い順とは限らない）
+   */
+  public List<DueHold> advance(long nowMillis) {
+    long targetTick = nowMillis / tickMillis;
+    List<DueHold> due = new ArrayList<>();
+    synchronized (lock) {
+      if (entries.isEmpty()) {
+        // 登録がなければスロットを順に処理する必要はない
+        nextTick = Math.max(nextTick, targetTick + 1);
+        return due;
+      }
+      while (nextTick <= targetTick) {
+        tick(due);
+      }
+    }
+    return due;
+  }
+
+  /**
+   * 登録中の仮予約数
+   */
+  public int size() {
+    synchronized (lock) {
+      return entries.size();
+    }
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("hotel.reservation.wheel.pending", this, HoldExpiryWheel::size)
+        .description("Tentative reservations waiting for expiry in the in-process timing wheel")
+        .register(registry);
+  }
+
+  /**
+   * 1ティック分を処理する（呼び出し元でロックを取得済み）
+   */
+  private void tick(List<DueHold> due) {
+    int index = (int) (nextTick & slotMask);
+    if (index == 0) {
+      // 最下位階層が1周した → 上位階層の次のスロットを再配置（上位も1周していればさらに上位から）
+      for (int level = 1; level < levels.length; level++) {
+        int slot = (int) ((nextTick >>> (level * slotBits)) & slotMask);
+        cascade(levels[level][slot]);
+        if (slot != 0) {
+          break;
+        }
+      }
+    }
+    Slot slot = levels[0][index];
+    for (Entry entry = slot.detachAll(); entry != null;) {
+      Entry next = entry.next;
+      entry.next = null;
+      entries.remove(entry.reservationId);
+      due.add(new DueHold(entry.reservationId, entry.deadlineMillis));
+      entry = next;
+    }
+    nextTick++;
+  }
+
+  private void cascade(Slot slot) {
+    for (Entry entry = slot.detachAll(); entry != null;) {
+      Entry next = entry.next;
+      entry.next = null;
+      place(entry);
+      entry = next;
+    }
+  }
+
+  /**
+   * 期限までのティック数に応じた階層・スロットへ配置する（呼び出し元でロックを取得済み）
+   */
+  private void place(Entry entry) {
+    long expiresTick = Math.max(entry.expiresTick, nextTick);
+    long delta = expiresTick - nextTick;
+    for (int level = 0; level < levels.length; level++) {
+      if (delta < 1L << ((level + 1) * slotBits)) {
+        levels[level][(int) ((expiresTick >>> (level * slotBits)) & slotMask)].add(entry);
+        return;
+      }
+    }
+    // 保持できる範囲より先の期限 → 最上位階層の最も遠いスロットに置き、カスケード時に再配置する
+    int top = levels.length - 1;
+    long clipped = nextTick + (1L << (levels.length * slotBits)) - 1;
+    levels[top][(int) ((clipped >>> (top * slotBits)) & slotMask)].add(entry);
+  }
+
+  /**
+   * 期限を迎えた仮予約
+   */
+  @Value
+  public static class DueHold {
+    Integer reservationId;
+    // 有効期限（エポックミリ秒、猶予時間を含まない）
+    long deadlineMillis;
+  }
+
+  /**
+   * ホイールのスロット（エントリの双方向リスト）
+   */
+  private static final class Slot {
+    private Entry head;
+
+    void add(Entry entry) {
+      entry.slot = this;
+      entry.prev = null;
+      entry.next = head;
+      if (head != null) {
+        head.prev = entry;
+      }
+      head = entry;
+    }
+
+    /**
+     * 全エントリをスロットから切り離し、先頭を返す（next で辿れる）
+     */
+    Entry detachAll() {
+      Entry first = head;
+      head = null;
+      for (Entry entry = first; entry != null; entry = entry.next) {
+        entry.slot = null;
+        entry.prev = null;
+      }
+      return first;
+    }
+  }
+
+  private static final class Entry {
+    private final Integer reservationId;
+    private final long deadlineMillis;
+    private final long expiresTick;
+    private Slot slot;
+    private Entry prev;
+    private Entry next;
+
+    Entry(Integer reservationId, long deadlineMillis, long expiresTick) {
+      this.reservationId = reservationId;
+      this.deadlineMillis = deadlineMillis;
+      this.expiresTick = expiresTick;
+    }
+
+    void unlink() {
+      if (slot == null) {
+        return;
+      }
+      if (prev != null) {
+        prev.next = next;
+      }
+      else {
+        slot.head = next;
+      }
+      if (next != null) {
+        next.prev = prev;
+      }
+      slot = null;
+      prev = null;
+      next = null;
+    }
+  }
+}
@@ -0,0 +1,317 @@
+package com.example.hotel.domain.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 空室検索・予約業務のメトリクス
+ *
+ * 【空室検索】
+ * - hotel.search.query: DBからの部屋一覧取得時間（タグ path=ledger: 台帳補完 / aggregate: 予約集計クエリ）
+ * - hotel.search.rows: DBから取得した部屋タイプ行数（タグ path は同上）
+ * - hotel.search.assembly: 残在庫・価格計算とホテル単位の結果組み立て時間
+ *
+ * 【予約】
+ * - hotel.reservation.holds: 作成された仮予約件数（コミット後に計上）
+ * - hotel.reservation.rejected: 在庫不足で拒否された仮予約件数（タグ reason=stock_shortage）
+ * - hotel.reservation.cancelled / hotel.reservation.expired: 在庫を返却した件数（コミット後に計上）
+ *
+ * 【行ロック】
+ * - hotel.reservation.lock.acquire: 仮予約1件分の在庫確保（在庫行の行ロック取得を含む）時間
+ * - hotel.reservation.lock.wait: 部屋タイプ別の在庫確保時間（タグ room_type_bucket）
+ *   … 仮予約の全部屋タイプを1回のバッチで確保するため、仮予約1件分の時間を含まれる部屋タイプごとに記録する
+ * - hotel.reservation.lock.contended: 在庫確保がしきい値以上かかった件数（タグ room_type_bucket）
+ *   … 部屋タイプIDをタグにすると系列数が部屋タイプ数に比例して増えるため、
+ *     部屋タイプID を reservation.lock.metric-buckets で割った余り（バケット）をタグとする。
+ *     競合しているバケットの部屋タイプID・ホテルIDは ReservationService の WARN ログで特定する
+ * - hotel.reservation.lock.conflicts: デッドロック・ロック待ちタイムアウトの発生件数
+ * - hotel.reservation.lock.retries: 再試行件数
+ * - hotel.reservation.lock.exhausted: 最大試行回数まで競合が続き失敗した件数
+ *   （いずれもタグ operation=処理名, conflict=deadlock/lock_timeout）
+ *
+ * 【期限切れ仮予約スイーパー】
+ * - hotel.reservation.sweeper.lag: 期限切れにした仮予約の、有効期限から処理までの遅延
+ * - hotel.reservation.sweeper.rows: 1回の実行で期限切れにした件数
+ * - hotel.reservation.sweeper.run: 1回の実行時間（タグ outcome=success/failure）
+ *
+ * 【タイミングホイール】
+ * - hotel.reservation.wheel.lag: 有効期限から期限切れ処理完了までの遅延
+ *   （タグ outcome=expired: 期限切れにした / skipped: 処理済み等で対象外 / failed: 失敗）
+ * - hotel.reservation.wheel.pending: ホイールに登録中の仮予約数（HoldExpiryWheel で登録）
+ *
+ * 【キャッシュ再読み込み】
+ * - hotel.cache.refresh: 在庫情報・都道府県キャッシュの再読み込み時間
+ *   （タグ outcome=updated: 差し替えた / unchanged: 差分なし / failed: 失敗）
+ *
+ * 【起動時ウォームアップ】
+ * - hotel.warmup: ウォームアップの所要時間（受付開始までの遅延）
+ * - hotel.warmup.compile: ウォームアップ中のJITコンパイル時間
+ * - hotel.warmup.iterations: 反復回数
+ *   （いずれもタグ outcome=settled: JITコンパイルが収束 / budget: 制限時間到達 / failed: 失敗）
+ * - ウォームアップ中（WarmupContext）の空室検索は hotel.search.query / rows / assembly に記録しない
+ *
+ * 【仮想スレッド】
+ * - hotel.vthread.pinned: 仮想スレッドがキャリアスレッドにピン留めされた時間
+ *   （タグ source=mysql / h2 / hikari / doma / caffeine / application / other、
+ *   VirtualThreadPinningMonitor で計上）
+ *
+ * 【バルクヘッド】
+ * - hotel.bulkhead.wait: 受け付けたリクエストの待ち行列での待機時間（タグ bulkhead=booking/search）
+ * - hotel.bulkhead.rejected: 拒否したリクエスト数
+ *   （タグ bulkhead、reason=queue_full: 待ち行列が上限 / timeout: 待機時間超過）
+ * - 同時実行数・待ち行列の長さのゲージは BulkheadGate で登録
+ *
+ * 【空室検索の適応型同時実行数制限】
+ * - hotel.search.limiter.dropped: 同時実行数の上限に達して拒否（503）した空室検索の件数
+ * - 上限・同時実行数・応答時間の移動平均のゲージは SearchConcurrencyLimiter で登録
+ *
+ * パーセンタイルヒストグラムの有無・範囲は metrics.properties で設定する。
+ */
+@Component
+public class HotelMetrics {
+
+  private final MeterRegistry meterRegistry;
+  private final Timer ledgerQueryTimer;
+  private final Timer aggregateQueryTimer;
+  private final DistributionSummary ledgerRows;
+  private final DistributionSummary aggregateRows;
+  private final Timer assemblyTimer;
+  private final Counter holdsCreated;
+  private final Counter stockShortages;
+  private final Counter cancelled;
+  private final Counter expired;
+  private final Timer lockAcquireTimer;
+  private final Timer sweeperLagTimer;
+  private final DistributionSummary sweeperRows;
+  private final Counter searchLimiterDropped;
+
+  public HotelMetrics(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+    this.ledgerQueryTimer = queryTimer(meterRegistry, "ledger");
+    this.aggregateQueryTimer = queryTimer(meterRegistry, "aggregate");
+    this.ledgerRows = rowsSummary(meterRegistry, "ledger");
+    this.aggregateRows = rowsSummary(meterRegistry, "aggregate");
+    this.assemblyTimer = Timer.builder("hotel.search.assembly")
+        .description("Time to calculate stock and price and group search results by hotel")
+        .register(meterRegistry);
+    this.holdsCreated = Counter.builder("hotel.reservation.holds")
+        .description("Tentative reservations committed").register(meterRegistry);
+    this.stockShortages = Counter.builder("hotel.reservation.rejected")
+        .description("Tentative reservations rejected").tag("reason", "stock_shortage")
+        .register(meterRegistry);
+    this.cancelled = Counter.builder("hotel.reservation.cancelled")
+        .description("Reservations cancelled and returned to stock").register(meterRegistry);
+    this.expired = Counter.builder("hotel.reservation.expired")
+        .description("Tentative reservations expired and returned to stock")
+        .register(meterRegistry);
+    this.lockAcquireTimer = Timer.builder("hotel.reservation.lock.acquire")
+        .description("Time to lock and decrement inventory rows for one tentative reservation")
+        .register(meterRegistry);
+    this.sweeperLagTimer = Timer.builder("hotel.reservation.sweeper.lag")
+        .description("Delay between a tentative reservation deadline and its expiry by sweeper")
+        .register(meterRegistry);
+    this.sweeperRows = DistributionSummary.builder("hotel.reservation.sweeper.rows")
+        .description("Tentative reservations expired per sweeper run").baseUnit("rows")
+        .register(meterRegistry);
+    this.searchLimiterDropped = Counter.builder("hotel.search.limiter.dropped")
+        .description("Searches rejected by the adaptive concurrency limit")
+        .register(meterRegistry);
+  }
+
+  /**
+   * 空室検索のDB取得を記録する
+   *
+   * @param ledger 空室台帳で予約済み室数を補完した場合true、予約集計クエリの場合false
+   * @param elapsedNanos 取得時間（ナノ秒）
+   * @param rows 取得行数
+   */
+  public void recordSearchQuery(boolean ledger, long elapsedNanos, int rows) {
+    if (WarmupContext.isActive()) {
+      return;
+    }
+    (ledger ? ledgerQueryTimer : aggregateQueryTimer).record(elapsedNanos, TimeUnit.NANOSECONDS);
+    (ledger ? ledgerRows : aggregateRows).record(rows);
+  }
+
+  /**
+   * 空室検索の結果組み立て時間を記録する
+   *
+   * @param elapsedNanos 組み立て時間（ナノ秒）
+   */
+  public void recordSearchAssembly(long elapsedNanos) {
+    if (WarmupContext.isActive()) {
+      return;
+    }
+    assemblyTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+  }
+
+  public void tentativeReservationCreated() {
+    holdsCreated.increment();
+  }
+
+  public void stockShortage() {
+    stockShortages.increment();
+  }
+
+  public void reservationCancelled() {
+    cancelled.increment();
+  }
+
+  public void reservationExpired() {
+    expired.increment();
+  }
+
+  /**
+   * スイーパーが期限切れにした仮予約1件の遅延を記録する
+   *
+   * @param lag 有効期限から期限切れ処理までの遅延
+   */
+  public void recordSweeperLag(Duration lag) {
+    sweeperLagTimer.record(lag.isNegative() ? Duration.ZERO : lag);
+  }
+
+  /**
+   * タイミングホイールによる仮予約1件の期限切れ処理を記録する
+   *
+   * @param outcome expired / skipped / failed
+   * @param lagMillis 有効期限から処理完了までの遅延（ミリ秒）
+   */
+  public void recordHoldExpiry(String outcome, long lagMillis) {
+    meterRegistry.timer("hotel.reservation.wheel.lag", "outcome", outcome)
+        .record(Math.max(0, lagMillis), TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * スイーパー1回分の実行結果を記録する
+   *
+   * @param rows 期限切れにした件数
+   * @param elapsedNanos 実行時間（ナノ秒）
+   * @param success 例外なく終了した場合true
+   */
+  public void recordSweeperRun(int rows, long elapsedNanos, boolean success) {
+    sweeperRows.record(rows);
+    meterRegistry.timer("hotel.reservation.sweeper.run", "outcome", success ? "success" : "failure")
+        .record(elapsedNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * 仮予約1件分の在庫確保時間を記録する
+   *
+   * 部屋タイプ別の時間・競合件数は、部屋タイプIDのバケットごとに1回ずつ記録する
+   * （同じバケットの部屋タイプを複数含む仮予約でも重複して記録しない）。
+   *
+   * @param roomTypeIds 確保した部屋タイプID
+   * @param buckets 部屋タイプIDのバケット数（reservation.lock.metric-buckets）
+   * @param elapsedNanos 在庫確保時間（ナノ秒）
+   * @param contended しきい値以上かかった場合true
+   */
+  public void recordLockAcquire(Collection<Integer> roomTypeIds, int buckets, long elapsedNanos,
+      boolean contended) {
+    lockAcquireTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    int bucketCount = Math.max(1, buckets);
+    roomTypeIds.stream().map(roomTypeId -> Math.floorMod(roomTypeId, bucketCount)).distinct()
+        .forEach(bucket -> {
+          String tag = Integer.toString(bucket);
+          meterRegistry.timer("hotel.reservation.lock.wait", "room_type_bucket", tag)
+              .record(elapsedNanos, TimeUnit.NANOSECONDS);
+          if (contended) {
+            meterRegistry.counter("hotel.reservation.lock.contended", "room_type_bucket", tag)
+                .increment();
+          }
+        });
+  }
+
+  public void lockConflict(String operation, String conflict) {
+    meterRegistry.counter("hotel.reservation.lock.conflicts", "operation", operation, "conflict",
+        conflict).increment();
+  }
+
+  public void lockRetry(String operation, String conflict) {
+    meterRegistry.counter("hotel.reservation.lock.retries", "operation", operation, "conflict",
+        conflict).increment();
+  }
+
+  public void lockRetriesExhausted(String operation, String conflict) {
+    meterRegistry.counter("hotel.reservation.lock.exhausted", "operation", operation, "conflict",
+        conflict).increment();
+  }
+
+  /**
+   * 在庫情報・都道府県キャッシュの再読み込みを記録する
+   *
+   * @param outcome updated / unchanged / failed
+   * @param elapsedNanos 再読み込み時間（ナノ秒）
+   */
+  public void recordMasterDataRefresh(String outcome, long elapsedNanos) {
+    meterRegistry.timer("hotel.cache.refresh", "outcome", outcome)
+        .record(elapsedNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * 起動時ウォームアップの結果を記録する
+   *
+   * @param outcome settled / budget / failed
+   * @param elapsedNanos 所要時間（ナノ秒）
+   * @param compileMillis ウォームアップ中のJITコンパイル時間（ミリ秒、取得できない場合は負数）
+   * @param iterations 反復回数
+   */
+  public void recordWarmup(String outcome, long elapsedNanos, long compileMillis,
+      int iterations) {
+    meterRegistry.timer("hotel.warmup", "outcome", outcome)
+        .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    if (compileMillis >= 0) {
+      meterRegistry.timer("hotel.warmup.compile", "outcome", outcome)
+          .record(compileMillis, TimeUnit.MILLISECONDS);
+    }
+    meterRegistry.counter("hotel.warmup.iterations", "outcome", outcome).increment(iterations);
+  }
+
+  /**
+   * 仮想スレッドのピン留め1件を記録する
+   *
+   * @param source 発生箇所の分類
+   * @param duration ピン留め時間
+   */
+  public void recordVirtualThreadPinned(String source, Duration duration) {
+    meterRegistry.timer("hotel.vthread.pinned", "source", source).record(duration);
+  }
+
+  /**
+   * バルクヘッドで受け付けたリクエストの待機時間を記録する
+   *
+   * @param bulkhead バルクヘッド名
+   * @param waitNanos 待ち行列での待機時間（ナノ秒、待機しなかった場合は0）
+   */
+  public void recordBulkheadWait(String bulkhead, long waitNanos) {
+    meterRegistry.timer("hotel.bulkhead.wait", "bulkhead", bulkhead)
+        .record(waitNanos, TimeUnit.NANOSECONDS);
+  }
+
+  public void bulkheadRejected(String bulkhead, String reason) {
+    meterRegistry.counter("hotel.bulkhead.rejected", "bulkhead", bulkhead, "reason", reason)
+        .increment();
+  }
+
+  public void searchLimiterDropped() {
+    searchLimiterDropped.increment();
+  }
+
+  private static Timer queryTimer(MeterRegistry meterRegistry, String path) {
+    return Timer.builder("hotel.search.query")
+        .description("Time to fetch room types with reserved counts for a search")
+        .tag("path", path).register(meterRegistry);
+  }
+
+  private static DistributionSummary rowsSummary(MeterRegistry meterRegistry, String path) {
+    return DistributionSummary.builder("hotel.search.rows")
+        .description("Room type rows fetched for a search").baseUnit("rows").tag("path", path)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,129 @@
+package com.example.hotel.domain.service;
+
+import com.example.hotel.config.ReservationProperties;
+import com.example.hotel.domain.repository.RoomInventoryDao;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 在庫行（room_type_daily_inventory）の事前作成
+ *
+ * 本日から reservation.inventory.horizon-days 日分の在庫行を、部屋が登録されている全部屋タイプについて作成しておく。
+ * 仮予約の在庫確保（ReservationService#holdRoomNights）は在庫行の減算のみで完結し、
+ * 予約明細の集計（予約明細への範囲ロックを伴う）を行わない。
+ *
+ * 【チャンク処理】
+ * 部屋タイプを chunk-room-types 件ずつに分け、チャンクごとに1トランザクションで作成する。
+ * チャンクの部屋タイプIDの範囲の在庫行数を確認し、「部屋タイプ数 × 日数」と一致するチャンクは
+ * 作成済みとして読み飛ばす（部屋がすべて削除された部屋タイプの在庫行が残っている場合は一致しないため、
+ * そのチャンクは毎回 INSERT IGNORE を実行する）。
+ *
+ * 【確認する期間】
+ * 起動後の初回は期間全体を確認する。2回目以降は、前回完了した実行の期間の末尾より後
+ * （日数の経過で伸びた分）のみを確認する。前回の実行になかった部屋タイプ（新規の部屋タイプ）を含む
+ * チャンクは期間全体を確認する。実行が途中で失敗した場合は、次回も期間全体を確認する。
+ *
+ * 【作成済みの在庫行】
+ * 在庫行の作成前に、同じトランザクションで算出に使用する総在庫を記録する（InventoryReconciler が
+ * 総在庫の変更の検出に使用する）。作成済みの行は変更しない（INSERT IGNORE）。複数ノードで同時に実行しても結果は変わらない。
+ * 失敗したチャンクは次回の実行で再度作成する（未作成の間は仮予約の在庫確保時に作成される）。
+ */
+@Component
+@Slf4j
+public class InventoryBackfill {
+
+  private final RoomInventoryDao roomInventoryDao;
+  private final LockRetryTemplate lockRetryTemplate;
+  private final ReservationProperties.Inventory settings;
+  private final ReentrantLock backfillLock = new ReentrantLock();
+  private LocalDate checkedThrough;
+  private Set<Integer> checkedRoomTypeIds = Set.of();
+
+  public InventoryBackfill(RoomInventoryDao roomInventoryDao,
+      LockRetryTemplate lockRetryTemplate, ReservationProperties reservationProperties) {
+    this.roomInventoryDao = roomInventoryDao;
+    this.lockRetryTemplate = lockRetryTemplate;
+    this.settings = reservationProperties.getInventory();
+  }
+
+  /**
+   * 在庫行を定期的に事前作成する
+   *
+   * 起動から reservation.inventory.backfill-initial-delay-millis 経過後に初回、
+   * 以降は前回の実行終了から reservation.inventory.backfill-fixed-delay-millis 経過後に実行される。
+   * 例外が発生した場合はログ出力のみ行い、次回の実行で再度作成する。
+   */
+  @Scheduled(initialDelayString = "${reservation.inventory.backfill-initial-delay-millis}",
+      fixedDelayString = "${reservation.inventory.backfill-fixed-delay-millis}")
+  public void scheduledBackfill() {
+    if (!settings.isBackfillEnabled()) {
+      return;
+    }
+    try {
+      backfill();
+    }
+    catch (RuntimeException e) {
+      log.error("在庫行の事前作成に失敗しました。次回の実行で再度作成します。", e);
+    }
+  }
+
+  /**
+   * 本日から horizon-days 日分の未作成の在庫行を作成する
+   *
+   * @return 作成した在庫行数
+   */
+  public int backfill() {
+    backfillLock.lock();
+    try {
+      long start = System.nanoTime();
+      LocalDate fromDate = LocalDate.now();
+      LocalDate lastDate = fromDate.plusDays(Math.max(1, settings.getHorizonDays()) - 1);
+      int chunkSize = Math.max(1, settings.getChunkRoomTypes());
+      List<Integer> roomTypeIds = roomInventoryDao.selectRoomTypeIds();
+      int inserted = 0;
+      int chunks = 0;
+      for (int i = 0; i < roomTypeIds.size(); i += chunkSize) {
+        List<Integer> chunk = roomTypeIds.subList(i, Math.min(i + chunkSize, roomTypeIds.size()));
+        LocalDate checkFrom = fromDate;
+        if (checkedThrough != null && checkedRoomTypeIds.containsAll(chunk)
+            && checkedThrough.isAfter(fromDate)) {
+          checkFrom = checkedThrough.plusDays(1);
+        }
+        if (checkFrom.isAfter(lastDate)) {
+          continue;
+        }
+        long expected = chunk.size() * (ChronoUnit.DAYS.between(checkFrom, lastDate) + 1);
+        int rows = roomInventoryDao.countNights(chunk.get(0), chunk.get(chunk.size() - 1),
+            checkFrom, lastDate);
+        if (rows == expected) {
+          continue;
+        }
+        LocalDate insertFrom = checkFrom;
+        inserted += lockRetryTemplate.execute("backfillInventory",
+            status -> {
+              roomInventoryDao.insertStockIfAbsent(chunk);
+              return roomInventoryDao.insertMissing(chunk, insertFrom, lastDate);
+            });
+        chunks++;
+      }
+      checkedThrough = lastDate;
+      checkedRoomTypeIds = new HashSet<>(roomTypeIds);
+      if (inserted > 0) {
+        log.info("在庫行を事前作成しました: rows={}, chunks={}, period={}〜{}, elapsedMs={}",
+            inserted, chunks, fromDate, lastDate, (System.nanoTime() - start) / 1_000_000);
+      }
+      return inserted;
+    }
+    finally {
+      backfillLock.unlock();
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package com.example.hotel.domain.service;
+
+import com.example.hotel.config.ReservationProperties;
+import com.example.hotel.domain.repository.RoomInventoryDao;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 総在庫（部屋数）の変更の在庫行（room_type_daily_inventory）への反映
+ *
+ * 在庫行の残室数を算出したときの総在庫（room_type_inventory_stock）と、現在の rooms の部屋数が
+ * 異なる部屋タイプをDBから検出し、本日以降の作成済みの在庫行の残室数を
+ * 「総在庫 - 予約済み室数」で再計算する。
+ *
+ * 【冪等性】
+ * 検出・再計算ともにDBの値のみを使用し、差分ではなく算出値で上書きする。
+ * ノードごとのキャッシュの差分に依存しないため、複数ノードで実行しても総在庫の増減が重複して
+ * 反映されることはなく、どのノードにも読み込まれていない都道府県の部屋タイプも対象となる。
+ * 失敗した場合は記録が更新されないため、次回の実行で再度検出される。
+ *
+ * 【ロック】
+ * 部屋タイプを reservation.inventory.chunk-room-types 件ずつに分け、チャンクごとに1トランザクションで
+ * 総在庫の記録の更新・在庫行の行ロック（部屋タイプID昇順・宿泊日昇順）・再計算を行う。
+ * 処理中の仮予約・キャンセルのコミットを待ってから再計算するため、それらの差分更新は失われない。
+ */
+@Component
+@Slf4j
+public class InventoryReconciler {
+
+  private final RoomInventoryDao roomInventoryDao;
+  private final LockRetryTemplate lockRetryTemplate;
+  private final ReservationProperties.Inventory settings;
+
+  public InventoryReconciler(RoomInventoryDao roomInventoryDao,
+      LockRetryTemplate lockRetryTemplate, ReservationProperties reservationProperties) {
+    this.roomInventoryDao = roomInventoryDao;
+    this.lockRetryTemplate = lockRetryTemplate;
+    this.settings = reservationProperties.getInventory();
+  }
+
+  /**
+   * 総在庫が変更された部屋タイプの在庫行の残室数を再計算する
+   *
+   * @return 再計算した在庫行数
+   */
+  public int reconcile() {
+    List<Integer> roomTypeIds = roomInventoryDao.selectStockChangedRoomTypeIds();
+    if (roomTypeIds.isEmpty()) {
+      return 0;
+    }
+    long start = System.nanoTime();
+    LocalDate fromDate = LocalDate.now();
+    int chunkSize = Math.max(1, settings.getChunkRoomTypes());
+    int reconciled = 0;
+    for (int i = 0; i < roomTypeIds.size(); i += chunkSize) {
+      List<Integer> chunk = roomTypeIds.subList(i, Math.min(i + chunkSize, roomTypeIds.size()));
+      reconciled += lockRetryTemplate.execute("reconcileInventory", status -> {
+        roomInventoryDao.insertStockIfAbsent(chunk);
+        roomInventoryDao.updateStock(chunk);
+        int rows = roomInventoryDao.lockNights(chunk, fromDate);
+        if (rows > 0) {
+          roomInventoryDao.reconcileNights(chunk, fromDate);
+        }
+        return rows;
+      });
+    }
+    log.info("総在庫の変更を在庫行に反映しました: roomTypes={}, rows={}, elapsedMs={}",
+        roomTypeIds.size(), reconciled, (System.nanoTime() - start) / 1_000_000);
+    return reconciled;
+  }
+}
@@ -0,0 +1,129 @@
+package com.example.hotel.domain.service;
+
+import com.example.hotel.config.ReservationProperties;
+import com.example.hotel.domain.exception.LockConflictException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.sql.SQLTransactionRollbackException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 行ロック競合時に再試行するトランザクション実行テンプレート
+ *
+ * 【再試行の対象】
+ * - デッドロック（MySQL: 1213 / SQLState 40001、H2: 40001）
+ * - ロック待ちタイムアウト（MySQL: 1205、H2: 50200）
+ * DomaはJDBC例外をDoma独自の例外でラップするため、原因の連鎖からSQLExceptionを探して判定する。
+ * それ以外の例外（在庫不足など）は再試行せずにそのままスローする。
+ *
+ * 【待機時間】
+ * 再試行のたびに新しいトランザクションで処理全体をやり直す。
+ * 同時に競合したリクエストが同じタイミングで再衝突しないよう、
+ * 待機時間はフルジッター（0〜指数バックオフ値の一様乱数）とする。
+ *
+ * 【コミット後処理】
+ * ロールバックされた試行で登録したコミット後処理は破棄されるため、
+ * 空室台帳等への反映はコミットされた試行の分だけ行われる。
+ */
+@Component
+@Slf4j
+public class LockRetryTemplate {
+
+  private static final int MYSQL_LOCK_WAIT_TIMEOUT = 1205;
+  private static final int MYSQL_DEADLOCK = 1213;
+  private static final int H2_LOCK_TIMEOUT = 50200;
+  private static final String SQLSTATE_SERIALIZATION_FAILURE = "40001";
+
+  private final TransactionTemplate transactionTemplate;
+  private final ReservationProperties.Lock settings;
+  private final HotelMetrics hotelMetrics;
+  private final MessageSource messageSource;
+
+  public LockRetryTemplate(PlatformTransactionManager transactionManager,
+      ReservationProperties reservationProperties, HotelMetrics hotelMetrics,
+      MessageSource messageSource) {
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.settings = reservationProperties.getLock();
+    this.hotelMetrics = hotelMetrics;
+    this.messageSource = messageSource;
+  }
+
+  /**
+   * トランザクション内で処理を実行し、行ロック競合時は再試行する。
+   *
+   * @param operation ログ・メトリクス用の処理名
+   * @param action トランザクション内で実行する処理
+   * @return 処理結果
+   * @throws LockConflictException 最大試行回数まで競合が続いた場合
+   */
+  public <T> T execute(String operation, TransactionCallback<T> action) {
+    int maxAttempts = Math.max(1, settings.getMaxAttempts());
+    for (int attempt = 1;; attempt++) {
+      try {
+        return transactionTemplate.execute(action);
+      }
+      catch (RuntimeException e) {
+        String conflict = classify(e);
+        if (conflict == null) {
+          throw e;
+        }
+        hotelMetrics.lockConflict(operation, conflict);
+        if (attempt >= maxAttempts) {
+          hotelMetrics.lockRetriesExhausted(operation, conflict);
+          throw new LockConflictException(
+              messageSource.getMessage("error.lock.conflict", null, null), conflict, attempt, e);
+        }
+        log.warn("行ロック競合のため再試行します: operation={}, conflict={}, attempt={}/{}",
+            operation, conflict, attempt, maxAttempts);
+        hotelMetrics.lockRetry(operation, conflict);
+        backoff(attempt, conflict, e);
+      }
+    }
+  }
+
+  private void backoff(int attempt, String conflict, RuntimeException cause) {
+    long ceiling = Math.min(settings.getMaxBackoffMillis(),
+        settings.getInitialBackoffMillis() << Math.min(attempt - 1, 20));
+    if (ceiling <= 0) {
+      return;
+    }
+    try {
+      TimeUnit.MILLISECONDS.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new LockConflictException(messageSource.getMessage("error.lock.conflict", null, null),
+          conflict, attempt, cause);
+    }
+  }
+
+  /**
+   * 例外の原因連鎖から行ロック競合の種類を判定する。
+   *
+   * @return deadlock / lock_timeout（行ロック競合でない場合はnull）
+   */
+  private static String classify(Throwable e) {
+    for (Throwable t = e; t != null; t = t.getCause()) {
+      if (t instanceof SQLException sqlException) {
+        for (SQLException s = sqlException; s != null; s = s.getNextException()) {
+          if (s.getErrorCode() == MYSQL_LOCK_WAIT_TIMEOUT || s.getErrorCode() == H2_LOCK_TIMEOUT) {
+            return "lock_timeout";
+          }
+          if (s.getErrorCode() == MYSQL_DEADLOCK
+              || SQLSTATE_SERIALIZATION_FAILURE.equals(s.getSQLState())
+              || s instanceof SQLTransactionRollbackException) {
+            return "deadlock";
+          }
+        }
+      }
+    }
+    return null;
+  }
+}
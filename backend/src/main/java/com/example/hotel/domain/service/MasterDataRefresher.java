@@ -0,0 +1,265 @@
+package com.example.hotel.domain.service;
+
+import com.example.hotel.config.CacheProperties;
+import com.example.hotel.domain.model.Prefecture;
+import com.example.hotel.domain.model.RoomStockInfo;
+import com.example.hotel.domain.repository.PrefectureDao;
+import com.example.hotel.domain.repository.RoomStockDao;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 部屋タイプ別在庫情報・都道府県キャッシュの再読み込み
+ *
+ * 起動時に StartupDatabaseLoader が読み込んだキャッシュを、定期実行または管理APIから再読み込みする。
+ * 部屋・部屋タイプの追加等を、全ノードの再起動なしに反映する。
+ *
+ * 【処理フロー】
+ * 1. 総在庫（部屋数）が変更された部屋タイプの在庫行（room_type_daily_inventory）の残室数を
+ *    InventoryReconciler で再計算（失敗した場合はキャッシュを差し替えずに終了）
+ * 2. 在庫情報・都道府県情報をDBから取得し、新しいスナップショットを構築（参照側とは別スレッド）
+ * 3. 現在のスナップショットと比較し、追加・削除・変更された部屋タイプを特定
+ * 4. 差分がある場合のみ CacheService で1回の参照差し替えにより反映し、スナップショットファイルへ保存
+ * 5. 部屋タイプ構成が変わった場合は空室検索結果キャッシュを全件無効化
+ *
+ * 【在庫行の再計算】
+ * 変更の検出・再計算はキャッシュの差分ではなくDBの値で行い、算出値で上書きする。
+ * 全ノードが再読み込みのたびに実行しても結果は同じで、読み込まれていない都道府県の部屋タイプも対象となる。
+ * キャッシュの差し替えより前に実行するため、新しい総在庫を参照した仮予約は再計算後の在庫行を減算する。
+ *
+ * 【参照側への影響】
+ * 参照側はロックを取得せずに差し替え前後いずれかのスナップショットを参照する（中途半端な状態は観測しない）。
+ *
+ * 【都道府県単位の読み込み（cache.stock.on-demand=true）】
+ * 読み込み済みの都道府県のみを再読み込みし、都道府県ごとに差し替える。
+ * 未読み込み・破棄済みの都道府県は次回参照時に最新の情報を読み込む。
+ *
+ * 【同時実行】
+ * 実行中の再読み込みがある場合、新たな再読み込みは開始せずに終了する（定期実行・管理APIで共通）。
+ */
+@Service
+@Slf4j
+public class MasterDataRefresher {
+
+  private final RoomStockDao roomStockDao;
+  private final PrefectureDao prefectureDao;
+  private final InventoryReconciler inventoryReconciler;
+  private final CacheService cacheService;
+  private final SearchResultCache searchResultCache;
+  private final HotelMetrics hotelMetrics;
+  private final MasterDataSnapshotStore snapshotStore;
+  private final CacheProperties.Refresh settings;
+
+  // 再読み込み実行中の場合true
+  private final AtomicBoolean refreshing = new AtomicBoolean();
+
+  public MasterDataRefresher(RoomStockDao roomStockDao, PrefectureDao prefectureDao,
+      InventoryReconciler inventoryReconciler, CacheService cacheService,
+      SearchResultCache searchResultCache, HotelMetrics hotelMetrics,
+      MasterDataSnapshotStore snapshotStore, CacheProperties cacheProperties) {
+    this.roomStockDao = roomStockDao;
+    this.prefectureDao = prefectureDao;
+    this.inventoryReconciler = inventoryReconciler;
+    this.cacheService = cacheService;
+    this.searchResultCache = searchResultCache;
+    this.hotelMetrics = hotelMetrics;
+    this.snapshotStore = snapshotStore;
+    this.settings = cacheProperties.getRefresh();
+  }
+
+  /**
+   * 定期的に再読み込みする
+   *
+   * 前回の実行終了から cache.refresh.fixed-delay-millis 経過後に実行される。
+   * 例外が発生した場合はログ出力のみ行い、現在のキャッシュを維持する。
+   */
+  @Scheduled(initialDelayString = "${cache.refresh.fixed-delay-millis}",
+      fixedDelayString = "${cache.refresh.fixed-delay-millis}")
+  public void scheduledRefresh() {
+    if (!settings.isEnabled()) {
+      return;
+    }
+    try {
+      refresh("schedule");
+    }
+    catch (RuntimeException e) {
+      log.error("キャッシュの定期再読み込みに失敗しました。現在のキャッシュを維持します。", e);
+    }
+  }
+
+  /**
+   * 在庫情報・都道府県キャッシュを再読み込みする
+   *
+   * @param trigger ログ用の実行契機（schedule / admin）
+   * @return 再読み込み結果（他の再読み込みが実行中で開始しなかった場合は空）
+   */
+  public Optional<RefreshResult> refresh(String trigger) {
+    if (!refreshing.compareAndSet(false, true)) {
+      log.info("キャッシュの再読み込みが実行中のため、スキップします: trigger={}", trigger);
+      return Optional.empty();
+    }
+    long start = System.nanoTime();
+    String outcome = "failed";
+    try {
+      RefreshResult result = reload(start);
+      outcome = result.isUpdated() ? "updated" : "unchanged";
+      if (result.isUpdated()) {
+        log.info("キャッシュを再読み込みしました: trigger={}, version={}, added={}, removed={}, "
+            + "changed={}, prefecturesChanged={}, inventoryRowsAdjusted={}, elapsedMs={}", trigger,
+            result.getVersion(), result.getAddedRoomTypeIds(), result.getRemovedRoomTypeIds(),
+            result.getChangedRoomTypeIds(), result.isPrefecturesChanged(),
+            result.getInventoryRowsAdjusted(), result.getElapsedMillis());
+      }
+      else {
+        log.debug("キャッシュの再読み込み: 変更なし: trigger={}, elapsedMs={}", trigger,
+            result.getElapsedMillis());
+      }
+      return Optional.of(result);
+    }
+    finally {
+      hotelMetrics.recordMasterDataRefresh(outcome, System.nanoTime() - start);
+      refreshing.set(false);
+    }
+  }
+
+  private RefreshResult reload(long start) {
+    // 1. 総在庫の変更を在庫行に反映（キャッシュの差し替えより前に実行し、失敗時は差し替えない）
+    int adjusted = inventoryReconciler.reconcile();
+
+    // 2. 新しいスナップショットを構築し、3. 差分を確認
+    List<Prefecture> prefectures = prefectureDao.selectAll();
+    boolean prefecturesChanged = !prefectures.equals(cacheService.getPrefectureCache());
+    RoomTypeDiff diff = new RoomTypeDiff();
+    long version;
+    if (cacheService.isOnDemand()) {
+      // 都道府県単位の読み込み時は、読み込み済みの都道府県のみ再読み込みして都道府県ごとに差し替える
+      // （未読み込み・破棄済みの都道府県は次回参照時に最新の情報を読み込む）
+      for (Integer prefectureId : cacheService.getLoadedPrefectureIds()) {
+        RoomStockSnapshot current = cacheService.getLoadedStockSnapshot(prefectureId);
+        if (current == null) {
+          continue;
+        }
+        RoomStockSnapshot next = cacheService
+            .createSnapshot(roomStockDao.selectRoomStockInfoByPrefecture(prefectureId));
+        if (diff.compare(current, next)) {
+          cacheService.replacePrefectureStock(prefectureId, current, next);
+        }
+      }
+      if (!diff.hasChanges() && !prefecturesChanged) {
+        return diff.toResult(false, 0L, false, adjusted, start);
+      }
+      // 4. 都道府県情報を差し替え
+      if (prefecturesChanged) {
+        cacheService.updatePrefectureCache(prefectures);
+      }
+      snapshotStore.save(cacheService.getStockSnapshot(), prefectures);
+      version = 0L;
+    }
+    else {
+      RoomStockSnapshot current = cacheService.getStockSnapshot();
+      RoomStockSnapshot next = cacheService.createSnapshot(roomStockDao.selectRoomStockInfo());
+      diff.compare(current, next);
+      if (!diff.hasChanges() && !prefecturesChanged) {
+        return diff.toResult(false, current.getVersion(), false, adjusted, start);
+      }
+      // 4. 差し替え
+      RoomStockSnapshot applied = diff.hasChanges() ? next : current;
+      cacheService.replace(applied, prefectures);
+      snapshotStore.save(applied, prefectures);
+      version = applied.getVersion();
+    }
+
+    // 5. 空室検索結果キャッシュを無効化
+    if (diff.hasChanges()) {
+      searchResultCache.invalidateAll();
+    }
+    return diff.toResult(true, version, prefecturesChanged, adjusted, start);
+  }
+
+  private static long elapsedMillis(long start) {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+  }
+
+  /**
+   * 部屋タイプの差分（都道府県単位の読み込み時は、読み込み済みの都道府県分を累積する）
+   */
+  private static final class RoomTypeDiff {
+    private final List<Integer> added = new ArrayList<>();
+    private final List<Integer> removed = new ArrayList<>();
+    private final List<Integer> changed = new ArrayList<>();
+
+    /**
+     * 現在のスナップショットと新しいスナップショットを比較し、差分を累積する
+     *
+     * @return 差分がある場合true
+     */
+    boolean compare(RoomStockSnapshot current, RoomStockSnapshot next) {
+      int before = added.size() + removed.size() + changed.size();
+      for (int ordinal = 0; ordinal < next.size(); ordinal++) {
+        int roomTypeId = next.roomTypeIdAt(ordinal);
+        int previous = current.ordinalOf(roomTypeId);
+        if (previous == RoomStockSnapshot.NOT_FOUND) {
+          added.add(roomTypeId);
+        }
+        else if (!sameRoomType(current, previous, next, ordinal)) {
+          changed.add(roomTypeId);
+        }
+      }
+      for (int ordinal = 0; ordinal < current.size(); ordinal++) {
+        int roomTypeId = current.roomTypeIdAt(ordinal);
+        if (!next.contains(roomTypeId)) {
+          removed.add(roomTypeId);
+        }
+      }
+      return added.size() + removed.size() + changed.size() > before;
+    }
+
+    boolean hasChanges() {
+      return !added.isEmpty() || !removed.isEmpty() || !changed.isEmpty();
+    }
+
+    RefreshResult toResult(boolean updated, long version, boolean prefecturesChanged,
+        int inventoryRowsAdjusted, long start) {
+      return new RefreshResult(updated, version, added, removed, changed, prefecturesChanged,
+          inventoryRowsAdjusted, elapsedMillis(start));
+    }
+
+    private static boolean sameRoomType(RoomStockSnapshot current, int currentOrdinal,
+        RoomStockSnapshot next, int nextOrdinal) {
+      return current.hotelIdAt(currentOrdinal) == next.hotelIdAt(nextOrdinal)
+          && current.capacityAt(currentOrdinal) == next.capacityAt(nextOrdinal)
+          && current.totalStockAt(currentOrdinal) == next.totalStockAt(nextOrdinal)
+          && Objects.equals(current.roomTypeNameAt(currentOrdinal),
+              next.roomTypeNameAt(nextOrdinal))
+          && Objects.equals(current.hotelNameAt(currentOrdinal), next.hotelNameAt(nextOrdinal));
+    }
+  }
+
+  /**
+   * 再読み込み結果
+   */
+  @Value
+  public static class RefreshResult {
+    // キャッシュを差し替えた場合true（差分がない場合は差し替えない）
+    boolean updated;
+    // 適用中の在庫スナップショットのバージョン（都道府県単位の読み込み時は0）
+    long version;
+    List<Integer> addedRoomTypeIds;
+    List<Integer> removedRoomTypeIds;
+    // 定員・総在庫・名称・所属ホテルのいずれかが変わった部屋タイプ
+    List<Integer> changedRoomTypeIds;
+    boolean prefecturesChanged;
+    // 総在庫の変更を反映（残室数を再計算）した在庫行数（キャッシュを差し替えなかった場合も含む）
+    int inventoryRowsAdjusted;
+    long elapsedMillis;
+  }
+}
@@ -0,0 +1,274 @@
+package com.example.hotel.domain.service;
+
+import com.example.hotel.config.CacheProperties;
+import com.example.hotel.domain.model.Prefecture;
+import com.example.hotel.domain.model.RoomStockInfo;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+
+/**
+ * 在庫情報・都道府県キャッシュのスナップショットファイルの保存・読み込み
+ *
+ * DBから読み込んだキャッシュをローカルファイルへ保存し、次回起動時にDBを待たずに
+ * キャッシュを復元できるようにする（StartupDatabaseLoader がバックグラウンドでDBと再検証する）。
+ *
+ * 【ファイル形式】（ビッグエンディアン）
+ * - ヘッダー（24バイト）: マジック(int) / 形式バージョン(int) / 保存日時(long, エポックミリ秒)
+ *   / 本体のバイト数(int) / 本体のCRC-32C(int)
+ * - 本体: 部屋タイプ数(int) / 部屋タイプごとに ID・ホテルID・定員・総在庫(int×4)・部屋タイプ名・ホテル名
+ *   / 都道府県数(int) / 都道府県ごとに ID(int)・都道府県名
+ * - 文字列: UTF-8のバイト数(int, nullは-1) + バイト列
+ *
+ * 【保存】
+ * 同じディレクトリの一時ファイルへ書き込んで同期した後にリネームするため、
+ * 保存途中で停止しても既存のファイルが壊れることはない。
+ *
+ * 【読み込み】
+ * ファイルをメモリマップして検証・復元する。マジック・形式バージョン・サイズ・CRCのいずれかが
+ * 一致しない場合や、保存から max-age-minutes を超えている場合は使用しない（DBから読み込む）。
+ */
+@Component
+@Slf4j
+public class MasterDataSnapshotStore {
+
+  // "HMDS"（Hotel Master Data Snapshot）
+  private static final int MAGIC = 0x484D4453;
+  private static final int FORMAT_VERSION = 1;
+  private static final int HEADER_BYTES = 24;
+
+  private final CacheProperties.Snapshot settings;
+
+  public MasterDataSnapshotStore(CacheProperties cacheProperties) {
+    this.settings = cacheProperties.getSnapshot();
+  }
+
+  /**
+   * スナップショットファイルを利用する場合true
+   */
+  public boolean isEnabled() {
+    return settings.isEnabled();
+  }
+
+  /**
+   * キャッシュの内容をスナップショットファイルへ保存する
+   *
+   * 保存に失敗してもキャッシュの利用には影響しないため、ログ出力のみ行う。
+   *
+   * @param stockSnapshot 在庫スナップショット
+   * @param prefectures 都道府県情報
+   */
+  public void save(RoomStockSnapshot stockSnapshot, List<Prefecture> prefectures) {
+    if (!settings.isEnabled()) {
+      return;
+    }
+    Path path = Path.of(settings.getPath());
+    Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+    try {
+      byte[] payload = encode(stockSnapshot, prefectures);
+      CRC32C crc = new CRC32C();
+      crc.update(payload);
+      ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+          .putInt(MAGIC)
+          .putInt(FORMAT_VERSION)
+          .putLong(System.currentTimeMillis())
+          .putInt(payload.length)
+          .putInt((int) crc.getValue())
+          .flip();
+
+      if (path.getParent() != null) {
+        Files.createDirectories(path.getParent());
+      }
+      try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+          StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+        writeFully(channel, header);
+        writeFully(channel, ByteBuffer.wrap(payload));
+        channel.force(true);
+      }
+      try {
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+      }
+      catch (AtomicMoveNotSupportedException e) {
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+      }
+      log.debug("キャッシュのスナップショットを保存しました: path={}, bytes={}", path,
+          HEADER_BYTES + payload.length);
+    }
+    catch (IOException | RuntimeException e) {
+      log.warn("キャッシュのスナップショットの保存に失敗しました: path={}", path, e);
+      try {
+        Files.deleteIfExists(temp);
+      }
+      catch (IOException ignored) {
+        // 一時ファイルは次回の保存時に上書きされる
+      }
+    }
+  }
+
+  /**
+   * スナップショットファイルを読み込む
+   *
+   * @return 読み込んだ内容（無効・ファイルなし・破損・最大経過時間超過の場合は空）
+   */
+  public Optional<Loaded> load() {
+    if (!settings.isEnabled()) {
+      return Optional.empty();
+    }
+    Path path = Path.of(settings.getPath());
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+        log.warn("キャッシュのスナップショットのサイズが不正なため使用しません: path={}, bytes={}",
+            path, size);
+        return Optional.empty();
+      }
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+        log.warn("キャッシュのスナップショットの形式が異なるため使用しません: path={}", path);
+        return Optional.empty();
+      }
+      Instant savedAt = Instant.ofEpochMilli(buffer.getLong());
+      int payloadLength = buffer.getInt();
+      int expectedCrc = buffer.getInt();
+      if (payloadLength != size - HEADER_BYTES) {
+        log.warn("キャッシュのスナップショットが途中で切れているため使用しません: path={}", path);
+        return Optional.empty();
+      }
+      Duration age = Duration.between(savedAt, Instant.now());
+      if (age.compareTo(Duration.ofMinutes(settings.getMaxAgeMinutes())) > 0) {
+        log.info("キャッシュのスナップショットが古いため使用しません: path={}, savedAt={}", path,
+            savedAt);
+        return Optional.empty();
+      }
+      CRC32C crc = new CRC32C();
+      crc.update(buffer.slice());
+      if ((int) crc.getValue() != expectedCrc) {
+        log.warn("キャッシュのスナップショットのCRCが一致しないため使用しません: path={}", path);
+        return Optional.empty();
+      }
+      return Optional.of(decode(buffer, savedAt));
+    }
+    catch (NoSuchFileException e) {
+      log.info("キャッシュのスナップショットがありません: path={}", path);
+      return Optional.empty();
+    }
+    catch (IOException | RuntimeException e) {
+      log.warn("キャッシュのスナップショットの読み込みに失敗しました: path={}", path, e);
+      return Optional.empty();
+    }
+  }
+
+  private static byte[] encode(RoomStockSnapshot stockSnapshot, List<Prefecture> prefectures)
+      throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * (stockSnapshot.size() + 64));
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeInt(stockSnapshot.size());
+      for (int ordinal = 0; ordinal < stockSnapshot.size(); ordinal++) {
+        out.writeInt(stockSnapshot.roomTypeIdAt(ordinal));
+        out.writeInt(stockSnapshot.hotelIdAt(ordinal));
+        out.writeInt(stockSnapshot.capacityAt(ordinal));
+        out.writeInt(stockSnapshot.totalStockAt(ordinal));
+        writeString(out, stockSnapshot.roomTypeNameAt(ordinal));
+        writeString(out, stockSnapshot.hotelNameAt(ordinal));
+      }
+      out.writeInt(prefectures.size());
+      for (Prefecture prefecture : prefectures) {
+        out.writeInt(prefecture.getPrefectureId());
+        writeString(out, prefecture.getPrefectureName());
+      }
+    }
+    return bytes.toByteArray();
+  }
+
+  private static Loaded decode(ByteBuffer buffer, Instant savedAt) {
+    int roomTypeCount = readCount(buffer);
+    List<RoomStockInfo> stockInfoList = new ArrayList<>(roomTypeCount);
+    for (int i = 0; i < roomTypeCount; i++) {
+      int roomTypeId = buffer.getInt();
+      int hotelId = buffer.getInt();
+      int capacity = buffer.getInt();
+      int totalStock = buffer.getInt();
+      String roomTypeName = readString(buffer);
+      String hotelName = readString(buffer);
+      stockInfoList.add(new RoomStockInfo(roomTypeId, hotelId, roomTypeName, capacity,
+          totalStock, hotelName));
+    }
+    int prefectureCount = readCount(buffer);
+    List<Prefecture> prefectures = new ArrayList<>(prefectureCount);
+    for (int i = 0; i < prefectureCount; i++) {
+      int prefectureId = buffer.getInt();
+      prefectures.add(new Prefecture(prefectureId, readString(buffer)));
+    }
+    if (buffer.hasRemaining()) {
+      throw new IllegalStateException("スナップショットの末尾に不明なデータがあります");
+    }
+    return new Loaded(stockInfoList, prefectures, savedAt);
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+      return;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(ByteBuffer buffer) {
+    int length = buffer.getInt();
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  // 件数が残りのバイト数を超える場合は破損とみなす（過大な割り当てを防ぐ）
+  private static int readCount(ByteBuffer buffer) {
+    int count = buffer.getInt();
+    if (count < 0 || count > buffer.remaining()) {
+      throw new IllegalStateException("スナップショットの件数が不正です: " + count);
+    }
+    return count;
+  }
+
+  private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+  /**
+   * スナップショットファイルから読み込んだ内容
+   */
+  @Value
+  public static class Loaded {
+    List<RoomStockInfo> stockInfoList;
+    List<Prefecture> prefectures;
+    // 保存日時
+    Instant savedAt;
+  }
+}
@@ -0,0 +1,49 @@
+package com.example.hotel.domain.service;
+
+import com.example.hotel.presentation.dto.top.PriceCalculationRequestDto;
+import com.example.hotel.presentation.dto.top.PriceCalculationResponseDto;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 選択中の部屋の宿泊料金再計算サービス
+ *
+ * 料金計算API（TopPageController）と起動時ウォームアップ（StartupWarmupRunner）が同じ手順で計算するため、
+ * 在庫情報スナップショットの取得から料金計算までをまとめる。
+ */
+@Service
+public class PriceCalculationService {
+
+  private final CacheService cacheService;
+  private final PricingEngine pricingEngine;
+
+  public PriceCalculationService(CacheService cacheService, PricingEngine pricingEngine) {
+    this.cacheService = cacheService;
+    this.pricingEngine = pricingEngine;
+  }
+
+  /**
+   * 部屋ごとにチェックイン日〜チェックアウト日の宿泊総額を計算する
+   *
+   * 都道府県単位の読み込み時は、部屋タイプが所属する都道府県の在庫情報を読み込む。
+   * 存在しない部屋タイプは計算をスキップする（結果に含めない）。
+   *
+   * @param request 価格再計算リクエスト（チェックイン日、チェックアウト日、部屋リスト）
+   * @return 部屋ごとの宿泊総額
+   * @throws IllegalArgumentException 日付がnullの場合
+   */
+  public PriceCalculationResponseDto calculate(PriceCalculationRequestDto request) {
+    RoomStockSnapshot stockSnapshot = cacheService.getStockSnapshotForRoomTypes(request.getRooms()
+        .stream().map(PriceCalculationRequestDto.RoomRequest::getRoomTypeId).toList());
+    List<PriceCalculationResponseDto.RoomPriceDto> roomPrices = request.getRooms().stream()
+        .filter(room -> stockSnapshot.contains(room.getRoomTypeId())).map(room -> {
+          int ordinal = stockSnapshot.ordinalOf(room.getRoomTypeId());
+          int price = pricingEngine.stayPrice(stockSnapshot.capacityAt(ordinal),
+              room.getHotelId(), request.getCheckInDate(), request.getCheckOutDate());
+          return new PriceCalculationResponseDto.RoomPriceDto(room.getRoomTypeId(),
+              room.getHotelId(), price);
+        }).toList();
+    return new PriceCalculationResponseDto(roomPrices);
+  }
+}
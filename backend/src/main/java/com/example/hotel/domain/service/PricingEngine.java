@@ -0,0 +1,384 @@
+package com.example.hotel.domain.service;
+
+import com.example.hotel.config.PriceProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 宿泊料金計算サービス（ダイナミックプライシング）
+ *
+ * 【料金体系】
+ * 1泊あたりの部屋料金は以下で決まる（最低価格は1人あたり基本料金）。
+ * - 基本価格: 1人あたり基本料金 × 定員係数 × 定員 × ホテル係数（ホテルID % バリエーション数）
+ * - 需要係数: 年内通算日 % 需要変動サイクルによる周期変動
+ * - 料金カレンダー: 繁忙期（SEASON）・祝日（HOLIDAY）は需要係数を指定値で上書きする
+ *   （同日に両方ある場合は HOLIDAY を優先）
+ *
+ * 【コンパイル済み料金表】
+ * PriceProperties と料金カレンダーから、起動時にプリミティブ配列の料金表を構築する。
+ * - 需要変動サイクル上の1泊価格の累積和を（定員, ホテル係数）ごとに保持し、
+ *   複数泊の総額を宿泊日数によらず定数時間で求める
+ * - カレンダーで上書きされた日は、通常価格との差額の累積和を別に保持して補正する
+ * 計算時はオブジェクトを生成しない（定員が上限を超える等の例外的な入力を除く）。
+ * 料金表は不変で、PriceProperties・料金カレンダーの変更はアプリケーションの再起動で反映する。
+ */
+@Service
+@Slf4j
+public class PricingEngine {
+
+  /** 料金表で扱う定員の上限（超える場合は1泊ずつ計算する） */
+  static final int MAX_TABLE_CAPACITY = 99;
+
+  // カレンダー1行で指定できる期間の上限日数（入力ミスによる巨大な展開を防ぐ）
+  private static final int MAX_CALENDAR_RANGE_DAYS = 366;
+
+  private static final String KIND_SEASON = "SEASON";
+  private static final String KIND_HOLIDAY = "HOLIDAY";
+
+  private final PriceProperties priceProperties;
+  private final ResourceLoader resourceLoader;
+
+  private final CompiledPricing pricing;
+
+  public PricingEngine(PriceProperties priceProperties, ResourceLoader resourceLoader) {
+    this.priceProperties = priceProperties;
+    this.resourceLoader = resourceLoader;
+    this.pricing = compile();
+  }
+
+  /**
+   * 1泊あたりの部屋料金を計算する
+   *
+   * @param capacity 部屋の定員（0以下の場合は1人あたり基本料金）
+   * @param hotelId ホテルID
+   * @param date 宿泊日
+   * @return 1泊あたりの部屋全体料金（円）
+   * @throws IllegalArgumentException dateがnullの場合
+   */
+  public int nightPrice(int capacity, int hotelId, LocalDate date) {
+    if (date == null) {
+      throw new IllegalArgumentException("PRICE_CALCULATION_ERROR");
+    }
+    return pricing.nightPrice(capacity, hotelId, date.toEpochDay(), date.getDayOfYear());
+  }
+
+  /**
+   * チェックイン日からチェックアウト日前日までの各宿泊日の料金の合計（1部屋あたり）を計算する
+   *
+   * 例: チェックイン 12/1、チェックアウト 12/4 の場合、12/1, 12/2, 12/3 の3泊分を合算する。
+   *
+   * @param capacity 部屋の定員（0以下の場合は1泊あたり1人あたり基本料金）
+   * @param hotelId ホテルID
+   * @param checkInDate チェックイン日
+   * @param checkOutDate チェックアウト日（この日は宿泊しない）
+   * @return 宿泊期間の総額（チェックアウト日がチェックイン日以前の場合は0）
+   * @throws IllegalArgumentException 日付がnullの場合
+   */
+  public int stayPrice(int capacity, int hotelId, LocalDate checkInDate, LocalDate checkOutDate) {
+    if (checkInDate == null || checkOutDate == null) {
+      throw new IllegalArgumentException("PRICE_CALCULATION_ERROR");
+    }
+    // 1泊ずつ int で合算していた従来の計算と同じ結果とするため、int へ縮小する
+    return (int) pricing.stayPrice(capacity, hotelId, checkInDate, checkOutDate);
+  }
+
+  private CompiledPricing compile() {
+    PriceProperties properties = this.priceProperties;
+    if (properties.getHotelVariationCount() <= 0 || properties.getDemandVariationCycle() <= 0) {
+      throw new IllegalStateException(
+          "price.hotel-variation-count and price.demand-variation-cycle must be positive");
+    }
+    TreeMap<Long, Double> overrides = loadCalendar(properties.getCalendarLocation());
+    CompiledPricing compiled = new CompiledPricing(properties, overrides);
+    log.info("料金表を構築しました: ホテル係数={}種類, 需要変動サイクル={}日, カレンダー上書き={}日",
+        compiled.variationCount, compiled.cycle, overrides.size());
+    return compiled;
+  }
+
+  /**
+   * 料金カレンダー（CSV）を読み込み、エポック日 → 需要係数 の対応に展開する
+   *
+   * 形式: kind,start_date,end_date,demand_factor（kind は SEASON / HOLIDAY、期間は両端を含む）
+   * 1行目のヘッダー、空行、# で始まるコメント行は読み飛ばす。
+   */
+  private TreeMap<Long, Double> loadCalendar(String location) {
+    TreeMap<Long, Double> seasons = new TreeMap<>();
+    TreeMap<Long, Double> holidays = new TreeMap<>();
+    if (location == null || location.isBlank()) {
+      return seasons;
+    }
+    Resource resource = resourceLoader.getResource(location);
+    if (!resource.exists()) {
+      log.warn("料金カレンダーが見つかりません。カレンダーによる上書きなしで計算します: {}", location);
+      return seasons;
+    }
+
+    try (BufferedReader reader = new BufferedReader(
+        new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+      String line;
+      int lineNumber = 0;
+      while ((line = reader.readLine()) != null) {
+        lineNumber++;
+        String trimmed = line.strip();
+        if (lineNumber == 1 || trimmed.isEmpty() || trimmed.startsWith("#")) {
+          continue;
+        }
+        String[] columns = trimmed.split(",", -1);
+        if (columns.length != 4) {
+          throw invalidCalendar(location, lineNumber, "4 columns expected");
+        }
+        String kind = columns[0].strip();
+        TreeMap<Long, Double> target;
+        if (KIND_SEASON.equals(kind)) {
+          target = seasons;
+        }
+        else if (KIND_HOLIDAY.equals(kind)) {
+          target = holidays;
+        }
+        else {
+          throw invalidCalendar(location, lineNumber, "unknown kind: " + kind);
+        }
+        try {
+          long start = LocalDate.parse(columns[1].strip()).toEpochDay();
+          long end = LocalDate.parse(columns[2].strip()).toEpochDay();
+          double demandFactor = Double.parseDouble(columns[3].strip());
+          if (end < start || end - start >= MAX_CALENDAR_RANGE_DAYS) {
+            throw invalidCalendar(location, lineNumber, "invalid date range");
+          }
+          for (long day = start; day <= end; day++) {
+            target.put(day, demandFactor);
+          }
+        }
+        catch (DateTimeParseException | NumberFormatException e) {
+          throw invalidCalendar(location, lineNumber, e.getMessage());
+        }
+      }
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException("Failed to read price calendar: " + location, e);
+    }
+
+    // 祝日は繁忙期より優先する
+    seasons.putAll(holidays);
+    return seasons;
+  }
+
+  private static IllegalStateException invalidCalendar(String location, int lineNumber,
+      String reason) {
+    return new IllegalStateException(
+        "Invalid price calendar " + location + " (line " + lineNumber + "): " + reason);
+  }
+
+  /**
+   * コンパイル済み料金表（不変）
+   *
+   * 行（row）は (定員 - 1) × ホテル係数の種類数 + ホテル係数の添字 に対応する。
+   */
+  private static final class CompiledPricing {
+    private final int basePerPerson;
+    private final double[] capacityMultipliers;
+    private final double hotelPriceBaseMultiplier;
+    private final double hotelVariationStep;
+    private final double hotelBaseOffset;
+    private final int variationCount;
+    private final int cycle;
+
+    // 需要変動サイクル上の剰余 → 需要係数
+    private final double[] demandFactors;
+
+    // 行 → 基本価格（需要係数適用前）
+    private final int[] basePrices;
+
+    // 行 × (サイクル + 1) + 剰余 → 剰余 0..(r-1) の1泊価格の累積和（末尾は1サイクル合計）
+    private final long[] cyclePrefix;
+
+    // カレンダー上書き日（エポック日の昇順）と需要係数
+    private final long[] overrideDays;
+    private final double[] overrideFactors;
+
+    // 行 × (上書き日数 + 1) + k → 上書き日 0..(k-1) の「上書き価格 - 通常価格」の累積和
+    private final long[] overrideDeltaPrefix;
+
+    private CompiledPricing(PriceProperties properties, TreeMap<Long, Double> overrides) {
+      this.basePerPerson = properties.getBasePerPerson();
+      List<Double> multipliers = properties.getCapacityMultipliers();
+      this.capacityMultipliers = multipliers == null
+          ? new double[0]
+          : multipliers.stream().mapToDouble(Double::doubleValue).toArray();
+      this.hotelPriceBaseMultiplier = properties.getHotelPriceBaseMultiplier();
+      this.hotelVariationStep = properties.getHotelVariationStep();
+      this.hotelBaseOffset = properties.getHotelBaseOffset();
+      this.variationCount = properties.getHotelVariationCount();
+      this.cycle = properties.getDemandVariationCycle();
+
+      this.demandFactors = new double[cycle];
+      for (int residue = 0; residue < cycle; residue++) {
+        demandFactors[residue] = properties.getDemandBaseFactor()
+            + (residue * properties.getDemandVariationStep());
+      }
+
+      int rows = MAX_TABLE_CAPACITY * variationCount;
+      this.basePrices = new int[rows];
+      this.cyclePrefix = new long[rows * (cycle + 1)];
+      for (int capacity = 1; capacity <= MAX_TABLE_CAPACITY; capacity++) {
+        for (int variation = 0; variation < variationCount; variation++) {
+          int row = (capacity - 1) * variationCount + variation;
+          basePrices[row] = basePrice(capacity, variation);
+          int offset = row * (cycle + 1);
+          for (int residue = 0; residue < cycle; residue++) {
+            cyclePrefix[offset + residue + 1] = cyclePrefix[offset + residue]
+                + applyDemand(basePrices[row], demandFactors[residue]);
+          }
+        }
+      }
+
+      int overrideCount = overrides.size();
+      this.overrideDays = new long[overrideCount];
+      this.overrideFactors = new double[overrideCount];
+      int index = 0;
+      for (Map.Entry<Long, Double> entry : overrides.entrySet()) {
+        overrideDays[index] = entry.getKey();
+        overrideFactors[index] = entry.getValue();
+        index++;
+      }
+      this.overrideDeltaPrefix = new long[rows * (overrideCount + 1)];
+      for (int row = 0; row < rows; row++) {
+        int offset = row * (overrideCount + 1);
+        for (int k = 0; k < overrideCount; k++) {
+          int dayOfYear = LocalDate.ofEpochDay(overrideDays[k]).getDayOfYear();
+          long delta = applyDemand(basePrices[row], overrideFactors[k])
+              - applyDemand(basePrices[row], demandFactors[dayOfYear % cycle]);
+          overrideDeltaPrefix[offset + k + 1] = overrideDeltaPrefix[offset + k] + delta;
+        }
+      }
+    }
+
+    private int nightPrice(int capacity, int hotelId, long epochDay, int dayOfYear) {
+      if (capacity <= 0) {
+        return basePerPerson;
+      }
+      int row = tableRow(capacity, hotelId);
+      int basePrice = row >= 0 ? basePrices[row] : basePrice(capacity, hotelId % variationCount);
+      int k = indexOf(epochDay);
+      double demandFactor = k < overrideDays.length && overrideDays[k] == epochDay
+          ? overrideFactors[k]
+          : demandFactors[dayOfYear % cycle];
+      return applyDemand(basePrice, demandFactor);
+    }
+
+    private long stayPrice(int capacity, int hotelId, LocalDate checkInDate,
+        LocalDate checkOutDate) {
+      long from = checkInDate.toEpochDay();
+      long to = checkOutDate.toEpochDay();
+      if (to <= from) {
+        return 0;
+      }
+      if (capacity <= 0) {
+        return (to - from) * basePerPerson;
+      }
+      int row = tableRow(capacity, hotelId);
+      if (row < 0) {
+        return stayPriceByNight(capacity, hotelId, checkInDate, from, to);
+      }
+
+      // 通常価格の合計（年内通算日は1月1日に1へ戻るため、年ごとに区切って合算する）
+      int offset = row * (cycle + 1);
+      long nights = to - from;
+      int year = checkInDate.getYear();
+      int dayOfYear = checkInDate.getDayOfYear();
+      long total = 0;
+      while (nights > 0) {
+        int daysInYear = Year.isLeap(year) ? 366 : 365;
+        int segment = (int) Math.min(nights, daysInYear - dayOfYear + 1);
+        total += cumulative(offset, dayOfYear + segment) - cumulative(offset, dayOfYear);
+        nights -= segment;
+        year++;
+        dayOfYear = 1;
+      }
+
+      // カレンダー上書き日の差額補正
+      int overrideOffset = row * (overrideDays.length + 1);
+      total += overrideDeltaPrefix[overrideOffset + indexOf(to)]
+          - overrideDeltaPrefix[overrideOffset + indexOf(from)];
+      return total;
+    }
+
+    // 料金表の対象外（定員が上限超過・ホテルIDが負）の場合は1泊ずつ計算する
+    private long stayPriceByNight(int capacity, int hotelId, LocalDate checkInDate, long from,
+        long to) {
+      long total = 0;
+      LocalDate date = checkInDate;
+      for (long day = from; day < to; day++) {
+        total += nightPrice(capacity, hotelId, day, date.getDayOfYear());
+        date = date.plusDays(1);
+      }
+      return total;
+    }
+
+    // 料金表の行（対象外の場合は -1）
+    private int tableRow(int capacity, int hotelId) {
+      if (capacity > MAX_TABLE_CAPACITY || hotelId < 0) {
+        return -1;
+      }
+      return (capacity - 1) * variationCount + hotelId % variationCount;
+    }
+
+    // 年内通算日 0..(dayOfYear - 1) の通常価格の合計
+    private long cumulative(int offset, int dayOfYear) {
+      return (long) (dayOfYear / cycle) * cyclePrefix[offset + cycle]
+          + cyclePrefix[offset + dayOfYear % cycle];
+    }
+
+    // epochDay 以上となる最初の上書き日の添字
+    private int indexOf(long epochDay) {
+      int low = 0;
+      int high = overrideDays.length;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (overrideDays[mid] < epochDay) {
+          low = mid + 1;
+        }
+        else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+
+    private int basePrice(int capacity, int variation) {
+      double hotelPriceMultiplier = hotelPriceBaseMultiplier
+          + (variation * hotelVariationStep - hotelBaseOffset);
+      double capacityMultiplier;
+      if (capacityMultipliers.length == 0) {
+        capacityMultiplier = 1.0;
+      }
+      else if (capacity <= capacityMultipliers.length) {
+        capacityMultiplier = capacityMultipliers[capacity - 1];
+      }
+      else {
+        // 定員が設定範囲を超える場合は最大割引率を適用
+        capacityMultiplier = capacityMultipliers[capacityMultipliers.length - 1];
+      }
+      return (int) (basePerPerson * capacityMultiplier * capacity * hotelPriceMultiplier);
+    }
+
+    private int applyDemand(int basePrice, double demandFactor) {
+      // 最低価格保証
+      return Math.max((int) (basePrice * demandFactor), basePerPerson);
+    }
+  }
+}
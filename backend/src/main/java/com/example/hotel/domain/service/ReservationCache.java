@@ -0,0 +1,140 @@
+package com.example.hotel.domain.service;
+
+import com.example.hotel.config.CacheProperties;
+import com.example.hotel.presentation.dto.reservation.ReservationResponseDto;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * 予約情報キャッシュ
+ *
+ * 予約IDをキーに、予約情報取得API（GET /api/reservations/{id}）のレスポンスを保持する。
+ * 予約詳細入力画面・予約確認画面の表示のたびに発生する、予約明細・部屋・ホテルを結合する集計クエリを省略する。
+ *
+ * 【登録】
+ * - 仮予約作成時: コミット後に作成結果を登録する（作成直後の画面表示はDBにアクセスしない）
+ * - 予約情報取得時: キャッシュにない場合のみDBから取得して登録する（読み込み中の同一予約IDは待ち合わせる）
+ *
+ * 【読み込み中の待ち合わせ】
+ * DBからの読み込みはキャッシュの更新処理（compute）の外で行い、同一予約IDの後続のリクエストは
+ * 読み込み結果（CompletableFuture）の完了を待つ（AsyncCacheLoads）。
+ *
+ * 【無効化】
+ * キャンセル・期限切れ時にコミット後に破棄する（以降の画面表示は想定されないため、メモリを早期に解放する）。
+ * 顧客情報の登録はレスポンスの項目（日程・部屋・料金）を変えないため、エントリを維持する。
+ * 予約確認画面は顧客情報の登録直後に表示されるため、維持したエントリがそのまま使われる。
+ *
+ * 【容量・有効期間】
+ * エントリごとの推定メモリ使用量（バイト）で重み付けし、合計の上限を設定する。
+ * 仮予約の有効期限を過ぎた予約は参照されなくなるため、最終アクセスからの有効期間でも破棄する。
+ *
+ * 【メトリクス】
+ * ヒット・ミス・破棄件数を cache.* メトリクス（タグ cache=reservation）として、
+ * 推定メモリ使用量を cache.weight（単位 bytes）として公開する。
+ */
+@Service
+public class ReservationCache implements MeterBinder {
+
+  private static final String CACHE_NAME = "reservation";
+
+  // 推定メモリ使用量の算出に使用する概算値（64bit JVM・圧縮参照）
+  // DTO本体・日付2件・部屋一覧・キャッシュ内部ノード・キーのInteger
+  private static final int ENTRY_OVERHEAD_BYTES = 240;
+  // 部屋タイプ1件あたりのDTO本体・数値オブジェクト
+  private static final int ROOM_OVERHEAD_BYTES = 80;
+  // Stringオブジェクトと配列ヘッダー
+  private static final int STRING_OVERHEAD_BYTES = 40;
+
+  private final AsyncCache<Integer, ReservationResponseDto> cache;
+
+  public ReservationCache(CacheProperties cacheProperties) {
+    CacheProperties.Reservation settings = cacheProperties.getReservation();
+    this.cache = Caffeine.newBuilder().maximumWeight(settings.getMaximumWeightBytes())
+        .weigher((Integer reservationId, ReservationResponseDto response) -> weigh(response))
+        .expireAfterAccess(Duration.ofMinutes(settings.getExpireAfterAccessMinutes()))
+        .recordStats().buildAsync();
+  }
+
+  /**
+   * 予約情報を取得する（キャッシュにない場合は読み込んで登録する）
+   *
+   * 読み込み処理は呼び出し元のスレッドで実行する。
+   * 読み込み処理が例外をスローした場合は登録せず、そのままスローする（待ち合わせていたリクエストにも同じ例外をスローする）。
+   *
+   * @param reservationId 予約ID
+   * @param loader キャッシュにない場合の読み込み処理
+   * @return 予約情報レスポンスDTO
+   */
+  public ReservationResponseDto get(Integer reservationId,
+      Function<Integer, ReservationResponseDto> loader) {
+    return AsyncCacheLoads.getOrLoad(cache, reservationId, loader);
+  }
+
+  /**
+   * 予約情報を登録する
+   *
+   * @param response 予約情報レスポンスDTO（予約IDをキーとする）
+   */
+  public void put(ReservationResponseDto response) {
+    cache.synchronous().put(response.getReservationId(), response);
+  }
+
+  /**
+   * 予約情報を破棄する
+   *
+   * @param reservationId 予約ID
+   */
+  public void evict(Integer reservationId) {
+    cache.synchronous().invalidate(reservationId);
+  }
+
+  /**
+   * ヒット率などの統計情報を取得する
+   */
+  public CacheStats stats() {
+    return cache.synchronous().stats();
+  }
+
+  /**
+   * 現在の推定メモリ使用量（バイト）を取得する
+   */
+  public long weightedSize() {
+    return cache.synchronous().policy().eviction()
+        .map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L);
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    Gauge.builder("cache.weight", this, ReservationCache::weightedSize)
+        .description("Estimated memory used by cached reservation summaries").baseUnit("bytes")
+        .tag("cache", CACHE_NAME).register(registry);
+  }
+
+  /**
+   * エントリの推定メモリ使用量（バイト）を算出する
+   */
+  static int weigh(ReservationResponseDto response) {
+    int bytes = ENTRY_OVERHEAD_BYTES + stringBytes(response.getHotelName());
+    if (response.getRooms() != null) {
+      for (ReservationResponseDto.RoomDetailDto room : response.getRooms()) {
+        bytes += ROOM_OVERHEAD_BYTES + stringBytes(room.getRoomTypeName());
+      }
+    }
+    return bytes;
+  }
+
+  private static int stringBytes(String value) {
+    // 日本語を含むためUTF-16（1文字2バイト）で概算する
+    return value == null ? 0 : STRING_OVERHEAD_BYTES + value.length() * 2;
+  }
+}
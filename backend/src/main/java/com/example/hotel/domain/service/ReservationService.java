@@ -3,27 +3,42 @@ package com.example.hotel.domain.service;
 import org.springframework.context.MessageSource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.example.hotel.config.ReservationProperties;
 import com.example.hotel.domain.repository.ReservationDao;
 import com.example.hotel.domain.repository.ReservationDetailDao;
 import com.example.hotel.domain.repository.ReserverDao;
+import com.example.hotel.domain.repository.RoomInventoryDao;
 import com.example.hotel.presentation.dto.reservation.CustomerRequestDto;
 import com.example.hotel.presentation.dto.reservation.ReservationRequestDto;
 import com.example.hotel.presentation.dto.reservation.ReservationResponseDto;
-import com.example.hotel.utils.PriceCalculator;
 import com.example.hotel.domain.model.Reservation;
 import com.example.hotel.domain.model.ReservationDetail;
-import com.example.hotel.domain.model.RoomStockInfo;
+import com.example.hotel.domain.model.ReservationState;
 import com.example.hotel.domain.model.ReservationWithRoomInfo;
 import com.example.hotel.domain.model.Reserver;
+import com.example.hotel.domain.model.ReservedRoomInfo;
+import com.example.hotel.domain.model.RoomNightCount;
 import com.example.hotel.domain.constants.ReservationStatus;
+import com.example.hotel.domain.exception.LockConflictException;
 import com.example.hotel.domain.exception.ReservationExpiredException;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.stream.Collectors;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
 
 import org.seasar.doma.jdbc.Result;
 import org.seasar.doma.jdbc.SelectOptions;
@@ -42,6 +57,20 @@ import lombok.extern.slf4j.Slf4j;
  * 仮予約作成時は悲観的ロックを使用し、
  * ダブルブッキングを防止する。
  *
+ * 【空室台帳・検索結果キャッシュの更新】
+ * 仮予約の作成・キャンセル・期限切れは、トランザクションのコミット後に
+ * 空室台帳（AvailabilityLedger）へ反映し、影響する検索結果キャッシュ（SearchResultCache）を無効化する。
+ * ロールバックされた変更は反映しない。顧客情報の登録は空室状況を変えないため対象外とする。
+ *
+ * 【予約情報キャッシュ】
+ * 予約情報の取得結果は ReservationCache に保持する。
+ * 仮予約作成時はコミット後に作成結果を登録し、キャンセル・期限切れ時はコミット後に破棄する。
+ *
+ * 【仮予約の有効期限】
+ * 仮予約作成時はコミット後に有効期限をタイミングホイール（HoldExpiryWheel）へ登録し、
+ * 期限の直後に HoldExpiryDriver から expireReservation で期限切れにする。
+ * キャンセル・期限切れ時はコミット後に登録を取り消す。
+ *
  * @see ReservationDao 予約データアクセス
  * @see ReservationDetailDao 予約明細データアクセス
  */
@@ -53,7 +82,15 @@ public class ReservationService {
   private final ReservationDao reservationDao;
   private final ReservationDetailDao reservationDetailDao;
   private final ReserverDao reserverDao;
+  private final RoomInventoryDao roomInventoryDao;
   private final CacheService cacheService;
+  private final AvailabilityLedger availabilityLedger;
+  private final SearchResultCache searchResultCache;
+  private final ReservationCache reservationCache;
+  private final HoldExpiryWheel holdExpiryWheel;
+  private final PricingEngine pricingEngine;
+  private final HotelMetrics hotelMetrics;
+  private final LockRetryTemplate lockRetryTemplate;
   private final MessageSource messageSource;
   private final ReservationProperties reservationProperties;
 
@@ -62,41 +99,57 @@ public class ReservationService {
    * 必要なバリデーション・在庫チェック・予約/明細登録を一括で行います。
    *
    * 【同時実行制御】
-   * SELECT FOR UPDATEによる悲観的ロックを使用して、
-   * 在庫チェックと予約登録の間に他のトランザクションが介入することを防ぎます。
-   * これにより、同時リクエストによるダブルブッキングを防止します。
+   * 部屋タイプ別・宿泊日別の残室数（room_type_daily_inventory）を、
+   * 残室数が足りる場合のみ減算する条件付きUPDATEで確保します。
+   * 更新した在庫行のみが行ロックされるため、予約明細の集計による範囲ロックは発生せず、
+   * 同時リクエストによるダブルブッキングも防止されます。
+   *
+   * 【デッドロック対策】
+   * 在庫行のロックは、リクエスト内の部屋の並び順に関係なく
+   * 部屋タイプID昇順・宿泊日昇順で取得します（全リクエストでロック順序を統一）。
+   * それでもデッドロック・ロック待ちタイムアウトが発生した場合は、
+   * LockRetryTemplate によりトランザクション全体を再試行します。
+   *
+   * 【レスポンス】
+   * ホテル名・部屋タイプ名・定員は在庫スナップショット、料金は登録した予約明細から組み立てるため、
+   * 作成直後の予約情報取得（予約明細・部屋・ホテルを結合する集計クエリ）は不要です。
+   * 内容は getReservation の返却値と同一です。
    *
    * @param request 仮予約リクエストDTO
-   * @return 予約ID（自動採番）
+   * @return 作成した仮予約の予約情報レスポンスDTO（予約IDは自動採番）
    * @throws IllegalArgumentException パラメータ不正時
    * @throws IllegalStateException 在庫不足時
+   * @throws LockConflictException 再試行しても行ロック競合が解消しなかった場合
    */
-  @Transactional(rollbackFor = Exception.class)
-  public Integer createTentativeReservation(ReservationRequestDto request) {
-    // 1. 在庫キャッシュ取得
-    Map<Integer, RoomStockInfo> stockCache = cacheService.getStockCache();
-
-    // 2. バリデーション・在庫チェック
-    // 【悲観的ロック】SelectOptions.get().forUpdate()を使用して、同一部屋タイプ・期間の予約レコードをロック
-    // これにより、他のトランザクションはこのトランザクションがコミット/ロールバックするまで待機する
-    SelectOptions lockOptions = SelectOptions.get().forUpdate();
+  public ReservationResponseDto createTentativeReservation(ReservationRequestDto request) {
+    return lockRetryTemplate.execute("createTentativeReservation",
+        status -> insertTentativeReservation(request));
+  }
+
+  /**
+   * 仮予約を1トランザクション内で作成します（行ロック競合時は呼び出し元で再実行されます）。
+   */
+  private ReservationResponseDto insertTentativeReservation(ReservationRequestDto request) {
+    // 1. 在庫スナップショット取得（都道府県単位の読み込み時は、部屋タイプの都道府県を読み込む）
+    RoomStockSnapshot stockSnapshot = cacheService.getStockSnapshotForRoomTypes(request.getRooms()
+        .stream().map(ReservationRequestDto.RoomRequest::getRoomTypeId).toList());
+
+    // 2. バリデーション・部屋タイプID昇順に確保室数を集約
+    // 同一部屋タイプが複数指定された場合は室数を合算し、在庫確保・予約明細とも1部屋タイプ1件として扱う
+    SortedMap<Integer, Integer> roomCounts = new TreeMap<>();
     for (ReservationRequestDto.RoomRequest roomReq : request.getRooms()) {
-      RoomStockInfo stockInfo = stockCache.get(roomReq.getRoomTypeId());
-      if (stockInfo == null) {
+      if (!stockSnapshot.contains(roomReq.getRoomTypeId())) {
         throw new IllegalArgumentException(
             messageSource.getMessage("error.room.type.notfound", null, null));
       }
-      // SELECT FOR UPDATEで行ロックを取得しつつ、予約済み室数をカウント
-      int currentUsed = reservationDao.countReservedRooms(roomReq.getRoomTypeId(),
-          ReservationStatus.RESERVED_STATUSES, request.getCheckInDate(), request.getCheckOutDate(),
-          lockOptions);
-      if ((stockInfo.getTotalStock() - currentUsed) < roomReq.getRoomCount()) {
-        throw new IllegalStateException(
-            messageSource.getMessage("error.room.stock.insufficient", null, null));
-      }
+      roomCounts.merge(roomReq.getRoomTypeId(), roomReq.getRoomCount(), Integer::sum);
     }
 
-    // 3. 仮予約レコード登録
+    // 3. 在庫確保（部屋タイプID昇順・宿泊日昇順の1バッチ）
+    holdRoomNights(stockSnapshot, roomCounts, request.getCheckInDate(),
+        request.getCheckOutDate());
+
+    // 4. 仮予約レコード登録
     LocalDateTime now = LocalDateTime.now();
     Reservation reservation = new Reservation(null, // reservationId (自動採番)
         null, // reserverId (仮予約用IDは必要に応じて指定)
@@ -109,23 +162,148 @@ public class ReservationService {
     // immutableエンティティのため、Result.getEntity()から自動採番されたIDを取得
     Integer newReservationId = insertResult.getEntity().getReservationId();
 
-    // 4. 予約明細レコード登録
+    // 5. 予約明細レコード登録（部屋タイプごとに1行、複数行VALUESのINSERT 1回）
     // 【セキュリティ対策】フロントエンドから送信されたpriceは使用せず、バックエンドで再計算
     // これにより、クライアント側での価格改竄攻撃を完全に防止
-    for (ReservationRequestDto.RoomRequest roomReq : request.getRooms()) {
-      RoomStockInfo stockInfo = stockCache.get(roomReq.getRoomTypeId());
-      // 価格をバックエンドで再計算（チェックイン日〜チェックアウト日の範囲でループして合算）
-      Integer calculatedPrice = PriceCalculator.calculateTotalPrice(stockInfo.getRoomCapacity(),
-          stockInfo.getHotelId(), request.getCheckInDate(), request.getCheckOutDate());
-
-      ReservationDetail detail = new ReservationDetail(null, // reservationDetailId (自動採番)
-          newReservationId, roomReq.getRoomTypeId(), roomReq.getRoomCount(),
-          calculatedPrice * roomReq.getRoomCount());
-      reservationDetailDao.insert(detail);
+    List<ReservationDetail> details = new ArrayList<>(roomCounts.size());
+    roomCounts.forEach((roomTypeId, roomCount) -> {
+      int ordinal = stockSnapshot.ordinalOf(roomTypeId);
+      // 価格をバックエンドで再計算（コンパイル済み料金表から宿泊期間の総額を求める）
+      int calculatedPrice = pricingEngine.stayPrice(stockSnapshot.capacityAt(ordinal),
+          stockSnapshot.hotelIdAt(ordinal), request.getCheckInDate(), request.getCheckOutDate());
+
+      details.add(new ReservationDetail(null, // reservationDetailId (自動採番)
+          newReservationId, roomTypeId, roomCount, calculatedPrice * roomCount));
+    });
+    reservationDetailDao.insertAll(details);
+
+    // 6. コミット後に空室台帳へ反映
+    afterCommit(() -> {
+      roomCounts.forEach((roomTypeId, roomCount) -> {
+        availabilityLedger.reserve(roomTypeId, request.getCheckInDate(),
+            request.getCheckOutDate(), roomCount);
+        searchResultCache.invalidate(roomTypeId, request.getCheckInDate(),
+            request.getCheckOutDate());
+      });
+      hotelMetrics.tentativeReservationCreated();
+    });
+
+    // 7. 予約情報返却（在庫スナップショットと登録内容から組み立て、DBへの再問い合わせは行わない）
+    // コミット後に予約情報キャッシュへ登録し、直後の予約情報取得もDBにアクセスしない
+    // 有効期限はタイミングホイールに登録し、期限の直後に期限切れにする
+    List<ReservationResponseDto.RoomDetailDto> rooms = new ArrayList<>(details.size());
+    int totalFee = 0;
+    for (ReservationDetail detail : details) {
+      int ordinal = stockSnapshot.ordinalOf(detail.getRoomTypeId());
+      rooms.add(new ReservationResponseDto.RoomDetailDto(detail.getRoomTypeId(),
+          stockSnapshot.roomTypeNameAt(ordinal), stockSnapshot.capacityAt(ordinal),
+          detail.getRoomCount()));
+      totalFee += detail.getHowMuch();
+    }
+    String hotelName = stockSnapshot.hotelNameAt(stockSnapshot.ordinalOf(roomCounts.firstKey()));
+    ReservationResponseDto response = new ReservationResponseDto(newReservationId,
+        request.getCheckInDate(), request.getCheckOutDate(), hotelName, rooms, totalFee);
+    afterCommit(() -> {
+      reservationCache.put(response);
+      holdExpiryWheel.schedule(newReservationId, reservation.getPendingLimitAt());
+    });
+    return response;
+  }
+
+  /**
+   * 全部屋タイプ分の宿泊日別在庫を確保します。
+   *
+   * 【ラウンドトリップ数】
+   * 部屋タイプ数・泊数に関係なく、減算のバッチUPDATE 1回で確保します。
+   * 更新件数0の宿泊日がある場合は、在庫行の有無を1回取得します。
+   * 在庫行が存在する場合は在庫不足として終了し、予約明細の集計は行いません。
+   * 在庫行が未作成の場合（事前作成の範囲外・新規の部屋タイプ）のみ、
+   * 在庫行作成と再減算のバッチが1回ずつ追加されます。
+   *
+   * 【ロック順序】
+   * バッチ内の行は部屋タイプID昇順・宿泊日昇順に並べ、全リクエストでロック順序を統一します。
+   * 減算を先に実行し、更新件数0の宿泊日のみ在庫行を作成してから再度減算します。
+   * 既存の在庫行に対して INSERT IGNORE を先に実行すると共有ロックを取得してしまい、
+   * 同じ在庫行を減算しようとする他トランザクションとの間でロック昇格によるデッドロックが起きるため、
+   * 在庫行の作成は未作成の宿泊日に限定します。
+   *
+   * 所要時間（在庫行のロック待ちを含む）はメトリクスに部屋タイプIDのバケット別に記録し、
+   * しきい値以上の場合はロック競合として計上して、対象のホテル・部屋タイプをログに出力します。
+   *
+   * @param roomCounts 部屋タイプID（昇順）→ 確保室数
+   * @throws IllegalStateException 1泊でも残室数が不足する部屋タイプがある場合
+   */
+  private void holdRoomNights(RoomStockSnapshot stockSnapshot,
+      SortedMap<Integer, Integer> roomCounts, LocalDate checkInDate, LocalDate checkOutDate) {
+    List<RoomNightCount> holds = new ArrayList<>();
+    roomCounts.forEach((roomTypeId, roomCount) -> {
+      for (LocalDate night = checkInDate; night.isBefore(checkOutDate); night = night
+          .plusDays(1)) {
+        holds.add(new RoomNightCount(roomTypeId, night, roomCount));
+      }
+    });
+
+    long start = System.nanoTime();
+    int[] counts = roomInventoryDao.decrementAvailable(holds).getCounts();
+    List<RoomNightCount> retryHolds = new ArrayList<>();
+    for (int i = 0; i < counts.length; i++) {
+      if (counts[i] == 0) {
+        retryHolds.add(holds.get(i));
+      }
+    }
+    // 更新件数0は「在庫行が未作成」または「残室数不足」
+    // 在庫行が存在する宿泊日があれば在庫不足とし、すべて未作成の場合のみ作成した上で再度減算する
+    boolean shortage = false;
+    if (!retryHolds.isEmpty()) {
+      List<RoomNightCount> missingHolds = selectMissingNights(retryHolds, checkInDate,
+          checkOutDate);
+      shortage = missingHolds.size() < retryHolds.size();
+      if (!shortage) {
+        roomInventoryDao.insertStockIfAbsent(
+            missingHolds.stream().map(RoomNightCount::getRoomTypeId).distinct().toList());
+        roomInventoryDao.insertIfAbsent(missingHolds);
+        for (int count : roomInventoryDao.decrementAvailable(missingHolds).getCounts()) {
+          shortage |= count == 0;
+        }
+      }
+    }
+    long elapsed = System.nanoTime() - start;
+    boolean contended = elapsed >= TimeUnit.MILLISECONDS
+        .toNanos(reservationProperties.getLock().getSlowAcquireMillis());
+    hotelMetrics.recordLockAcquire(roomCounts.keySet(),
+        reservationProperties.getLock().getMetricBuckets(), elapsed, contended);
+    if (contended) {
+      Set<Integer> hotelIds = new TreeSet<>();
+      roomCounts.keySet().forEach(roomTypeId -> hotelIds
+          .add(stockSnapshot.hotelIdAt(stockSnapshot.ordinalOf(roomTypeId))));
+      log.warn("在庫行のロック取得に時間がかかりました: hotelIds={}, roomTypeIds={}, rows={}, "
+          + "elapsedMs={}", hotelIds, roomCounts.keySet(), holds.size(),
+          TimeUnit.NANOSECONDS.toMillis(elapsed));
     }
 
-    // 5. 予約ID返却
-    return newReservationId;
+    if (shortage) {
+      hotelMetrics.stockShortage();
+      throw new IllegalStateException(
+          messageSource.getMessage("error.room.stock.insufficient", null, null));
+    }
+  }
+
+  /**
+   * 減算できなかった宿泊日のうち、在庫行が未作成のものを返します（在庫行のロックは取得しません）。
+   */
+  private List<RoomNightCount> selectMissingNights(List<RoomNightCount> holds,
+      LocalDate checkInDate, LocalDate checkOutDate) {
+    List<Integer> roomTypeIds = holds.stream().map(RoomNightCount::getRoomTypeId).distinct()
+        .toList();
+    Map<Integer, Set<LocalDate>> existing = new HashMap<>();
+    for (RoomNightCount row : roomInventoryDao.selectNights(roomTypeIds, checkInDate,
+        checkOutDate.minusDays(1))) {
+      existing.computeIfAbsent(row.getRoomTypeId(), key -> new HashSet<>()).add(row.getStayDate());
+    }
+    return holds.stream()
+        .filter(hold -> !existing.getOrDefault(hold.getRoomTypeId(), Set.of())
+            .contains(hold.getStayDate()))
+        .toList();
   }
 
   /**
@@ -135,12 +313,20 @@ public class ReservationService {
    * 予約テーブルと予約明細テーブルを結合し、
    * ホテル名、部屋タイプ情報、合計料金を含む
    * レスポンスDTOを構築して返却する。
+   * 予約情報キャッシュにある場合はDBにアクセスしない。
    *
    * @param reservationId 予約ID
    * @return 予約情報レスポンスDTO
    * @throws IllegalArgumentException 指定された予約IDの予約が存在しない場合
    */
   public ReservationResponseDto getReservation(Integer reservationId) {
+    return reservationCache.get(reservationId, this::loadReservation);
+  }
+
+  /**
+   * 予約情報をDBから取得してレスポンスDTOを構築します（予約情報キャッシュにない場合）。
+   */
+  private ReservationResponseDto loadReservation(Integer reservationId) {
     List<ReservationWithRoomInfo> rawList = reservationDao.selectByIdWithDetails(reservationId);
 
     if (rawList.isEmpty()) {
@@ -167,11 +353,20 @@ public class ReservationService {
    * 予約者情報が存在しない場合は新規登録（INSERT）、
    * 存在する場合は更新（UPDATE）を行います。
    *
-   * 【処理フロー】
-   * 1. 仮予約の有効期限を確認
+   * 【処理フロー】（成功時もエラー時もDBアクセスは最大3回）
+   * 1. 予約の状態（ステータス・有効期限・予約者ID）を行ロック付きで取得し、登録可否を判定
    * 2. 予約者情報をreserversテーブルに登録または更新
    * 3. 予約レコードに予約者IDと到着予定時刻を更新
    *
+   * 【失敗理由の判定】
+   * 手順1の1回の検索結果のみで判定し、失敗後に期限切れを再確認する問い合わせは行いません。
+   * - 予約が存在しない・仮予約以外のステータス: IllegalStateException
+   * - 有効期限切れ（期限切れステータスを含む）: ReservationExpiredException
+   *
+   * 【予約情報キャッシュ】
+   * 顧客情報は予約情報レスポンスに含まれないため、キャッシュのエントリは更新・破棄せずに維持する。
+   * 直後の予約確認画面の表示ではキャッシュの予約情報がそのまま使われる。
+   *
    * @param reservationId 予約ID
    * @param request 顧客情報リクエストDTO
    * @throws ReservationExpiredException 仮予約の有効期限切れ時
@@ -179,21 +374,36 @@ public class ReservationService {
    */
   @Transactional(rollbackFor = Exception.class)
   public void upsertCustomerInfo(Integer reservationId, CustomerRequestDto request) {
-    // 1. 仮予約の有効期限確認
-    if (reservationDao.isExpired(reservationId, ReservationStatus.TENTATIVE)) {
+    // 1. 予約の状態を行ロック付きで取得
+    // 予約行のロックにより、同一予約への二重登録（予約者の重複作成）や
+    // キャンセル・期限切れ処理との競合を防止する
+    ReservationState state = reservationDao.selectState(reservationId,
+        SelectOptions.get().forUpdate());
+    if (state == null) {
+      throw new IllegalStateException(
+          messageSource.getMessage("error.reservation.update.failed", null, null));
+    }
+    boolean tentative = ReservationStatus.TENTATIVE == state.getReservationStatus();
+    if (ReservationStatus.EXPIRED == state.getReservationStatus()
+        || (tentative && Boolean.TRUE.equals(state.getExpired()))) {
       throw new ReservationExpiredException(
           messageSource.getMessage("error.reservation.expired", null, null), reservationId);
     }
-    // 2. 現在の予約者情報を確認
-    Integer currentReserverId = reservationDao.selectReserverId(reservationId);
-    Integer targetReserverId = null;
+    if (!tentative) {
+      // 期限切れ以外の原因（キャンセル済み・本予約済み等）
+      throw new IllegalStateException(
+          messageSource.getMessage("error.reservation.update.failed", null, null));
+    }
 
-    if (currentReserverId != null) {
+    // 2. 予約者情報の登録または更新
+    Integer targetReserverId;
+    if (state.getReserverId() != null) {
       // 既存の予約者情報がある場合は更新
-      Reserver updateReserver = new Reserver(currentReserverId, request.getReserverFirstName(),
-          request.getReserverLastName(), request.getPhoneNumber(), request.getEmailAddress());
+      Reserver updateReserver = new Reserver(state.getReserverId(),
+          request.getReserverFirstName(), request.getReserverLastName(), request.getPhoneNumber(),
+          request.getEmailAddress());
       reserverDao.update(updateReserver);
-      targetReserverId = currentReserverId;
+      targetReserverId = state.getReserverId();
     }
     else {
       // 予約者情報がない場合は新規登録
@@ -211,18 +421,13 @@ public class ReservationService {
       arriveAt = java.time.LocalTime.parse(reservationProperties.getDefaultArrivalTime());
     }
     // 【TOCTOU競合対策】SQLのWHERE句に pending_limit_at > NOW() 条件を含めることで、
-    // 検証と更新を原子的に実行。事前のisExpiredチェックは早期エラー返却用。
+    // 検証と更新を原子的に実行。予約行は手順1でロック済みのため、
+    // 更新件数0となるのは手順1以降に有効期限を迎えた場合のみ。
     int updated = reservationDao.bindReserverAndArrivalTime(reservationId, targetReserverId,
         arriveAt, ReservationStatus.TENTATIVE);
     if (updated == 0) {
-      // 更新失敗時は期限切れを再確認して適切な例外をスロー
-      if (reservationDao.isExpired(reservationId, ReservationStatus.TENTATIVE)) {
-        throw new ReservationExpiredException(
-            messageSource.getMessage("error.reservation.expired", null, null), reservationId);
-      }
-      // 期限切れ以外の原因（予約が存在しない、ステータスが変更された等）
-      throw new IllegalStateException(
-          messageSource.getMessage("error.reservation.update.failed", null, null));
+      throw new ReservationExpiredException(
+          messageSource.getMessage("error.reservation.expired", null, null), reservationId);
     }
   }
 
@@ -237,33 +442,56 @@ public class ReservationService {
    */
   @Transactional(rollbackFor = Exception.class)
   public void cancelReservation(Integer reservationId) {
+    // 返却対象の明細を行ロック付きで取得（既にキャンセル済み等の場合は0件）
+    List<ReservedRoomInfo> heldRooms = reservationDao.selectReservedRoomsById(reservationId,
+        ReservationStatus.RESERVED_STATUSES, SelectOptions.get().forUpdate());
     int updated = reservationDao.updateStatus(reservationId, ReservationStatus.CANCELLED);
     if (updated == 0) {
       throw new IllegalArgumentException(
           messageSource.getMessage("error.reservation.notfound", null, null));
     }
+    releaseHeldRooms(heldRooms);
+    // 既にキャンセル・期限切れ済みの予約（返却対象なし）は在庫を返却していないため計上しない
+    boolean released = !heldRooms.isEmpty();
+    afterCommit(() -> {
+      holdExpiryWheel.cancel(reservationId);
+      reservationCache.evict(reservationId);
+      if (released) {
+        hotelMetrics.reservationCancelled();
+      }
+    });
     log.info("Reservation cancelled: id={}", reservationId);
   }
 
   /**
    * 仮予約を期限切れ（EXPIRED）ステータスに更新します。
    *
-   * P-910（予約有効時間切れ画面）からトップページに戻る際に呼び出されます。
+   * P-910（予約有効時間切れ画面）からトップページに戻る際、
+   * およびタイミングホイールで有効期限を迎えた際（HoldExpiryDriver）に呼び出されます。
    * 以下の条件を満たす場合のみ更新します:
    * - 予約ステータスがTENTATIVE（10）
    * - pending_limit_atが現在時刻以前（タイムアウト済み）
    *
-   * 条件を満たさない場合（既に別ステータス、バッチで処理済み等）は更新件数0を返します。
-   * これはベストエフォートの処理であり、バッチ処理が最終的な整合性を保証します。
+   * 条件を満たさない場合（既に別ステータス、スイーパーで処理済み等）は更新件数0を返します。
+   * これはベストエフォートの処理であり、期限切れ仮予約スイーパー（TentativeReservationSweeper）が
+   * 最終的な整合性を保証します。
    *
    * @param reservationId 期限切れにする予約ID
    * @return 更新件数（条件を満たさない場合は0）
    */
   @Transactional(rollbackFor = Exception.class)
   public int expireReservation(Integer reservationId) {
+    List<ReservedRoomInfo> heldRooms = reservationDao.selectReservedRoomsById(reservationId,
+        List.of(ReservationStatus.TENTATIVE), SelectOptions.get().forUpdate());
     int updated = reservationDao.expireReservation(reservationId, ReservationStatus.TENTATIVE,
         ReservationStatus.EXPIRED);
     if (updated > 0) {
+      releaseHeldRooms(heldRooms);
+      afterCommit(() -> {
+        holdExpiryWheel.cancel(reservationId);
+        reservationCache.evict(reservationId);
+        hotelMetrics.reservationExpired();
+      });
       log.info("Reservation expired: id={}", reservationId);
     }
     else {
@@ -271,4 +499,120 @@ public class ReservationService {
     }
     return updated;
   }
+
+  /**
+   * 有効期限を過ぎた仮予約を最大件数分まとめて期限切れ（EXPIRED）ステータスに更新します。
+   *
+   * 期限切れ仮予約スイーパー（TentativeReservationSweeper）から、1チャンクごとに呼び出されます。
+   *
+   * 【処理フロー】（件数に関係なくDBアクセスは最大4回）
+   * 1. 期限切れの仮予約を期限の古い順に取得し、予約行をロック（FOR UPDATE SKIP LOCKED）
+   * 2. 対象予約の明細を一括取得
+   * 3. 予約ステータスを一括更新
+   * 4. 部屋タイプID昇順・宿泊日昇順に在庫を一括返却
+   *
+   * 【複数ノードでの同時実行】
+   * 他ノードのスイーパーや顧客情報登録・キャンセル処理がロック中の予約は読み飛ばすため、
+   * 同じ予約を重複して処理せず、利用者の操作を待たせることもありません。
+   * 在庫行のロック競合時は LockRetryTemplate によりチャンク全体を再試行します。
+   *
+   * @param limit 最大件数
+   * @return 期限切れにした件数
+   * @throws LockConflictException 再試行しても行ロック競合が解消しなかった場合
+   */
+  public int expireOverdueReservations(int limit) {
+    return lockRetryTemplate.execute("expireOverdueReservations",
+        status -> expireOverdueChunk(limit));
+  }
+
+  /**
+   * 期限切れの仮予約1チャンク分を1トランザクション内で処理します（行ロック競合時は呼び出し元で再実行されます）。
+   */
+  private int expireOverdueChunk(int limit) {
+    // 1. 期限切れの仮予約を取得（他トランザクションがロック中の予約は読み飛ばす）
+    List<Reservation> overdue = reservationDao.selectOverdueTentative(ReservationStatus.TENTATIVE,
+        limit);
+    if (overdue.isEmpty()) {
+      return 0;
+    }
+    List<Integer> reservationIds = overdue.stream().map(Reservation::getReservationId).toList();
+
+    // 2. 返却対象の明細を一括取得（予約行は手順1でロック済み）
+    List<ReservedRoomInfo> heldRooms = reservationDao.selectReservedRoomsByIds(reservationIds,
+        List.of(ReservationStatus.TENTATIVE));
+
+    // 3. 予約ステータスを一括更新
+    int updated = reservationDao.expireReservations(reservationIds, ReservationStatus.TENTATIVE,
+        ReservationStatus.EXPIRED);
+
+    // 4. 在庫を一括返却
+    releaseHeldRooms(heldRooms);
+
+    afterCommit(() -> {
+      LocalDateTime now = LocalDateTime.now();
+      for (Reservation reservation : overdue) {
+        holdExpiryWheel.cancel(reservation.getReservationId());
+        reservationCache.evict(reservation.getReservationId());
+        hotelMetrics.reservationExpired();
+        hotelMetrics.recordSweeperLag(Duration.between(reservation.getPendingLimitAt(), now));
+      }
+    });
+    return updated;
+  }
+
+  /**
+   * キャンセル・期限切れで返却された部屋を在庫に戻します。
+   *
+   * 宿泊日別の残室数はトランザクション内で加算し、
+   * 空室台帳・検索結果キャッシュへはコミット後に反映します。
+   * 在庫行は仮予約作成時と同じく部屋タイプID昇順・宿泊日昇順に更新し、ロック順序を統一します。
+   *
+   * @param heldRooms 返却対象の予約済み明細
+   */
+  private void releaseHeldRooms(List<ReservedRoomInfo> heldRooms) {
+    if (heldRooms.isEmpty()) {
+      return;
+    }
+    // 部屋タイプID → 宿泊日 → 返却室数（複数予約の同一宿泊日は合算して1行にする）
+    SortedMap<Integer, SortedMap<LocalDate, Integer>> releaseCounts = new TreeMap<>();
+    for (ReservedRoomInfo room : heldRooms) {
+      SortedMap<LocalDate, Integer> nights = releaseCounts.computeIfAbsent(room.getRoomTypeId(),
+          roomTypeId -> new TreeMap<>());
+      for (LocalDate night = room.getCheckInDate(); night
+          .isBefore(room.getCheckOutDate()); night = night.plusDays(1)) {
+        nights.merge(night, room.getRoomCount(), Integer::sum);
+      }
+    }
+    List<RoomNightCount> releases = new ArrayList<>();
+    releaseCounts.forEach((roomTypeId, nights) -> nights.forEach(
+        (night, roomCount) -> releases.add(new RoomNightCount(roomTypeId, night, roomCount))));
+    roomInventoryDao.incrementAvailable(releases);
+
+    afterCommit(() -> heldRooms.forEach(room -> {
+      availabilityLedger.release(room.getRoomTypeId(), room.getCheckInDate(),
+          room.getCheckOutDate(), room.getRoomCount());
+      searchResultCache.invalidate(room.getRoomTypeId(), room.getCheckInDate(),
+          room.getCheckOutDate());
+    }));
+  }
+
+  /**
+   * 現在のトランザクションのコミット後に処理を実行します。
+   *
+   * トランザクション外で呼び出された場合は即時実行します。
+   *
+   * @param action コミット後に実行する処理
+   */
+  private void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
 }
@@ -0,0 +1,214 @@
+package com.example.hotel.domain.service;
+
+import com.example.hotel.domain.model.RoomStockInfo;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 部屋タイプ別の定員・総在庫の不変スナップショット
+ *
+ * 【データ構造】
+ * 部屋タイプを連番（ordinal）で管理し、定員・総在庫・ホテルIDをプリミティブ配列で保持する
+ * （struct-of-arrays）。RoomStockInfo を部屋タイプ数分保持する場合に比べ、
+ * オブジェクトヘッダやボクシングのコストがなく、部屋タイプ数が増えてもGC負荷が増えにくい。
+ *
+ * 【部屋タイプIDから連番への変換】
+ * 部屋タイプIDは自動採番のため通常は密であり、IDを添字とする配列で O(1) に変換する。
+ * IDが極端に疎な場合は、ソート済みID配列の二分探索で変換する。
+ *
+ * 【スレッド安全性】
+ * 生成後は変更しないため、CacheService から volatile 参照で公開すればロックなしで参照できる。
+ */
+public final class RoomStockSnapshot {
+
+  /** 部屋タイプが存在しない場合の連番 */
+  public static final int NOT_FOUND = -1;
+
+  // IDを添字とする変換表を使うID密度の上限（最大ID ≦ 件数 × この値 + 下記の余裕分）
+  private static final int DENSE_INDEX_FACTOR = 4;
+  private static final int DENSE_INDEX_SLACK = 1024;
+
+  private static final RoomStockSnapshot EMPTY = new RoomStockSnapshot(0L, new int[0],
+      new int[0], new int[0], new int[0], new String[0], new String[0]);
+
+  private final long version;
+  private final int[] roomTypeIds;
+  private final int[] hotelIds;
+  private final int[] capacities;
+  private final int[] totalStocks;
+  private final String[] roomTypeNames;
+  private final String[] hotelNames;
+
+  // 部屋タイプID → 連番（IDが疎な場合はnull）
+  private final int[] ordinalById;
+
+  private RoomStockSnapshot(long version, int[] roomTypeIds, int[] hotelIds, int[] capacities,
+      int[] totalStocks, String[] roomTypeNames, String[] hotelNames) {
+    this.version = version;
+    this.roomTypeIds = roomTypeIds;
+    this.hotelIds = hotelIds;
+    this.capacities = capacities;
+    this.totalStocks = totalStocks;
+    this.roomTypeNames = roomTypeNames;
+    this.hotelNames = hotelNames;
+    this.ordinalById = buildDenseIndex(roomTypeIds);
+  }
+
+  /**
+   * 空のスナップショットを返す
+   */
+  public static RoomStockSnapshot empty() {
+    return EMPTY;
+  }
+
+  /**
+   * DBから取得した部屋タイプ情報からスナップショットを生成する
+   *
+   * @param version スナップショットのバージョン（更新ごとに単調増加）
+   * @param stockInfoList 部屋タイプごとの定員・総在庫情報
+   * @return スナップショット
+   */
+  public static RoomStockSnapshot of(long version, List<RoomStockInfo> stockInfoList) {
+    RoomStockInfo[] sorted = stockInfoList.stream()
+        .sorted(Comparator.comparing(RoomStockInfo::getRoomTypeId)).toArray(RoomStockInfo[]::new);
+    int size = sorted.length;
+    int[] roomTypeIds = new int[size];
+    int[] hotelIds = new int[size];
+    int[] capacities = new int[size];
+    int[] totalStocks = new int[size];
+    String[] roomTypeNames = new String[size];
+    String[] hotelNames = new String[size];
+    // 同一ホテルの部屋タイプ間でホテル名の文字列インスタンスを共有する
+    Map<Integer, String> hotelNameById = new HashMap<>();
+    for (int i = 0; i < size; i++) {
+      RoomStockInfo info = sorted[i];
+      if (i > 0 && sorted[i - 1].getRoomTypeId().equals(info.getRoomTypeId())) {
+        throw new IllegalArgumentException("Duplicate room type id: " + info.getRoomTypeId());
+      }
+      roomTypeIds[i] = info.getRoomTypeId();
+      hotelIds[i] = valueOrZero(info.getHotelId());
+      capacities[i] = valueOrZero(info.getRoomCapacity());
+      totalStocks[i] = valueOrZero(info.getTotalStock());
+      roomTypeNames[i] = info.getRoomTypeName();
+      hotelNames[i] = info.getHotelName() == null
+          ? null
+          : hotelNameById.computeIfAbsent(hotelIds[i], id -> info.getHotelName());
+    }
+    return new RoomStockSnapshot(version, roomTypeIds, hotelIds, capacities, totalStocks,
+        roomTypeNames, hotelNames);
+  }
+
+  /**
+   * スナップショットのバージョンを返す
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * 部屋タイプ数を返す
+   */
+  public int size() {
+    return roomTypeIds.length;
+  }
+
+  /**
+   * 部屋タイプが1件もないかどうかを返す
+   */
+  public boolean isEmpty() {
+    return roomTypeIds.length == 0;
+  }
+
+  /**
+   * 部屋タイプIDを連番に変換する
+   *
+   * @param roomTypeId 部屋タイプID
+   * @return 連番（存在しない場合は {@link #NOT_FOUND}）
+   */
+  public int ordinalOf(int roomTypeId) {
+    if (ordinalById != null) {
+      return roomTypeId >= 0 && roomTypeId < ordinalById.length
+          ? ordinalById[roomTypeId]
+          : NOT_FOUND;
+    }
+    int index = Arrays.binarySearch(roomTypeIds, roomTypeId);
+    return index >= 0 ? index : NOT_FOUND;
+  }
+
+  /**
+   * 部屋タイプが存在するかどうかを返す
+   */
+  public boolean contains(int roomTypeId) {
+    return ordinalOf(roomTypeId) != NOT_FOUND;
+  }
+
+  public int roomTypeIdAt(int ordinal) {
+    return roomTypeIds[ordinal];
+  }
+
+  public int hotelIdAt(int ordinal) {
+    return hotelIds[ordinal];
+  }
+
+  public int capacityAt(int ordinal) {
+    return capacities[ordinal];
+  }
+
+  public int totalStockAt(int ordinal) {
+    return totalStocks[ordinal];
+  }
+
+  public String roomTypeNameAt(int ordinal) {
+    return roomTypeNames[ordinal];
+  }
+
+  public String hotelNameAt(int ordinal) {
+    return hotelNames[ordinal];
+  }
+
+  /**
+   * 指定した連番の部屋タイプ情報を RoomStockInfo として返す
+   */
+  public RoomStockInfo toRoomStockInfo(int ordinal) {
+    return new RoomStockInfo(roomTypeIds[ordinal], hotelIds[ordinal], roomTypeNames[ordinal],
+        capacities[ordinal], totalStocks[ordinal], hotelNames[ordinal]);
+  }
+
+  /**
+   * 全部屋タイプを 部屋タイプID → RoomStockInfo のMapに変換する
+   *
+   * 呼び出しごとに部屋タイプ数分の割り当てが発生するため、検索・予約などの
+   * ホットパスでは使用せず、連番ベースのアクセサを使用すること。
+   */
+  public Map<Integer, RoomStockInfo> toMap() {
+    Map<Integer, RoomStockInfo> map = new HashMap<>(roomTypeIds.length * 2);
+    for (int i = 0; i < roomTypeIds.length; i++) {
+      map.put(roomTypeIds[i], toRoomStockInfo(i));
+    }
+    return map;
+  }
+
+  private static int[] buildDenseIndex(int[] sortedIds) {
+    if (sortedIds.length == 0 || sortedIds[0] < 0) {
+      return null;
+    }
+    long maxId = sortedIds[sortedIds.length - 1];
+    if (maxId > (long) sortedIds.length * DENSE_INDEX_FACTOR + DENSE_INDEX_SLACK) {
+      return null;
+    }
+    int[] index = new int[(int) maxId + 1];
+    Arrays.fill(index, NOT_FOUND);
+    for (int i = 0; i < sortedIds.length; i++) {
+      index[sortedIds[i]] = i;
+    }
+    return index;
+  }
+
+  private static int valueOrZero(Integer value) {
+    return value != null ? value : 0;
+  }
+}
@@ -0,0 +1,199 @@
+package com.example.hotel.domain.service;
+
+import com.example.hotel.config.LimiterProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 空室検索の適応型同時実行数制限
+ *
+ * 過負荷時に空室検索が際限なく待ち行列に積まれ、全リクエストの応答時間が悪化した末にDBが停止することを防ぐため、
+ * SearchService#searchAvailableHotels のDBでの検索（検索結果キャッシュのミス時）の同時実行数を
+ * 応答時間から求めた上限で制限する。キャッシュヒットは制限・計測の対象外とする。
+ * 上限を超えたリクエストは待機させずに拒否し（SearchOverloadException）、呼び出し元で 503（Retry-After）を返す。
+ *
+ * 【上限の調整（勾配方式）】
+ * 処理が完了するたびに応答時間を記録し、直近の応答時間（short）と長期平均（long）の指数移動平均を更新する。
+ * 1. gradient = rtt-tolerance × long / short（0.5〜1.0 に制限）
+ *    … 直近の応答時間が長期平均の rtt-tolerance 倍を超えると 1.0 未満となり、上限が減る
+ * 2. 新しい上限 = 現在の上限 × gradient + queue-size
+ *    … 遅延が増えていない間は queue-size ずつ増える
+ * 3. smoothing の割合で現在の上限に反映し、min-limit〜max-limit に制限する
+ * 同時実行数が上限の半分未満の場合は、負荷が上限を決める根拠にならないため上限を変更しない。
+ * 直近の応答時間が長期平均の半分未満の場合は、負荷の低下に追従するため長期平均を5%ずつ下げる。
+ *
+ * 【応答時間の記録対象】
+ * DBでの検索（予約済み室数付きの部屋タイプ一覧の取得）が正常に完了した場合のみ記録する
+ * （例外で終了した検索は同時実行数の返却のみ行う）。キャッシュヒットの短い応答時間は
+ * DBの負荷を表さないため記録しない。
+ *
+ * 【無効時】
+ * limiter.search.enabled=false の場合も同時実行数の計上と上限の計算は行い、拒否のみ行わない
+ * （メトリクスで上限の推移を確認してから有効化できるようにするため）。
+ *
+ * 【メトリクス】
+ * - hotel.search.limiter.limit / hotel.search.limiter.inflight: 同時実行数の上限・同時実行数（ゲージ）
+ * - hotel.search.limiter.rtt: 応答時間の指数移動平均（ゲージ、タグ window=short/long）
+ * - hotel.search.limiter.dropped: HotelMetrics で記録
+ */
+@Component
+public class SearchConcurrencyLimiter implements MeterBinder {
+
+  private static final double MIN_GRADIENT = 0.5;
+  private static final double MAX_GRADIENT = 1.0;
+  private static final double LONG_RTT_DRIFT_RATIO = 2.0;
+  private static final double LONG_RTT_DECAY = 0.95;
+
+  private final LimiterProperties.Gradient settings;
+  private final HotelMetrics hotelMetrics;
+  private final AtomicInteger inflight = new AtomicInteger();
+  private final MovingAverage shortRtt;
+  private final MovingAverage longRtt;
+  private double estimatedLimit;
+  private volatile int limit;
+
+  public SearchConcurrencyLimiter(LimiterProperties limiterProperties, HotelMetrics hotelMetrics) {
+    this.settings = limiterProperties.getSearch();
+    this.hotelMetrics = hotelMetrics;
+    this.shortRtt = new MovingAverage(settings.getShortWindow());
+    this.longRtt = new MovingAverage(settings.getLongWindow());
+    this.estimatedLimit = clamp(settings.getInitialLimit());
+    this.limit = (int) estimatedLimit;
+  }
+
+  /**
+   * 空室検索の実行を試みる
+   *
+   * 取得した場合は、検索の終了後に必ず Permit#close を呼び出すこと。
+   *
+   * @return 実行許可（同時実行数が上限に達している場合はnull）
+   */
+  public Permit tryAcquire() {
+    while (true) {
+      int current = inflight.get();
+      if (settings.isEnabled() && current >= limit) {
+        hotelMetrics.searchLimiterDropped();
+        return null;
+      }
+      if (inflight.compareAndSet(current, current + 1)) {
+        return new Permit(System.nanoTime(), current + 1);
+      }
+    }
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("hotel.search.limiter.limit", this, limiter -> limiter.limit)
+        .description("Adaptive concurrency limit of the search").register(registry);
+    Gauge.builder("hotel.search.limiter.inflight", inflight, AtomicInteger::get)
+        .description("Searches being processed under the adaptive limit").register(registry);
+    Gauge.builder("hotel.search.limiter.rtt", this, limiter -> limiter.rttSeconds(shortRtt))
+        .description("Moving average of the search latency").baseUnit("seconds")
+        .tag("window", "short").register(registry);
+    Gauge.builder("hotel.search.limiter.rtt", this, limiter -> limiter.rttSeconds(longRtt))
+        .description("Moving average of the search latency").baseUnit("seconds")
+        .tag("window", "long").register(registry);
+  }
+
+  /**
+   * 応答時間1件を移動平均に反映し、上限を再計算する
+   *
+   * 上限の計算をテスト（src/test/java）から応答時間を指定して検証するため、パッケージプライベートとしている。
+   *
+   * @param rttNanos 応答時間（ナノ秒）
+   * @param inflightAtStart 開始時点の同時実行数（自身を含む）
+   */
+  synchronized void onSample(long rttNanos, int inflightAtStart) {
+    double shortValue = shortRtt.add(rttNanos);
+    double longValue = longRtt.add(shortValue);
+    if (longValue / shortValue > LONG_RTT_DRIFT_RATIO) {
+      longRtt.scale(LONG_RTT_DECAY);
+    }
+    if (inflightAtStart < estimatedLimit / 2) {
+      return;
+    }
+    double gradient = Math.max(MIN_GRADIENT,
+        Math.min(MAX_GRADIENT, settings.getRttTolerance() * longValue / shortValue));
+    double newLimit = estimatedLimit * gradient + settings.getQueueSize();
+    newLimit = estimatedLimit * (1 - settings.getSmoothing()) + newLimit * settings.getSmoothing();
+    estimatedLimit = clamp(newLimit);
+    limit = (int) estimatedLimit;
+  }
+
+  private double clamp(double value) {
+    return Math.max(settings.getMinLimit(), Math.min(settings.getMaxLimit(), value));
+  }
+
+  private synchronized double rttSeconds(MovingAverage average) {
+    return average.value / TimeUnit.SECONDS.toNanos(1);
+  }
+
+  /**
+   * 空室検索1件分の実行許可
+   *
+   * 検索が正常に完了した場合は success を呼び出してから close する。
+   */
+  public final class Permit implements AutoCloseable {
+    private final long startNanos;
+    private final int inflightAtStart;
+    private boolean succeeded;
+    private boolean closed;
+
+    private Permit(long startNanos, int inflightAtStart) {
+      this.startNanos = startNanos;
+      this.inflightAtStart = inflightAtStart;
+    }
+
+    /**
+     * 検索が正常に完了したことを記録する（close 時に応答時間を上限の調整に使用する）
+     */
+    public void success() {
+      succeeded = true;
+    }
+
+    @Override
+    public void close() {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      inflight.decrementAndGet();
+      if (succeeded) {
+        onSample(System.nanoTime() - startNanos, inflightAtStart);
+      }
+    }
+  }
+
+  /**
+   * 指数移動平均（サンプル数が window に達するまでは単純平均）
+   */
+  private static final class MovingAverage {
+    private final int window;
+    private int count;
+    private double value;
+
+    private MovingAverage(int window) {
+      this.window = Math.max(1, window);
+    }
+
+    private double add(double sample) {
+      if (count < window) {
+        count++;
+        value += (sample - value) / count;
+      }
+      else {
+        value += (sample - value) * 2 / (window + 1);
+      }
+      return value;
+    }
+
+    private void scale(double factor) {
+      value *= factor;
+    }
+  }
+}
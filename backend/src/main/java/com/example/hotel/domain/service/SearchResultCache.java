@@ -0,0 +1,216 @@
+package com.example.hotel.domain.service;
+
+import com.example.hotel.config.CacheProperties;
+import com.example.hotel.presentation.dto.top.HotelResultDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 空室検索結果キャッシュ
+ *
+ * 都道府県・チェックイン日・チェックアウト日をキーに、ホテル結果一覧を保持する。
+ * 同一条件の検索（トップページ・絞り込みフォームからの再検索）でDBアクセスを省略する。
+ *
+ * 【容量・有効期間】
+ * Caffeine（W-TinyLFU方式のアドミッション）で最大エントリ数と有効期間を制限する。
+ *
+ * 【無効化】
+ * 予約の作成・キャンセル・期限切れ時に、対象部屋タイプが属する都道府県のうち、
+ * 宿泊期間が重なるエントリのみを無効化する。
+ * 在庫情報キャッシュの再読み込みで部屋タイプ構成が変わった場合は全エントリを無効化する。
+ * 部屋タイプと都道府県の対応は、検索結果をキャッシュする際に検索対象の全部屋タイプから記録する。
+ * （ある都道府県のエントリが存在するなら、その都道府県の全部屋タイプが記録済みとなる）
+ * 無効化の際にキャッシュ全体を走査しないよう、都道府県ごとにキャッシュ済みのキーを記録し、
+ * その都道府県のキーのみを判定する（キーの記録は、エントリの削除時に削除通知で取り除く）。
+ *
+ * 【検索中の無効化への対策】
+ * 都道府県ごとの世代番号を無効化時に進め、検索開始時点から世代が変わった結果は保持しない。
+ *
+ * 【メトリクス】
+ * ヒット・ミス・破棄件数を cache.* メトリクス（タグ cache=searchResult）として公開する。
+ */
+@Service
+@Slf4j
+public class SearchResultCache implements MeterBinder {
+
+  private final Cache<SearchKey, List<HotelResultDto>> cache;
+
+  // 部屋タイプID → 都道府県ID
+  private final Map<Integer, Integer> prefectureByRoomType = new ConcurrentHashMap<>();
+
+  // 都道府県ID → 無効化世代番号
+  private final Map<Integer, AtomicLong> generations = new ConcurrentHashMap<>();
+
+  // 都道府県ID → キャッシュ済みのキー（各Setへのアクセスは、そのSetで同期する）
+  private final Map<Integer, Set<SearchKey>> keysByPrefecture = new ConcurrentHashMap<>();
+
+  public SearchResultCache(CacheProperties cacheProperties) {
+    CacheProperties.SearchResult settings = cacheProperties.getSearchResult();
+    this.cache = Caffeine.newBuilder().maximumSize(settings.getMaximumSize())
+        .expireAfterWrite(Duration.ofSeconds(settings.getTtlSeconds()))
+        .removalListener(this::onRemoval).recordStats().build();
+  }
+
+  /**
+   * 検索開始時点の世代番号を取得する
+   *
+   * {@link #put(int, LocalDate, LocalDate, List, Collection, long)} に渡すことで、
+   * 検索中に無効化された結果がキャッシュに残ることを防ぐ。
+   *
+   * @param prefectureId 都道府県ID
+   * @return 世代番号
+   */
+  public long currentGeneration(int prefectureId) {
+    return generation(prefectureId).get();
+  }
+
+  /**
+   * キャッシュ済みの検索結果を取得する
+   *
+   * @return ホテル結果一覧（キャッシュにない場合はnull）
+   */
+  public List<HotelResultDto> get(int prefectureId, LocalDate checkInDate,
+      LocalDate checkOutDate) {
+    return cache.getIfPresent(new SearchKey(prefectureId, checkInDate, checkOutDate));
+  }
+
+  /**
+   * 検索結果をキャッシュする
+   *
+   * @param prefectureId 都道府県ID
+   * @param checkInDate チェックイン日
+   * @param checkOutDate チェックアウト日
+   * @param hotels ホテル結果一覧
+   * @param roomTypeIds 検索対象となった都道府県内の全部屋タイプID（在庫の有無を問わない）
+   * @param generation 検索開始時点の世代番号
+   */
+  public void put(int prefectureId, LocalDate checkInDate, LocalDate checkOutDate,
+      List<HotelResultDto> hotels, Collection<Integer> roomTypeIds, long generation) {
+    roomTypeIds.forEach(roomTypeId -> prefectureByRoomType.put(roomTypeId, prefectureId));
+
+    SearchKey key = new SearchKey(prefectureId, checkInDate, checkOutDate);
+    cache.put(key, List.copyOf(hotels));
+    // 削除通知と競合しても記録が失われないよう、キャッシュへの格納後に記録する
+    Set<SearchKey> keys = keys(prefectureId);
+    synchronized (keys) {
+      keys.add(key);
+    }
+    // 検索中に無効化が発生していた場合は、格納した結果を破棄する
+    if (currentGeneration(prefectureId) != generation) {
+      cache.invalidate(key);
+    }
+  }
+
+  /**
+   * 部屋タイプの予約状況が変化した際に、影響するエントリを無効化する
+   *
+   * @param roomTypeId 部屋タイプID
+   * @param checkInDate 変化した予約のチェックイン日
+   * @param checkOutDate 変化した予約のチェックアウト日
+   */
+  public void invalidate(int roomTypeId, LocalDate checkInDate, LocalDate checkOutDate) {
+    Integer prefectureId = prefectureByRoomType.get(roomTypeId);
+    if (prefectureId == null) {
+      // 一度も検索されていない都道府県の部屋タイプ → キャッシュエントリは存在しない
+      return;
+    }
+    generation(prefectureId).incrementAndGet();
+    Set<SearchKey> keys = keysByPrefecture.get(prefectureId);
+    if (keys == null) {
+      return;
+    }
+    List<SearchKey> overlapping = new ArrayList<>();
+    synchronized (keys) {
+      for (SearchKey key : keys) {
+        if (key.getCheckInDate().isBefore(checkOutDate)
+            && checkInDate.isBefore(key.getCheckOutDate())) {
+          overlapping.add(key);
+        }
+      }
+    }
+    cache.invalidateAll(overlapping);
+  }
+
+  /**
+   * 全エントリを無効化する
+   *
+   * 在庫情報キャッシュの再読み込みで部屋タイプ構成が変わった場合に使用する。
+   * 検索中の結果が格納されないよう、全都道府県の世代番号を進める。
+   */
+  public void invalidateAll() {
+    generations.values().forEach(AtomicLong::incrementAndGet);
+    cache.invalidateAll();
+  }
+
+  /**
+   * ヒット率などの統計情報を取得する
+   */
+  public CacheStats stats() {
+    return cache.stats();
+  }
+
+  /**
+   * 現在のエントリ数（概算）を取得する
+   */
+  public long estimatedSize() {
+    return cache.estimatedSize();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    CaffeineCacheMetrics.monitor(registry, cache, "searchResult");
+  }
+
+  private AtomicLong generation(int prefectureId) {
+    return generations.computeIfAbsent(prefectureId, id -> new AtomicLong());
+  }
+
+  private Set<SearchKey> keys(int prefectureId) {
+    return keysByPrefecture.computeIfAbsent(prefectureId, id -> new HashSet<>());
+  }
+
+  // 削除・期限切れ・容量超過で破棄されたキーの記録を取り除く
+  // （削除通知は非同期のため、同じキーが再格納済みの場合は記録を残す）
+  private void onRemoval(SearchKey key, List<HotelResultDto> hotels, RemovalCause cause) {
+    if (key == null || cause == RemovalCause.REPLACED) {
+      return;
+    }
+    Set<SearchKey> keys = keys(key.getPrefectureId());
+    synchronized (keys) {
+      if (!cache.asMap().containsKey(key)) {
+        keys.remove(key);
+      }
+    }
+  }
+
+  /**
+   * キャッシュキー（都道府県・チェックイン日・チェックアウト日）
+   *
+   * 宿泊人数は検索結果に影響しないためキーに含めない。
+   */
+  @Value
+  private static class SearchKey {
+    int prefectureId;
+    LocalDate checkInDate;
+    LocalDate checkOutDate;
+  }
+}
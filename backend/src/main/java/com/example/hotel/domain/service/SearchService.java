@@ -1,8 +1,8 @@
 package com.example.hotel.domain.service;
 
 import com.example.hotel.domain.constants.ReservationStatus;
+import com.example.hotel.domain.exception.SearchOverloadException;
 import com.example.hotel.domain.model.AvailableRoomInfo;
-import com.example.hotel.domain.model.RoomStockInfo;
 import com.example.hotel.domain.repository.SearchDao;
 import com.example.hotel.presentation.dto.top.SearchCriteriaDto;
 import com.example.hotel.presentation.dto.top.SearchResultDto;
@@ -14,6 +14,7 @@ import org.springframework.context.MessageSource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -23,9 +24,25 @@ import java.util.stream.Collectors;
  * 空室検索業務サービス
  *
  * 【主要責務】
- * DAOの予約済み件数と起動時キャッシュ(総在庫)を突き合わせて残在庫を算出し、
+ * 予約済み件数と起動時キャッシュ(総在庫)を突き合わせて残在庫を算出し、
  * 検索結果DTOへ組み立てを行う。
  *
+ * 【予約済み件数の取得元】
+ * 空室台帳（AvailabilityLedger）が検索期間をカバーしている場合は、
+ * DBからはホテル・部屋タイプのメタデータのみを取得し、予約済み件数は台帳から補完する。
+ * 台帳の初期化前や管理範囲外の日付を含む場合は、従来どおりDBで集計する。
+ *
+ * 【検索結果キャッシュ】
+ * 都道府県・宿泊期間が同一の検索結果は SearchResultCache に保持し、再検索時はDBにアクセスしない。
+ *
+ * 【同時実行数の制限】
+ * DBでの検索（キャッシュミス時）のみ SearchConcurrencyLimiter の実行許可を取得して実行する。
+ * キャッシュヒット時は実行許可を取得せずに返す（DBの負荷にならず、上限の調整にも使用しない）。
+ *
+ * 【起動時ウォームアップ】
+ * WarmupContext 内の検索は、検索結果キャッシュの参照・格納と同時実行数の制限を行わずにDBで検索する
+ * （メトリクスへの記録は HotelMetrics で抑止する）。
+ *
  * 【重要な注意事項】
  * SQLクエリ内の予約ステータス値は ReservationStatus.RESERVED_STATUSES (TENTATIVE, CONFIRMED) と対応している。
  *
@@ -38,12 +55,24 @@ public class SearchService {
 
   private final SearchDao searchDao;
   private final CacheService cacheService;
+  private final AvailabilityLedger availabilityLedger;
+  private final SearchResultCache searchResultCache;
+  private final PricingEngine pricingEngine;
+  private final SearchConcurrencyLimiter searchLimiter;
+  private final HotelMetrics hotelMetrics;
   private final MessageSource messageSource;
 
   public SearchService(SearchDao searchDao, CacheService cacheService,
-      MessageSource messageSource) {
+      AvailabilityLedger availabilityLedger, SearchResultCache searchResultCache,
+      PricingEngine pricingEngine, SearchConcurrencyLimiter searchLimiter,
+      HotelMetrics hotelMetrics, MessageSource messageSource) {
     this.searchDao = searchDao;
     this.cacheService = cacheService;
+    this.availabilityLedger = availabilityLedger;
+    this.searchResultCache = searchResultCache;
+    this.pricingEngine = pricingEngine;
+    this.searchLimiter = searchLimiter;
+    this.hotelMetrics = hotelMetrics;
     this.messageSource = messageSource;
   }
 
@@ -61,18 +90,13 @@ public class SearchService {
    *
    * @param criteria 検索条件
    * @return 検索結果DTO
+   * @throws SearchOverloadException キャッシュミス時に、DBでの検索の同時実行数が上限に達している場合
    */
   public SearchResultDto searchAvailableHotels(SearchCriteriaDto criteria) {
     // 【セキュリティ設計】
     // サービス層ではエラー時も空結果を返却し、内部エラー状態を外部に漏らさない
     // 詳細なエラー情報はサーバーログに記録し、攻撃者によるシステム内部状態の推測を防止
 
-    Map<Integer, RoomStockInfo> stockCache = cacheService.getStockCache();
-    if (stockCache.isEmpty()) {
-      log.warn(messageSource.getMessage("log.service.cache.empty", null, Locale.getDefault()));
-      return SearchResultDto.createEmptyResult();
-    }
-
     // 都道府県IDで検索を実行（prefecture-based search への移行完了）
     Integer searchPrefectureId = criteria.getPrefectureId();
     if (searchPrefectureId == null) {
@@ -81,9 +105,34 @@ public class SearchService {
       return SearchResultDto.createEmptyResult();
     }
 
-    List<AvailableRoomInfo> dbRooms = searchDao.searchAvailableRooms(searchPrefectureId,
-        criteria.getCheckInDate(), criteria.getCheckOutDate(), ReservationStatus.RESERVED_STATUSES,
-        SelectOptions.get());
+    // 都道府県単位の読み込み時は、未読み込みの都道府県をここで読み込む
+    RoomStockSnapshot stockSnapshot = cacheService.getStockSnapshot(searchPrefectureId);
+    if (stockSnapshot.isEmpty()) {
+      log.warn(messageSource.getMessage("log.service.cache.empty", null, Locale.getDefault()));
+      return SearchResultDto.createEmptyResult();
+    }
+
+    // 検索結果キャッシュの確認（同一都道府県・宿泊期間の再検索ではDBアクセスを省略）
+    // ウォームアップの合成検索はキャッシュのヒット率・内容に影響させない
+    boolean warmup = WarmupContext.isActive();
+    List<HotelResultDto> cachedResults = warmup
+        ? null
+        : searchResultCache.get(searchPrefectureId, criteria.getCheckInDate(),
+            criteria.getCheckOutDate());
+    if (cachedResults != null) {
+      log.debug(messageSource.getMessage("log.service.search.cache.hit",
+          new Object[]{cachedResults.size()}, Locale.getDefault()));
+      return cachedResults.isEmpty()
+          ? SearchResultDto.createEmptyResult()
+          : SearchResultDto.create(cachedResults, criteria);
+    }
+    long cacheGeneration = searchResultCache.currentGeneration(searchPrefectureId);
+
+    List<AvailableRoomInfo> dbRooms = warmup
+        ? selectRoomsWithReservedCount(searchPrefectureId, criteria.getCheckInDate(),
+            criteria.getCheckOutDate())
+        : selectRoomsUnderLimit(searchPrefectureId, criteria.getCheckInDate(),
+            criteria.getCheckOutDate());
 
     log.debug(messageSource.getMessage("log.service.rooms.retrieved", new Object[]{dbRooms.size()},
         Locale.getDefault()));
@@ -94,8 +143,15 @@ public class SearchService {
           Locale.getDefault())));
     }
 
-    List<HotelResultDto> hotelResults = calculateHotelResultRooms(dbRooms, stockCache,
+    long assemblyStart = System.nanoTime();
+    List<HotelResultDto> hotelResults = calculateHotelResultRooms(dbRooms, stockSnapshot,
         criteria.getCheckInDate(), criteria.getCheckOutDate());
+    hotelMetrics.recordSearchAssembly(System.nanoTime() - assemblyStart);
+    if (!warmup) {
+      searchResultCache.put(searchPrefectureId, criteria.getCheckInDate(),
+          criteria.getCheckOutDate(), hotelResults,
+          dbRooms.stream().map(AvailableRoomInfo::getRoomTypeId).toList(), cacheGeneration);
+    }
 
     if (hotelResults.isEmpty()) {
       log.info(messageSource.getMessage("log.service.search.result.empty",
@@ -108,6 +164,60 @@ public class SearchService {
     return SearchResultDto.create(hotelResults, criteria);
   }
 
+  /**
+   * 同時実行数の制限の下で、予約済み室数付きの部屋タイプ一覧をDBから取得する。
+   *
+   * 【過負荷時の拒否】DBでの検索の同時実行数が適応型の上限に達している場合は、待機させずに拒否する。
+   *
+   * @throws SearchOverloadException 同時実行数が上限に達している場合
+   */
+  private List<AvailableRoomInfo> selectRoomsUnderLimit(Integer prefectureId,
+      LocalDate checkInDate, LocalDate checkOutDate) {
+    SearchConcurrencyLimiter.Permit permit = searchLimiter.tryAcquire();
+    if (permit == null) {
+      throw new SearchOverloadException(
+          messageSource.getMessage("error.search.overloaded", null, Locale.getDefault()));
+    }
+    try (permit) {
+      List<AvailableRoomInfo> rooms = selectRoomsWithReservedCount(prefectureId, checkInDate,
+          checkOutDate);
+      permit.success();
+      return rooms;
+    }
+  }
+
+  /**
+   * 都道府県内の部屋タイプ一覧を、検索期間中の予約済み室数付きで取得する。
+   *
+   * 空室台帳が検索期間をカバーしている場合はメタデータのみをDBから取得し、
+   * 予約済み室数は台帳の「宿泊期間中で最も混雑する夜の室数」で補完する。
+   * それ以外の場合は予約テーブルを集計するクエリにフォールバックする。
+   * 取得時間と行数は取得経路（台帳補完／予約集計）別にメトリクスへ記録する。
+   *
+   * @param prefectureId 都道府県ID
+   * @param checkInDate チェックイン日
+   * @param checkOutDate チェックアウト日
+   * @return 予約済み室数を設定した部屋情報一覧
+   */
+  private List<AvailableRoomInfo> selectRoomsWithReservedCount(Integer prefectureId,
+      LocalDate checkInDate, LocalDate checkOutDate) {
+    long start = System.nanoTime();
+    if (!availabilityLedger.covers(checkInDate, checkOutDate)) {
+      List<AvailableRoomInfo> rooms = searchDao.searchAvailableRooms(prefectureId, checkInDate,
+          checkOutDate, ReservationStatus.RESERVED_STATUSES, SelectOptions.get());
+      hotelMetrics.recordSearchQuery(false, System.nanoTime() - start, rooms.size());
+      return rooms;
+    }
+
+    List<AvailableRoomInfo> rooms = searchDao.selectRoomTypesByPrefecture(prefectureId);
+    for (AvailableRoomInfo room : rooms) {
+      room.setReservedCount(availabilityLedger.getMaxReservedCount(room.getRoomTypeId(),
+          checkInDate, checkOutDate));
+    }
+    hotelMetrics.recordSearchQuery(true, System.nanoTime() - start, rooms.size());
+    return rooms;
+  }
+
   /**
    * DAOから取得した行集合をホテル単位に集約し、部屋タイプ毎の残在庫を計算してホテル結果DTO一覧へ変換する。
    *
@@ -124,27 +234,31 @@ public class SearchService {
    * したがって、Collectors.toMap() での重複キー例外は
    * データ整合性が保たれている限り発生しない。
    *
+   * ベンチマーク（src/jmh/java）から直接計測するため、パッケージプライベートとしている。
+   *
    * @param dbRooms DAOから取得した部屋情報一覧
-   * @param stockCache 部屋タイプ別在庫キャッシュ
+   * @param stockSnapshot 部屋タイプ別在庫スナップショット
    * @param checkInDate チェックイン日（価格計算用）
    * @param checkOutDate チェックアウト日（価格計算用）
    * @return ホテル結果DTO一覧
    */
-  private List<HotelResultDto> calculateHotelResultRooms(List<AvailableRoomInfo> dbRooms,
-      Map<Integer, RoomStockInfo> stockCache, java.time.LocalDate checkInDate,
-      java.time.LocalDate checkOutDate) {
+  List<HotelResultDto> calculateHotelResultRooms(List<AvailableRoomInfo> dbRooms,
+      RoomStockSnapshot stockSnapshot, LocalDate checkInDate,
+      LocalDate checkOutDate) {
 
     Map<Integer, RoomTypeResultDto> roomTypeResults = dbRooms.stream()
-        .filter(dbRoom -> stockCache.containsKey(dbRoom.getRoomTypeId())).map(dbRoom -> {
-          RoomStockInfo cacheInfo = stockCache.get(dbRoom.getRoomTypeId());
-          int totalStock = cacheInfo.getTotalStock();
+        .filter(dbRoom -> stockSnapshot.contains(dbRoom.getRoomTypeId())).map(dbRoom -> {
+          int ordinal = stockSnapshot.ordinalOf(dbRoom.getRoomTypeId());
+          int totalStock = stockSnapshot.totalStockAt(ordinal);
           int reservedCount = dbRoom.getReservedCount();
           int availableStock = totalStock - reservedCount;
 
-          // チェックイン日〜チェックアウト日の範囲で価格をループ計算し、合算した総額を設定
-          return new RoomTypeResultDto(dbRoom.getRoomTypeId(), dbRoom.getRoomTypeName(),
-              cacheInfo.getRoomCapacity(), availableStock, dbRoom.getHotelId(), checkInDate,
+          // チェックイン日〜チェックアウト日の宿泊総額を設定
+          int capacity = stockSnapshot.capacityAt(ordinal);
+          int price = pricingEngine.stayPrice(capacity, dbRoom.getHotelId(), checkInDate,
               checkOutDate);
+          return new RoomTypeResultDto(dbRoom.getRoomTypeId(), dbRoom.getHotelId(),
+              dbRoom.getRoomTypeName(), capacity, availableStock, price);
         }).filter(roomDto -> roomDto.getAvailableStock() > 0)
         .collect(Collectors.toMap(RoomTypeResultDto::getRoomTypeId, dto -> dto));
 
@@ -0,0 +1,85 @@
+package com.example.hotel.domain.service;
+
+import com.example.hotel.config.ReservationProperties;
+import com.example.hotel.domain.exception.LockConflictException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 期限切れ仮予約スイーパー
+ *
+ * 有効期限（pending_limit_at）を過ぎた仮予約を定期的に期限切れ（EXPIRED）ステータスに更新し、在庫を返却する。
+ * 利用者が予約有効時間切れ画面から戻らなかった仮予約も、空室検索の予約済み室数に残り続けないようにする。
+ *
+ * 【チャンク処理】
+ * 1トランザクションで処理する件数をチャンクサイズで制限し、ロック保持時間を抑える。
+ * 1回の実行で処理するチャンク数にも上限を設け、残りは次回の実行に持ち越す。
+ * チャンクサイズ未満しか取得できなかった時点で、期限切れの仮予約は残っていないとみなして終了する。
+ *
+ * 【複数ノードでの同時実行】
+ * 予約行は FOR UPDATE SKIP LOCKED で取得するため、複数ノードで同時に実行しても同じ予約を重複して処理しない。
+ *
+ * 【メトリクス】
+ * 期限からの遅延・1回の実行件数・実行時間を HotelMetrics で記録する。
+ */
+@Component
+@Slf4j
+public class TentativeReservationSweeper {
+
+  private final ReservationService reservationService;
+  private final ReservationProperties.Sweeper settings;
+  private final HotelMetrics hotelMetrics;
+
+  public TentativeReservationSweeper(ReservationService reservationService,
+      ReservationProperties reservationProperties, HotelMetrics hotelMetrics) {
+    this.reservationService = reservationService;
+    this.settings = reservationProperties.getSweeper();
+    this.hotelMetrics = hotelMetrics;
+  }
+
+  /**
+   * 期限切れの仮予約をチャンク単位で期限切れにする
+   *
+   * 前回の実行終了から reservation.sweeper.fixed-delay-millis 経過後に実行される。
+   * 例外が発生した場合はログ出力のみ行い、次回の実行で再度処理する。
+   */
+  @Scheduled(initialDelayString = "${reservation.sweeper.fixed-delay-millis}",
+      fixedDelayString = "${reservation.sweeper.fixed-delay-millis}")
+  public void sweep() {
+    if (!settings.isEnabled()) {
+      return;
+    }
+    int chunkSize = Math.max(1, settings.getChunkSize());
+    long start = System.nanoTime();
+    int expired = 0;
+    int chunks = 0;
+    boolean success = false;
+    try {
+      while (chunks < settings.getMaxChunksPerRun()) {
+        chunks++;
+        int count = reservationService.expireOverdueReservations(chunkSize);
+        expired += count;
+        if (count < chunkSize) {
+          break;
+        }
+      }
+      success = true;
+    }
+    catch (LockConflictException e) {
+      log.warn("期限切れ仮予約の処理中に行ロック競合が解消しませんでした。次回の実行で再処理します: "
+          + "conflict={}, attempts={}, expired={}", e.getConflict(), e.getAttempts(), expired);
+    }
+    catch (RuntimeException e) {
+      log.error("期限切れ仮予約の処理に失敗しました。次回の実行で再処理します: expired={}", expired, e);
+    }
+    finally {
+      long elapsedNanos = System.nanoTime() - start;
+      hotelMetrics.recordSweeperRun(expired, elapsedNanos, success);
+      if (expired > 0) {
+        log.info("期限切れ仮予約を処理しました: expired={}, chunks={}, elapsedMs={}", expired, chunks,
+            elapsedNanos / 1_000_000);
+      }
+    }
+  }
+}
@@ -0,0 +1,39 @@
+package com.example.hotel.domain.service;
+
+/**
+ * 起動時ウォームアップ中であることを示すスレッド単位の目印
+ *
+ * StartupWarmupRunner は合成データで実際のBeanを呼び出すため、そのままでは本番の計測値・キャッシュに
+ * 合成リクエストが混ざる。ウォームアップ中のスレッドでは以下を行わない。
+ * - 空室検索の計測（hotel.search.query / rows / assembly）・DAOの計測（hotel.dao）
+ * - 検索結果キャッシュの参照・格納、空室検索の同時実行数制限（実行許可の取得・応答時間の記録）
+ * - 都道府県単位の在庫情報キャッシュのヒット・ミスの計上（読み込み済みの都道府県を参照する場合）
+ */
+public final class WarmupContext {
+
+  private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+  private WarmupContext() {
+  }
+
+  /**
+   * 現在のスレッドでウォームアップを開始する（終了時に必ず {@link #exit()} を呼び出すこと）
+   */
+  public static void enter() {
+    ACTIVE.set(Boolean.TRUE);
+  }
+
+  /**
+   * 現在のスレッドでウォームアップを終了する
+   */
+  public static void exit() {
+    ACTIVE.remove();
+  }
+
+  /**
+   * 現在のスレッドがウォームアップ中の場合true
+   */
+  public static boolean isActive() {
+    return ACTIVE.get() != null;
+  }
+}
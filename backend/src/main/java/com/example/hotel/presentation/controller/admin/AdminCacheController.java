@@ -0,0 +1,95 @@
+package com.example.hotel.presentation.controller.admin;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Locale;
+import java.util.Optional;
+
+import org.springframework.context.MessageSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.hotel.config.CacheProperties;
+import com.example.hotel.domain.service.MasterDataRefresher;
+import com.example.hotel.presentation.dto.admin.CacheRefreshResponseDto;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 管理用キャッシュ操作APIコントローラー
+ *
+ * 【エンドポイント】
+ * - POST /api/admin/cache/refresh : 部屋タイプ別在庫情報・都道府県キャッシュの再読み込み
+ *
+ * 【認証】
+ * X-Admin-Token ヘッダーが cache.refresh.admin-token と一致する場合のみ実行する。
+ * トークンが未設定の場合はAPI自体を無効とし、404を返す。
+ */
+@RestController
+@RequestMapping("/api/admin/cache")
+@Slf4j
+public class AdminCacheController {
+
+  private static final String ADMIN_TOKEN_HEADER = "X-Admin-Token";
+
+  private final MasterDataRefresher masterDataRefresher;
+  private final CacheProperties cacheProperties;
+  private final MessageSource messageSource;
+
+  public AdminCacheController(MasterDataRefresher masterDataRefresher,
+      CacheProperties cacheProperties, MessageSource messageSource) {
+    this.masterDataRefresher = masterDataRefresher;
+    this.cacheProperties = cacheProperties;
+    this.messageSource = messageSource;
+  }
+
+  /**
+   * 在庫情報・都道府県キャッシュを再読み込みするAPI
+   *
+   * このノードのキャッシュのみを再読み込みする（全ノードへの反映は各ノードへの呼び出し、または定期実行による）。
+   *
+   * @param token 管理トークン
+   * @return 成功時: 再読み込み結果（差分）
+   *         管理API無効時: 404 Not Found
+   *         トークン不一致時: 403 Forbidden
+   *         他の再読み込みが実行中の場合: 409 Conflict
+   */
+  @PostMapping("/refresh")
+  public ResponseEntity<CacheRefreshResponseDto> refresh(
+      @RequestHeader(name = ADMIN_TOKEN_HEADER, required = false) String token) {
+    String adminToken = cacheProperties.getRefresh().getAdminToken();
+    if (adminToken == null || adminToken.isBlank()) {
+      return ResponseEntity.notFound().build();
+    }
+    if (token == null || !MessageDigest.isEqual(adminToken.getBytes(StandardCharsets.UTF_8),
+        token.getBytes(StandardCharsets.UTF_8))) {
+      log.warn(messageSource.getMessage("log.admin.cache.refresh.forbidden", null,
+          Locale.getDefault()));
+      return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+    }
+
+    try {
+      Optional<MasterDataRefresher.RefreshResult> result = masterDataRefresher.refresh("admin");
+      if (result.isEmpty()) {
+        log.info(messageSource.getMessage("log.admin.cache.refresh.in.progress", null,
+            Locale.getDefault()));
+        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+      }
+      MasterDataRefresher.RefreshResult refreshed = result.get();
+      return ResponseEntity.ok(new CacheRefreshResponseDto(refreshed.isUpdated(),
+          refreshed.getVersion(), refreshed.getAddedRoomTypeIds(),
+          refreshed.getRemovedRoomTypeIds(), refreshed.getChangedRoomTypeIds(),
+          refreshed.isPrefecturesChanged(), refreshed.getInventoryRowsAdjusted(),
+          refreshed.getElapsedMillis()));
+    }
+    catch (Exception e) {
+      log.error(messageSource.getMessage("log.unexpected.error.admin.cache.refresh", null,
+          Locale.getDefault()), e);
+      return ResponseEntity.internalServerError().build();
+    }
+  }
+}
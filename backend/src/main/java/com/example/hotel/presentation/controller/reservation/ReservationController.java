@@ -2,13 +2,14 @@ package com.example.hotel.presentation.controller.reservation;
 
 import java.time.LocalDate;
 import java.util.Locale;
-import java.util.Map;
 
 import org.springframework.context.MessageSource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.example.hotel.domain.exception.LockConflictException;
 import com.example.hotel.domain.exception.ReservationExpiredException;
 import com.example.hotel.domain.service.ReservationService;
 import com.example.hotel.presentation.dto.common.ApiErrorResponseDto;
@@ -53,8 +54,9 @@ public class ReservationController {
    * 2. チェックアウト日の論理的整合性検証
    *
    * @param request 仮予約リクエストDTO
-   * @return 成功時: 予約IDを含むJSONレスポンス
+   * @return 成功時: 作成した仮予約の予約情報レスポンスDTO（GET /api/reservations/{id} と同じ形式）
    *         失敗時: エラーレスポンスDTO (422 Unprocessable Entity)
+   *         行ロック競合（再試行上限到達）時: エラーレスポンスDTO (503 Service Unavailable)
    */
   @PostMapping("/pending")
   public ResponseEntity<?> createPending(@Valid @RequestBody ReservationRequestDto request) {
@@ -92,13 +94,24 @@ public class ReservationController {
       log.info(messageSource.getMessage("log.reservation.request.received", new Object[]{request},
           Locale.getDefault()));
 
-      Integer reservationId = reservationService.createTentativeReservation(request);
+      ReservationResponseDto response = reservationService.createTentativeReservation(request);
 
-      log.info(messageSource.getMessage("log.reservation.success", new Object[]{reservationId},
-          Locale.getDefault()));
+      log.info(messageSource.getMessage("log.reservation.success",
+          new Object[]{response.getReservationId()}, Locale.getDefault()));
+
+      // 成功時: 予約情報を返す（予約IDに加え、予約情報画面の表示に必要な内容を含む）
+      return ResponseEntity.ok(response);
 
-      // 成功時: IDを返す
-      return ResponseEntity.ok(Map.of("reservationId", reservationId));
+    }
+    catch (LockConflictException e) {
+      // 行ロック競合 (デッドロック・ロック待ちタイムアウトが再試行後も解消しない)
+      // 入力値の問題ではない一時的な混雑のため、再試行を促す
+      log.warn(messageSource.getMessage("log.reservation.violation.lock.conflict",
+          new Object[]{e.getConflict(), e.getAttempts(), request}, Locale.getDefault()));
+      ApiErrorResponseDto errorResponse = ApiErrorResponseDto
+          .create("validation.api.serverError", 503, "/api/reservations/pending");
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+          .header(HttpHeaders.RETRY_AFTER, "1").body(errorResponse);
 
     }
     catch (IllegalStateException e) {
@@ -1,8 +1,9 @@
 package com.example.hotel.presentation.controller.top;
 
+import com.example.hotel.domain.exception.SearchOverloadException;
 import com.example.hotel.domain.service.CacheService;
+import com.example.hotel.domain.service.PriceCalculationService;
 import com.example.hotel.domain.service.SearchService;
-import com.example.hotel.domain.model.RoomStockInfo;
 import com.example.hotel.domain.repository.AreaDetailDao;
 import com.example.hotel.domain.model.AreaDetail;
 import com.example.hotel.presentation.dto.common.ApiErrorResponseDto;
@@ -10,11 +11,11 @@ import com.example.hotel.presentation.dto.top.PriceCalculationRequestDto;
 import com.example.hotel.presentation.dto.top.PriceCalculationResponseDto;
 import com.example.hotel.presentation.dto.top.SearchCriteriaDto;
 import com.example.hotel.presentation.dto.top.SearchResultDto;
-import com.example.hotel.utils.PriceCalculator;
 
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.MessageSource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -46,16 +47,22 @@ public class TopPageController {
   private static final int MIN_PREFECTURE_ID = 1;
   private static final int MAX_PREFECTURE_ID = 47;
 
+  // 同時実行数の上限による拒否（503）時の再試行までの秒数
+  private static final String RETRY_AFTER_SECONDS = "1";
+
   private final CacheService cacheService;
   private final SearchService searchService;
   private final AreaDetailDao areaDetailDao;
+  private final PriceCalculationService priceCalculationService;
   private final MessageSource messageSource;
 
   public TopPageController(CacheService cacheService, SearchService searchService,
-      AreaDetailDao areaDetailDao, MessageSource messageSource) {
+      AreaDetailDao areaDetailDao, PriceCalculationService priceCalculationService,
+      MessageSource messageSource) {
     this.cacheService = cacheService;
     this.searchService = searchService;
     this.areaDetailDao = areaDetailDao;
+    this.priceCalculationService = priceCalculationService;
     this.messageSource = messageSource;
   }
 
@@ -88,7 +95,8 @@ public class TopPageController {
    *
    * @param criteria
    *          リクエストからバインドされた検索条件
-   * @return 成功時: 200 OK + SearchResultDto、エラー時: 422 + ApiErrorResponseDto 【API設計改善】レスポンス型の明確な分離 -
+   * @return 成功時: 200 OK + SearchResultDto、エラー時: 422 + ApiErrorResponseDto、
+   *         同時実行数の上限到達時: 503（Retry-After）+ ApiErrorResponseDto 【API設計改善】レスポンス型の明確な分離 -
    *         成功レスポンス: SearchResultDto（検索結果専用） - エラーレスポンス: ApiErrorResponseDto（エラー情報専用） - 戻り値型:
    *         ResponseEntity<?>（柔軟な型対応）
    */
@@ -143,6 +151,19 @@ public class TopPageController {
       return ResponseEntity.ok(result);
 
     }
+    catch (SearchOverloadException e) {
+      // 【過負荷時の拒否】DBでの検索の同時実行数が適応型の上限に達している場合は、検索を待機させずに 503 を返す
+      // 過負荷時はリクエストごとに出力すると負荷を増やすため、件数はメトリクス hotel.search.limiter.dropped で確認する
+      if (log.isDebugEnabled()) {
+        log.debug(messageSource.getMessage("log.search.limiter.rejected", new Object[]{criteria},
+            Locale.getDefault()));
+      }
+      // 【注意】messageKeyはフロントエンドi18n用キー（frontend/src/i18n/messages/）
+      ApiErrorResponseDto errorResponse = ApiErrorResponseDto
+          .create("validation.api.serverError", 503, "/api/search");
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+          .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS).body(errorResponse);
+    }
     catch (NumberFormatException e) {
       // 数値変換エラー（不正なパラメータ形式）
       log.warn(messageSource.getMessage("log.number.format.error",
@@ -229,23 +250,13 @@ public class TopPageController {
       log.info(messageSource.getMessage("log.price.calculation.request.received",
           new Object[]{request}, Locale.getDefault()));
 
-      // キャッシュから部屋タイプ情報を取得
-      Map<Integer, RoomStockInfo> stockCache = cacheService.getStockCache();
-
-      // 各部屋タイプの価格を再計算
-      List<PriceCalculationResponseDto.RoomPriceDto> roomPrices = request.getRooms().stream()
-          .filter(room -> stockCache.containsKey(room.getRoomTypeId())).map(room -> {
-            RoomStockInfo stockInfo = stockCache.get(room.getRoomTypeId());
-            Integer price = PriceCalculator.calculateTotalPrice(stockInfo.getRoomCapacity(),
-                room.getHotelId(), request.getCheckInDate(), request.getCheckOutDate());
-            return new PriceCalculationResponseDto.RoomPriceDto(room.getRoomTypeId(),
-                room.getHotelId(), price);
-          }).toList();
+      // 各部屋タイプの価格を再計算（都道府県単位の読み込み時は、部屋タイプの都道府県を読み込む）
+      PriceCalculationResponseDto response = priceCalculationService.calculate(request);
 
       log.info(messageSource.getMessage("log.price.calculation.success",
-          new Object[]{roomPrices.size()}, Locale.getDefault()));
+          new Object[]{response.getRooms().size()}, Locale.getDefault()));
 
-      return ResponseEntity.ok(new PriceCalculationResponseDto(roomPrices));
+      return ResponseEntity.ok(response);
 
     }
     catch (IllegalArgumentException e) {
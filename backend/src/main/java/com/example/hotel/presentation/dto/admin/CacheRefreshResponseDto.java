@@ -0,0 +1,42 @@
+package com.example.hotel.presentation.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * キャッシュ再読み込み結果のレスポンスDTO
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheRefreshResponseDto {
+  /**
+   * キャッシュを差し替えた場合true（差分がない場合はfalse）
+   */
+  private boolean updated;
+
+  /**
+   * 適用中の在庫スナップショットのバージョン
+   */
+  private long version;
+
+  private List<Integer> addedRoomTypeIds;
+  private List<Integer> removedRoomTypeIds;
+
+  /**
+   * 定員・総在庫・名称・所属ホテルのいずれかが変わった部屋タイプID
+   */
+  private List<Integer> changedRoomTypeIds;
+
+  private boolean prefecturesChanged;
+
+  /**
+   * 総在庫の変更を反映（残室数を再計算）した在庫行数
+   */
+  private int inventoryRowsAdjusted;
+
+  private long elapsedMillis;
+}
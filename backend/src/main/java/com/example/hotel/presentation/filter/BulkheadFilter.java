@@ -0,0 +1,111 @@
+package com.example.hotel.presentation.filter;
+
+import java.io.IOException;
+import java.util.Locale;
+
+import org.springframework.context.MessageSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.example.hotel.config.Bulkhead;
+import com.example.hotel.config.BulkheadGate;
+import com.example.hotel.presentation.dto.common.ApiErrorResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * バルクヘッドによる受付制御フィルター
+ *
+ * リクエストのパスからバルクヘッドを判定し、BulkheadGate で受け付けられた場合のみ後続の処理を実行する。
+ *
+ * 【バルクヘッドの判定】
+ * - booking: /api/reservations/**（ReservationController）
+ * - search: /api/search, /api/price/calculate, /api/area-details, /api/initial-data
+ *   （TopPageController）
+ * - 上記以外（管理API・Actuator等）は制御しない
+ *
+ * 【拒否時のレスポンス】
+ * 503 Service Unavailable（Retry-After: 1）。在庫行ロックの再試行上限到達時と同じ形式とする。
+ */
+@Component
+@Slf4j
+public class BulkheadFilter extends OncePerRequestFilter {
+
+  private static final String RETRY_AFTER_SECONDS = "1";
+
+  private final BulkheadGate bulkheadGate;
+  private final ObjectMapper objectMapper;
+  private final MessageSource messageSource;
+
+  public BulkheadFilter(BulkheadGate bulkheadGate, ObjectMapper objectMapper,
+      MessageSource messageSource) {
+    this.bulkheadGate = bulkheadGate;
+    this.objectMapper = objectMapper;
+    this.messageSource = messageSource;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain filterChain) throws ServletException, IOException {
+    String path = request.getRequestURI().substring(request.getContextPath().length());
+    Bulkhead bulkhead = classify(path);
+    if (bulkhead == null) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    BulkheadGate.Admission admission;
+    try {
+      admission = bulkheadGate.acquire(bulkhead);
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      admission = BulkheadGate.Admission.TIMEOUT;
+    }
+    if (admission != BulkheadGate.Admission.ADMITTED) {
+      // 過負荷時はリクエストごとに出力すると負荷を増やすため、件数はメトリクス hotel.bulkhead.rejected で確認する
+      if (log.isDebugEnabled()) {
+        log.debug(messageSource.getMessage("log.bulkhead.rejected",
+            new Object[]{bulkhead.getTag(), admission, path}, Locale.getDefault()));
+      }
+      reject(response, path);
+      return;
+    }
+    try {
+      filterChain.doFilter(request, response);
+    }
+    finally {
+      bulkheadGate.release(bulkhead);
+    }
+  }
+
+  private static Bulkhead classify(String path) {
+    if (path.startsWith("/api/reservations/")) {
+      return Bulkhead.BOOKING;
+    }
+    if (path.equals("/api/search") || path.equals("/api/price/calculate")
+        || path.equals("/api/area-details") || path.equals("/api/initial-data")) {
+      return Bulkhead.SEARCH;
+    }
+    return null;
+  }
+
+  private void reject(HttpServletResponse response, String path) throws IOException {
+    // 【注意】messageKeyはフロントエンドi18n用キー（frontend/src/i18n/messages/）
+    ApiErrorResponseDto errorResponse = ApiErrorResponseDto.create("validation.api.serverError",
+        HttpStatus.SERVICE_UNAVAILABLE.value(), path);
+    response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+    response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    response.setCharacterEncoding("UTF-8");
+    objectMapper.writeValue(response.getOutputStream(), errorResponse);
+  }
+}
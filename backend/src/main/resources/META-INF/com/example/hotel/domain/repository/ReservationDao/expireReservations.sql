@@ -0,0 +1,9 @@
+-- 期限切れ仮予約スイーパー用の一括更新
+-- 予約行は selectOverdueTentative でロック済みのため、ステータス条件は念のための二重防止。
+UPDATE
+    reservations
+SET
+    reservation_status = /* expiredStatus */40
+WHERE
+    reservation_id IN /* reservationIds */(1, 2)
+    AND reservation_status = /* tentativeStatus */10
@@ -0,0 +1,15 @@
+-- 起動時のタイミングホイール初期化用クエリ
+-- 指定ステータス（仮予約）の予約を取得する。有効期限切れ済みの仮予約も含め、起動直後に期限切れにする。
+SELECT
+    reservation_id,
+    reserver_id,
+    reserved_at,
+    check_in_date,
+    check_out_date,
+    arrive_at,
+    reservation_status,
+    pending_limit_at
+FROM
+    reservations
+WHERE
+    reservation_status = /* reservationStatus */10
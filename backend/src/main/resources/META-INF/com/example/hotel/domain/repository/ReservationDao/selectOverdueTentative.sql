@@ -0,0 +1,26 @@
+-- 期限切れ仮予約スイーパー用クエリ
+-- 有効期限を過ぎた仮予約を期限の古い順に最大件数分取得し、予約行をロックする。
+--
+-- 【SKIP LOCKED】
+-- 他ノードのスイーパーや、顧客情報登録・キャンセル処理が行ロック中の予約は待たずに読み飛ばす。
+-- 複数ノードで同時に実行しても同じ予約を重複して処理せず、利用者の操作も待たせない。
+-- 読み飛ばした予約は次回以降の実行で処理される。
+SELECT
+    reservation_id,
+    reserver_id,
+    reserved_at,
+    check_in_date,
+    check_out_date,
+    arrive_at,
+    reservation_status,
+    pending_limit_at
+FROM
+    reservations
+WHERE
+    reservation_status = /* tentativeStatus */10
+    AND pending_limit_at <= NOW()
+ORDER BY
+    pending_limit_at,
+    reservation_id
+LIMIT /* limit */100
+FOR UPDATE SKIP LOCKED
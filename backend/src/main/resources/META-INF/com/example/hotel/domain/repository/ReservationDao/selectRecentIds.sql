@@ -0,0 +1,9 @@
+-- 起動時ウォームアップ用クエリ
+-- 予約情報の読み込み対象とする予約IDを、新しい順に最大件数分取得する
+SELECT
+    reservation_id
+FROM
+    reservations
+ORDER BY
+    reservation_id DESC
+LIMIT /* limit */100
@@ -0,0 +1,16 @@
+-- 空室台帳（AvailabilityLedger）初期化用クエリ
+-- 指定日より後にチェックアウトする予約済み（仮予約・本予約）明細を取得する。
+-- 宿泊が既に終了した予約は台帳に影響しないため対象外とする。
+SELECT
+    res.reservation_id,
+    rd.room_type_id,
+    res.check_in_date,
+    res.check_out_date,
+    rd.room_count
+FROM
+    reservation_details rd
+JOIN
+    reservations res ON rd.reservation_id = res.reservation_id
+WHERE
+    res.reservation_status IN /* reservedStatuses */(10, 20)
+    AND res.check_out_date > /* fromDate */'2025-01-01'
@@ -0,0 +1,16 @@
+-- キャンセル・期限切れ時の在庫返却用クエリ
+-- 指定予約IDの予約済み（仮予約・本予約）明細を取得する。
+-- 既に予約済みステータスでない場合は0件となり、在庫の二重返却を防止する。
+SELECT
+    res.reservation_id,
+    rd.room_type_id,
+    res.check_in_date,
+    res.check_out_date,
+    rd.room_count
+FROM
+    reservations res
+JOIN
+    reservation_details rd ON rd.reservation_id = res.reservation_id
+WHERE
+    res.reservation_id = /* reservationId */1
+    AND res.reservation_status IN /* reservedStatuses */(10, 20)
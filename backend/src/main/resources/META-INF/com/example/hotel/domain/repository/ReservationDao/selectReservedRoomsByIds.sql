@@ -0,0 +1,15 @@
+-- 期限切れ仮予約スイーパーの在庫返却用クエリ
+-- 複数予約IDの予約済み明細を1回で取得する（予約行は呼び出し元でロック済み）。
+SELECT
+    res.reservation_id,
+    rd.room_type_id,
+    res.check_in_date,
+    res.check_out_date,
+    rd.room_count
+FROM
+    reservations res
+JOIN
+    reservation_details rd ON rd.reservation_id = res.reservation_id
+WHERE
+    res.reservation_id IN /* reservationIds */(1, 2)
+    AND res.reservation_status IN /* reservedStatuses */(10, 20)
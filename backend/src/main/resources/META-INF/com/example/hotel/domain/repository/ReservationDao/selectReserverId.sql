@@ -1,6 +0,0 @@
-SELECT
-    reserver_id
-FROM
-    reservations
-WHERE
-    reservation_id = /* reservationId */1
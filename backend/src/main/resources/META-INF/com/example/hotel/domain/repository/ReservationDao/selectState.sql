@@ -0,0 +1,14 @@
+-- 顧客情報登録時の予約状態確認
+-- 予約ステータス・有効期限切れ判定・現在の予約者IDを1回で取得する。
+-- forUpdate() 指定時は予約行をロックし、キャンセル・期限切れ処理や同一予約への二重登録と直列化する。
+-- 期限切れ判定は bindReserverAndArrivalTime の条件（pending_limit_at > NOW()）と対になるよう、
+-- DBの現在時刻で行う。
+SELECT
+    reservation_id,
+    reservation_status,
+    reserver_id,
+    pending_limit_at <= NOW() AS expired
+FROM
+    reservations
+WHERE
+    reservation_id = /* reservationId */1
@@ -0,0 +1,9 @@
+-- 作成済みの在庫行数（事前作成が完了しているかの判定に使用する）
+-- 部屋タイプIDは範囲で指定する（主キーの範囲走査とするため。IN リストでは行ごとの条件評価となり遅い）
+SELECT
+    COUNT(*)
+FROM
+    room_type_daily_inventory
+WHERE
+    room_type_id BETWEEN /* firstRoomTypeId */1 AND /* lastRoomTypeId */2
+    AND stay_date BETWEEN /* fromDate */'2025-01-01' AND /* lastDate */'2025-01-31'
@@ -0,0 +1,10 @@
+-- 仮予約の在庫確保（条件付き減算）
+-- 残室数が確保室数以上の場合のみ減算する。更新件数0は在庫不足を表す。
+UPDATE
+    room_type_daily_inventory
+SET
+    available = available - /* roomNights.roomCount */1
+WHERE
+    room_type_id = /* roomNights.roomTypeId */1
+    AND stay_date = /* roomNights.stayDate */'2025-01-01'
+    AND available >= /* roomNights.roomCount */1
@@ -0,0 +1,8 @@
+-- キャンセル・期限切れによる在庫返却
+UPDATE
+    room_type_daily_inventory
+SET
+    available = available + /* roomNights.roomCount */1
+WHERE
+    room_type_id = /* roomNights.roomTypeId */1
+    AND stay_date = /* roomNights.stayDate */'2025-01-01'
@@ -0,0 +1,33 @@
+-- 部屋タイプ別・宿泊日別の在庫行を、存在しない場合のみ作成する
+--
+-- 【初期値の算出】
+-- 残室数 = 総在庫（rooms の部屋数）- その夜に宿泊する予約済み室数
+-- 「その夜に宿泊する」とは check_in_date <= 宿泊日 < check_out_date を満たすこと。
+-- 宿泊期間が重なるだけの予約を合算せず、夜ごとの室数を正しく算出する。
+-- 総在庫はキャッシュ（ノードごとに再読み込みの時点が異なる）ではなくDBの部屋数を使用する。
+-- 部屋数の削減で予約済み室数を下回る場合は0とする（CHECK制約 available >= 0 を満たすため）。
+--
+-- 【予約ステータス】
+-- バッチSQLではリスト要素以外のパラメータを参照できないため、
+-- ReservationStatus.RESERVED_STATUSES (TENTATIVE=10, CONFIRMED=20) を直接記述している。
+INSERT IGNORE INTO room_type_daily_inventory (room_type_id, stay_date, available)
+SELECT
+    /* roomNights.roomTypeId */1,
+    /* roomNights.stayDate */'2025-01-01',
+    GREATEST((
+        SELECT
+            COUNT(*)
+        FROM
+            rooms
+        WHERE
+            room_type_id = /* roomNights.roomTypeId */1
+    ) - COALESCE(SUM(rd.room_count), 0), 0)
+FROM
+    reservation_details rd
+JOIN
+    reservations res ON rd.reservation_id = res.reservation_id
+WHERE
+    rd.room_type_id = /* roomNights.roomTypeId */1
+    AND res.reservation_status IN (10, 20)
+    AND res.check_in_date <= /* roomNights.stayDate */'2025-01-01'
+    AND res.check_out_date > /* roomNights.stayDate */'2025-01-01'
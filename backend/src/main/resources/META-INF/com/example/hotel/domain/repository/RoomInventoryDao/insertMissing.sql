@@ -0,0 +1,105 @@
+-- 部屋タイプ別・宿泊日別の在庫行を、期間内の未作成の宿泊日についてまとめて作成する
+--
+-- 【初期値の算出】
+-- 残室数 = 総在庫（rooms の部屋数）- その夜に宿泊する予約済み室数
+-- 「その夜に宿泊する」とは check_in_date <= 宿泊日 < check_out_date を満たすこと（insertIfAbsent.sql と同じ）。
+-- 予約済み室数は、チェックイン日に +室数・チェックアウト日に -室数 とした増減を宿泊日順に累計して求める
+-- （宿泊日ごとに予約明細を集計すると、予約の多い部屋タイプで「日数 × 明細数」の比較が必要になるため）。
+-- 期間の初日より前にチェックインした予約は初日に加算する。
+-- 部屋数の削減で予約済み室数を下回る場合は0とする（CHECK制約 available >= 0 を満たすため）。
+-- 宿泊日の列は再帰CTEで生成する（MySQLでは cte_max_recursion_depth（既定1000）以下の日数とすること）。
+--
+-- 【作成済みの在庫行】
+-- INSERT IGNORE のため作成済みの行は変更しない。作成済みの行は仮予約・キャンセルで
+-- 差分更新されており、集計値で上書きすると処理中の仮予約の確保分が失われるため。
+--
+-- 【予約ステータス】
+-- ReservationStatus.RESERVED_STATUSES (TENTATIVE=10, CONFIRMED=20) を直接記述している（insertIfAbsent.sql と同じ）。
+INSERT IGNORE INTO room_type_daily_inventory (room_type_id, stay_date, available)
+WITH RECURSIVE nights (stay_date) AS (
+    SELECT
+        CAST(/* fromDate */'2025-01-01' AS DATE)
+    UNION ALL
+    SELECT
+        CAST(stay_date AS DATE) + INTERVAL '1' DAY
+    FROM
+        nights
+    WHERE
+        stay_date < CAST(/* lastDate */'2025-01-31' AS DATE)
+)
+SELECT
+    room_type_id,
+    stay_date,
+    GREATEST(total_stock - reserved, 0)
+FROM
+    (
+        SELECT
+            u.room_type_id,
+            u.stay_date,
+            u.night,
+            MAX(u.total_stock) OVER (PARTITION BY u.room_type_id) AS total_stock,
+            SUM(u.delta) OVER (PARTITION BY u.room_type_id ORDER BY u.stay_date) AS reserved
+        FROM
+            (
+                -- 作成対象の宿泊日（増減0）
+                SELECT
+                    st.room_type_id,
+                    n.stay_date,
+                    st.total_stock,
+                    0 AS delta,
+                    1 AS night
+                FROM
+                    (
+                        SELECT
+                            room_type_id,
+                            COUNT(*) AS total_stock
+                        FROM
+                            rooms
+                        WHERE
+                            room_type_id IN /* roomTypeIds */(1, 2)
+                        GROUP BY
+                            room_type_id
+                    ) st
+                CROSS JOIN
+                    nights n
+                UNION ALL
+                -- チェックイン日（期間の初日より前の場合は初日）に予約室数を加算
+                SELECT
+                    rd.room_type_id,
+                    GREATEST(res.check_in_date, CAST(/* fromDate */'2025-01-01' AS DATE)),
+                    NULL,
+                    rd.room_count,
+                    0
+                FROM
+                    reservation_details rd
+                JOIN
+                    reservations res ON rd.reservation_id = res.reservation_id
+                WHERE
+                    rd.room_type_id IN /* roomTypeIds */(1, 2)
+                    AND res.reservation_status IN (10, 20)
+                    AND res.check_out_date > /* fromDate */'2025-01-01'
+                    AND res.check_in_date <= /* lastDate */'2025-01-31'
+                UNION ALL
+                -- チェックアウト日に予約室数を減算
+                SELECT
+                    rd.room_type_id,
+                    res.check_out_date,
+                    NULL,
+                    -rd.room_count,
+                    0
+                FROM
+                    reservation_details rd
+                JOIN
+                    reservations res ON rd.reservation_id = res.reservation_id
+                WHERE
+                    rd.room_type_id IN /* roomTypeIds */(1, 2)
+                    AND res.reservation_status IN (10, 20)
+                    AND res.check_out_date > /* fromDate */'2025-01-01'
+                    AND res.check_out_date <= /* lastDate */'2025-01-31'
+            ) u
+    ) w
+WHERE
+    night = 1
+ORDER BY
+    room_type_id,
+    stay_date
@@ -0,0 +1,13 @@
+-- 在庫行の算出に使用する総在庫（rooms の部屋数）を、未記録の部屋タイプについて記録する
+-- 在庫行の作成と同じトランザクションで、在庫行の作成より前に実行する
+-- 記録済みの部屋タイプは変更しない（総在庫の変更の反映は InventoryReconciler が行う）
+INSERT IGNORE INTO room_type_inventory_stock (room_type_id, total_stock)
+SELECT
+    room_type_id,
+    COUNT(*)
+FROM
+    rooms
+WHERE
+    room_type_id IN /* roomTypeIds */(1, 2)
+GROUP BY
+    room_type_id
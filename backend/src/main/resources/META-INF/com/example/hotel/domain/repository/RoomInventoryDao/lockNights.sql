@@ -0,0 +1,10 @@
+-- 残室数の再計算の前に、対象の在庫行を部屋タイプID昇順・宿泊日昇順に行ロックする
+-- 値は変更しない。処理中の仮予約・キャンセルのコミットを待ってから再計算し、
+-- 再計算中の減算・加算を再計算後の値に対して行わせるため（再計算値による上書きで差分が失われることを防ぐ）
+UPDATE
+    room_type_daily_inventory
+SET
+    available = available
+WHERE
+    room_type_id IN /* roomTypeIds */(1, 2)
+    AND stay_date >= /* fromDate */'2025-01-01'
@@ -0,0 +1,89 @@
+-- 作成済みの在庫行の残室数を、総在庫（rooms の部屋数）と予約済み室数から再計算する
+--
+-- 残室数 = 総在庫 - その夜に宿泊する予約済み室数（insertMissing.sql と同じ算出方法）
+-- 差分ではなく算出値で上書きするため、同じ部屋タイプに何回実行しても結果は同じとなる。
+-- 対象は fromDate 以降の作成済みの在庫行のみ（未作成の在庫行は作成しない）。
+-- 部屋がすべて削除された部屋タイプは総在庫0として、残室数を0とする。
+-- lockNights で対象の在庫行をロックした同じトランザクションで実行すること。
+--
+-- 【予約ステータス】
+-- ReservationStatus.RESERVED_STATUSES (TENTATIVE=10, CONFIRMED=20) を直接記述している（insertIfAbsent.sql と同じ）。
+INSERT INTO room_type_daily_inventory (room_type_id, stay_date, available)
+SELECT
+    room_type_id,
+    stay_date,
+    GREATEST(COALESCE(total_stock, 0) - reserved, 0)
+FROM
+    (
+        SELECT
+            u.room_type_id,
+            u.stay_date,
+            u.night,
+            MAX(u.total_stock) OVER (PARTITION BY u.room_type_id) AS total_stock,
+            SUM(u.delta) OVER (PARTITION BY u.room_type_id ORDER BY u.stay_date) AS reserved
+        FROM
+            (
+                -- 再計算対象の在庫行（増減0）
+                SELECT
+                    i.room_type_id,
+                    i.stay_date,
+                    NULL AS total_stock,
+                    0 AS delta,
+                    1 AS night
+                FROM
+                    room_type_daily_inventory i
+                WHERE
+                    i.room_type_id IN /* roomTypeIds */(1, 2)
+                    AND i.stay_date >= /* fromDate */'2025-01-01'
+                UNION ALL
+                -- 総在庫
+                SELECT
+                    room_type_id,
+                    CAST(/* fromDate */'2025-01-01' AS DATE),
+                    COUNT(*),
+                    0,
+                    0
+                FROM
+                    rooms
+                WHERE
+                    room_type_id IN /* roomTypeIds */(1, 2)
+                GROUP BY
+                    room_type_id
+                UNION ALL
+                -- チェックイン日（fromDate より前の場合は fromDate）に予約室数を加算
+                SELECT
+                    rd.room_type_id,
+                    GREATEST(res.check_in_date, CAST(/* fromDate */'2025-01-01' AS DATE)),
+                    NULL,
+                    rd.room_count,
+                    0
+                FROM
+                    reservation_details rd
+                JOIN
+                    reservations res ON rd.reservation_id = res.reservation_id
+                WHERE
+                    rd.room_type_id IN /* roomTypeIds */(1, 2)
+                    AND res.reservation_status IN (10, 20)
+                    AND res.check_out_date > /* fromDate */'2025-01-01'
+                UNION ALL
+                -- チェックアウト日に予約室数を減算
+                SELECT
+                    rd.room_type_id,
+                    res.check_out_date,
+                    NULL,
+                    -rd.room_count,
+                    0
+                FROM
+                    reservation_details rd
+                JOIN
+                    reservations res ON rd.reservation_id = res.reservation_id
+                WHERE
+                    rd.room_type_id IN /* roomTypeIds */(1, 2)
+                    AND res.reservation_status IN (10, 20)
+                    AND res.check_out_date > /* fromDate */'2025-01-01'
+            ) u
+    ) w
+WHERE
+    night = 1
+ON DUPLICATE KEY UPDATE
+    available = VALUES(available)
@@ -0,0 +1,15 @@
+-- 作成済みの在庫行（roomCountには残室数が入る）
+-- 非ロック読み取りのため、仮予約の在庫確保で行ロックを追加で取得しない
+SELECT
+    room_type_id,
+    stay_date,
+    available AS room_count
+FROM
+    room_type_daily_inventory
+WHERE
+    room_type_id IN /* roomTypeIds */(1, 2)
+    AND stay_date >= /* fromDate */'2025-01-01'
+    AND stay_date <= /* lastDate */'2025-01-31'
+ORDER BY
+    room_type_id,
+    stay_date
@@ -0,0 +1,7 @@
+-- 部屋が登録されている部屋タイプID（在庫行の事前作成対象）
+SELECT DISTINCT
+    room_type_id
+FROM
+    rooms
+ORDER BY
+    room_type_id
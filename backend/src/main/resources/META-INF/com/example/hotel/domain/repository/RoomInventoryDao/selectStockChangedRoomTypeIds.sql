@@ -0,0 +1,48 @@
+-- 在庫行の算出に使用した総在庫と、現在の rooms の部屋数が異なる部屋タイプ
+-- - 記録済みの総在庫と部屋数が異なる
+-- - 総在庫が未記録だが在庫行がある（room_type_inventory_stock の作成前に作成された在庫行）
+-- - 総在庫が記録済み（1以上）だが部屋がすべて削除された
+SELECT
+    r.room_type_id
+FROM
+    (
+        SELECT
+            room_type_id,
+            COUNT(*) AS total_stock
+        FROM
+            rooms
+        GROUP BY
+            room_type_id
+    ) r
+LEFT JOIN
+    room_type_inventory_stock s ON s.room_type_id = r.room_type_id
+WHERE
+    s.total_stock <> r.total_stock
+    OR (
+        s.room_type_id IS NULL
+        AND EXISTS (
+            SELECT
+                1
+            FROM
+                room_type_daily_inventory i
+            WHERE
+                i.room_type_id = r.room_type_id
+        )
+    )
+UNION
+SELECT
+    s.room_type_id
+FROM
+    room_type_inventory_stock s
+WHERE
+    s.total_stock > 0
+    AND NOT EXISTS (
+        SELECT
+            1
+        FROM
+            rooms r
+        WHERE
+            r.room_type_id = s.room_type_id
+    )
+ORDER BY
+    1
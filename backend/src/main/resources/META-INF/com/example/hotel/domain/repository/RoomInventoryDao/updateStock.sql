@@ -0,0 +1,14 @@
+-- 記録済みの総在庫を現在の rooms の部屋数に更新する（部屋がすべて削除された部屋タイプは0）
+UPDATE
+    room_type_inventory_stock
+SET
+    total_stock = (
+        SELECT
+            COUNT(*)
+        FROM
+            rooms r
+        WHERE
+            r.room_type_id = room_type_inventory_stock.room_type_id
+    )
+WHERE
+    room_type_id IN /* roomTypeIds */(1, 2)
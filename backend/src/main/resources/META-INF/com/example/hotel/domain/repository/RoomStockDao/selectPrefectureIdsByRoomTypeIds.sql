@@ -0,0 +1,13 @@
+-- 部屋タイプが所属する都道府県IDを取得する（cache.stock.on-demand=true の場合に使用）
+SELECT DISTINCT
+    a.prefecture_id
+FROM
+    room_types rt
+JOIN
+    hotels h ON rt.hotel_id = h.hotel_id
+JOIN
+    area_details a ON h.area_id = a.area_id
+WHERE
+    rt.room_type_id IN /* roomTypeIds */(1)
+ORDER BY
+    a.prefecture_id
@@ -1,16 +1,20 @@
 -- 起動時キャッシュ用クエリ
--- 部屋タイプごとの定員と総在庫（総室数）を取得する
+-- 部屋タイプごとの定員と総在庫（総室数）、所属ホテル名を取得する
 SELECT
     rt.room_type_id,
     rt.hotel_id,
     rt.room_type_name,
     MIN(r.room_capacity) AS room_capacity,
-    COUNT(r.room_id) AS total_stock
+    COUNT(r.room_id) AS total_stock,
+    h.hotel_name
 FROM
     room_types rt
+JOIN
+    hotels h ON rt.hotel_id = h.hotel_id
 JOIN
     rooms r ON rt.room_type_id = r.room_type_id
 GROUP BY
     rt.room_type_id,
     rt.hotel_id,
-    rt.room_type_name
+    rt.room_type_name,
+    h.hotel_name
@@ -0,0 +1,24 @@
+-- 都道府県単位の在庫キャッシュ用クエリ（cache.stock.on-demand=true の場合に使用）
+-- 指定した都道府県の部屋タイプごとの定員と総在庫（総室数）、所属ホテル名を取得する
+SELECT
+    rt.room_type_id,
+    rt.hotel_id,
+    rt.room_type_name,
+    MIN(r.room_capacity) AS room_capacity,
+    COUNT(r.room_id) AS total_stock,
+    h.hotel_name
+FROM
+    room_types rt
+JOIN
+    hotels h ON rt.hotel_id = h.hotel_id
+JOIN
+    area_details a ON h.area_id = a.area_id
+JOIN
+    rooms r ON rt.room_type_id = r.room_type_id
+WHERE
+    a.prefecture_id = /* prefectureId */1
+GROUP BY
+    rt.room_type_id,
+    rt.hotel_id,
+    rt.room_type_name,
+    h.hotel_name
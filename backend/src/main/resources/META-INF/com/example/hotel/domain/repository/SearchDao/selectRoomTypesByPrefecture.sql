@@ -0,0 +1,23 @@
+-- P-010 空室検索用メタデータ取得クエリ
+-- 指定された都道府県のホテル情報と部屋タイプ情報のみを取得する。
+--
+-- 【集計ロジック】
+-- 予約済み室数はメモリ上の空室台帳（AvailabilityLedger）から補完するため、
+-- reservation_details / reservations とのJOINは行わない。
+-- reserved_count は AvailableRoomInfo へのマッピング互換のため常に0を返す。
+
+SELECT
+    h.hotel_id,
+    h.hotel_name,
+    rt.room_type_id,
+    rt.room_type_name,
+    0 AS reserved_count,
+    ad.area_id
+FROM
+    hotels h
+JOIN
+    area_details ad ON h.area_id = ad.area_id
+JOIN
+    room_types rt ON h.hotel_id = rt.hotel_id
+WHERE
+    ad.prefecture_id = /* prefectureId */1
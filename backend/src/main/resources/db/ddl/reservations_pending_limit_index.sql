@@ -0,0 +1,8 @@
+-- 期限切れ仮予約スイーパー用インデックス（MySQL）
+--
+-- ReservationDao.selectOverdueTentative（FOR UPDATE SKIP LOCKED）が
+-- 有効期限切れの仮予約のみを期限の古い順に走査できるようにする。
+-- インデックスがない場合、InnoDBは走査した全予約行をロック対象とするため、
+-- 有効期限内の仮予約・本予約の行まで読み飛ばし・ロック判定の対象となる。
+CREATE INDEX idx_reservations_status_pending_limit
+    ON reservations (reservation_status, pending_limit_at);
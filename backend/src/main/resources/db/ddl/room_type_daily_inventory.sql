@@ -0,0 +1,14 @@
+-- 部屋タイプ別・宿泊日別の残室数テーブル（MySQL）
+--
+-- 仮予約作成時の在庫確保を、予約明細の集計（範囲ロック）ではなく
+-- 宿泊日ごとの条件付きUPDATEで行うための実体化テーブル。
+-- 本日から reservation.inventory.horizon-days 日分の行は InventoryBackfill（RoomInventoryDao.insertMissing）が事前に作成する。
+-- 範囲外の宿泊日・新規の部屋タイプの行は RoomInventoryDao.insertIfAbsent により、初めて予約対象となった宿泊日に作成される。
+-- room_type_id は room_types.room_type_id を参照する。
+CREATE TABLE IF NOT EXISTS room_type_daily_inventory (
+    room_type_id INT NOT NULL,
+    stay_date DATE NOT NULL,
+    available INT NOT NULL,
+    PRIMARY KEY (room_type_id, stay_date),
+    CONSTRAINT chk_room_type_daily_inventory_available CHECK (available >= 0)
+);
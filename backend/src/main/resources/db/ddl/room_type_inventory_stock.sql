@@ -0,0 +1,14 @@
+-- 部屋タイプ別の在庫行算出済み総在庫テーブル（MySQL）
+--
+-- room_type_daily_inventory の残室数を算出したときの総在庫（rooms の部屋数）を部屋タイプごとに記録する。
+-- 在庫情報キャッシュの再読み込み（MasterDataRefresher）は、この値と rooms の部屋数が異なる部屋タイプを
+-- DBから検出して在庫行の残室数を再計算し（InventoryReconciler）、この値を更新する。
+-- 各ノードのキャッシュの差分ではなくDBの値で検出するため、どのノードで何回実行しても結果は同じとなる。
+--
+-- 行は在庫行の作成時（RoomInventoryDao.insertStockIfAbsent）に作成される。
+-- 本テーブルの作成前から在庫行がある部屋タイプは、初回の再読み込みで在庫行を再計算する。
+-- room_type_id は room_types.room_type_id を参照する。
+CREATE TABLE IF NOT EXISTS room_type_inventory_stock (
+    room_type_id INT NOT NULL PRIMARY KEY,
+    total_stock INT NOT NULL
+);
@@ -0,0 +1,98 @@
+-- 組み込みDB（H2 MySQLモード）用スキーマ
+--
+-- Springプロファイル embedded で起動した場合のみ、spring.sql.init により適用される。
+-- 本番（MySQL）と同じテーブル・カラム名とし、アプリケーションのSQLファイルをそのまま実行できるようにする。
+-- 既存のデータベースファイルを再利用できるよう、全て IF NOT EXISTS で作成する。
+
+CREATE TABLE IF NOT EXISTS prefectures (
+    prefecture_id INT NOT NULL PRIMARY KEY,
+    prefecture_name VARCHAR(10) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS area_details (
+    area_id INT NOT NULL PRIMARY KEY,
+    area_name VARCHAR(50) NOT NULL,
+    prefecture_id INT NOT NULL,
+    CONSTRAINT fk_area_details_prefecture FOREIGN KEY (prefecture_id)
+        REFERENCES prefectures (prefecture_id)
+);
+CREATE INDEX IF NOT EXISTS idx_area_details_prefecture ON area_details (prefecture_id);
+
+CREATE TABLE IF NOT EXISTS hotels (
+    hotel_id INT NOT NULL PRIMARY KEY,
+    hotel_name VARCHAR(100) NOT NULL,
+    area_id INT NOT NULL,
+    CONSTRAINT fk_hotels_area FOREIGN KEY (area_id) REFERENCES area_details (area_id)
+);
+CREATE INDEX IF NOT EXISTS idx_hotels_area ON hotels (area_id);
+
+CREATE TABLE IF NOT EXISTS room_types (
+    room_type_id INT NOT NULL PRIMARY KEY,
+    hotel_id INT NOT NULL,
+    room_type_name VARCHAR(50) NOT NULL,
+    CONSTRAINT fk_room_types_hotel FOREIGN KEY (hotel_id) REFERENCES hotels (hotel_id)
+);
+CREATE INDEX IF NOT EXISTS idx_room_types_hotel ON room_types (hotel_id);
+
+CREATE TABLE IF NOT EXISTS rooms (
+    room_id INT NOT NULL PRIMARY KEY,
+    room_type_id INT NOT NULL,
+    room_capacity INT NOT NULL,
+    CONSTRAINT fk_rooms_room_type FOREIGN KEY (room_type_id) REFERENCES room_types (room_type_id)
+);
+CREATE INDEX IF NOT EXISTS idx_rooms_room_type ON rooms (room_type_id);
+
+CREATE TABLE IF NOT EXISTS reservers (
+    reserver_id INT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    reserver_first_name VARCHAR(50) NOT NULL,
+    reserver_last_name VARCHAR(50) NOT NULL,
+    phone_number VARCHAR(20) NOT NULL,
+    e_mail_address VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS reservations (
+    reservation_id INT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    reserver_id INT,
+    reserved_at DATETIME NOT NULL,
+    check_in_date DATE NOT NULL,
+    check_out_date DATE NOT NULL,
+    arrive_at TIME,
+    reservation_status INT NOT NULL,
+    pending_limit_at DATETIME,
+    CONSTRAINT fk_reservations_reserver FOREIGN KEY (reserver_id) REFERENCES reservers (reserver_id)
+);
+CREATE INDEX IF NOT EXISTS idx_reservations_status_dates
+    ON reservations (reservation_status, check_out_date, check_in_date);
+CREATE INDEX IF NOT EXISTS idx_reservations_status_pending_limit
+    ON reservations (reservation_status, pending_limit_at);
+
+CREATE TABLE IF NOT EXISTS reservation_details (
+    reservation_detail_id INT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    reservation_id INT NOT NULL,
+    room_type_id INT NOT NULL,
+    room_count INT NOT NULL,
+    how_much INT NOT NULL,
+    CONSTRAINT fk_reservation_details_reservation FOREIGN KEY (reservation_id)
+        REFERENCES reservations (reservation_id),
+    CONSTRAINT fk_reservation_details_room_type FOREIGN KEY (room_type_id)
+        REFERENCES room_types (room_type_id)
+);
+CREATE INDEX IF NOT EXISTS idx_reservation_details_reservation
+    ON reservation_details (reservation_id);
+CREATE INDEX IF NOT EXISTS idx_reservation_details_room_type
+    ON reservation_details (room_type_id);
+
+-- db/ddl/room_type_daily_inventory.sql と同じ定義
+CREATE TABLE IF NOT EXISTS room_type_daily_inventory (
+    room_type_id INT NOT NULL,
+    stay_date DATE NOT NULL,
+    available INT NOT NULL,
+    PRIMARY KEY (room_type_id, stay_date),
+    CONSTRAINT chk_room_type_daily_inventory_available CHECK (available >= 0)
+);
+
+-- db/ddl/room_type_inventory_stock.sql と同じ定義
+CREATE TABLE IF NOT EXISTS room_type_inventory_stock (
+    room_type_id INT NOT NULL PRIMARY KEY,
+    total_stock INT NOT NULL
+);
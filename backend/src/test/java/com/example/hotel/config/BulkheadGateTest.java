@@ -0,0 +1,134 @@
+package com.example.hotel.config;
+
+import com.example.hotel.domain.service.HotelMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * BulkheadGate の受付・拒否と優先受付
+ */
+class BulkheadGateTest {
+
+  private static final long LONG_WAIT_MILLIS = 10_000;
+
+  private BulkheadProperties properties;
+  private SimpleMeterRegistry registry;
+  private BulkheadGate gate;
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setUp() {
+    properties = new BulkheadProperties();
+    properties.setEnabled(true);
+    properties.setMaxConcurrentTotal(10);
+    limit(properties.getBooking(), 1, 5, LONG_WAIT_MILLIS);
+    limit(properties.getSearch(), 1, 5, LONG_WAIT_MILLIS);
+    registry = new SimpleMeterRegistry();
+    gate = new BulkheadGate(properties, new HotelMetrics(registry));
+    gate.bindTo(registry);
+    executor = Executors.newCachedThreadPool();
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  @DisplayName("受け付けたリクエストの処理中は current() でバルクヘッドを参照できる")
+  void tracksCurrentBulkhead() throws Exception {
+    assertThat(gate.acquire(Bulkhead.SEARCH)).isEqualTo(BulkheadGate.Admission.ADMITTED);
+    assertThat(BulkheadGate.current()).isEqualTo(Bulkhead.SEARCH);
+    assertThat(gauge("hotel.bulkhead.active", Bulkhead.SEARCH)).isEqualTo(1);
+    gate.release(Bulkhead.SEARCH);
+    assertThat(BulkheadGate.current()).isNull();
+    assertThat(gauge("hotel.bulkhead.active", Bulkhead.SEARCH)).isZero();
+  }
+
+  @Test
+  @DisplayName("待ち行列が上限に達している場合は待機せずに拒否する")
+  void rejectsWhenQueueFull() throws Exception {
+    limit(properties.getSearch(), 1, 0, LONG_WAIT_MILLIS);
+    assertThat(gate.acquire(Bulkhead.SEARCH)).isEqualTo(BulkheadGate.Admission.ADMITTED);
+    assertThat(gate.acquire(Bulkhead.SEARCH)).isEqualTo(BulkheadGate.Admission.QUEUE_FULL);
+    assertThat(registry.get("hotel.bulkhead.rejected").tag("bulkhead", "search")
+        .tag("reason", "queue_full").counter().count()).isEqualTo(1);
+    // 他のバルクヘッドは影響を受けない
+    assertThat(gate.acquire(Bulkhead.BOOKING)).isEqualTo(BulkheadGate.Admission.ADMITTED);
+  }
+
+  @Test
+  @DisplayName("待機時間を超過した場合は拒否する")
+  void rejectsAfterMaxWait() throws Exception {
+    limit(properties.getSearch(), 1, 5, 50);
+    assertThat(gate.acquire(Bulkhead.SEARCH)).isEqualTo(BulkheadGate.Admission.ADMITTED);
+    assertThat(gate.acquire(Bulkhead.SEARCH)).isEqualTo(BulkheadGate.Admission.TIMEOUT);
+    assertThat(gauge("hotel.bulkhead.queue", Bulkhead.SEARCH)).isZero();
+  }
+
+  @Test
+  @DisplayName("全体の上限に達している場合、空きができると優先順位の高い予約の待機リクエストから受け付ける")
+  void admitsBookingBeforeSearch() throws Exception {
+    properties.setMaxConcurrentTotal(1);
+    assertThat(gate.acquire(Bulkhead.SEARCH)).isEqualTo(BulkheadGate.Admission.ADMITTED);
+
+    Future<BulkheadGate.Admission> search = executor.submit(() -> gate.acquire(Bulkhead.SEARCH));
+    awaitUntil(() -> gauge("hotel.bulkhead.queue", Bulkhead.SEARCH) == 1);
+    Future<BulkheadGate.Admission> booking = executor.submit(
+        () -> gate.acquire(Bulkhead.BOOKING));
+    awaitUntil(() -> gauge("hotel.bulkhead.queue", Bulkhead.BOOKING) == 1);
+
+    // 先に待機していた空室検索ではなく、予約を受け付ける
+    gate.release(Bulkhead.SEARCH);
+    assertThat(booking.get(5, TimeUnit.SECONDS)).isEqualTo(BulkheadGate.Admission.ADMITTED);
+    assertThat(search.isDone()).isFalse();
+    assertThat(gauge("hotel.bulkhead.active", Bulkhead.BOOKING)).isEqualTo(1);
+
+    gate.release(Bulkhead.BOOKING);
+    assertThat(search.get(5, TimeUnit.SECONDS)).isEqualTo(BulkheadGate.Admission.ADMITTED);
+    assertThat(gauge("hotel.bulkhead.active", Bulkhead.SEARCH)).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("無効時は上限によらず受け付ける")
+  void disabledAdmitsEverything() throws Exception {
+    properties.setEnabled(false);
+    for (int i = 0; i < 5; i++) {
+      assertThat(gate.acquire(Bulkhead.SEARCH)).isEqualTo(BulkheadGate.Admission.ADMITTED);
+    }
+    assertThat(gauge("hotel.bulkhead.active", Bulkhead.SEARCH)).isZero();
+  }
+
+  private static void limit(BulkheadProperties.Limit limit, int maxConcurrent, int maxQueue,
+      long maxWaitMillis) {
+    limit.setMaxConcurrent(maxConcurrent);
+    limit.setMaxQueue(maxQueue);
+    limit.setMaxWaitMillis(maxWaitMillis);
+  }
+
+  private double gauge(String name, Bulkhead bulkhead) {
+    return registry.get(name).tag("bulkhead", bulkhead.getTag()).gauge().value();
+  }
+
+  private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!condition.getAsBoolean()) {
+      if (System.nanoTime() > deadline) {
+        fail("条件が成立しませんでした");
+      }
+      Thread.sleep(5);
+    }
+  }
+}
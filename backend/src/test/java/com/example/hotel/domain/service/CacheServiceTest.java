@@ -0,0 +1,103 @@
+package com.example.hotel.domain.service;
+
+import com.example.hotel.config.CacheProperties;
+import com.example.hotel.domain.model.RoomStockInfo;
+import com.example.hotel.domain.repository.RoomStockDao;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * CacheService の都道府県単位の読み込み（cache.stock.on-demand=true）
+ */
+class CacheServiceTest {
+
+  @Test
+  @DisplayName("都道府県の在庫スナップショットは初回参照時に1回のみ読み込む")
+  void loadsPrefectureOnce() {
+    RoomStockDao roomStockDao = mock(RoomStockDao.class);
+    when(roomStockDao.selectRoomStockInfoByPrefecture(13)).thenReturn(List.of(stock(1, 10)));
+    CacheService cacheService = newOnDemandCache(roomStockDao);
+
+    RoomStockSnapshot first = cacheService.getStockSnapshot(13);
+    RoomStockSnapshot second = cacheService.getStockSnapshot(13);
+
+    assertThat(second).isSameAs(first);
+    assertThat(first.contains(1)).isTrue();
+    assertThat(cacheService.getLoadedPrefectureIds()).containsExactly(13);
+    assertThat(cacheService.getLoadedStockSnapshot(13)).isSameAs(first);
+    verify(roomStockDao, times(1)).selectRoomStockInfoByPrefecture(13);
+  }
+
+  @Test
+  @DisplayName("読み込み中の都道府県は待ち合わせ、読み込み済みの参照には含まれない")
+  void concurrentRequestsShareOneLoad() throws Exception {
+    RoomStockDao roomStockDao = mock(RoomStockDao.class);
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(roomStockDao.selectRoomStockInfoByPrefecture(27)).thenAnswer(invocation -> {
+      loading.countDown();
+      release.await(5, TimeUnit.SECONDS);
+      return List.of(stock(2, 20));
+    });
+    CacheService cacheService = newOnDemandCache(roomStockDao);
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      Future<RoomStockSnapshot> loader = executor.submit(() -> cacheService.getStockSnapshot(27));
+      assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+      Future<RoomStockSnapshot> waiter = executor.submit(() -> cacheService.getStockSnapshot(27));
+      assertThat(cacheService.getLoadedStockSnapshot(27)).isNull();
+      assertThat(cacheService.getStockCache()).isEmpty();
+
+      release.countDown();
+      RoomStockSnapshot loaded = loader.get(5, TimeUnit.SECONDS);
+      assertThat(waiter.get(5, TimeUnit.SECONDS)).isSameAs(loaded);
+      assertThat(cacheService.getLoadedStockSnapshot(27)).isSameAs(loaded);
+      verify(roomStockDao, times(1)).selectRoomStockInfoByPrefecture(27);
+    }
+    finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  @DisplayName("読み込みに失敗した都道府県は登録せず、次回の参照で再度読み込む")
+  void failedLoadIsRetried() {
+    RoomStockDao roomStockDao = mock(RoomStockDao.class);
+    IllegalStateException failure = new IllegalStateException("db down");
+    when(roomStockDao.selectRoomStockInfoByPrefecture(1)).thenThrow(failure)
+        .thenReturn(List.of(stock(3, 30)));
+    CacheService cacheService = newOnDemandCache(roomStockDao);
+
+    assertThatThrownBy(() -> cacheService.getStockSnapshot(1)).isSameAs(failure);
+    assertThat(cacheService.getLoadedPrefectureIds()).isEmpty();
+    assertThat(cacheService.getStockSnapshot(1).contains(3)).isTrue();
+    verify(roomStockDao, times(2)).selectRoomStockInfoByPrefecture(1);
+  }
+
+  private static CacheService newOnDemandCache(RoomStockDao roomStockDao) {
+    CacheProperties properties = new CacheProperties();
+    properties.getStock().setOnDemand(true);
+    properties.getStock().setMaximumWeightBytes(1_000_000);
+    properties.getStock().setExpireAfterAccessMinutes(10);
+    return new CacheService(roomStockDao, properties);
+  }
+
+  private static RoomStockInfo stock(int roomTypeId, int hotelId) {
+    return new RoomStockInfo(roomTypeId, hotelId, "部屋タイプ" + roomTypeId, 2, 5,
+        "ホテル" + hotelId);
+  }
+}
@@ -0,0 +1,133 @@
+package com.example.hotel.domain.service;
+
+import com.example.hotel.config.ReservationProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * HoldExpiryWheel の期限の取り出し・カスケード・取消
+ *
+ * 1ティック1秒・4スロット×2階層（16ティック先まで保持）の小さなホイールで検証する。
+ */
+class HoldExpiryWheelTest {
+
+  private static final long TICK = 1_000;
+
+  private ReservationProperties properties;
+  private HoldExpiryWheel wheel;
+  private long now;
+
+  @BeforeEach
+  void setUp() {
+    properties = new ReservationProperties();
+    ReservationProperties.ExpiryWheel settings = properties.getExpiryWheel();
+    settings.setEnabled(true);
+    settings.setTickMillis(TICK);
+    settings.setGraceMillis(0);
+    settings.setSlotsPerLevel(4);
+    settings.setLevels(2);
+    wheel = new HoldExpiryWheel(properties);
+    now = System.currentTimeMillis();
+  }
+
+  @Test
+  @DisplayName("最下位階層の期限は、期限を過ぎたティックで取り出される")
+  void expiresInFirstLevel() {
+    wheel.schedule(1, at(now + 2_500));
+    assertThat(wheel.advance(now + 1_000)).isEmpty();
+    List<HoldExpiryWheel.DueHold> due = wheel.advance(now + 4_000);
+    assertThat(due).extracting(HoldExpiryWheel.DueHold::getReservationId).containsExactly(1);
+    assertThat(due.get(0).getDeadlineMillis()).isEqualTo(now + 2_500);
+    assertThat(wheel.size()).isZero();
+  }
+
+  @Test
+  @DisplayName("上位階層の期限は、カスケードで下位階層へ再配置されてから取り出される")
+  void cascadesFromUpperLevel() {
+    wheel.schedule(1, at(now + 2_500));
+    wheel.schedule(2, at(now + 6_500));
+    wheel.schedule(3, at(now + 11_500));
+    assertThat(ids(wheel.advance(now + 4_000))).containsExactly(1);
+    assertThat(ids(wheel.advance(now + 5_000))).isEmpty();
+    assertThat(ids(wheel.advance(now + 8_000))).containsExactly(2);
+    assertThat(ids(wheel.advance(now + 10_000))).isEmpty();
+    assertThat(ids(wheel.advance(now + 13_000))).containsExactly(3);
+    assertThat(wheel.size()).isZero();
+  }
+
+  @Test
+  @DisplayName("保持できる範囲より先の期限は、最上位階層に留めて期限まで取り出さない")
+  void keepsDeadlinesBeyondRange() {
+    wheel.schedule(1, at(now + 40_500));
+    for (long elapsed = 4_000; elapsed <= 40_000; elapsed += 4_000) {
+      assertThat(wheel.advance(now + elapsed)).as("elapsed=%d", elapsed).isEmpty();
+    }
+    assertThat(ids(wheel.advance(now + 42_000))).containsExactly(1);
+  }
+
+  @Test
+  @DisplayName("期限切れ済みの期限を登録した場合は、次のティックで取り出される")
+  void expiresPastDeadlineImmediately() {
+    wheel.schedule(1, at(now - 60_000));
+    assertThat(ids(wheel.advance(now + TICK))).containsExactly(1);
+  }
+
+  @Test
+  @DisplayName("取り消した仮予約は取り出されない")
+  void cancelRemovesEntry() {
+    wheel.schedule(1, at(now + 2_500));
+    wheel.schedule(2, at(now + 9_500));
+    wheel.schedule(3, at(now + 2_500));
+    wheel.cancel(1);
+    wheel.cancel(2);
+    wheel.cancel(99);
+    assertThat(wheel.size()).isEqualTo(1);
+    assertThat(ids(wheel.advance(now + 20_000))).containsExactly(3);
+  }
+
+  @Test
+  @DisplayName("同じ予約IDを再登録した場合は、期限を置き換える")
+  void rescheduleReplacesDeadline() {
+    wheel.schedule(1, at(now + 2_500));
+    wheel.schedule(1, at(now + 9_500));
+    assertThat(wheel.size()).isEqualTo(1);
+    assertThat(wheel.advance(now + 5_000)).isEmpty();
+    assertThat(ids(wheel.advance(now + 11_000))).containsExactly(1);
+  }
+
+  @Test
+  @DisplayName("猶予時間の分だけ遅れて取り出される")
+  void appliesGrace() {
+    properties.getExpiryWheel().setGraceMillis(3_000);
+    wheel = new HoldExpiryWheel(properties);
+    wheel.schedule(1, at(now + 1_500));
+    assertThat(wheel.advance(now + 3_000)).isEmpty();
+    assertThat(ids(wheel.advance(now + 6_000))).containsExactly(1);
+  }
+
+  @Test
+  @DisplayName("無効時は登録しない")
+  void disabledIgnoresSchedule() {
+    properties.getExpiryWheel().setEnabled(false);
+    wheel = new HoldExpiryWheel(properties);
+    wheel.schedule(1, at(now - 60_000));
+    assertThat(wheel.size()).isZero();
+    assertThat(wheel.advance(now + TICK)).isEmpty();
+  }
+
+  private static LocalDateTime at(long epochMillis) {
+    return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+  }
+
+  private static List<Integer> ids(List<HoldExpiryWheel.DueHold> due) {
+    return due.stream().map(HoldExpiryWheel.DueHold::getReservationId).toList();
+  }
+}
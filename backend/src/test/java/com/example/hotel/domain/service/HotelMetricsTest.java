@@ -0,0 +1,63 @@
+package com.example.hotel.domain.service;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * HotelMetrics の在庫行のロック取得時間・競合件数の記録
+ */
+class HotelMetricsTest {
+
+  @Test
+  @DisplayName("部屋タイプ別の時間は部屋タイプIDのバケットごとに1回ずつ記録する")
+  void recordsWaitPerRoomTypeBucket() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    HotelMetrics metrics = new HotelMetrics(registry);
+
+    metrics.recordLockAcquire(List.of(3, 19, 4), 16, TimeUnit.MILLISECONDS.toNanos(5), false);
+
+    assertThat(registry.get("hotel.reservation.lock.acquire").timer().count()).isEqualTo(1);
+    assertThat(registry.get("hotel.reservation.lock.wait").tag("room_type_bucket", "3").timer()
+        .count()).isEqualTo(1);
+    assertThat(registry.get("hotel.reservation.lock.wait").tag("room_type_bucket", "4").timer()
+        .count()).isEqualTo(1);
+    assertThat(registry.find("hotel.reservation.lock.contended").meters()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("競合件数はバケット別に計上し、系列数はバケット数を超えない")
+  void contendedSeriesAreBoundedByBuckets() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    HotelMetrics metrics = new HotelMetrics(registry);
+
+    metrics.recordLockAcquire(IntStream.rangeClosed(1, 2_000).boxed().toList(), 16,
+        TimeUnit.MILLISECONDS.toNanos(80), true);
+
+    Collection<Meter> contended = registry.find("hotel.reservation.lock.contended").meters();
+    assertThat(contended).hasSize(16);
+    assertThat(contended).allSatisfy(meter -> assertThat(meter.getId().getTags())
+        .extracting("key").containsExactly("room_type_bucket"));
+    assertThat(registry.find("hotel.reservation.lock.wait").meters()).hasSize(16);
+  }
+
+  @Test
+  @DisplayName("負の部屋タイプIDもバケットに振り分ける")
+  void negativeIdsMapToBuckets() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    HotelMetrics metrics = new HotelMetrics(registry);
+
+    metrics.recordLockAcquire(List.of(-1), 16, 1_000L, true);
+
+    assertThat(registry.get("hotel.reservation.lock.contended").tag("room_type_bucket", "15")
+        .counter().count()).isEqualTo(1.0);
+  }
+}
@@ -0,0 +1,135 @@
+package com.example.hotel.domain.service;
+
+import com.example.hotel.config.ReservationProperties;
+import com.example.hotel.domain.exception.LockConflictException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.SQLException;
+import java.sql.SQLTransactionRollbackException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * LockRetryTemplate の行ロック競合の判定と再試行
+ */
+class LockRetryTemplateTest {
+
+  private static final int MAX_ATTEMPTS = 3;
+
+  private SimpleMeterRegistry registry;
+  private LockRetryTemplate template;
+
+  @BeforeEach
+  void setUp() {
+    ReservationProperties properties = new ReservationProperties();
+    properties.getLock().setMaxAttempts(MAX_ATTEMPTS);
+    // 待機なしで再試行する
+    properties.getLock().setInitialBackoffMillis(0);
+    properties.getLock().setMaxBackoffMillis(0);
+    registry = new SimpleMeterRegistry();
+    StaticMessageSource messageSource = new StaticMessageSource();
+    messageSource.setUseCodeAsDefaultMessage(true);
+    template = new LockRetryTemplate(mock(PlatformTransactionManager.class), properties,
+        new HotelMetrics(registry), messageSource);
+  }
+
+  @Test
+  @DisplayName("MySQLのデッドロック（1213）は再試行し、成功した試行の結果を返す")
+  void retriesMysqlDeadlock() {
+    AtomicInteger attempts = new AtomicInteger();
+    String result = template.execute("test", status -> {
+      if (attempts.incrementAndGet() == 1) {
+        throw wrap(new SQLException("Deadlock found", "40001", 1213));
+      }
+      return "done";
+    });
+    assertThat(result).isEqualTo("done");
+    assertThat(attempts).hasValue(2);
+    assertThat(count("hotel.reservation.lock.conflicts", "deadlock")).isEqualTo(1);
+    assertThat(count("hotel.reservation.lock.retries", "deadlock")).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("ロック待ちタイムアウト（MySQL 1205 / H2 50200）は lock_timeout と判定する")
+  void classifiesLockTimeout() {
+    assertConflict(new SQLException("Lock wait timeout exceeded", "HY000", 1205), "lock_timeout");
+    assertConflict(new SQLException("Timeout trying to lock table", "HYT00", 50200),
+        "lock_timeout");
+  }
+
+  @Test
+  @DisplayName("SQLState 40001・SQLTransactionRollbackException はデッドロックと判定する")
+  void classifiesDeadlockBySqlState() {
+    assertConflict(new SQLException("Deadlock detected", "40001", 40001), "deadlock");
+    assertConflict(new SQLTransactionRollbackException("rolled back", "40XXX", 0), "deadlock");
+  }
+
+  @Test
+  @DisplayName("getNextException で連結されたSQLExceptionも判定する")
+  void classifiesChainedNextException() {
+    SQLException batch = new SQLException("batch failed", "HY000", 0);
+    batch.setNextException(new SQLException("Deadlock found", "40001", 1213));
+    assertConflict(batch, "deadlock");
+  }
+
+  @Test
+  @DisplayName("最大試行回数まで競合が続いた場合は LockConflictException をスローする")
+  void throwsAfterMaxAttempts() {
+    AtomicInteger attempts = new AtomicInteger();
+    assertThatThrownBy(() -> template.execute("test", status -> {
+      attempts.incrementAndGet();
+      throw wrap(new SQLException("Lock wait timeout exceeded", "HY000", 1205));
+    })).isInstanceOfSatisfying(LockConflictException.class, e -> {
+      assertThat(e.getConflict()).isEqualTo("lock_timeout");
+      assertThat(e.getAttempts()).isEqualTo(MAX_ATTEMPTS);
+    });
+    assertThat(attempts).hasValue(MAX_ATTEMPTS);
+    assertThat(count("hotel.reservation.lock.retries", "lock_timeout")).isEqualTo(MAX_ATTEMPTS - 1);
+    assertThat(count("hotel.reservation.lock.exhausted", "lock_timeout")).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("行ロック競合以外の例外は再試行せずにそのままスローする")
+  void doesNotRetryOtherErrors() {
+    AtomicInteger attempts = new AtomicInteger();
+    IllegalStateException shortage = new IllegalStateException("在庫不足");
+    assertThatThrownBy(() -> template.execute("test", status -> {
+      attempts.incrementAndGet();
+      throw shortage;
+    })).isSameAs(shortage);
+
+    RuntimeException duplicate = wrap(new SQLException("Duplicate entry", "23000", 1062));
+    assertThatThrownBy(() -> template.execute("test", status -> {
+      attempts.incrementAndGet();
+      throw duplicate;
+    })).isSameAs(duplicate);
+    assertThat(attempts).hasValue(2);
+    assertThat(registry.find("hotel.reservation.lock.conflicts").counters()).isEmpty();
+  }
+
+  private void assertConflict(SQLException cause, String conflict) {
+    assertThatThrownBy(() -> template.execute("test", status -> {
+      throw wrap(cause);
+    })).isInstanceOfSatisfying(LockConflictException.class,
+        e -> assertThat(e.getConflict()).isEqualTo(conflict));
+  }
+
+  // Doma・Spring がJDBC例外をラップする場合と同様に、原因の連鎖の奥にSQLExceptionを置く
+  private static RuntimeException wrap(SQLException cause) {
+    return new CannotAcquireLockException("wrapped", new RuntimeException(cause));
+  }
+
+  private double count(String name, String conflict) {
+    return registry.get(name).tag("operation", "test").tag("conflict", conflict).counter()
+        .count();
+  }
+}
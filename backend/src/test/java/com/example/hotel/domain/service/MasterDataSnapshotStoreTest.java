@@ -0,0 +1,121 @@
+package com.example.hotel.domain.service;
+
+import com.example.hotel.config.CacheProperties;
+import com.example.hotel.domain.model.Prefecture;
+import com.example.hotel.domain.model.RoomStockInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MasterDataSnapshotStore の保存・読み込みと破損ファイルの検出
+ */
+class MasterDataSnapshotStoreTest {
+
+  private static final int HEADER_BYTES = 24;
+
+  private static final List<RoomStockInfo> STOCKS = List.of(
+      new RoomStockInfo(1, 10, "スタンダード", 2, 5, "ホテル東京"),
+      new RoomStockInfo(2, 10, null, 4, 3, "ホテル東京"),
+      new RoomStockInfo(7, 11, "Deluxe", 1, 0, null));
+  private static final List<Prefecture> PREFECTURES = List.of(new Prefecture(13, "東京都"),
+      new Prefecture(27, "大阪府"));
+
+  @TempDir
+  Path directory;
+
+  private CacheProperties properties;
+  private Path path;
+  private MasterDataSnapshotStore store;
+
+  @BeforeEach
+  void setUp() {
+    path = directory.resolve("snapshot").resolve("master-data.bin");
+    properties = new CacheProperties();
+    properties.getSnapshot().setEnabled(true);
+    properties.getSnapshot().setPath(path.toString());
+    properties.getSnapshot().setMaxAgeMinutes(60);
+    store = new MasterDataSnapshotStore(properties);
+  }
+
+  @Test
+  @DisplayName("保存した内容をそのまま復元できる")
+  void roundTrip() {
+    store.save(RoomStockSnapshot.of(1L, STOCKS), PREFECTURES);
+    Optional<MasterDataSnapshotStore.Loaded> loaded = store.load();
+    assertThat(loaded).isPresent();
+    assertThat(loaded.get().getStockInfoList()).containsExactlyElementsOf(STOCKS);
+    assertThat(loaded.get().getPrefectures()).containsExactlyElementsOf(PREFECTURES);
+    assertThat(Files.exists(path.resolveSibling("master-data.bin.tmp"))).isFalse();
+  }
+
+  @Test
+  @DisplayName("本体が改変されている（CRC不一致）場合は使用しない")
+  void rejectsCrcMismatch() throws IOException {
+    store.save(RoomStockSnapshot.of(1L, STOCKS), PREFECTURES);
+    byte[] bytes = Files.readAllBytes(path);
+    bytes[HEADER_BYTES + 5] ^= 0x01;
+    Files.write(path, bytes);
+    assertThat(store.load()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("途中で切れているファイル・ヘッダーに満たないファイルは使用しない")
+  void rejectsTruncatedFile() throws IOException {
+    store.save(RoomStockSnapshot.of(1L, STOCKS), PREFECTURES);
+    byte[] bytes = Files.readAllBytes(path);
+    Files.write(path, Arrays.copyOf(bytes, bytes.length - 3));
+    assertThat(store.load()).isEmpty();
+    Files.write(path, Arrays.copyOf(bytes, HEADER_BYTES - 1));
+    assertThat(store.load()).isEmpty();
+    Files.write(path, new byte[0]);
+    assertThat(store.load()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("マジック・形式バージョンが異なるファイルは使用しない")
+  void rejectsUnknownFormat() throws IOException {
+    store.save(RoomStockSnapshot.of(1L, STOCKS), PREFECTURES);
+    byte[] bytes = Files.readAllBytes(path);
+    byte[] badMagic = bytes.clone();
+    badMagic[0] ^= 0x01;
+    Files.write(path, badMagic);
+    assertThat(store.load()).isEmpty();
+    byte[] badVersion = bytes.clone();
+    ByteBuffer.wrap(badVersion).putInt(4, 99);
+    Files.write(path, badVersion);
+    assertThat(store.load()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("保存から max-age-minutes を超えたファイルは使用しない")
+  void rejectsStaleFile() throws IOException {
+    store.save(RoomStockSnapshot.of(1L, STOCKS), PREFECTURES);
+    byte[] bytes = Files.readAllBytes(path);
+    long twoHoursAgo = System.currentTimeMillis() - 2 * 60 * 60 * 1000L;
+    ByteBuffer.wrap(bytes).putLong(8, twoHoursAgo);
+    Files.write(path, bytes);
+    assertThat(store.load()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("ファイルがない場合・無効時は使用しない")
+  void returnsEmptyWithoutFile() {
+    assertThat(store.load()).isEmpty();
+    properties.getSnapshot().setEnabled(false);
+    store.save(RoomStockSnapshot.of(1L, STOCKS), PREFECTURES);
+    assertThat(Files.exists(path)).isFalse();
+    assertThat(store.load()).isEmpty();
+  }
+}
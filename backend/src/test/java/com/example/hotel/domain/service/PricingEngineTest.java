@@ -0,0 +1,162 @@
+package com.example.hotel.domain.service;
+
+import com.example.hotel.config.PriceProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * PricingEngine の宿泊総額（累積和による計算）を、1泊ずつ int で合算する従来の計算と比較する
+ */
+class PricingEngineTest {
+
+  private static final int[] CAPACITIES = {1, 2, 5, 6, PricingEngine.MAX_TABLE_CAPACITY,
+      PricingEngine.MAX_TABLE_CAPACITY + 1, 150};
+  private static final int[] HOTEL_IDS = {0, 1, 4, 7, 50_000, -1, -3, -10};
+
+  private PriceProperties properties;
+  private PricingEngine pricingEngine;
+
+  // 料金カレンダー（pricing-engine-test-calendar.csv）と同じ上書き（祝日を繁忙期より優先）
+  private final Map<LocalDate, Double> overrides = new HashMap<>();
+
+  @BeforeEach
+  void setUp() {
+    properties = new PriceProperties();
+    properties.setBasePerPerson(8000);
+    properties.setHotelPriceBaseMultiplier(1.0);
+    properties.setCapacityMultipliers(List.of(1.0, 0.9, 0.85, 0.8, 0.75));
+    properties.setHotelVariationCount(5);
+    properties.setHotelVariationStep(0.1);
+    properties.setHotelBaseOffset(0.2);
+    properties.setDemandVariationCycle(20);
+    properties.setDemandVariationStep(0.01);
+    properties.setDemandBaseFactor(0.9);
+    properties.setCalendarLocation("classpath:pricing-engine-test-calendar.csv");
+    pricingEngine = new PricingEngine(properties, new DefaultResourceLoader());
+
+    override(LocalDate.of(2027, 12, 25), LocalDate.of(2028, 1, 5), 1.5);
+    override(LocalDate.of(2028, 2, 27), LocalDate.of(2028, 3, 2), 1.3);
+    override(LocalDate.of(2028, 1, 1), LocalDate.of(2028, 1, 1), 2.0);
+    override(LocalDate.of(2028, 2, 29), LocalDate.of(2028, 2, 29), 0.5);
+  }
+
+  @Test
+  @DisplayName("年末年始・うるう年・カレンダー上書き・料金表の対象外を含め、1泊ずつの合算と一致する")
+  void stayPriceMatchesPerNightSum() {
+    for (LocalDate checkIn = LocalDate.of(2027, 12, 1); checkIn.isBefore(LocalDate.of(2028, 3,
+        10)); checkIn = checkIn.plusDays(1)) {
+      for (int nights = 1; nights <= 40; nights++) {
+        LocalDate checkOut = checkIn.plusDays(nights);
+        for (int capacity : CAPACITIES) {
+          for (int hotelId : HOTEL_IDS) {
+            assertThat(pricingEngine.stayPrice(capacity, hotelId, checkIn, checkOut))
+                .as("capacity=%d, hotelId=%d, %s〜%s", capacity, hotelId, checkIn, checkOut)
+                .isEqualTo(legacyStayPrice(capacity, hotelId, checkIn, checkOut));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("複数年にまたがる宿泊（うるう年を含む）も1泊ずつの合算と一致する")
+  void stayPriceAcrossSeveralYears() {
+    LocalDate checkIn = LocalDate.of(2027, 6, 15);
+    for (int nights : new int[]{200, 366, 367, 800, 1500}) {
+      LocalDate checkOut = checkIn.plusDays(nights);
+      for (int capacity : CAPACITIES) {
+        for (int hotelId : HOTEL_IDS) {
+          assertThat(pricingEngine.stayPrice(capacity, hotelId, checkIn, checkOut))
+              .as("capacity=%d, hotelId=%d, nights=%d", capacity, hotelId, nights)
+              .isEqualTo(legacyStayPrice(capacity, hotelId, checkIn, checkOut));
+        }
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("int の範囲を超える総額は、従来の int による合算と同じく桁あふれした値となる")
+  void stayPriceOverflowsLikeIntSum() {
+    LocalDate checkIn = LocalDate.of(2027, 12, 20);
+    LocalDate checkOut = checkIn.plusDays(400);
+    for (int capacity : new int[]{90, 1_000}) {
+      int expected = legacyStayPrice(capacity, 3, checkIn, checkOut);
+      assertThat(pricingEngine.stayPrice(capacity, 3, checkIn, checkOut)).isEqualTo(expected);
+    }
+    assertThat(legacyStayPrice(1_000, 3, checkIn, checkOut)).isNegative();
+  }
+
+  @Test
+  @DisplayName("1泊料金に料金カレンダーの上書き（祝日優先）が適用される")
+  void nightPriceAppliesCalendar() {
+    LocalDate holiday = LocalDate.of(2028, 1, 1);
+    LocalDate season = LocalDate.of(2028, 1, 2);
+    LocalDate normal = LocalDate.of(2028, 1, 10);
+    assertThat(pricingEngine.nightPrice(2, 1, holiday)).isEqualTo(legacyNightPrice(2, 1, holiday))
+        .isEqualTo(applyDemand(basePrice(2, 1), 2.0));
+    assertThat(pricingEngine.nightPrice(2, 1, season)).isEqualTo(applyDemand(basePrice(2, 1), 1.5));
+    assertThat(pricingEngine.nightPrice(2, 1, normal)).isEqualTo(legacyNightPrice(2, 1, normal));
+    // 上書き後の価格が最低価格を下回る場合は最低価格
+    assertThat(pricingEngine.nightPrice(1, 0, LocalDate.of(2028, 2, 29))).isEqualTo(8000);
+  }
+
+  @Test
+  @DisplayName("定員0以下は1泊あたり1人あたり基本料金、チェックアウト日がチェックイン日以前は0")
+  void stayPriceEdgeCases() {
+    LocalDate checkIn = LocalDate.of(2027, 12, 30);
+    assertThat(pricingEngine.stayPrice(0, 1, checkIn, checkIn.plusDays(3))).isEqualTo(24_000);
+    assertThat(pricingEngine.stayPrice(-2, 1, checkIn, checkIn.plusDays(3))).isEqualTo(24_000);
+    assertThat(pricingEngine.stayPrice(2, 1, checkIn, checkIn)).isZero();
+    assertThat(pricingEngine.stayPrice(2, 1, checkIn, checkIn.minusDays(1))).isZero();
+    assertThatThrownBy(() -> pricingEngine.stayPrice(2, 1, null, checkIn))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  // 旧 PriceCalculator と同じく、1泊ずつ int で合算する
+  private int legacyStayPrice(int capacity, int hotelId, LocalDate checkIn, LocalDate checkOut) {
+    int total = 0;
+    for (LocalDate date = checkIn; date.isBefore(checkOut); date = date.plusDays(1)) {
+      total += legacyNightPrice(capacity, hotelId, date);
+    }
+    return total;
+  }
+
+  private int legacyNightPrice(int capacity, int hotelId, LocalDate date) {
+    double demandFactor = overrides.getOrDefault(date, properties.getDemandBaseFactor()
+        + ((date.getDayOfYear() % properties.getDemandVariationCycle())
+            * properties.getDemandVariationStep()));
+    return applyDemand(basePrice(capacity, hotelId), demandFactor);
+  }
+
+  private int basePrice(int capacity, int hotelId) {
+    double hotelPriceMultiplier = properties.getHotelPriceBaseMultiplier()
+        + ((hotelId % properties.getHotelVariationCount()) * properties.getHotelVariationStep()
+            - properties.getHotelBaseOffset());
+    List<Double> multipliers = properties.getCapacityMultipliers();
+    double capacityMultiplier = capacity <= multipliers.size()
+        ? multipliers.get(capacity - 1)
+        : multipliers.get(multipliers.size() - 1);
+    return (int) (properties.getBasePerPerson() * capacityMultiplier * capacity
+        * hotelPriceMultiplier);
+  }
+
+  private int applyDemand(int basePrice, double demandFactor) {
+    return Math.max((int) (basePrice * demandFactor), properties.getBasePerPerson());
+  }
+
+  private void override(LocalDate start, LocalDate end, double demandFactor) {
+    for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+      overrides.put(date, demandFactor);
+    }
+  }
+}
@@ -0,0 +1,130 @@
+package com.example.hotel.domain.service;
+
+import com.example.hotel.config.CacheProperties;
+import com.example.hotel.presentation.dto.reservation.ReservationResponseDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ReservationCache の読み込み中の待ち合わせと登録・破棄
+ */
+class ReservationCacheTest {
+
+  @Test
+  @DisplayName("キャッシュにない場合は読み込んで登録し、以降は読み込まない")
+  void loadsOnceAndCaches() {
+    ReservationCache cache = newCache();
+    AtomicInteger loads = new AtomicInteger();
+    ReservationResponseDto first = cache.get(1, id -> {
+      loads.incrementAndGet();
+      return response(id);
+    });
+    ReservationResponseDto second = cache.get(1, id -> {
+      loads.incrementAndGet();
+      return response(id);
+    });
+    assertThat(second).isSameAs(first);
+    assertThat(loads).hasValue(1);
+    assertThat(cache.stats().hitCount()).isEqualTo(1);
+    assertThat(cache.stats().missCount()).isEqualTo(1);
+    assertThat(cache.weightedSize()).isEqualTo(ReservationCache.weigh(first));
+  }
+
+  @Test
+  @DisplayName("読み込み中の同一予約IDは読み込みを待ち合わせ、読み込みは1回のみ行う")
+  void concurrentRequestsShareOneLoad() throws Exception {
+    ReservationCache cache = newCache();
+    AtomicInteger loads = new AtomicInteger();
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      Future<ReservationResponseDto> loader = executor.submit(() -> cache.get(7, id -> {
+        loads.incrementAndGet();
+        loading.countDown();
+        await(release);
+        return response(id);
+      }));
+      assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+      List<Future<ReservationResponseDto>> waiters = List.of(
+          executor.submit(() -> cache.get(7, id -> {
+            loads.incrementAndGet();
+            return response(id);
+          })),
+          executor.submit(() -> cache.get(7, id -> {
+            loads.incrementAndGet();
+            return response(id);
+          })));
+      release.countDown();
+      ReservationResponseDto loaded = loader.get(5, TimeUnit.SECONDS);
+      for (Future<ReservationResponseDto> waiter : waiters) {
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isSameAs(loaded);
+      }
+      assertThat(loads).hasValue(1);
+    }
+    finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  @DisplayName("読み込みに失敗した場合は例外をそのままスローし、登録しない")
+  void failedLoadIsNotCached() {
+    ReservationCache cache = newCache();
+    IllegalStateException failure = new IllegalStateException("not found");
+    assertThatThrownBy(() -> cache.get(3, id -> {
+      throw failure;
+    })).isSameAs(failure);
+    assertThat(cache.get(3, ReservationCacheTest::response).getReservationId()).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("破棄した予約IDは再度読み込む")
+  void evictForcesReload() {
+    ReservationCache cache = newCache();
+    cache.put(response(5));
+    AtomicInteger loads = new AtomicInteger();
+    cache.get(5, id -> {
+      loads.incrementAndGet();
+      return response(id);
+    });
+    cache.evict(5);
+    cache.get(5, id -> {
+      loads.incrementAndGet();
+      return response(id);
+    });
+    assertThat(loads).hasValue(1);
+  }
+
+  private static ReservationCache newCache() {
+    CacheProperties properties = new CacheProperties();
+    properties.getReservation().setMaximumWeightBytes(1_000_000);
+    properties.getReservation().setExpireAfterAccessMinutes(10);
+    return new ReservationCache(properties);
+  }
+
+  private static ReservationResponseDto response(Integer reservationId) {
+    return new ReservationResponseDto(reservationId, null, null, "ホテル",
+        List.of(new ReservationResponseDto.RoomDetailDto(1, "部屋タイプ", 2, 1)), 10000);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
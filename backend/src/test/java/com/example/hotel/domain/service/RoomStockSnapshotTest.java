@@ -0,0 +1,113 @@
+package com.example.hotel.domain.service;
+
+import com.example.hotel.domain.model.RoomStockInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * RoomStockSnapshot の部屋タイプIDから連番への変換と参照
+ */
+class RoomStockSnapshotTest {
+
+  @Test
+  @DisplayName("IDが密な場合、部屋タイプIDの昇順の連番で参照できる")
+  void looksUpDenseIds() {
+    RoomStockSnapshot snapshot = RoomStockSnapshot.of(3L, List.of(stock(3, 10, 2, 5),
+        stock(1, 10, 1, 7), stock(2, 11, 4, 9)));
+    assertThat(snapshot.getVersion()).isEqualTo(3L);
+    assertThat(snapshot.size()).isEqualTo(3);
+    assertThat(snapshot.ordinalOf(1)).isZero();
+    assertThat(snapshot.ordinalOf(3)).isEqualTo(2);
+    int ordinal = snapshot.ordinalOf(2);
+    assertThat(snapshot.roomTypeIdAt(ordinal)).isEqualTo(2);
+    assertThat(snapshot.hotelIdAt(ordinal)).isEqualTo(11);
+    assertThat(snapshot.capacityAt(ordinal)).isEqualTo(4);
+    assertThat(snapshot.totalStockAt(ordinal)).isEqualTo(9);
+    assertThat(snapshot.roomTypeNameAt(ordinal)).isEqualTo("部屋タイプ2");
+    assertThat(snapshot.hotelNameAt(ordinal)).isEqualTo("ホテル11");
+    assertThat(snapshot.toRoomStockInfo(ordinal)).isEqualTo(stock(2, 11, 4, 9));
+  }
+
+  @Test
+  @DisplayName("存在しない・負・最大IDを超える部屋タイプIDは NOT_FOUND")
+  void returnsNotFoundForUnknownIds() {
+    RoomStockSnapshot snapshot = RoomStockSnapshot.of(1L, List.of(stock(2, 1, 1, 1),
+        stock(5, 1, 1, 1)));
+    for (int roomTypeId : new int[]{0, 1, 3, 4, 6, -1, Integer.MAX_VALUE, Integer.MIN_VALUE}) {
+      assertThat(snapshot.ordinalOf(roomTypeId)).as("roomTypeId=%d", roomTypeId)
+          .isEqualTo(RoomStockSnapshot.NOT_FOUND);
+      assertThat(snapshot.contains(roomTypeId)).isFalse();
+    }
+    assertThat(snapshot.contains(5)).isTrue();
+  }
+
+  @Test
+  @DisplayName("IDが疎な場合・負のIDを含む場合も二分探索で参照できる")
+  void looksUpSparseIds() {
+    List<RoomStockInfo> stocks = new ArrayList<>();
+    int[] ids = {-7, 1, 1_000, 2_000_000, Integer.MAX_VALUE};
+    for (int id : ids) {
+      stocks.add(stock(id, 1, 2, 3));
+    }
+    RoomStockSnapshot snapshot = RoomStockSnapshot.of(1L, stocks);
+    for (int i = 0; i < ids.length; i++) {
+      assertThat(snapshot.ordinalOf(ids[i])).isEqualTo(i);
+      assertThat(snapshot.roomTypeIdAt(i)).isEqualTo(ids[i]);
+    }
+    assertThat(snapshot.ordinalOf(2)).isEqualTo(RoomStockSnapshot.NOT_FOUND);
+    assertThat(snapshot.ordinalOf(1_999_999)).isEqualTo(RoomStockSnapshot.NOT_FOUND);
+  }
+
+  @Test
+  @DisplayName("多数の部屋タイプでも全IDを正しく変換できる")
+  void looksUpManyIds() {
+    List<RoomStockInfo> stocks = new ArrayList<>();
+    for (int id = 10_000; id > 0; id -= 3) {
+      stocks.add(stock(id, id / 4, id % 6 + 1, id % 30));
+    }
+    RoomStockSnapshot snapshot = RoomStockSnapshot.of(1L, stocks);
+    for (RoomStockInfo stock : stocks) {
+      int ordinal = snapshot.ordinalOf(stock.getRoomTypeId());
+      assertThat(snapshot.toRoomStockInfo(ordinal)).isEqualTo(stock);
+    }
+    assertThat(snapshot.toMap()).hasSize(stocks.size());
+  }
+
+  @Test
+  @DisplayName("null の数値項目は0として保持する")
+  void treatsNullAsZero() {
+    RoomStockSnapshot snapshot = RoomStockSnapshot.of(1L,
+        List.of(new RoomStockInfo(1, null, null, null, null, null)));
+    assertThat(snapshot.hotelIdAt(0)).isZero();
+    assertThat(snapshot.capacityAt(0)).isZero();
+    assertThat(snapshot.totalStockAt(0)).isZero();
+    assertThat(snapshot.hotelNameAt(0)).isNull();
+  }
+
+  @Test
+  @DisplayName("部屋タイプIDが重複する場合は生成できない")
+  void rejectsDuplicateIds() {
+    assertThatThrownBy(() -> RoomStockSnapshot.of(1L, List.of(stock(1, 1, 1, 1),
+        stock(1, 2, 2, 2)))).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  @DisplayName("空のスナップショットはどのIDも NOT_FOUND")
+  void emptySnapshot() {
+    assertThat(RoomStockSnapshot.empty().isEmpty()).isTrue();
+    assertThat(RoomStockSnapshot.empty().ordinalOf(1)).isEqualTo(RoomStockSnapshot.NOT_FOUND);
+    assertThat(RoomStockSnapshot.of(1L, List.of()).ordinalOf(0))
+        .isEqualTo(RoomStockSnapshot.NOT_FOUND);
+  }
+
+  private static RoomStockInfo stock(int roomTypeId, int hotelId, int capacity, int totalStock) {
+    return new RoomStockInfo(roomTypeId, hotelId, "部屋タイプ" + roomTypeId, capacity, totalStock,
+        "ホテル" + hotelId);
+  }
+}
@@ -0,0 +1,159 @@
+package com.example.hotel.domain.service;
+
+import com.example.hotel.config.LimiterProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SearchConcurrencyLimiter の上限の計算と拒否
+ */
+class SearchConcurrencyLimiterTest {
+
+  private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  private LimiterProperties properties;
+  private SimpleMeterRegistry registry;
+  private SearchConcurrencyLimiter limiter;
+
+  @BeforeEach
+  void setUp() {
+    properties = new LimiterProperties();
+    LimiterProperties.Gradient settings = properties.getSearch();
+    settings.setEnabled(true);
+    settings.setInitialLimit(10);
+    settings.setMinLimit(4);
+    settings.setMaxLimit(30);
+    settings.setQueueSize(4);
+    settings.setRttTolerance(1.5);
+    settings.setSmoothing(1.0);
+    settings.setShortWindow(1);
+    settings.setLongWindow(100);
+    create();
+  }
+
+  @Test
+  @DisplayName("遅延が増えていない間は、上限が queue-size ずつ増える")
+  void growsByQueueSizeWhileLatencyIsStable() {
+    limiter.onSample(MILLIS, 10);
+    assertThat(limit()).isEqualTo(14);
+    limiter.onSample(MILLIS, 14);
+    assertThat(limit()).isEqualTo(18);
+  }
+
+  @Test
+  @DisplayName("上限は smoothing の割合で新しい計算値に近づく")
+  void appliesSmoothing() {
+    properties.getSearch().setSmoothing(0.5);
+    create();
+    // 10 × 0.5 + (10 × 1.0 + 4) × 0.5
+    limiter.onSample(MILLIS, 10);
+    assertThat(limit()).isEqualTo(12);
+  }
+
+  @Test
+  @DisplayName("同時実行数が上限の半分未満の場合は上限を変更しない")
+  void ignoresSamplesBelowHalfLimit() {
+    limiter.onSample(MILLIS, 4);
+    assertThat(limit()).isEqualTo(10);
+  }
+
+  @Test
+  @DisplayName("直近の応答時間が長期平均の rtt-tolerance 倍を超えると上限が減る")
+  void shrinksWhenLatencyIncreases() {
+    properties.getSearch().setQueueSize(0);
+    create();
+    limiter.onSample(MILLIS, 10);
+    assertThat(limit()).isEqualTo(10);
+    // 長期平均 (1 + 10) / 2 = 5.5ms、gradient = 1.5 × 5.5 / 10 = 0.825
+    limiter.onSample(10 * MILLIS, 10);
+    assertThat(limit()).isEqualTo(8);
+  }
+
+  @Test
+  @DisplayName("gradient は 0.5 を下限とし、上限は min-limit〜max-limit に制限される")
+  void clampsGradientAndLimit() {
+    properties.getSearch().setQueueSize(0);
+    create();
+    for (int i = 0; i < 20; i++) {
+      limiter.onSample(MILLIS, 0);
+    }
+    // gradient = 1.5 × 48.6 / 1000 → 0.5
+    limiter.onSample(1_000 * MILLIS, 10);
+    assertThat(limit()).isEqualTo(5);
+    // 5 × 0.5 = 2.5 → min-limit
+    limiter.onSample(1_000 * MILLIS, 5);
+    assertThat(limit()).isEqualTo(4);
+
+    properties.getSearch().setQueueSize(4);
+    properties.getSearch().setMaxLimit(12);
+    create();
+    limiter.onSample(MILLIS, 10);
+    assertThat(limit()).isEqualTo(12);
+  }
+
+  @Test
+  @DisplayName("同時実行数が上限に達している場合は拒否し、返却後は再び受け付ける")
+  void rejectsAtLimit() {
+    properties.getSearch().setInitialLimit(2);
+    properties.getSearch().setMinLimit(1);
+    create();
+    SearchConcurrencyLimiter.Permit first = limiter.tryAcquire();
+    SearchConcurrencyLimiter.Permit second = limiter.tryAcquire();
+    assertThat(first).isNotNull();
+    assertThat(second).isNotNull();
+    assertThat(limiter.tryAcquire()).isNull();
+    assertThat(registry.get("hotel.search.limiter.dropped").counter().count()).isEqualTo(1);
+    assertThat(registry.get("hotel.search.limiter.inflight").gauge().value()).isEqualTo(2);
+
+    // 例外で終了した検索（success なし）は同時実行数の返却のみ行う
+    first.close();
+    first.close();
+    assertThat(registry.get("hotel.search.limiter.inflight").gauge().value()).isEqualTo(1);
+    assertThat(limit()).isEqualTo(2);
+    SearchConcurrencyLimiter.Permit third = limiter.tryAcquire();
+    assertThat(third).isNotNull();
+    second.close();
+    third.close();
+    assertThat(registry.get("hotel.search.limiter.inflight").gauge().value()).isZero();
+  }
+
+  @Test
+  @DisplayName("正常に完了した検索の応答時間を上限の計算に使用する")
+  void successfulPermitRecordsSample() {
+    properties.getSearch().setInitialLimit(1);
+    properties.getSearch().setMinLimit(1);
+    create();
+    try (SearchConcurrencyLimiter.Permit permit = limiter.tryAcquire()) {
+      permit.success();
+    }
+    assertThat(limit()).isEqualTo(5);
+  }
+
+  @Test
+  @DisplayName("無効時は同時実行数が上限に達していても拒否しない")
+  void disabledDoesNotReject() {
+    properties.getSearch().setEnabled(false);
+    properties.getSearch().setInitialLimit(1);
+    properties.getSearch().setMinLimit(1);
+    create();
+    assertThat(limiter.tryAcquire()).isNotNull();
+    assertThat(limiter.tryAcquire()).isNotNull();
+    assertThat(registry.get("hotel.search.limiter.inflight").gauge().value()).isEqualTo(2);
+  }
+
+  private void create() {
+    registry = new SimpleMeterRegistry();
+    limiter = new SearchConcurrencyLimiter(properties, new HotelMetrics(registry));
+    limiter.bindTo(registry);
+  }
+
+  private double limit() {
+    return registry.get("hotel.search.limiter.limit").gauge().value();
+  }
+}
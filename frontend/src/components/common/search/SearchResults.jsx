@@ -213,8 +213,9 @@ const SearchResults = ({
         throw new Error('Reservation API error');
       }
       // 正常時はP-020（予約詳細入力ページ）へ遷移
+      // レスポンスの予約情報を受け渡し、遷移先での予約情報取得APIの呼び出しを省略する
       const data = await response.json();
-      navigate(`/reservation/${data.reservationId}`);
+      navigate(`/reservation/${data.reservationId}`, { state: { reservation: data } });
     } catch (error) {
       // エラー時はServerErrorページへ遷移
       navigate('/server-error');
@@ -1,6 +1,6 @@
 import React, { useEffect, useState } from 'react';
 import { useTranslation } from 'react-i18next';
-import { useParams, useNavigate } from 'react-router-dom';
+import { useParams, useNavigate, useLocation } from 'react-router-dom';
 import {
   ReservationSummary,
   CustomerInputForm,
@@ -16,13 +16,25 @@ const ReservationInputPage = () => {
   const { t } = useTranslation();
   const { reservationId } = useParams();
   const navigate = useNavigate();
+  const location = useLocation();
 
-  const [reservation, setReservation] = useState(null);
-  const [loading, setLoading] = useState(true);
+  // 仮予約作成APIのレスポンス（検索結果画面から遷移時に受け渡し）
+  // 同じ予約IDの場合のみ使用し、リロード・直接アクセス時は予約情報取得APIで取得する
+  const passedReservation = location.state?.reservation;
+  const initialReservation =
+    passedReservation && String(passedReservation.reservationId) === String(reservationId)
+      ? passedReservation
+      : null;
+
+  const [reservation, setReservation] = useState(initialReservation);
+  const [loading, setLoading] = useState(initialReservation === null);
   const [errorState, setErrorState] = useState(null);
   const [isCancelling, setIsCancelling] = useState(false);
 
   useEffect(() => {
+    if (initialReservation !== null) {
+      return;
+    }
     const fetchReservation = async () => {
       try {
         const res = await fetch(`/api/reservations/${reservationId}`);